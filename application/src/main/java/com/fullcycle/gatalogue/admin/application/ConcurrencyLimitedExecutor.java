@@ -0,0 +1,80 @@
+package com.fullcycle.gatalogue.admin.application;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs at most {@code maxConcurrency} tasks on the delegate at once. Extra tasks are queued
+ * without blocking the submitter. A worker that finishes a task keeps its slot and picks the
+ * next queued one itself, so a backlog does not pay a thread hand-off per task.
+ */
+public class ConcurrencyLimitedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final AtomicInteger running;
+    private final ConcurrentLinkedQueue<Runnable> pending;
+
+    public ConcurrencyLimitedExecutor(final Executor aDelegate, final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("'maxConcurrency' should be greater than zero");
+        }
+        this.delegate = Objects.requireNonNull(aDelegate);
+        this.maxConcurrency = maxConcurrency;
+        this.running = new AtomicInteger();
+        this.pending = new ConcurrentLinkedQueue<>();
+    }
+
+    @Override
+    public void execute(final Runnable aTask) {
+        this.pending.add(Objects.requireNonNull(aTask));
+        drain();
+    }
+
+    public int running() {
+        return this.running.get();
+    }
+
+    public int pending() {
+        return this.pending.size();
+    }
+
+    private void drain() {
+        while (!this.pending.isEmpty()) {
+            final var current = this.running.get();
+            if (current >= this.maxConcurrency) {
+                return;
+            }
+            if (!this.running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            final var aTask = this.pending.poll();
+            if (aTask == null) {
+                this.running.decrementAndGet();
+                continue;
+            }
+            try {
+                this.delegate.execute(() -> work(aTask));
+            } catch (final RejectedExecutionException e) {
+                this.running.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    private void work(final Runnable aFirstTask) {
+        var aTask = aFirstTask;
+        try {
+            while (aTask != null) {
+                aTask.run();
+                aTask = this.pending.poll();
+            }
+        } finally {
+            this.running.decrementAndGet();
+            drain();
+        }
+    }
+}
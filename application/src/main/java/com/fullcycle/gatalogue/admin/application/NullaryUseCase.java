@@ -1,2 +1,17 @@
-package com.fullcycle.gatalogue.admin.application;public class NullaryUseCase {
+package com.fullcycle.gatalogue.admin.application;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public abstract class NullaryUseCase<OUT> {
+
+    public abstract OUT execute();
+
+    public CompletableFuture<OUT> executeAsync() {
+        return executeAsync(UseCaseExecutors.defaultExecutor());
+    }
+
+    public CompletableFuture<OUT> executeAsync(final Executor anExecutor) {
+        return CompletableFuture.supplyAsync(this::execute, anExecutor);
+    }
 }
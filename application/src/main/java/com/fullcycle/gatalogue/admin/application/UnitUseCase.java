@@ -1,2 +1,17 @@
-package com.fullcycle.gatalogue.admin.application;public class UnitUseCase {
+package com.fullcycle.gatalogue.admin.application;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public abstract class UnitUseCase<IN> {
+
+    public abstract void execute(IN anIn);
+
+    public CompletableFuture<Void> executeAsync(final IN anIn) {
+        return executeAsync(anIn, UseCaseExecutors.defaultExecutor());
+    }
+
+    public CompletableFuture<Void> executeAsync(final IN anIn, final Executor anExecutor) {
+        return CompletableFuture.runAsync(() -> execute(anIn), anExecutor);
+    }
 }
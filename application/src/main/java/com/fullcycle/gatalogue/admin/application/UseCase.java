@@ -1,11 +1,17 @@
 package com.fullcycle.gatalogue.admin.application;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-import com.fullcycle.catalogue.admin.domain.category.Category;
+public abstract class UseCase<IN, OUT> {
 
-public class UseCase {
+    public abstract OUT execute(IN anIn);
 
-    public Category execute(){
-        return Category.newCategory(null, null, false);
+    public CompletableFuture<OUT> executeAsync(final IN anIn) {
+        return executeAsync(anIn, UseCaseExecutors.defaultExecutor());
+    }
+
+    public CompletableFuture<OUT> executeAsync(final IN anIn, final Executor anExecutor) {
+        return CompletableFuture.supplyAsync(() -> execute(anIn), anExecutor);
     }
 }
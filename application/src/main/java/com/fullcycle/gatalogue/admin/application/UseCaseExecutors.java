@@ -0,0 +1,88 @@
+package com.fullcycle.gatalogue.admin.application;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors backing the asynchronous {@code executeAsync} of the use cases.
+ *
+ * The default runs every call on its own virtual thread when the runtime has them (Java 21+), so
+ * blocking gateway I/O parks the call instead of pinning a platform thread. On older runtimes it
+ * falls back to a pool of daemon platform threads. Either way at most
+ * {@code catalogue.usecase.max-concurrency} calls run at once and the rest wait in a queue.
+ */
+public final class UseCaseExecutors {
+
+    private static final String MAX_CONCURRENCY_PROPERTY = "catalogue.usecase.max-concurrency";
+    private static final int VIRTUAL_MAX_CONCURRENCY = 10_000;
+    private static final int PLATFORM_MAX_CONCURRENCY = 256;
+    private static final long IDLE_TIMEOUT_SECONDS = 30;
+
+    private UseCaseExecutors() {
+    }
+
+    public static Executor defaultExecutor() {
+        return Holder.DEFAULT;
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return Holder.VIRTUAL;
+    }
+
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("virtual threads need Java 21 or newer", e);
+        }
+    }
+
+    /**
+     * Up to {@code threads} daemon platform threads that retire after sitting idle for a while.
+     */
+    public static ExecutorService newPlatformThreadExecutor(final int threads) {
+        final var counter = new AtomicInteger();
+        final var anExecutor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                IDLE_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                aRunnable -> {
+                    final var aThread = new Thread(aRunnable, "usecase-" + counter.incrementAndGet());
+                    aThread.setDaemon(true);
+                    return aThread;
+                }
+        );
+        anExecutor.allowCoreThreadTimeOut(true);
+        return anExecutor;
+    }
+
+    private static final class Holder {
+
+        private static final boolean VIRTUAL;
+        private static final Executor DEFAULT;
+
+        static {
+            ExecutorService anExecutor;
+            boolean virtual;
+            int maxConcurrency;
+            try {
+                anExecutor = newVirtualThreadPerTaskExecutor();
+                virtual = true;
+                maxConcurrency = Integer.getInteger(MAX_CONCURRENCY_PROPERTY, VIRTUAL_MAX_CONCURRENCY);
+            } catch (final UnsupportedOperationException e) {
+                maxConcurrency = Integer.getInteger(MAX_CONCURRENCY_PROPERTY, PLATFORM_MAX_CONCURRENCY);
+                anExecutor = newPlatformThreadExecutor(maxConcurrency);
+                virtual = false;
+            }
+            VIRTUAL = virtual;
+            DEFAULT = new ConcurrencyLimitedExecutor(anExecutor, maxConcurrency);
+        }
+    }
+}
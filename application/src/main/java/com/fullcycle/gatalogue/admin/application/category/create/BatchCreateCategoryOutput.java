@@ -0,0 +1,22 @@
+package com.fullcycle.gatalogue.admin.application.category.create;
+
+import com.fullcycle.catalogue.admin.domain.validation.Error;
+
+import java.util.List;
+
+/**
+ * The categories created, in command order, and the commands rejected, by their index in the
+ * batch, with every validation error found for each of them.
+ */
+public record BatchCreateCategoryOutput(
+        List<CreateCategoryOutput> created,
+        List<Failure> failures
+) {
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    public record Failure(int index, List<Error> errors) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.fullcycle.gatalogue.admin.application.category.create;
+
+import com.fullcycle.gatalogue.admin.application.UseCase;
+
+import java.util.List;
+
+public abstract class BatchCreateCategoryUseCase extends UseCase<List<CreateCategoryCommand>, BatchCreateCategoryOutput> {
+}
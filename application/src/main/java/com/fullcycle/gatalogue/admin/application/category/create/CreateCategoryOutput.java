@@ -1,2 +1,13 @@
-package com.fullcycle.gatalogue.admin.application.category.create;public class CreateCategoryOutput {
+package com.fullcycle.gatalogue.admin.application.category.create;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+
+public record CreateCategoryOutput(
+        CategoryID id
+) {
+
+    public static CreateCategoryOutput from(final Category aCategory) {
+        return new CreateCategoryOutput(aCategory.getId());
+    }
 }
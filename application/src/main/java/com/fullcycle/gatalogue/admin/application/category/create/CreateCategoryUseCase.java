@@ -1,2 +1,6 @@
-package com.fullcycle.gatalogue.admin.application.category.create;public class CreateCategoryUseCase {
+package com.fullcycle.gatalogue.admin.application.category.create;
+
+import com.fullcycle.gatalogue.admin.application.UseCase;
+
+public abstract class CreateCategoryUseCase extends UseCase<CreateCategoryCommand, CreateCategoryOutput> {
 }
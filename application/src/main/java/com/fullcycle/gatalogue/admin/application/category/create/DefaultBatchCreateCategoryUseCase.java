@@ -0,0 +1,69 @@
+package com.fullcycle.gatalogue.admin.application.category.create;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.validation.handler.Notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Validates the commands in chunks, in parallel once the batch is large enough to pay for it,
+ * and hands the valid categories to {@link CategoryGateway#createAll(List)} in a single call.
+ * Each chunk reuses one {@link Notification}, cleared between commands, and only copies the
+ * errors out of it for the commands that failed. Invalid commands are reported by index and never
+ * abort the rest of the batch.
+ */
+public class DefaultBatchCreateCategoryUseCase extends BatchCreateCategoryUseCase {
+
+    private static final int PARALLEL_THRESHOLD = 1_000;
+    private static final int CHUNK_SIZE = 256;
+
+    private final CategoryGateway categoryGateway;
+
+    public DefaultBatchCreateCategoryUseCase(final CategoryGateway categoryGateway) {
+        this.categoryGateway = Objects.requireNonNull(categoryGateway);
+    }
+
+    @Override
+    public BatchCreateCategoryOutput execute(final List<CreateCategoryCommand> aCommands) {
+        final var size = aCommands.size();
+        final var categories = new Category[size];
+        final var rejected = new BatchCreateCategoryOutput.Failure[size];
+
+        final var chunks = IntStream.range(0, (size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        (size >= PARALLEL_THRESHOLD ? chunks.parallel() : chunks).forEach(aChunk -> {
+            final var notification = Notification.create();
+            for (int i = aChunk * CHUNK_SIZE, end = Math.min(i + CHUNK_SIZE, size); i < end; i++) {
+                final var aCommand = aCommands.get(i);
+                final var aCategory = Category.newCategory(aCommand.name(), aCommand.description(), aCommand.isActive());
+                aCategory.validate(notification.clear());
+                if (notification.hasError()) {
+                    rejected[i] = new BatchCreateCategoryOutput.Failure(i, List.copyOf(notification.getErrors()));
+                } else {
+                    categories[i] = aCategory;
+                }
+            }
+        });
+
+        final var valid = new ArrayList<Category>(size);
+        final var failures = new ArrayList<BatchCreateCategoryOutput.Failure>();
+        for (int i = 0; i < size; i++) {
+            if (categories[i] != null) {
+                valid.add(categories[i]);
+            } else {
+                failures.add(rejected[i]);
+            }
+        }
+
+        final var created = new ArrayList<CreateCategoryOutput>(valid.size());
+        if (!valid.isEmpty()) {
+            for (final var aCategory : this.categoryGateway.createAll(valid)) {
+                created.add(CreateCategoryOutput.from(aCategory));
+            }
+        }
+        return new BatchCreateCategoryOutput(created, failures);
+    }
+}
@@ -1,2 +1,30 @@
-package com.fullcycle.gatalogue.admin.application.category.create;public class DefaultCreateCategoryUseCase {
+package com.fullcycle.gatalogue.admin.application.category.create;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.validation.handler.Notification;
+
+import java.util.Objects;
+
+public class DefaultCreateCategoryUseCase extends CreateCategoryUseCase {
+
+    private final CategoryGateway categoryGateway;
+
+    public DefaultCreateCategoryUseCase(final CategoryGateway categoryGateway) {
+        this.categoryGateway = Objects.requireNonNull(categoryGateway);
+    }
+
+    @Override
+    public CreateCategoryOutput execute(final CreateCategoryCommand aCommand) {
+        final var aCategory = Category.newCategory(aCommand.name(), aCommand.description(), aCommand.isActive());
+
+        final var notification = Notification.create();
+        aCategory.validate(notification);
+        if (notification.hasError()) {
+            throw DomainException.with(notification.getErrors());
+        }
+
+        return CreateCategoryOutput.from(this.categoryGateway.create(aCategory));
+    }
 }
@@ -0,0 +1,29 @@
+package com.fullcycle.gatalogue.admin.application.instrumentation;
+
+import com.fullcycle.gatalogue.admin.application.NullaryUseCase;
+
+import java.util.Objects;
+
+public class InstrumentedNullaryUseCase<OUT> extends NullaryUseCase<OUT> {
+
+    private final NullaryUseCase<OUT> delegate;
+    private final OperationMetrics metrics;
+
+    public InstrumentedNullaryUseCase(final NullaryUseCase<OUT> aDelegate, final MetricsRegistry aRegistry, final String aName) {
+        this.delegate = Objects.requireNonNull(aDelegate);
+        this.metrics = aRegistry.operation(aName);
+    }
+
+    @Override
+    public OUT execute() {
+        final var start = this.metrics.start();
+        try {
+            final var anOut = this.delegate.execute();
+            this.metrics.success(start);
+            return anOut;
+        } catch (final RuntimeException | Error e) {
+            this.metrics.failure(start, e);
+            throw e;
+        }
+    }
+}
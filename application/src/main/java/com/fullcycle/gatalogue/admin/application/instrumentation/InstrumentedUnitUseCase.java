@@ -0,0 +1,28 @@
+package com.fullcycle.gatalogue.admin.application.instrumentation;
+
+import com.fullcycle.gatalogue.admin.application.UnitUseCase;
+
+import java.util.Objects;
+
+public class InstrumentedUnitUseCase<IN> extends UnitUseCase<IN> {
+
+    private final UnitUseCase<IN> delegate;
+    private final OperationMetrics metrics;
+
+    public InstrumentedUnitUseCase(final UnitUseCase<IN> aDelegate, final MetricsRegistry aRegistry, final String aName) {
+        this.delegate = Objects.requireNonNull(aDelegate);
+        this.metrics = aRegistry.operation(aName);
+    }
+
+    @Override
+    public void execute(final IN anIn) {
+        final var start = this.metrics.start();
+        try {
+            this.delegate.execute(anIn);
+            this.metrics.success(start);
+        } catch (final RuntimeException | Error e) {
+            this.metrics.failure(start, e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.fullcycle.gatalogue.admin.application.instrumentation;
+
+import com.fullcycle.gatalogue.admin.application.UseCase;
+
+import java.util.Objects;
+
+public class InstrumentedUseCase<IN, OUT> extends UseCase<IN, OUT> {
+
+    private final UseCase<IN, OUT> delegate;
+    private final OperationMetrics metrics;
+
+    public InstrumentedUseCase(final UseCase<IN, OUT> aDelegate, final MetricsRegistry aRegistry, final String aName) {
+        this.delegate = Objects.requireNonNull(aDelegate);
+        this.metrics = aRegistry.operation(aName);
+    }
+
+    @Override
+    public OUT execute(final IN anIn) {
+        final var start = this.metrics.start();
+        try {
+            final var anOut = this.delegate.execute(anIn);
+            this.metrics.success(start);
+            return anOut;
+        } catch (final RuntimeException | Error e) {
+            this.metrics.failure(start, e);
+            throw e;
+        }
+    }
+}
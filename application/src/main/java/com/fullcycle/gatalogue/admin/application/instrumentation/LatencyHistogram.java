@@ -0,0 +1,111 @@
+package com.fullcycle.gatalogue.admin.application.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram in nanoseconds, in the spirit of HdrHistogram.
+ *
+ * Values below 32ns get a bucket each, above that every power of two is split into 32 linear
+ * sub-buckets, so a percentile is off by at most 1/32 of its value. Values beyond ~137s are
+ * counted in the last bucket. Count, sum and max are kept exactly.
+ *
+ * Recording never allocates or locks: it bumps one counter in one of a few striped bucket
+ * arrays, picked by thread, so threads timing the same operation rarely share a cache line.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final int STRIPES = Math.min(8, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final AtomicLongArray[] stripes;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public LatencyHistogram() {
+        this.stripes = new AtomicLongArray[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new AtomicLongArray(BUCKETS);
+        }
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    public void record(final long nanos) {
+        final var aValue = Math.max(0, nanos);
+        final var stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        this.stripes[stripe].incrementAndGet(index(aValue));
+        this.sum.add(aValue);
+        this.max.accumulate(aValue);
+    }
+
+    /**
+     * Sums the stripes into a point-in-time view. Recordings that race with the snapshot may or
+     * may not be part of it.
+     */
+    public Snapshot snapshot() {
+        final var counts = new long[BUCKETS];
+        var count = 0L;
+        for (final var aStripe : this.stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                final var c = aStripe.get(i);
+                counts[i] += c;
+                count += c;
+            }
+        }
+        final var max = this.max.get();
+        return new Snapshot(
+                count,
+                count == 0 ? 0 : this.sum.sum() / (double) count,
+                max,
+                percentile(counts, count, 0.50, max),
+                percentile(counts, count, 0.90, max),
+                percentile(counts, count, 0.99, max),
+                percentile(counts, count, 0.999, max)
+        );
+    }
+
+    static int index(final long aValue) {
+        if (aValue < SUB_BUCKETS) {
+            return (int) aValue;
+        }
+        final var exponent = Math.min(63 - Long.numberOfLeadingZeros(aValue), MAX_EXPONENT);
+        final var shift = exponent - SUB_BUCKET_BITS;
+        final var subBucket = (int) Math.min(aValue >>> shift, 2L * SUB_BUCKETS - 1) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * The highest value that lands in the bucket, as HdrHistogram reports percentiles.
+     */
+    static long highestEquivalentValue(final int anIndex) {
+        if (anIndex < SUB_BUCKETS) {
+            return anIndex;
+        }
+        final var shift = (anIndex - SUB_BUCKETS) / SUB_BUCKETS;
+        final var subBucket = (anIndex - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    private static long percentile(final long[] counts, final long count, final double aPercentile, final long max) {
+        if (count == 0) {
+            return 0;
+        }
+        final var rank = Math.max(1, (long) Math.ceil(aPercentile * count));
+        var seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public record Snapshot(long count, double mean, long max, long p50, long p90, long p99, long p999) {
+    }
+}
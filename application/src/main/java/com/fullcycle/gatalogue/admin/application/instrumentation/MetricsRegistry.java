@@ -0,0 +1,35 @@
+package com.fullcycle.gatalogue.admin.application.instrumentation;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named {@link OperationMetrics}, shared by every instrumented use case and gateway.
+ *
+ * Metrics are pulled: nothing is exported until someone calls {@link #snapshot()}, so an exporter
+ * can be plugged on top without the hot path knowing about it.
+ */
+public class MetricsRegistry {
+
+    private final ConcurrentHashMap<String, OperationMetrics> operations;
+
+    public MetricsRegistry() {
+        this.operations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the metrics of the operation, creating them on first use. Resolve them once and
+     * keep them, the lookup is not meant for the hot path.
+     */
+    public OperationMetrics operation(final String aName) {
+        return this.operations.computeIfAbsent(aName, OperationMetrics::new);
+    }
+
+    public List<OperationSnapshot> snapshot() {
+        return this.operations.values().stream()
+                .map(OperationMetrics::snapshot)
+                .sorted(Comparator.comparing(OperationSnapshot::name))
+                .toList();
+    }
+}
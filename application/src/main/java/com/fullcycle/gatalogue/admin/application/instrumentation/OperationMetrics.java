@@ -0,0 +1,65 @@
+package com.fullcycle.gatalogue.admin.application.instrumentation;
+
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls, failures, in-flight gauge and latency of one operation.
+ *
+ * Callers bracket the operation with {@link #start()} and {@link #success(long)} or
+ * {@link #failure(long, Throwable)}. Failures are split between {@link DomainException}, the
+ * rejections the domain expects, and everything else. Both outcomes feed the latency histogram.
+ */
+public final class OperationMetrics {
+
+    private final String name;
+    private final LatencyHistogram latency;
+    private final LongAdder domainErrors;
+    private final LongAdder otherErrors;
+    private final LongAdder inFlight;
+
+    public OperationMetrics(final String aName) {
+        this.name = aName;
+        this.latency = new LatencyHistogram();
+        this.domainErrors = new LongAdder();
+        this.otherErrors = new LongAdder();
+        this.inFlight = new LongAdder();
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    public long start() {
+        this.inFlight.increment();
+        return System.nanoTime();
+    }
+
+    public void success(final long startNanos) {
+        this.latency.record(System.nanoTime() - startNanos);
+        this.inFlight.decrement();
+    }
+
+    public void failure(final long startNanos, final Throwable anError) {
+        this.latency.record(System.nanoTime() - startNanos);
+        if (anError instanceof DomainException) {
+            this.domainErrors.increment();
+        } else {
+            this.otherErrors.increment();
+        }
+        this.inFlight.decrement();
+    }
+
+    public OperationSnapshot snapshot() {
+        final var aLatency = this.latency.snapshot();
+        return new OperationSnapshot(
+                this.name,
+                aLatency.count(),
+                this.domainErrors.sum(),
+                this.otherErrors.sum(),
+                this.inFlight.sum(),
+                aLatency
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.fullcycle.gatalogue.admin.application.instrumentation;
+
+public record OperationSnapshot(
+        String name,
+        long calls,
+        long domainErrors,
+        long otherErrors,
+        long inFlight,
+        LatencyHistogram.Snapshot latency
+) {
+
+    public long errors() {
+        return domainErrors + otherErrors;
+    }
+
+    public double errorRatio() {
+        return calls == 0 ? 0 : (double) errors() / calls;
+    }
+}
@@ -3,11 +3,127 @@ package com.fullcycle.gatalogue.admin.application;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class UseCaseTest {
 
     @Test
     public void testCreateUseCase(){
-        Assertions.assertNotNull(new UseCase());
-        Assertions.assertNotNull(new UseCase().execute());
+        final var useCase = new UseCase<String, String>() {
+            @Override
+            public String execute(final String anIn) {
+                return anIn.toUpperCase();
+            }
+        };
+
+        Assertions.assertNotNull(useCase);
+        Assertions.assertEquals("MOVIES", useCase.execute("movies"));
+    }
+
+    @Test
+    public void givenAUseCase_whenCallExecuteAsync_thenShouldRunOffTheCallerThread() {
+        final var caller = Thread.currentThread();
+        final var useCase = new UseCase<String, Thread>() {
+            @Override
+            public Thread execute(final String anIn) {
+                return Thread.currentThread();
+            }
+        };
+
+        final var actualThread = useCase.executeAsync("movies").join();
+
+        Assertions.assertNotSame(caller, actualThread);
+        Assertions.assertTrue(UseCaseExecutors.virtualThreadsAvailable() || actualThread.isDaemon());
+    }
+
+    @Test
+    public void givenAFailingUseCase_whenCallExecuteAsync_thenShouldCompleteExceptionally() {
+        final var expectedError = new IllegalStateException("gateway is down");
+        final var useCase = new UnitUseCase<String>() {
+            @Override
+            public void execute(final String anIn) {
+                throw expectedError;
+            }
+        };
+
+        final var actualError = Assertions.assertThrows(CompletionException.class, () -> useCase.executeAsync("movies").join());
+
+        Assertions.assertSame(expectedError, actualError.getCause());
+    }
+
+    @Test
+    public void givenANullaryUseCase_whenCallExecuteAsyncOnAnExecutor_thenShouldUseIt() throws Exception {
+        final var executor = Executors.newSingleThreadExecutor(aRunnable -> new Thread(aRunnable, "nullary"));
+        final var useCase = new NullaryUseCase<String>() {
+            @Override
+            public String execute() {
+                return Thread.currentThread().getName();
+            }
+        };
+
+        try {
+            Assertions.assertEquals("nullary", useCase.executeAsync(executor).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenALimitedExecutor_whenSubmittingMoreCallsThanTheLimit_thenShouldNeverRunMoreAtOnce() throws Exception {
+        final var maxConcurrency = 4;
+        final var delegate = Executors.newCachedThreadPool();
+        final var executor = new ConcurrencyLimitedExecutor(delegate, maxConcurrency);
+        final var running = new AtomicInteger();
+        final var peak = new AtomicInteger();
+        final var release = new CountDownLatch(1);
+        final var useCase = new UseCase<Integer, Integer>() {
+            @Override
+            public Integer execute(final Integer anIn) {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return anIn;
+            }
+        };
+
+        try {
+            final var futures = new ArrayList<CompletableFuture<Integer>>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(useCase.executeAsync(i, executor));
+            }
+            while (running.get() < maxConcurrency) {
+                Thread.onSpinWait();
+            }
+
+            Assertions.assertEquals(maxConcurrency, executor.running());
+            Assertions.assertEquals(100 - maxConcurrency, executor.pending());
+
+            release.countDown();
+            var sum = 0;
+            for (final var aFuture : futures) {
+                sum += aFuture.get(5, TimeUnit.SECONDS);
+            }
+
+            Assertions.assertEquals(4950, sum);
+            Assertions.assertEquals(maxConcurrency, peak.get());
+            Assertions.assertEquals(0, executor.pending());
+        } finally {
+            delegate.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenAnInvalidLimit_whenCreatingTheExecutor_thenShouldThrow() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimitedExecutor(Runnable::run, 0));
     }
 }
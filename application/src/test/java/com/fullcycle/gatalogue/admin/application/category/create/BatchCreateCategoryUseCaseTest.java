@@ -0,0 +1,113 @@
+package com.fullcycle.gatalogue.admin.application.category.create;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchCreateCategoryUseCaseTest {
+
+    @InjectMocks
+    private DefaultBatchCreateCategoryUseCase useCase;
+
+    @Mock
+    private CategoryGateway categoryGateway;
+
+    @Test
+    public void givenValidCommands_whenCallsBatchCreateCategory_thenShouldCreateThemInOneCall() {
+        final var aCommands = List.of(
+                CreateCategoryCommand.with("Movies", "Category most view", true),
+                CreateCategoryCommand.with("Series", "Category less view", false)
+        );
+
+        when(categoryGateway.createAll(anyList())).thenAnswer(returnsFirstArg());
+
+        final var actualOutput = useCase.execute(aCommands);
+
+        Assertions.assertEquals(2, actualOutput.created().size());
+        Assertions.assertFalse(actualOutput.hasFailures());
+
+        verify(categoryGateway, times(1)).createAll(argThat(categories ->
+                categories.size() == 2
+                        && "Movies".equals(categories.get(0).getName())
+                        && "Series".equals(categories.get(1).getName())
+                        && categories.get(1).getDeleteAt() != null
+        ));
+        verify(categoryGateway, never()).create(any());
+    }
+
+    @Test
+    public void givenSomeInvalidCommands_whenCallsBatchCreateCategory_thenShouldReportThemAndCreateTheRest() {
+        final var aCommands = List.of(
+                CreateCategoryCommand.with(null, "Category most view", true),
+                CreateCategoryCommand.with("Movies", "Category most view", true),
+                CreateCategoryCommand.with(" ", "Category most view", true)
+        );
+
+        when(categoryGateway.createAll(anyList())).thenAnswer(returnsFirstArg());
+
+        final var actualOutput = useCase.execute(aCommands);
+
+        Assertions.assertEquals(1, actualOutput.created().size());
+        Assertions.assertEquals(2, actualOutput.failures().size());
+        Assertions.assertEquals(0, actualOutput.failures().get(0).index());
+        Assertions.assertEquals("'name' should not be null", actualOutput.failures().get(0).errors().get(0).message());
+        Assertions.assertEquals(2, actualOutput.failures().get(1).index());
+        Assertions.assertEquals("'name' should not be Blank", actualOutput.failures().get(1).errors().get(0).message());
+
+        verify(categoryGateway, times(1)).createAll(argThat(categories -> categories.size() == 1));
+    }
+
+    @Test
+    public void givenOnlyInvalidCommands_whenCallsBatchCreateCategory_thenShouldNotCallTheGateway() {
+        final var actualOutput = useCase.execute(List.of(CreateCategoryCommand.with("Fa", null, true)));
+
+        Assertions.assertTrue(actualOutput.created().isEmpty());
+        Assertions.assertEquals(1, actualOutput.failures().size());
+
+        verify(categoryGateway, never()).createAll(anyList());
+    }
+
+    @Test
+    public void givenABatchLargeEnoughToValidateInParallel_whenCallsBatchCreateCategory_thenShouldKeepCommandOrder() {
+        final var aCommands = new ArrayList<CreateCategoryCommand>();
+        for (int i = 0; i < 5_000; i++) {
+            aCommands.add(CreateCategoryCommand.with(i % 10 == 0 ? null : "Category " + i, null, true));
+        }
+
+        when(categoryGateway.createAll(anyList())).thenAnswer(returnsFirstArg());
+
+        final var actualOutput = useCase.execute(aCommands);
+
+        Assertions.assertEquals(4_500, actualOutput.created().size());
+        Assertions.assertEquals(500, actualOutput.failures().size());
+        for (int i = 0; i < actualOutput.failures().size(); i++) {
+            Assertions.assertEquals(i * 10, actualOutput.failures().get(i).index());
+        }
+        verify(categoryGateway, times(1)).createAll(argThat(categories -> {
+            for (int i = 0; i < categories.size(); i++) {
+                final var expectedIndex = i + i / 9 + 1;
+                if (!("Category " + expectedIndex).equals(categories.get(i).getName())) {
+                    return false;
+                }
+            }
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,100 @@
+package com.fullcycle.gatalogue.admin.application.instrumentation;
+
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.validation.Error;
+import com.fullcycle.gatalogue.admin.application.NullaryUseCase;
+import com.fullcycle.gatalogue.admin.application.UnitUseCase;
+import com.fullcycle.gatalogue.admin.application.UseCase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class InstrumentedUseCaseTest {
+
+    @Test
+    public void givenAnInstrumentedUseCase_whenItSucceedsAndFails_thenShouldSplitTheErrors() {
+        final var aRegistry = new MetricsRegistry();
+        final var aUseCase = new InstrumentedUseCase<>(new UseCase<String, String>() {
+            @Override
+            public String execute(final String anIn) {
+                return switch (anIn) {
+                    case "invalid" -> throw DomainException.with(new Error("'name' should not be empty"));
+                    case "down" -> throw new IllegalStateException("gateway is down");
+                    default -> anIn.toUpperCase();
+                };
+            }
+        }, aRegistry, "category.create");
+
+        Assertions.assertEquals("MOVIES", aUseCase.execute("movies"));
+        Assertions.assertEquals("SERIES", aUseCase.execute("series"));
+        Assertions.assertThrows(DomainException.class, () -> aUseCase.execute("invalid"));
+        Assertions.assertThrows(IllegalStateException.class, () -> aUseCase.execute("down"));
+
+        final var actualSnapshot = aRegistry.snapshot().get(0);
+
+        Assertions.assertEquals("category.create", actualSnapshot.name());
+        Assertions.assertEquals(4, actualSnapshot.calls());
+        Assertions.assertEquals(1, actualSnapshot.domainErrors());
+        Assertions.assertEquals(1, actualSnapshot.otherErrors());
+        Assertions.assertEquals(0.5, actualSnapshot.errorRatio());
+        Assertions.assertEquals(0, actualSnapshot.inFlight());
+        Assertions.assertEquals(4, actualSnapshot.latency().count());
+    }
+
+    @Test
+    public void givenABlockedUseCase_whenRunningAsync_thenShouldReportItInFlight() throws Exception {
+        final var aRegistry = new MetricsRegistry();
+        final var entered = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var aUseCase = new InstrumentedUnitUseCase<>(new UnitUseCase<String>() {
+            @Override
+            public void execute(final String anIn) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, aRegistry, "category.delete");
+
+        final var aResult = aUseCase.executeAsync("movies");
+        Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(1, aRegistry.operation("category.delete").snapshot().inFlight());
+
+        release.countDown();
+        aResult.get(5, TimeUnit.SECONDS);
+
+        final var actualSnapshot = aRegistry.operation("category.delete").snapshot();
+        Assertions.assertEquals(0, actualSnapshot.inFlight());
+        Assertions.assertEquals(1, actualSnapshot.calls());
+    }
+
+    @Test
+    public void givenSeveralInstrumentedUseCases_whenCallSnapshot_thenShouldListThemByName() {
+        final var aRegistry = new MetricsRegistry();
+        final var aList = new InstrumentedNullaryUseCase<>(new NullaryUseCase<Integer>() {
+            @Override
+            public Integer execute() {
+                return 42;
+            }
+        }, aRegistry, "category.list");
+        final var aCreate = new InstrumentedUseCase<>(new UseCase<String, String>() {
+            @Override
+            public String execute(final String anIn) {
+                return anIn;
+            }
+        }, aRegistry, "category.create");
+
+        aList.execute();
+        aCreate.execute("movies");
+
+        final var actualNames = aRegistry.snapshot().stream().map(OperationSnapshot::name).toList();
+
+        Assertions.assertEquals(List.of("category.create", "category.list"), actualNames);
+    }
+}
@@ -0,0 +1,80 @@
+package com.fullcycle.gatalogue.admin.application.instrumentation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void givenAnyValue_whenIndexed_thenItsBucketShouldBoundItWithinTheResolution() {
+        final var random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            final var aValue = random.nextLong(1L << 37);
+            final var actualHighest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.index(aValue));
+
+            Assertions.assertTrue(actualHighest >= aValue, () -> aValue + " above its bucket " + actualHighest);
+            Assertions.assertTrue(actualHighest - aValue <= aValue / 32, () -> aValue + " too far from " + actualHighest);
+        }
+        for (long aValue = 0; aValue < 32; aValue++) {
+            Assertions.assertEquals(aValue, LatencyHistogram.highestEquivalentValue(LatencyHistogram.index(aValue)));
+        }
+    }
+
+    @Test
+    public void givenUniformLatencies_whenCallSnapshot_thenShouldReportPercentilesWithinTheResolution() {
+        final var aHistogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            aHistogram.record(micros * 1_000);
+        }
+
+        final var actualSnapshot = aHistogram.snapshot();
+
+        Assertions.assertEquals(10_000, actualSnapshot.count());
+        Assertions.assertEquals(10_000_000, actualSnapshot.max());
+        Assertions.assertEquals(5_000_500, actualSnapshot.mean(), 0.5);
+        assertWithin(5_000_000, actualSnapshot.p50());
+        assertWithin(9_000_000, actualSnapshot.p90());
+        assertWithin(9_900_000, actualSnapshot.p99());
+        assertWithin(9_990_000, actualSnapshot.p999());
+    }
+
+    @Test
+    public void givenAnEmptyHistogram_whenCallSnapshot_thenShouldReportZeros() {
+        final var actualSnapshot = new LatencyHistogram().snapshot();
+
+        Assertions.assertEquals(0, actualSnapshot.count());
+        Assertions.assertEquals(0, actualSnapshot.p99());
+        Assertions.assertEquals(0, actualSnapshot.mean());
+    }
+
+    @Test
+    public void givenConcurrentRecorders_whenTheyFinish_thenShouldCountEveryRecording() throws Exception {
+        final var aHistogram = new LatencyHistogram();
+        final var threads = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            final var aThread = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    aHistogram.record(1_000);
+                }
+            });
+            threads.add(aThread);
+            aThread.start();
+        }
+        for (final var aThread : threads) {
+            aThread.join();
+        }
+
+        final var actualSnapshot = aHistogram.snapshot();
+
+        Assertions.assertEquals(400_000, actualSnapshot.count());
+        Assertions.assertEquals(1_000, actualSnapshot.max());
+        Assertions.assertEquals(1_000, actualSnapshot.p50(), 1_000 / 32.0);
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        Assertions.assertTrue(actual >= expected && actual - expected <= expected / 32, () -> actual + " is not within the resolution of " + expected);
+    }
+}
@@ -0,0 +1,100 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.gatalogue.admin.application.category.create.BatchCreateCategoryOutput;
+import com.fullcycle.gatalogue.admin.application.category.create.CreateCategoryCommand;
+import com.fullcycle.gatalogue.admin.application.category.create.DefaultBatchCreateCategoryUseCase;
+import com.fullcycle.gatalogue.admin.application.category.create.DefaultCreateCategoryUseCase;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Creating {@code batchSize} categories, every tenth one invalid, with one {@code CreateCategoryUseCase}
+ * call per command versus one {@code BatchCreateCategoryUseCase} call. Every gateway call blocks
+ * for {@code roundTripMicros} like a database round trip, and the gateway does not keep what it
+ * creates so iterations do not grow a store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchCreateCategoryUseCaseBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int batchSize;
+
+    @Param({"0", "100"})
+    public long roundTripMicros;
+
+    private List<CreateCategoryCommand> commands;
+    private DefaultCreateCategoryUseCase createCategory;
+    private DefaultBatchCreateCategoryUseCase batchCreateCategory;
+
+    @Setup
+    public void setup() {
+        final var roundTripNanos = TimeUnit.MICROSECONDS.toNanos(this.roundTripMicros);
+        final var aGateway = new CategoryInMemoryGateway() {
+            @Override
+            public Category create(final Category aCategory) {
+                roundTrip();
+                return aCategory;
+            }
+
+            @Override
+            public List<Category> createAll(final List<Category> categories) {
+                roundTrip();
+                return categories;
+            }
+
+            private void roundTrip() {
+                if (roundTripNanos > 0) {
+                    LockSupport.parkNanos(roundTripNanos);
+                }
+            }
+        };
+        this.createCategory = new DefaultCreateCategoryUseCase(aGateway);
+        this.batchCreateCategory = new DefaultBatchCreateCategoryUseCase(aGateway);
+
+        final var categories = CategoryFixtures.categories(this.batchSize);
+        this.commands = new ArrayList<>(this.batchSize);
+        for (int i = 0; i < categories.size(); i++) {
+            final var aCategory = categories.get(i);
+            final var aName = i % 10 == 9 ? null : aCategory.getName();
+            this.commands.add(CreateCategoryCommand.with(aName, aCategory.getDescription(), aCategory.isActive()));
+        }
+    }
+
+    @Benchmark
+    public void oneByOne(final Blackhole blackhole) {
+        for (final var aCommand : this.commands) {
+            try {
+                blackhole.consume(this.createCategory.execute(aCommand));
+            } catch (final RuntimeException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public BatchCreateCategoryOutput batch() {
+        return this.batchCreateCategory.execute(this.commands);
+    }
+}
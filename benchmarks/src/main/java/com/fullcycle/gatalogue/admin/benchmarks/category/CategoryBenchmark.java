@@ -0,0 +1,75 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.validation.handler.ThrowsValidationHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryBenchmark {
+
+    private Category validCategory;
+    private Category otherCategory;
+    private Category sameIdCategory;
+    private Category invalidCategory;
+
+    @Setup
+    public void setup() {
+        this.validCategory = Category.newCategory("Movies", "Category most view", true);
+        this.otherCategory = Category.newCategory("Movies", "Category most view", true);
+        this.sameIdCategory = Category.with(this.validCategory);
+        this.invalidCategory = Category.newCategory("Fa", "Category most view", true);
+    }
+
+    @Benchmark
+    public Category newCategory() {
+        return Category.newCategory("Movies", "Category most view", true);
+    }
+
+    @Benchmark
+    public boolean entityEqualsSameId() {
+        return this.validCategory.equals(this.sameIdCategory);
+    }
+
+    @Benchmark
+    public boolean entityEqualsOtherId() {
+        return this.validCategory.equals(this.otherCategory);
+    }
+
+    @Benchmark
+    public int entityHashCode() {
+        return this.validCategory.hashCode();
+    }
+
+    @Benchmark
+    public Category validateValidWithThrowsHandler() {
+        this.validCategory.validate(new ThrowsValidationHandler());
+        return this.validCategory;
+    }
+
+    @Benchmark
+    public Object validateInvalidWithThrowsHandler() {
+        try {
+            this.invalidCategory.validate(new ThrowsValidationHandler());
+            return this.invalidCategory;
+        } catch (final DomainException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A consumer catching up on the last {@code delta} writes of the in-memory gateway through the
+ * change feed, against rescanning the whole catalogue, which is what a resync costs without it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CategoryChangeFeedBenchmark {
+
+    private static final int PAGE_SIZE = 1_000;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"100", "10000"})
+    public int delta;
+
+    private CategoryInMemoryGateway gateway;
+    private String token;
+
+    @Setup
+    public void setup() {
+        this.gateway = CategoryFixtures.fill(new CategoryInMemoryGateway(), this.size);
+        var aPage = this.gateway.findChanges(CategoryChangeQuery.fromStart(this.size));
+        this.token = aPage.nextToken();
+
+        final var ids = this.gateway.findAllSnapshots(new CategorySearchQuery(0, this.size, null, "name", "asc"))
+                .items().stream().map(CategorySnapshot::id).toArray(CategoryID[]::new);
+        final var random = new Random(CategoryFixtures.SEED);
+        for (int i = 0; i < this.delta; i++) {
+            final var aCategory = this.gateway.findById(ids[random.nextInt(ids.length)]).orElseThrow();
+            this.gateway.update(aCategory.update(aCategory.getName(), "changed " + i, aCategory.isActive()));
+        }
+    }
+
+    @Benchmark
+    public long changesSinceToken() {
+        var rows = 0L;
+        var aToken = this.token;
+        while (true) {
+            final var aPage = this.gateway.findChanges(new CategoryChangeQuery(aToken, PAGE_SIZE));
+            rows += aPage.items().size();
+            if (!aPage.hasMore()) {
+                return rows;
+            }
+            aToken = aPage.nextToken();
+        }
+    }
+
+    @Benchmark
+    public long fullRescan() {
+        try (final var rows = this.gateway.streamAll(CategoryStreamQuery.all())) {
+            return rows.count();
+        }
+    }
+}
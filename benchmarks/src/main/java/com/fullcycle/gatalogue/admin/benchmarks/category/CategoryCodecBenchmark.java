@@ -0,0 +1,128 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CategoryCodec} against Jackson JSON of the usual wire shape (UUID string, ISO-8601
+ * instants), encoding into and decoding from a reused buffer. Run with {@code -prof gc} for the
+ * allocation per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryCodecBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    private Category[] categories;
+    private ByteBuffer[] binary;
+    private byte[][] json;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        final var fixtures = CategoryFixtures.categories(SAMPLES);
+        this.categories = new Category[SAMPLES];
+        this.binary = new ByteBuffer[SAMPLES];
+        this.json = new byte[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            final var aCategory = fixtures.get(i);
+            this.categories[i] = aCategory;
+            this.binary[i] = ByteBuffer.allocate(CategoryCodec.encodedSize(aCategory));
+            CategoryCodec.encode(aCategory, this.binary[i]);
+            this.binary[i].flip();
+            this.json[i] = this.mapper.writeValueAsBytes(CategoryJson.from(aCategory));
+        }
+    }
+
+    @Benchmark
+    public int binaryEncode() {
+        this.buffer.clear();
+        return CategoryCodec.encode(nextCategory(), this.buffer);
+    }
+
+    @Benchmark
+    public Category binaryDecode() {
+        final var aSource = this.binary[nextIndex()];
+        aSource.rewind();
+        return CategoryCodec.decode(aSource);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return this.mapper.writeValueAsBytes(CategoryJson.from(nextCategory()));
+    }
+
+    @Benchmark
+    public Category jsonDecode() throws IOException {
+        return this.mapper.readValue(this.json[nextIndex()], CategoryJson.class).toCategory();
+    }
+
+    private Category nextCategory() {
+        return this.categories[nextIndex()];
+    }
+
+    private int nextIndex() {
+        this.next = (this.next + 1) & (SAMPLES - 1);
+        return this.next;
+    }
+
+    public record CategoryJson(
+            String id,
+            String name,
+            String description,
+            boolean active,
+            String createAt,
+            String updateAt,
+            String deleteAt
+    ) {
+
+        static CategoryJson from(final Category aCategory) {
+            return new CategoryJson(
+                    aCategory.getId().getValue(),
+                    aCategory.getName(),
+                    aCategory.getDescription(),
+                    aCategory.isActive(),
+                    text(aCategory.getCreateAt()),
+                    text(aCategory.getUpdateAt()),
+                    text(aCategory.getDeleteAt())
+            );
+        }
+
+        Category toCategory() {
+            return Category.with(CategoryID.from(id), name, description, active, instant(createAt), instant(updateAt), instant(deleteAt));
+        }
+
+        private static String text(final Instant anInstant) {
+            return anInstant == null ? null : anInstant.toString();
+        }
+
+        private static Instant instant(final String aValue) {
+            return aValue == null ? null : Instant.parse(aValue);
+        }
+    }
+}
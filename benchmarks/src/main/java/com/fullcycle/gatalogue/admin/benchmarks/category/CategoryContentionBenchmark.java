@@ -0,0 +1,93 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.exceptions.StaleVersionException;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many writers doing read, modify, write on {@code hotIds} categories of the in-memory gateway.
+ * {@code compareAndUpdate} retries until its write lands and reports the rejected attempts as
+ * {@code conflicts}; {@code update} writes unconditionally and silently loses the updates that
+ * raced, which is the baseline the version check is paid against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class CategoryContentionBenchmark {
+
+    @Param({"1", "16", "1024"})
+    public int hotIds;
+
+    private CategoryInMemoryGateway gateway;
+    private CategoryID[] ids;
+
+    @Setup
+    public void setup() {
+        this.gateway = new CategoryInMemoryGateway();
+        this.ids = new CategoryID[this.hotIds];
+        for (int i = 0; i < this.hotIds; i++) {
+            this.ids[i] = this.gateway.create(Category.newCategory("Hot " + i, "0", true)).getId();
+        }
+    }
+
+    @Benchmark
+    public Category compareAndUpdate(final Attempts attempts) {
+        final var anID = randomId();
+        while (true) {
+            final var aCopy = this.gateway.findById(anID).orElseThrow();
+            try {
+                return this.gateway.compareAndUpdate(increment(aCopy));
+            } catch (final StaleVersionException e) {
+                attempts.conflicts++;
+            }
+        }
+    }
+
+    @Benchmark
+    public Category update() {
+        final var aCopy = this.gateway.findById(randomId()).orElseThrow();
+        return this.gateway.update(increment(aCopy));
+    }
+
+    private static Category increment(final Category aCategory) {
+        return aCategory.update(aCategory.getName(), String.valueOf(Long.parseLong(aCategory.getDescription()) + 1), true);
+    }
+
+    private CategoryID randomId() {
+        return this.ids[ThreadLocalRandom.current().nextInt(this.ids.length)];
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Attempts {
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.conflicts = 0;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryExporter;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full-catalogue export of the in-memory gateway to a channel that discards its bytes, so the
+ * {@code rows} counter reads as rows per second of streaming and encoding alone. {@code cursorPages}
+ * walks the same rows through cursor listings of {@link CategoryGateway#STREAM_PAGE_SIZE}, which
+ * is what an export had to do before {@code streamAll}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CategoryExportBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"NDJSON", "BINARY"})
+    public CategoryExporter.Format format;
+
+    @Param({"false", "true"})
+    public boolean consistent;
+
+    private CategoryInMemoryGateway gateway;
+    private CategoryExporter exporter;
+
+    @Setup
+    public void setup() {
+        this.gateway = CategoryFixtures.fill(new CategoryInMemoryGateway(), this.size);
+        this.exporter = new CategoryExporter(this.gateway);
+    }
+
+    @Benchmark
+    public CategoryExporter.ExportStats export(final Rows rows) {
+        final var aStats = this.exporter.export(new CategoryStreamQuery(null, "name", "asc", this.consistent), this.format, new DiscardingChannel());
+        rows.rows += aStats.rows();
+        return aStats;
+    }
+
+    @Benchmark
+    public long cursorPages(final Rows rows) {
+        var aPage = this.gateway.findAllSnapshots(new CategoryCursorQuery(null, CategoryGateway.STREAM_PAGE_SIZE, null, "name", "asc"));
+        var walked = aPage.items().size();
+        while (aPage.hasNext()) {
+            aPage = this.gateway.findAllSnapshots(new CategoryCursorQuery(aPage.nextCursor(), CategoryGateway.STREAM_PAGE_SIZE, null, "name", "asc"));
+            walked += aPage.items().size();
+        }
+        rows.rows += walked;
+        return walked;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.rows = 0;
+        }
+    }
+
+    private static final class DiscardingChannel implements WritableByteChannel {
+
+        @Override
+        public int write(final ByteBuffer aSource) {
+            final var size = aSource.remaining();
+            aSource.position(aSource.limit());
+            return size;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
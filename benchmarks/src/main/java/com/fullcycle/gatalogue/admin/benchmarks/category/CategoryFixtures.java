@@ -0,0 +1,76 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic category datasets, so every run of a suite measures the same data.
+ */
+public final class CategoryFixtures {
+
+    public static final long SEED = 42L;
+
+    /**
+     * A two letter word closing every fourth description, so a short term matching a quarter of
+     * the rows exists. Appending it draws nothing from the random stream, so the rest of the data
+     * stays the same.
+     */
+    public static final String COMMON_WORD = "hd";
+
+    private static final String[] GENRES = {
+            "action", "adventure", "animation", "biography", "comedy", "crime", "documentary", "drama",
+            "family", "fantasy", "history", "horror", "music", "mystery", "romance", "science",
+            "fiction", "sport", "thriller", "war", "western", "kids", "classic", "indie",
+            "ação", "comédia", "ficção", "animação", "suspense", "terror", "musical", "épico"
+    };
+    private static final String[] SYLLABLES = {
+            "ba", "ca", "da", "fe", "ge", "hi", "ja", "ki", "lo", "ma", "ne", "no", "pa", "qui", "ra",
+            "sa", "ta", "tu", "ve", "xa", "zo", "ção", "lé", "mí", "tô"
+    };
+    private static final int VOCABULARY_SIZE = 5_000;
+    private static final String[] WORDS = vocabulary();
+
+    private CategoryFixtures() {
+    }
+
+    public static List<Category> categories(final int size) {
+        final var random = new Random(SEED);
+        final var categories = new ArrayList<Category>(size);
+        for (int i = 0; i < size; i++) {
+            final var aName = word(random) + " " + word(random);
+            final var aDescription = word(random) + " " + word(random) + " " + word(random) + " " + word(random)
+                    + (i % 4 == 0 ? " " + COMMON_WORD : "");
+            categories.add(Category.newCategory(aName, aDescription, random.nextInt(10) != 0));
+        }
+        return categories;
+    }
+
+    public static <T extends CategoryGateway> T fill(final T aGateway, final int size) {
+        for (final var aCategory : categories(size)) {
+            aGateway.create(aCategory);
+        }
+        return aGateway;
+    }
+
+    private static String word(final Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String[] vocabulary() {
+        final var random = new Random(SEED);
+        final var words = new LinkedHashSet<String>(List.of(GENRES));
+        while (words.size() < VOCABULARY_SIZE) {
+            final var aWord = new StringBuilder();
+            for (int i = 0, syllables = 2 + random.nextInt(3); i < syllables; i++) {
+                aWord.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words.add(aWord.toString());
+        }
+        return words.toArray(new String[0]);
+    }
+}
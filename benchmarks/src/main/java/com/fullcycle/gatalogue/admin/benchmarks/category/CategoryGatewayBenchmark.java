@@ -0,0 +1,142 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code findAll} variants of the in-memory gateway: first and deep offset pages, the same deep
+ * page reached with a cursor, free-text {@code terms} searches, and the maintained counts next
+ * to the estimated match count of a broad search.
+ *
+ * The {@code terms} cases run from narrow to wide: a full name, a word and a prefix, a rare
+ * accented word, a two letter prefix, a three letter prefix found in nearly a quarter of the rows,
+ * and a two letter word found in a quarter of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CategoryGatewayBenchmark {
+
+    private static final int PER_PAGE = 50;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private CategoryInMemoryGateway gateway;
+    private int deepPage;
+    private String deepCursor;
+    private String selectiveTerms;
+    private String prefixTerms;
+    private String broadTerms;
+    private String shortPrefixTerms;
+    private String commonPrefixTerms;
+    private String commonTerms;
+
+    @Setup
+    public void setup() {
+        this.gateway = CategoryFixtures.fill(new CategoryInMemoryGateway(), this.size);
+        this.deepPage = this.size / PER_PAGE - 2;
+
+        String aCursor = null;
+        for (int i = 0; i < this.deepPage; i++) {
+            aCursor = this.gateway.findAll(new CategoryCursorQuery(aCursor, PER_PAGE, null, "name", "asc")).nextCursor();
+        }
+        this.deepCursor = aCursor;
+
+        final var aName = this.gateway.findAll(new CategorySearchQuery(this.size / 2, 1, null, "name", "asc"))
+                .items().get(0).getName();
+        final var words = aName.split(" ");
+        this.selectiveTerms = aName.toUpperCase();
+        this.prefixTerms = words[0] + " " + words[1].substring(0, 3);
+        this.broadTerms = "ação";
+        this.shortPrefixTerms = "qu";
+        this.commonPrefixTerms = "qui";
+        this.commonTerms = CategoryFixtures.COMMON_WORD;
+    }
+
+    @Benchmark
+    public Pagination<Category> offsetFirstPage() {
+        return this.gateway.findAll(new CategorySearchQuery(0, PER_PAGE, null, "name", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<Category> offsetDeepPage() {
+        return this.gateway.findAll(new CategorySearchQuery(this.deepPage, PER_PAGE, null, "name", "asc"));
+    }
+
+    @Benchmark
+    public CursorPagination<Category> cursorFirstPage() {
+        return this.gateway.findAll(new CategoryCursorQuery(null, PER_PAGE, null, "name", "asc"));
+    }
+
+    @Benchmark
+    public CursorPagination<Category> cursorDeepPage() {
+        return this.gateway.findAll(new CategoryCursorQuery(this.deepCursor, PER_PAGE, null, "name", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<Category> termsSelective() {
+        return this.gateway.findAll(new CategorySearchQuery(0, PER_PAGE, this.selectiveTerms, "", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<Category> termsPrefix() {
+        return this.gateway.findAll(new CategorySearchQuery(0, PER_PAGE, this.prefixTerms, "", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<Category> termsBroadSortedByName() {
+        return this.gateway.findAll(new CategorySearchQuery(0, PER_PAGE, this.broadTerms, "name", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<Category> termsShortPrefixSortedByName() {
+        return this.gateway.findAll(new CategorySearchQuery(0, PER_PAGE, this.shortPrefixTerms, "name", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<Category> termsCommonPrefixSortedByName() {
+        return this.gateway.findAll(new CategorySearchQuery(0, PER_PAGE, this.commonPrefixTerms, "name", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<Category> termsCommonSortedByName() {
+        return this.gateway.findAll(new CategorySearchQuery(0, PER_PAGE, this.commonTerms, "name", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<Category> termsCommonRanked() {
+        return this.gateway.findAll(new CategorySearchQuery(0, PER_PAGE, this.commonTerms, "", "asc"));
+    }
+
+    @Benchmark
+    public CategoryCounts counts() {
+        return this.gateway.counts();
+    }
+
+    @Benchmark
+    public long estimateBroadTerms() {
+        return this.gateway.estimateCount(this.broadTerms);
+    }
+}
@@ -0,0 +1,103 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation, parsing and map lookup costs of {@link CategoryID}.
+ *
+ * {@code allocateIds} keeps {@code size} ids alive; run it with {@code -prof gc} and divide
+ * {@code gc.alloc.rate.norm} by {@code size} to get the bytes each id costs on the heap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryIDBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private String value;
+    private UUID uuid;
+    private CategoryID[] probes;
+    private Map<CategoryID, Integer> index;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(CategoryFixtures.SEED);
+        this.uuid = new UUID(random.nextLong(), random.nextLong());
+        this.value = this.uuid.toString();
+        this.index = new HashMap<>(this.size * 2);
+        this.probes = new CategoryID[this.size];
+        for (int i = 0; i < this.size; i++) {
+            final var anID = CategoryID.from(new UUID(random.nextLong(), random.nextLong()));
+            this.index.put(anID, i);
+            this.probes[i] = CategoryID.from(anID.getMostSigBits(), anID.getLeastSigBits());
+        }
+    }
+
+    @Benchmark
+    public CategoryID unique() {
+        return CategoryID.unique();
+    }
+
+    @Benchmark
+    public CategoryID timeOrdered() {
+        return CategoryID.timeOrdered();
+    }
+
+    @Benchmark
+    public CategoryID fromString() {
+        return CategoryID.from(this.value);
+    }
+
+    @Benchmark
+    public CategoryID fromUUID() {
+        return CategoryID.from(this.uuid);
+    }
+
+    @Benchmark
+    public String fromStringAndGetValue() {
+        return CategoryID.from(this.value).getValue();
+    }
+
+    @Benchmark
+    public Integer mapLookup() {
+        final var aProbe = this.probes[this.cursor];
+        this.cursor = this.cursor + 1 == this.size ? 0 : this.cursor + 1;
+        return this.index.get(aProbe);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public CategoryID[] allocateIds() {
+        final var ids = new CategoryID[this.size];
+        for (int i = 0; i < this.size; i++) {
+            ids[i] = CategoryID.timeOrdered();
+        }
+        return ids;
+    }
+}
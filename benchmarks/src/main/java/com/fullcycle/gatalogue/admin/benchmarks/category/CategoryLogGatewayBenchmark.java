@@ -0,0 +1,93 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryLogGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing {@code size} categories into an empty {@link CategoryLogGateway}, closing included,
+ * and reopening a log of {@code size} categories, which replays it and rebuilds the indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CategoryLogGatewayBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Category> categories;
+    private Path recovery;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.categories = CategoryFixtures.categories(this.size);
+        this.recovery = Files.createTempDirectory("category-log-recovery");
+        try (final var aGateway = new CategoryLogGateway(this.recovery)) {
+            this.categories.forEach(aGateway::create);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() throws IOException {
+        this.target = Files.createTempDirectory("category-log-write");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() throws IOException {
+        delete(this.target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(this.recovery);
+    }
+
+    @Benchmark
+    public long write() {
+        try (final var aGateway = new CategoryLogGateway(this.target)) {
+            for (final var aCategory : this.categories) {
+                aGateway.create(aCategory);
+            }
+            return aGateway.count();
+        }
+    }
+
+    @Benchmark
+    public long recover() {
+        try (final var aGateway = new CategoryLogGateway(this.recovery)) {
+            return aGateway.count();
+        }
+    }
+
+    private static void delete(final Path aDirectory) throws IOException {
+        try (final var paths = Files.walk(aDirectory)) {
+            for (final var aPath : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(aPath);
+            }
+        }
+    }
+}
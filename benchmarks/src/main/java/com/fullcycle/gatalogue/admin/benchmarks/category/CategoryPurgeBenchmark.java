@@ -0,0 +1,95 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryPurger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Foreground reads of the in-memory gateway while a {@link CategoryPurger} removes the
+ * categories soft-deleted at the start of every iteration, {@code softDeletes} of them, at up to
+ * {@code maxRowsPerSecond}; zero runs without a purger, as the baseline. Sampled, so the tail
+ * shows what the purge batches cost foreground callers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CategoryPurgeBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PER_PAGE = 50;
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"20000"})
+    public int softDeletes;
+
+    @Param({"0", "10000", "100000"})
+    public int maxRowsPerSecond;
+
+    private CategoryInMemoryGateway gateway;
+    private CategoryPurger purger;
+    private CategoryID[] ids;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        this.gateway = CategoryFixtures.fill(new CategoryInMemoryGateway(), this.size);
+        this.ids = this.gateway.findAllSnapshots(new CategorySearchQuery(0, this.size, null, "name", "asc"))
+                .items().stream().map(CategorySnapshot::id).toArray(CategoryID[]::new);
+        this.random = new Random(CategoryFixtures.SEED);
+        if (this.maxRowsPerSecond > 0) {
+            this.purger = new CategoryPurger(this.gateway, Duration.ZERO, BATCH_SIZE, this.maxRowsPerSecond, Duration.ofMillis(50));
+            this.purger.purgeNow();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void softDelete() {
+        for (int i = 0; i < this.softDeletes; i++) {
+            this.gateway.findById(this.ids[this.random.nextInt(this.ids.length)])
+                    .filter(aCategory -> aCategory.getDeleteAt() == null)
+                    .ifPresent(aCategory -> this.gateway.update(aCategory.deActivate()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (this.purger != null) {
+            this.purger.close();
+        }
+    }
+
+    @Benchmark
+    public CategorySnapshot findById() {
+        return this.gateway.findSnapshotById(this.ids[this.random.nextInt(this.ids.length)]).orElse(null);
+    }
+
+    @Benchmark
+    public Pagination<CategorySnapshot> firstPage() {
+        return this.gateway.findAllSnapshots(new CategorySearchQuery(0, PER_PAGE, null, "name", "asc"));
+    }
+}
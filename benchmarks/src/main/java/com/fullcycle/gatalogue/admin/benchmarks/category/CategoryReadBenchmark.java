@@ -0,0 +1,91 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryCachedGateway;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregate reads against snapshot reads, on the in-memory gateway and through the cache.
+ * Run with {@code -prof gc}: the aggregate variants copy every category they return, the
+ * snapshot variants hand out the stored instances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryReadBenchmark {
+
+    private static final int SIZE = 100_000;
+    private static final CategorySearchQuery PAGE = new CategorySearchQuery(10, 50, null, "name", "asc");
+
+    private CategoryInMemoryGateway gateway;
+    private CategoryGateway cached;
+    private CategoryID[] ids;
+
+    @Setup
+    public void setup() {
+        this.gateway = CategoryFixtures.fill(new CategoryInMemoryGateway(), SIZE);
+        this.cached = new CategoryCachedGateway(this.gateway, SIZE, Duration.ofHours(1), Duration.ofHours(1));
+        this.ids = this.gateway.findAllSnapshots(new CategorySearchQuery(0, SIZE, null, "name", "asc"))
+                .items().stream().map(CategorySnapshot::id).toArray(CategoryID[]::new);
+        for (final var anID : this.ids) {
+            this.cached.findById(anID);
+        }
+    }
+
+    @Benchmark
+    public Optional<Category> findById() {
+        return this.gateway.findById(randomId());
+    }
+
+    @Benchmark
+    public Optional<CategorySnapshot> findSnapshotById() {
+        return this.gateway.findSnapshotById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Category> cachedFindById() {
+        return this.cached.findById(randomId());
+    }
+
+    @Benchmark
+    public Optional<CategorySnapshot> cachedFindSnapshotById() {
+        return this.cached.findSnapshotById(randomId());
+    }
+
+    @Benchmark
+    public Pagination<Category> findAll() {
+        return this.gateway.findAll(PAGE);
+    }
+
+    @Benchmark
+    public Pagination<CategorySnapshot> findAllSnapshots() {
+        return this.gateway.findAllSnapshots(PAGE);
+    }
+
+    private CategoryID randomId() {
+        return this.ids[ThreadLocalRandom.current().nextInt(SIZE)];
+    }
+}
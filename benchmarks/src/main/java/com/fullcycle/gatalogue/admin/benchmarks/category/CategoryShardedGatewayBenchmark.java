@@ -0,0 +1,98 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryShardedGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The in-memory catalogue split over {@code shards} hash shards: routed point reads and writes,
+ * which should not depend on the shard count, and fanned-out listings, whose cost is the per
+ * shard work plus the merge and the hand-off to the fan-out pool.
+ *
+ * Run with {@code -t} at least {@code shards} on a machine with as many cores to see fan-out pay
+ * off; on fewer cores the shards queue behind each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CategoryShardedGatewayBenchmark {
+
+    private static final int PER_PAGE = 50;
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int shards;
+
+    private CategoryShardedGateway gateway;
+    private CategoryID[] ids;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        this.gateway = CategoryFixtures.fill(
+                new CategoryShardedGateway(IntStream.range(0, this.shards).mapToObj(i -> new CategoryInMemoryGateway()).toList()),
+                this.size
+        );
+        this.ids = this.gateway.findAllSnapshots(new CategorySearchQuery(0, this.size, null, "name", "asc"))
+                .items().stream().map(CategorySnapshot::id).toArray(CategoryID[]::new);
+        this.random = new Random(CategoryFixtures.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.gateway.close();
+    }
+
+    @Benchmark
+    public Pagination<CategorySnapshot> firstPage() {
+        return this.gateway.findAllSnapshots(new CategorySearchQuery(0, PER_PAGE, null, "name", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<CategorySnapshot> termSearch() {
+        return this.gateway.findAllSnapshots(new CategorySearchQuery(0, PER_PAGE, "kids", "name", "asc"));
+    }
+
+    @Benchmark
+    public CursorPagination<CategorySnapshot> cursorPage() {
+        return this.gateway.findAllSnapshots(new CategoryCursorQuery(null, PER_PAGE, null, "updateAt", "desc"));
+    }
+
+    @Benchmark
+    public CategorySnapshot findById() {
+        return this.gateway.findSnapshotById(this.ids[this.random.nextInt(this.ids.length)]).orElseThrow();
+    }
+
+    @Benchmark
+    public Category update() {
+        final var aCategory = this.gateway.findById(this.ids[this.random.nextInt(this.ids.length)]).orElseThrow();
+        return this.gateway.update(aCategory.update(aCategory.getName(), aCategory.getDescription(), aCategory.isActive()));
+    }
+}
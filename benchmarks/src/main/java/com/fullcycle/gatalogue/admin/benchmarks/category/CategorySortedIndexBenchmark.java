@@ -0,0 +1,101 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A listing page served by the sorted indexes of {@link CategoryInMemoryGateway} against
+ * sorting every stored category on read, both with a write before each page, which is what a
+ * sort-on-read listing pays whenever the data has changed since the last one. The deep offset
+ * page lands in the middle of the catalogue, past the depth the index walks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CategorySortedIndexBenchmark {
+
+    private static final int PER_PAGE = 50;
+    private static final Comparator<CategorySnapshot> BY_NAME = Comparator
+            .comparing(CategorySnapshot::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(CategorySnapshot::id);
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private CategoryInMemoryGateway gateway;
+    private CategoryID[] ids;
+    private String deepCursor;
+
+    @Setup
+    public void setup() {
+        this.gateway = CategoryFixtures.fill(new CategoryInMemoryGateway(), this.size);
+        this.ids = this.gateway.findAllSnapshots(new CategorySearchQuery(0, this.size, null, "name", "asc"))
+                .items().stream().map(CategorySnapshot::id).toArray(CategoryID[]::new);
+        this.deepCursor = this.gateway.findAll(new CategoryCursorQuery(null, this.size - PER_PAGE * 2, null, "name", "asc"))
+                .nextCursor();
+    }
+
+    @Benchmark
+    public Pagination<CategorySnapshot> indexedFirstPage() {
+        write();
+        return this.gateway.findAllSnapshots(new CategorySearchQuery(0, PER_PAGE, null, "name", "asc"));
+    }
+
+    @Benchmark
+    public Pagination<CategorySnapshot> indexedLastPageDescending() {
+        write();
+        return this.gateway.findAllSnapshots(new CategorySearchQuery(0, PER_PAGE, null, "name", "desc"));
+    }
+
+    @Benchmark
+    public Pagination<CategorySnapshot> indexedDeepOffsetPage() {
+        write();
+        return this.gateway.findAllSnapshots(new CategorySearchQuery(this.size / PER_PAGE / 2, PER_PAGE, null, "name", "asc"));
+    }
+
+    @Benchmark
+    public CursorPagination<CategorySnapshot> indexedDeepCursorPage() {
+        write();
+        return this.gateway.findAllSnapshots(new CategoryCursorQuery(this.deepCursor, PER_PAGE, null, "name", "asc"));
+    }
+
+    @Benchmark
+    public List<CategorySnapshot> sortOnReadFirstPage() {
+        write();
+        final var items = this.gateway.findAllSnapshots(new CategorySearchQuery(0, this.size, null, "createAt", "asc"))
+                .items().toArray(new CategorySnapshot[0]);
+        Arrays.sort(items, BY_NAME);
+        return Arrays.asList(items).subList(0, PER_PAGE);
+    }
+
+    private void write() {
+        final var anID = this.ids[ThreadLocalRandom.current().nextInt(this.ids.length)];
+        final var aCategory = this.gateway.findById(anID).orElseThrow();
+        this.gateway.update(aCategory.update(aCategory.getName(), aCategory.getDescription(), aCategory.isActive()));
+    }
+}
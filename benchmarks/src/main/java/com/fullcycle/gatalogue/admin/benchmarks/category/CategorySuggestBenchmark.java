@@ -0,0 +1,83 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead over the names of {@link CategoryInMemoryGateway}: the first {@code limit}
+ * suggestions for a prefix of {@code prefixLength} characters, taken from a random stored name,
+ * served by the prefix index against the same prefix as a {@code terms} search sorted by name,
+ * and the cost a rename adds to writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CategorySuggestBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"1", "2", "3"})
+    public int prefixLength;
+
+    private CategoryInMemoryGateway gateway;
+    private CategoryID[] ids;
+    private String[] prefixes;
+
+    @Setup
+    public void setup() {
+        this.gateway = CategoryFixtures.fill(new CategoryInMemoryGateway(), this.size);
+        final var items = this.gateway.findAllSnapshots(new CategorySearchQuery(0, this.size, null, "name", "asc")).items();
+        this.ids = items.stream().map(CategorySnapshot::id).toArray(CategoryID[]::new);
+        this.prefixes = items.stream()
+                .map(aCategory -> aCategory.name().substring(0, Math.min(this.prefixLength, aCategory.name().length())))
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public List<CategorySnapshot> suggest() {
+        return this.gateway.suggest(new CategorySuggestQuery(prefix(), LIMIT));
+    }
+
+    @Benchmark
+    public Pagination<CategorySnapshot> termSearch() {
+        return this.gateway.findAllSnapshots(new CategorySearchQuery(0, LIMIT, prefix(), "name", "asc"));
+    }
+
+    @Benchmark
+    public CategorySnapshot rename() {
+        final var anID = this.ids[ThreadLocalRandom.current().nextInt(this.ids.length)];
+        final var aCategory = this.gateway.findById(anID).orElseThrow();
+        final var aName = aCategory.getName();
+        final var renamed = aName.endsWith(" x") ? aName.substring(0, aName.length() - 2) : aName + " x";
+        return this.gateway.update(aCategory.update(renamed, aCategory.getDescription(), aCategory.isActive())).snapshot();
+    }
+
+    private String prefix() {
+        return this.prefixes[ThreadLocalRandom.current().nextInt(this.prefixes.length)];
+    }
+}
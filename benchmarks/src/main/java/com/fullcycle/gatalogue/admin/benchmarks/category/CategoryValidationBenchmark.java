@@ -0,0 +1,80 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.validation.handler.Notification;
+import com.fullcycle.catalogue.admin.domain.validation.handler.ThrowsValidationHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk validation of a batch where {@code invalidPercent} of the categories are invalid,
+ * throwing on the first error versus accumulating into one reused {@link Notification}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryValidationBenchmark {
+
+    @Param({"1000"})
+    public int batchSize;
+
+    @Param({"0", "50", "90"})
+    public int invalidPercent;
+
+    private Category[] batch;
+    private Notification notification;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(CategoryFixtures.SEED);
+        final var invalidNames = new String[]{null, " ", "Fa"};
+        this.batch = new Category[this.batchSize];
+        for (int i = 0; i < this.batchSize; i++) {
+            final var invalid = random.nextInt(100) < this.invalidPercent;
+            final var aName = invalid ? invalidNames[random.nextInt(invalidNames.length)] : "Category " + i;
+            this.batch[i] = Category.newCategory(aName, "Category most view", true);
+        }
+        this.notification = Notification.create();
+    }
+
+    @Benchmark
+    public int throwsHandler() {
+        var invalid = 0;
+        for (final var aCategory : this.batch) {
+            try {
+                aCategory.validate(new ThrowsValidationHandler());
+            } catch (final DomainException e) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    @Benchmark
+    public int notificationHandler() {
+        var invalid = 0;
+        for (final var aCategory : this.batch) {
+            aCategory.validate(this.notification.clear());
+            if (this.notification.hasError()) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+}
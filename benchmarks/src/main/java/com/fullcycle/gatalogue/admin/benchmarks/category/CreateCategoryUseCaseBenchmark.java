@@ -0,0 +1,101 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.gatalogue.admin.application.UseCaseExecutors;
+import com.fullcycle.gatalogue.admin.application.category.create.CreateCategoryCommand;
+import com.fullcycle.gatalogue.admin.application.category.create.CreateCategoryOutput;
+import com.fullcycle.gatalogue.admin.application.category.create.DefaultCreateCategoryUseCase;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Time to complete {@code calls} concurrent {@code CreateCategoryUseCase} calls through
+ * {@code executeAsync}, on the default use case executor versus a fixed platform pool, with a
+ * gateway whose {@code create} blocks for {@code gatewayLatencyMicros} like a database round trip.
+ * The gateway does not keep what it creates, so iterations measure the executor and not a
+ * growing store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateCategoryUseCaseBenchmark {
+
+    private static final int PLATFORM_THREADS = 64;
+
+    @Param({"5000"})
+    public int calls;
+
+    @Param({"0", "1000"})
+    public long gatewayLatencyMicros;
+
+    @Param({"default", "fixed-platform-pool"})
+    public String executor;
+
+    private DefaultCreateCategoryUseCase useCase;
+    private CreateCategoryCommand[] commands;
+    private ExecutorService pool;
+    private Executor target;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final var latencyNanos = TimeUnit.MICROSECONDS.toNanos(this.gatewayLatencyMicros);
+        this.useCase = new DefaultCreateCategoryUseCase(new CategoryInMemoryGateway() {
+            @Override
+            public Category create(final Category aCategory) {
+                if (latencyNanos > 0) {
+                    LockSupport.parkNanos(latencyNanos);
+                }
+                return aCategory;
+            }
+        });
+        this.commands = CategoryFixtures.categories(this.calls).stream()
+                .map(aCategory -> CreateCategoryCommand.with(aCategory.getName(), aCategory.getDescription(), true))
+                .toArray(CreateCategoryCommand[]::new);
+        if ("default".equals(this.executor)) {
+            this.target = UseCaseExecutors.defaultExecutor();
+        } else {
+            this.pool = Executors.newFixedThreadPool(PLATFORM_THREADS);
+            this.target = this.pool;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (this.pool != null) {
+            this.pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int executeAsync() {
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<CreateCategoryOutput>[] futures = new CompletableFuture[this.commands.length];
+        for (int i = 0; i < this.commands.length; i++) {
+            futures[i] = this.useCase.executeAsync(this.commands[i], this.target);
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+}
@@ -0,0 +1,84 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.gatalogue.admin.application.instrumentation.LatencyHistogram;
+import com.fullcycle.gatalogue.admin.application.instrumentation.MetricsRegistry;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInstrumentedGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of instrumentation: recording into a {@link LatencyHistogram} alone, and
+ * {@code findById} on the in-memory gateway with and without a
+ * {@link CategoryInstrumentedGateway} in front, single-threaded and with 4 threads.
+ * Run with {@code -prof gc} to check that recording does not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private static final int SIZE = 10_000;
+
+    private LatencyHistogram histogram;
+    private CategoryGateway plain;
+    private CategoryGateway instrumented;
+    private CategoryID[] ids;
+
+    @Setup
+    public void setup() {
+        this.histogram = new LatencyHistogram();
+        final var aDelegate = CategoryFixtures.fill(new CategoryInMemoryGateway(), SIZE);
+        this.plain = aDelegate;
+        this.instrumented = new CategoryInstrumentedGateway(aDelegate, new MetricsRegistry(), "category.gateway");
+        this.ids = aDelegate.findAll(new CategorySearchQuery(0, SIZE, null, "name", "asc"))
+                .items().stream().map(Category::getId).toArray(CategoryID[]::new);
+    }
+
+    @Benchmark
+    public void record() {
+        this.histogram.record(ThreadLocalRandom.current().nextLong(1_000, 1_000_000));
+    }
+
+    @Benchmark
+    public Optional<Category> findByIdPlain() {
+        return this.plain.findById(this.ids[ThreadLocalRandom.current().nextInt(SIZE)]);
+    }
+
+    @Benchmark
+    public Optional<Category> findByIdInstrumented() {
+        return this.instrumented.findById(this.ids[ThreadLocalRandom.current().nextInt(SIZE)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Category> findByIdPlainContended() {
+        return this.plain.findById(this.ids[ThreadLocalRandom.current().nextInt(SIZE)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Category> findByIdInstrumentedContended() {
+        return this.instrumented.findById(this.ids[ThreadLocalRandom.current().nextInt(SIZE)]);
+    }
+}
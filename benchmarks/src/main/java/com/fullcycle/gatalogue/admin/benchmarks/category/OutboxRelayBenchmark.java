@@ -0,0 +1,77 @@
+package com.fullcycle.gatalogue.admin.benchmarks.category;
+
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.InMemoryEventBroker;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.InMemoryOutbox;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.OutboxRelay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Relaying a backlog of {@code events} category events to a broker that takes
+ * {@code latencyMicros} per batch, for a given batch size and number of batches in flight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OutboxRelayBenchmark {
+
+    @Param({"20000"})
+    public int events;
+
+    @Param({"50", "500"})
+    public int batchSize;
+
+    @Param({"1", "8"})
+    public int maxInFlightBatches;
+
+    @Param({"1000"})
+    public int latencyMicros;
+
+    private List<DomainEvent> backlog;
+    private InMemoryOutbox outbox;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.backlog = new ArrayList<>(this.events);
+        for (final var aCategory : CategoryFixtures.categories(this.events)) {
+            this.backlog.addAll(aCategory.pullDomainEvents());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        this.outbox = new InMemoryOutbox();
+        this.outbox.append(this.backlog);
+    }
+
+    @Benchmark
+    public long relay() {
+        try (final var aBroker = new InMemoryEventBroker(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(this.latencyMicros)));
+             final var aRelay = new OutboxRelay(this.outbox, aBroker, this.batchSize, this.maxInFlightBatches, Duration.ofMillis(1))) {
+            while (this.outbox.pending() > 0) {
+                LockSupport.parkNanos(50_000);
+            }
+            return aRelay.stats().published();
+        }
+    }
+}
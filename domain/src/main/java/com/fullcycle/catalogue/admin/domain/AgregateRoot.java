@@ -1,9 +1,20 @@
 package com.fullcycle.catalogue.admin.domain;
 
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
 import com.fullcycle.catalogue.admin.domain.validation.ValidationHandler;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Besides its state, an aggregate keeps the domain events raised since it was loaded or created,
+ * until the gateway that saves it pulls them into its outbox. Copies never carry them over.
+ */
 public class AgregateRoot<ID extends Identifier> extends Entity<ID>{
 
+    private List<DomainEvent> domainEvents;
+
     protected AgregateRoot(final ID id) {
         super(id);
     }
@@ -12,4 +23,34 @@ public class AgregateRoot<ID extends Identifier> extends Entity<ID>{
     public void validate(ValidationHandler handler) {
 
     }
+
+    public List<DomainEvent> getDomainEvents() {
+        return this.domainEvents == null ? List.of() : Collections.unmodifiableList(this.domainEvents);
+    }
+
+    /**
+     * Returns the pending events in the order they were raised and forgets them.
+     */
+    public List<DomainEvent> pullDomainEvents() {
+        final var events = this.domainEvents;
+        this.domainEvents = null;
+        return events == null ? List.of() : events;
+    }
+
+    /**
+     * Appends events pulled earlier from another copy of this aggregate, so a gateway that holds a
+     * write back can hand them to the store that finally applies it.
+     */
+    public void restoreDomainEvents(final List<DomainEvent> events) {
+        for (final var anEvent : events) {
+            registerEvent(anEvent);
+        }
+    }
+
+    protected void registerEvent(final DomainEvent anEvent) {
+        if (this.domainEvents == null) {
+            this.domainEvents = new ArrayList<>(2);
+        }
+        this.domainEvents.add(anEvent);
+    }
 }
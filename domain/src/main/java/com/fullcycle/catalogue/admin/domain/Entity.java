@@ -29,6 +29,6 @@ public abstract class Entity<ID extends  Identifier> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(getId());
+        return getId().hashCode();
     }
 }
@@ -13,6 +13,7 @@ public class Category  extends AgregateRoot<CategoryID> {
     private Instant createAt;
     private Instant updateAt;
     private Instant deleteAt;
+    private long version;
 
 
     private Category(final CategoryID anId,
@@ -21,7 +22,8 @@ public class Category  extends AgregateRoot<CategoryID> {
                      final boolean aActive,
                      final Instant aCreateDate,
                      final Instant anUpdateDate,
-                     final Instant aDeleteDate) {
+                     final Instant aDeleteDate,
+                     final long aVersion) {
         super(anId);
         this.name = aName;
         this.description = aDescription;
@@ -29,13 +31,63 @@ public class Category  extends AgregateRoot<CategoryID> {
         this.createAt = aCreateDate;
         this.updateAt = anUpdateDate;
         this.deleteAt = aDeleteDate;
+        this.version = aVersion;
     }
 
     public static Category newCategory(final String actualName, final String actualDescription, final boolean isActivate){
         final var id = CategoryID.unique();
         final var now = Instant.now();
         final var deleteAt = isActivate? null: now;
-        return new Category(id, actualName, actualDescription, isActivate, now, now, deleteAt);
+        final var aCategory = new Category(id, actualName, actualDescription, isActivate, now, now, deleteAt, 0);
+        aCategory.registerEvent(new CategoryCreated(id, actualName, actualDescription, isActivate, now));
+        return aCategory;
+    }
+
+    public static Category with(final CategoryID anId,
+                                final String aName,
+                                final String aDescription,
+                                final boolean isActive,
+                                final Instant aCreateDate,
+                                final Instant anUpdateDate,
+                                final Instant aDeleteDate){
+        return new Category(anId, aName, aDescription, isActive, aCreateDate, anUpdateDate, aDeleteDate, 0);
+    }
+
+    public static Category with(final CategoryID anId,
+                                final String aName,
+                                final String aDescription,
+                                final boolean isActive,
+                                final Instant aCreateDate,
+                                final Instant anUpdateDate,
+                                final Instant aDeleteDate,
+                                final long aVersion){
+        return new Category(anId, aName, aDescription, isActive, aCreateDate, anUpdateDate, aDeleteDate, aVersion);
+    }
+
+    public static Category with(final CategorySnapshot aSnapshot){
+        return new Category(
+                aSnapshot.id(),
+                aSnapshot.name(),
+                aSnapshot.description(),
+                aSnapshot.active(),
+                aSnapshot.createAt(),
+                aSnapshot.updateAt(),
+                aSnapshot.deleteAt(),
+                aSnapshot.version()
+        );
+    }
+
+    public static Category with(final Category aCategory){
+        return new Category(
+                aCategory.getId(),
+                aCategory.getName(),
+                aCategory.getDescription(),
+                aCategory.isActive(),
+                aCategory.getCreateAt(),
+                aCategory.getUpdateAt(),
+                aCategory.getDeleteAt(),
+                aCategory.getVersion()
+        );
     }
 
     @Override
@@ -48,6 +100,9 @@ public class Category  extends AgregateRoot<CategoryID> {
             this.deleteAt = Instant.now();
         }
         this.updateAt = Instant.now();
+        if(this.active){
+            registerEvent(new CategoryDeactivated(getId(), this.updateAt));
+        }
         this.active = false;
         return this;
     }
@@ -55,6 +110,9 @@ public class Category  extends AgregateRoot<CategoryID> {
     public Category activate(){
         this.deleteAt = null;
         this.updateAt = Instant.now();
+        if(!this.active){
+            registerEvent(new CategoryActivated(getId(), this.updateAt));
+        }
         this.active = true;
         return this;
     }
@@ -72,10 +130,15 @@ public class Category  extends AgregateRoot<CategoryID> {
         }
 
         this.updateAt = Instant.now();
+        registerEvent(new CategoryUpdated(getId(), aName, aDescription, this.active, this.updateAt));
         return this;
 
     }
 
+    public CategorySnapshot snapshot(){
+        return new CategorySnapshot(id, name, description, active, createAt, updateAt, deleteAt, version);
+    }
+
     public CategoryID getId() {
         return id;
     }
@@ -103,4 +166,12 @@ public class Category  extends AgregateRoot<CategoryID> {
     public Instant getDeleteAt() {
         return deleteAt;
     }
+
+    /**
+     * The number of writes the stored category had seen when this aggregate was read, zero for
+     * one never stored. Versioned updates only succeed against that same version.
+     */
+    public long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,17 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+/**
+ * The latest write of one category as seen by a change feed: its state after a create, an
+ * update or a soft delete, or no state at all once it was removed from the storage.
+ * {@code sequence} orders the changes of a feed and only means something to that feed.
+ */
+public record CategoryChange(
+        long sequence,
+        CategoryID id,
+        CategorySnapshot category
+) {
+
+    public boolean isRemoved() {
+        return category == null;
+    }
+}
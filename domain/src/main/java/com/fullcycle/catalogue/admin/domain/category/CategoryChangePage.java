@@ -0,0 +1,15 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+import java.util.List;
+
+/**
+ * Changes in feed order. {@code nextToken} resumes right after the last of them and is returned
+ * even when the page is empty, so a consumer that caught up keeps polling with it.
+ */
+public record CategoryChangePage(
+        String token,
+        List<CategoryChange> items,
+        String nextToken,
+        boolean hasMore
+) {
+}
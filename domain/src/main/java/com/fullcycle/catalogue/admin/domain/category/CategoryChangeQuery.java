@@ -0,0 +1,16 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+/**
+ * Asks a change feed for up to {@code limit} changes made after {@code token}, the
+ * {@link CategoryChangePage#nextToken()} of the previous page. A null token starts from the
+ * oldest change the feed retains, which includes every category still stored.
+ */
+public record CategoryChangeQuery(
+        String token,
+        int limit
+) {
+
+    public static CategoryChangeQuery fromStart(final int limit) {
+        return new CategoryChangeQuery(null, limit);
+    }
+}
@@ -0,0 +1,18 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+/**
+ * A storage that keeps a write sequence and can tell what changed since a point in it. Storages
+ * without one do not implement it.
+ */
+public interface CategoryChangeSource {
+
+    /**
+     * The categories written since a token, oldest first, each with its latest state or as
+     * removed, so a consumer that already holds the catalogue only pulls what changed. A category
+     * written twice since the token is reported once, and a change may be reported again after a
+     * retry, so consumers should apply changes by id and version. Throws
+     * {@link com.fullcycle.catalogue.admin.domain.exceptions.ExpiredChangeTokenException} when the
+     * token is older than what the feed retains.
+     */
+    CategoryChangePage findChanges(CategoryChangeQuery aQuery);
+}
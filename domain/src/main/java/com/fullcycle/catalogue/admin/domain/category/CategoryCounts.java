@@ -0,0 +1,9 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+/**
+ * How many categories a gateway holds, and how many of them are active or soft-deleted.
+ */
+public record CategoryCounts(long total, long active, long deleted) {
+
+    public static final CategoryCounts EMPTY = new CategoryCounts(0, 0, 0);
+}
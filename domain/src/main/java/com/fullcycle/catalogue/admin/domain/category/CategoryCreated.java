@@ -0,0 +1,19 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
+
+import java.time.Instant;
+
+public record CategoryCreated(
+        CategoryID id,
+        String name,
+        String description,
+        boolean isActive,
+        Instant occurredOn
+) implements DomainEvent {
+
+    @Override
+    public String aggregateId() {
+        return id.getValue();
+    }
+}
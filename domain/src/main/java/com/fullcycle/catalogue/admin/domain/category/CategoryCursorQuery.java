@@ -0,0 +1,10 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+public record CategoryCursorQuery(
+        String cursor,
+        int perPage,
+        String terms,
+        String sort,
+        String direction
+) {
+}
@@ -0,0 +1,16 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
+
+import java.time.Instant;
+
+public record CategoryDeactivated(
+        CategoryID id,
+        Instant occurredOn
+) implements DomainEvent {
+
+    @Override
+    public String aggregateId() {
+        return id.getValue();
+    }
+}
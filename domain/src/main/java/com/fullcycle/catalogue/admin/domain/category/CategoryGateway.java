@@ -1,12 +1,38 @@
 package com.fullcycle.catalogue.admin.domain.category;
 
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
 import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * What every category storage offers. Optional capabilities live in their own interfaces,
+ * {@link VersionedCategoryGateway}, {@link ConsistentCategoryGateway}, {@link CategoryChangeSource}
+ * and {@link CategorySuggestionSource}, so callers find out what a storage supports with
+ * {@code instanceof} rather than by calling it.
+ */
 public interface CategoryGateway {
+
+    int STREAM_PAGE_SIZE = 1_000;
+
     Category create(Category aCategory);
 
+    /**
+     * Creates a batch of categories, returning them in the same order. Storages that can write
+     * a batch in one round trip should override it, the default just creates them one by one.
+     */
+    default List<Category> createAll(final List<Category> categories) {
+        final var created = new ArrayList<Category>(categories.size());
+        for (final var aCategory : categories) {
+            created.add(create(aCategory));
+        }
+        return created;
+    }
+
     void deleteById(CategoryID anID);
 
     Optional<Category> findById(CategoryID anID);
@@ -15,4 +41,73 @@ public interface CategoryGateway {
 
     Pagination<Category> findAll(CategorySearchQuery aQuery);
 
+    CursorPagination<Category> findAll(CategoryCursorQuery aQuery);
+
+    /**
+     * Exact counts of the stored categories, where soft-deleted ones are those with a
+     * {@code deleteAt}. Storages should keep them up to date on every write, the default counts
+     * a full listing.
+     */
+    default CategoryCounts counts() {
+        var total = 0L;
+        var active = 0L;
+        var deleted = 0L;
+        for (final var aCategory : findAllSnapshots(new CategorySearchQuery(0, Integer.MAX_VALUE, null, null, null)).items()) {
+            total++;
+            active += aCategory.active() ? 1 : 0;
+            deleted += aCategory.deleteAt() != null ? 1 : 0;
+        }
+        return new CategoryCounts(total, active, deleted);
+    }
+
+    /**
+     * About how many categories match the terms, for callers that only need an order of
+     * magnitude and should not pay for the search itself. Storages may over-estimate, never
+     * under-estimate; the default runs the search and is exact.
+     */
+    default long estimateCount(final String terms) {
+        return findAllSnapshots(new CategorySearchQuery(0, 0, terms, null, null)).total();
+    }
+
+    /**
+     * Walks every category matching the query, one at a time, so a full export holds no more
+     * than a page in memory however large the catalogue is. The stream is lazy and pulled by the
+     * caller, and should be closed when it is not read to the end.
+     *
+     * The default walks cursor pages of {@link #findAllSnapshots(CategoryCursorQuery)}. It cannot
+     * see a single point in time, so it rejects {@code consistent} queries: only a
+     * {@link ConsistentCategoryGateway} takes them.
+     */
+    default Stream<CategorySnapshot> streamAll(final CategoryStreamQuery aQuery) {
+        if (aQuery.consistent()) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " does not support consistent streams");
+        }
+        return Stream.iterate(
+                findAllSnapshots(new CategoryCursorQuery(null, STREAM_PAGE_SIZE, aQuery.terms(), aQuery.sort(), aQuery.direction())),
+                Objects::nonNull,
+                aPage -> aPage.hasNext()
+                        ? findAllSnapshots(new CategoryCursorQuery(aPage.nextCursor(), STREAM_PAGE_SIZE, aQuery.terms(), aQuery.sort(), aQuery.direction()))
+                        : null
+        ).flatMap(aPage -> aPage.items().stream());
+    }
+
+    /**
+     * Read-only variants of the lookups, returning {@link CategorySnapshot}s that callers may
+     * share but never change. Storages that keep snapshots should override them to hand out
+     * their own instances, the defaults take a snapshot of each aggregate read.
+     */
+    default Optional<CategorySnapshot> findSnapshotById(final CategoryID anID) {
+        return findById(anID).map(Category::snapshot);
+    }
+
+    default Pagination<CategorySnapshot> findAllSnapshots(final CategorySearchQuery aQuery) {
+        final var aPage = findAll(aQuery);
+        return new Pagination<>(aPage.currentPage(), aPage.perPage(), aPage.total(), aPage.items().stream().map(Category::snapshot).toList());
+    }
+
+    default CursorPagination<CategorySnapshot> findAllSnapshots(final CategoryCursorQuery aQuery) {
+        final var aPage = findAll(aQuery);
+        return new CursorPagination<>(aPage.cursor(), aPage.perPage(), aPage.items().stream().map(Category::snapshot).toList(), aPage.nextCursor());
+    }
+
 }
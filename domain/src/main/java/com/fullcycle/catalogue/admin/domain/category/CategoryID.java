@@ -1,32 +1,87 @@
 package com.fullcycle.catalogue.admin.domain.category;
 
 import com.fullcycle.catalogue.admin.domain.Identifier;
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.validation.Error;
 
-import java.util.Locale;
-import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class CategoryID extends Identifier {
-    protected final String value;
+/**
+ * A UUID kept as its two 64-bit halves. Equality and hashing work on the longs only, and the
+ * textual form is rendered the first time {@link #getValue()} asks for it.
+ *
+ * {@link #unique()} generates random (v4) ids unless the {@code catalogue.category.id} system
+ * property is {@code time-ordered}, in which case it delegates to {@link #timeOrdered()}.
+ */
+public class CategoryID extends Identifier implements Comparable<CategoryID> {
 
-    private CategoryID(String value) {
-        this.value = value;
+    private static final boolean TIME_ORDERED = "time-ordered".equalsIgnoreCase(System.getProperty("catalogue.category.id"));
+    private static final AtomicLong LAST_TIMESTAMP = new AtomicLong();
+
+    private final long mostSigBits;
+    private final long leastSigBits;
+    private String value;
+
+    private CategoryID(final long mostSigBits, final long leastSigBits) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
     }
 
     public static CategoryID unique(){
-        return CategoryID.from(UUID.randomUUID());
+        return TIME_ORDERED ? timeOrdered() : CategoryID.from(UUID.randomUUID());
+    }
+
+    /**
+     * UUIDv7 layout: 48 bits of unix millis followed by a 12 bit sequence, so ids generated by
+     * this process are strictly increasing and inserts land at the end of ordered indexes.
+     */
+    public static CategoryID timeOrdered(){
+        final var now = System.currentTimeMillis() << 12;
+        final var timestamp = LAST_TIMESTAMP.accumulateAndGet(now, (last, current) -> Math.max(last + 1, current));
+        final var mostSigBits = ((timestamp >>> 12) << 16) | 0x7000L | (timestamp & 0xFFFL);
+        final var leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new CategoryID(mostSigBits, leastSigBits);
     }
 
     public static CategoryID from(final String anId){
-        return new CategoryID(anId);
+        try {
+            return CategoryID.from(UUID.fromString(anId));
+        } catch (final IllegalArgumentException | NullPointerException e) {
+            throw DomainException.with(new Error("'id' should be a valid UUID"));
+        }
     }
 
     public static CategoryID from(final UUID anId){
-        return new CategoryID(anId.toString().toLowerCase());
+        return new CategoryID(anId.getMostSignificantBits(), anId.getLeastSignificantBits());
+    }
+
+    public static CategoryID from(final long mostSigBits, final long leastSigBits){
+        return new CategoryID(mostSigBits, leastSigBits);
     }
 
     public String getValue(){
-        return value;
+        var rendered = this.value;
+        if (rendered == null) {
+            rendered = new UUID(mostSigBits, leastSigBits).toString();
+            this.value = rendered;
+        }
+        return rendered;
+    }
+
+    public long getMostSigBits() {
+        return mostSigBits;
+    }
+
+    public long getLeastSigBits() {
+        return leastSigBits;
+    }
+
+    @Override
+    public int compareTo(final CategoryID that) {
+        final var most = Long.compareUnsigned(this.mostSigBits, that.mostSigBits);
+        return most != 0 ? most : Long.compareUnsigned(this.leastSigBits, that.leastSigBits);
     }
 
     @Override
@@ -34,11 +89,17 @@ public class CategoryID extends Identifier {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final CategoryID that = (CategoryID) o;
-        return getValue().equals(that.getValue());
+        return mostSigBits == that.mostSigBits && leastSigBits == that.leastSigBits;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getValue());
+        final var bits = mostSigBits ^ leastSigBits;
+        return (int) (bits >> 32) ^ (int) bits;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
     }
 }
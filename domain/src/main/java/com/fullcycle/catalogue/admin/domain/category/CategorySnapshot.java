@@ -0,0 +1,26 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a {@link Category} at one point in time, for read paths.
+ *
+ * Unlike the aggregate it can never change once built, so stores and caches can hand the same
+ * instance to any number of readers without copying it. Use {@link Category#snapshot()} to take
+ * one and {@link Category#with(CategorySnapshot)} to get an aggregate back for a write.
+ */
+public record CategorySnapshot(
+        CategoryID id,
+        String name,
+        String description,
+        boolean active,
+        Instant createAt,
+        Instant updateAt,
+        Instant deleteAt,
+        long version
+) {
+
+    public CategorySnapshot withVersion(final long aVersion) {
+        return new CategorySnapshot(id, name, description, active, createAt, updateAt, deleteAt, aVersion);
+    }
+}
@@ -0,0 +1,21 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+/**
+ * Which categories {@link CategoryGateway#streamAll(CategoryStreamQuery)} walks and in what
+ * order, with the same {@code terms}, {@code sort} and {@code direction} as a listing.
+ * {@code consistent} asks for every row as of one point in time, instead of rows that may
+ * reflect writes made while the stream is being read. Only a {@link ConsistentCategoryGateway}
+ * takes it, and it is not free: the stream holds a copy of every row it will return, O(n) memory
+ * however lazily it is read, plus the state before each write made while it copies them.
+ */
+public record CategoryStreamQuery(
+        String terms,
+        String sort,
+        String direction,
+        boolean consistent
+) {
+
+    public static CategoryStreamQuery all() {
+        return new CategoryStreamQuery(null, null, null, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+/**
+ * Asks for up to {@code limit} active categories whose name starts with {@code prefix}, as
+ * typed in an autocomplete box, ignoring case, accents and punctuation.
+ */
+public record CategorySuggestQuery(
+        String prefix,
+        int limit
+) {
+}
@@ -0,0 +1,16 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+import java.util.List;
+
+/**
+ * A storage that keeps a prefix index over the names in step with every write. Without one every
+ * keystroke would be a scan, so storages without it do not implement this.
+ */
+public interface CategorySuggestionSource {
+
+    /**
+     * Active categories whose normalised name starts with the normalised prefix, in name order,
+     * for typeahead.
+     */
+    List<CategorySnapshot> suggest(CategorySuggestQuery aQuery);
+}
@@ -0,0 +1,14 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+import java.util.stream.Stream;
+
+/**
+ * A {@link CategoryGateway} whose {@link #streamAll(CategoryStreamQuery)} also takes
+ * {@code consistent} queries, streaming the catalogue as it was when the stream was opened
+ * whatever is written while it is read.
+ */
+public interface ConsistentCategoryGateway extends CategoryGateway {
+
+    @Override
+    Stream<CategorySnapshot> streamAll(CategoryStreamQuery aQuery);
+}
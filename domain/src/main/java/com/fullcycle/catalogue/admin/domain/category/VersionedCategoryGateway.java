@@ -0,0 +1,25 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+import com.fullcycle.catalogue.admin.domain.exceptions.StaleVersionException;
+
+/**
+ * A {@link CategoryGateway} that can write conditionally on {@link Category#getVersion()}. The
+ * check and the write must be atomic, so there is no generic fallback: storages that cannot offer
+ * that do not implement it.
+ */
+public interface VersionedCategoryGateway extends CategoryGateway {
+
+    /**
+     * Replaces the category only if the stored one is still at {@link Category#getVersion()}, and
+     * returns it at the next version. Otherwise throws {@link StaleVersionException} and leaves
+     * the stored category untouched.
+     */
+    Category compareAndUpdate(Category aCategory);
+
+    /**
+     * Removes the category only if the stored one is still at {@code aVersion}, so a caller that
+     * decided to remove it from what it read never removes a newer write. Otherwise throws
+     * {@link StaleVersionException}, also when it is already gone.
+     */
+    void compareAndDeleteById(CategoryID anID, long aVersion);
+}
@@ -0,0 +1,10 @@
+package com.fullcycle.catalogue.admin.domain.events;
+
+import java.time.Instant;
+
+public interface DomainEvent {
+
+    String aggregateId();
+
+    Instant occurredOn();
+}
@@ -18,7 +18,7 @@ public class DomainException extends NoStackTraceExceptions{
     }
 
     public static DomainException with(final List<Error> anErrors){
-        return new DomainException("", anErrors);
+        return new DomainException("", List.copyOf(anErrors));
     }
 
     public List<Error> getErrors(){
@@ -0,0 +1,12 @@
+package com.fullcycle.catalogue.admin.domain.exceptions;
+
+/**
+ * A change feed token points before the oldest change the feed still retains, so removals made
+ * since may no longer be reported. The consumer should resync from the start of the feed.
+ */
+public class ExpiredChangeTokenException extends NoStackTraceExceptions {
+
+    public ExpiredChangeTokenException(final String aMessage) {
+        super(aMessage);
+    }
+}
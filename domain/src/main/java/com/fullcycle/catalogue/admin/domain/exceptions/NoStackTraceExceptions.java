@@ -3,7 +3,7 @@ package com.fullcycle.catalogue.admin.domain.exceptions;
 public class NoStackTraceExceptions extends RuntimeException{
 
     public NoStackTraceExceptions(final String message) {
-        super(message);
+        this(message, null);
     }
 
     public NoStackTraceExceptions(final String message, final Throwable cause) {
@@ -0,0 +1,34 @@
+package com.fullcycle.catalogue.admin.domain.exceptions;
+
+/**
+ * A versioned write was made against a version the aggregate is no longer at, because someone
+ * else wrote it first or it was deleted. The caller should read it again and retry.
+ */
+public class StaleVersionException extends NoStackTraceExceptions {
+
+    public static final long MISSING = -1;
+
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public StaleVersionException(final String aMessage, final long expectedVersion, final long actualVersion) {
+        super(aMessage);
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public static StaleVersionException with(final String anID, final long expectedVersion, final long actualVersion) {
+        final var aMessage = actualVersion == MISSING
+                ? "'%s' no longer exists, expected version %d".formatted(anID, expectedVersion)
+                : "'%s' is at version %d, expected version %d".formatted(anID, actualVersion, expectedVersion);
+        return new StaleVersionException(aMessage, expectedVersion, actualVersion);
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
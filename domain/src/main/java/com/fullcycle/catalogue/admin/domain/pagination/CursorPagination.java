@@ -0,0 +1,15 @@
+package com.fullcycle.catalogue.admin.domain.pagination;
+
+import java.util.List;
+
+public record CursorPagination<T>(
+        String cursor,
+        int perPage,
+        List<T> items,
+        String nextCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -12,7 +12,8 @@ public interface ValidationHandler {
     List<Error> getErrors();
 
     default boolean hasError(){
-        return getErrors() != null && !getErrors().isEmpty();
+        final var errors = getErrors();
+        return errors != null && !errors.isEmpty();
     }
 
     public interface Validation{
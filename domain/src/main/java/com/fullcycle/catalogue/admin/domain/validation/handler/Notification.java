@@ -0,0 +1,81 @@
+package com.fullcycle.catalogue.admin.domain.validation.handler;
+
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.validation.Error;
+import com.fullcycle.catalogue.admin.domain.validation.ValidationHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects every {@link Error} instead of throwing on the first one.
+ *
+ * The buffer can be reused across validations with {@link #clear()}. Turning the collected
+ * errors into a {@link DomainException} is left to the caller. Only exceptions become errors;
+ * a {@link java.lang.Error} such as an {@link OutOfMemoryError} is left to propagate.
+ */
+public class Notification implements ValidationHandler {
+
+    private final List<Error> errors;
+    private final List<Error> view;
+
+    private Notification(final List<Error> errors) {
+        this.errors = errors;
+        this.view = Collections.unmodifiableList(errors);
+    }
+
+    public static Notification create() {
+        return new Notification(new ArrayList<>());
+    }
+
+    public static Notification create(final Error anError) {
+        return new Notification(new ArrayList<>()).append(anError);
+    }
+
+    public static Notification create(final Throwable t) {
+        return create(new Error(t.getMessage()));
+    }
+
+    @Override
+    public Notification append(final Error anError) {
+        this.errors.add(anError);
+        return this;
+    }
+
+    @Override
+    public Notification append(final ValidationHandler anHandler) {
+        final var anErrors = anHandler.getErrors();
+        if (anErrors != null) {
+            this.errors.addAll(anErrors);
+        }
+        return this;
+    }
+
+    @Override
+    public Notification validate(final Validation aValidation) {
+        try {
+            aValidation.validate();
+        } catch (final DomainException ex) {
+            this.errors.addAll(ex.getErrors());
+        } catch (final Exception ex) {
+            this.errors.add(new Error(ex.getMessage()));
+        }
+        return this;
+    }
+
+    @Override
+    public List<Error> getErrors() {
+        return this.view;
+    }
+
+    @Override
+    public boolean hasError() {
+        return !this.errors.isEmpty();
+    }
+
+    public Notification clear() {
+        this.errors.clear();
+        return this;
+    }
+}
@@ -0,0 +1,61 @@
+package com.fullcycle.catalogue.admin.domain.category;
+
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+public class CategoryIDTest {
+
+    @Test
+    public void givenAValidUUID_whenCallFrom_thenShouldRenderTheLowercaseValue() {
+        final var expectedUUID = UUID.randomUUID();
+        final var expectedValue = expectedUUID.toString().toLowerCase();
+
+        final var fromUUID = CategoryID.from(expectedUUID);
+        final var fromString = CategoryID.from(expectedValue.toUpperCase());
+        final var fromBits = CategoryID.from(expectedUUID.getMostSignificantBits(), expectedUUID.getLeastSignificantBits());
+
+        Assertions.assertEquals(expectedValue, fromUUID.getValue());
+        Assertions.assertEquals(expectedValue, fromString.getValue());
+        Assertions.assertEquals(fromUUID, fromString);
+        Assertions.assertEquals(fromUUID, fromBits);
+        Assertions.assertEquals(fromUUID.hashCode(), fromString.hashCode());
+        Assertions.assertEquals(0, fromUUID.compareTo(fromBits));
+    }
+
+    @Test
+    public void givenAnInvalidValue_whenCallFrom_thenShouldReceiveError() {
+        final var expectedErrorMessage = "'id' should be a valid UUID";
+
+        final var actualException = Assertions.assertThrows(DomainException.class, () -> CategoryID.from("123"));
+
+        Assertions.assertEquals(expectedErrorMessage, actualException.getErrors().get(0).message());
+        Assertions.assertThrows(DomainException.class, () -> CategoryID.from((String) null));
+    }
+
+    @Test
+    public void givenTwoDifferentIds_whenCompare_thenShouldNotBeEqual() {
+        final var anID = CategoryID.unique();
+        final var anotherID = CategoryID.unique();
+
+        Assertions.assertNotEquals(anID, anotherID);
+        Assertions.assertNotEquals(0, anID.compareTo(anotherID));
+    }
+
+    @Test
+    public void givenTimeOrderedIds_whenGenerated_thenShouldBeVersion7AndIncreasing() {
+        var previous = CategoryID.timeOrdered();
+        for (int i = 0; i < 10_000; i++) {
+            final var actualID = CategoryID.timeOrdered();
+            final var actualUUID = UUID.fromString(actualID.getValue());
+
+            Assertions.assertEquals(7, actualUUID.version());
+            Assertions.assertEquals(2, actualUUID.variant());
+            Assertions.assertTrue(previous.compareTo(actualID) < 0);
+            Assertions.assertTrue(previous.getValue().compareTo(actualID.getValue()) < 0);
+            previous = actualID;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.fullcycle.catalogue.admin.domain.validation.handler.ThrowsValidationH
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 public class CategoryTest {
 
     @Test
@@ -279,4 +281,86 @@ public class CategoryTest {
 
     }
 
+    @Test
+    public void givenValidParams_whenNewCategory_thenShouldRegisterCategoryCreated(){
+        final var actualCategory =  Category.newCategory("Movies", "Category most view", false);
+
+        final var actualEvents = actualCategory.getDomainEvents();
+
+        Assertions.assertEquals(1, actualEvents.size());
+        final var actualEvent = Assertions.assertInstanceOf(CategoryCreated.class, actualEvents.get(0));
+        Assertions.assertEquals(actualCategory.getId(), actualEvent.id());
+        Assertions.assertEquals(actualCategory.getId().getValue(), actualEvent.aggregateId());
+        Assertions.assertEquals("Movies", actualEvent.name());
+        Assertions.assertFalse(actualEvent.isActive());
+        Assertions.assertEquals(actualCategory.getCreateAt(), actualEvent.occurredOn());
+    }
+
+    @Test
+    public void givenACategory_whenCallActivateDeactivateAndUpdate_thenShouldRegisterEventsInOrder(){
+        final var aCategory =  Category.newCategory("Movies", "Category most view", true);
+
+        aCategory.activate();
+        aCategory.deActivate();
+        aCategory.deActivate();
+        aCategory.update("Series", "Category less view", true);
+
+        final var actualTypes = aCategory.getDomainEvents().stream().map(Object::getClass).toList();
+
+        Assertions.assertEquals(
+                List.of(CategoryCreated.class, CategoryDeactivated.class, CategoryActivated.class, CategoryUpdated.class),
+                actualTypes
+        );
+        final var actualUpdated = (CategoryUpdated) aCategory.getDomainEvents().get(3);
+        Assertions.assertEquals("Series", actualUpdated.name());
+        Assertions.assertTrue(actualUpdated.isActive());
+    }
+
+    @Test
+    public void givenACategoryWithEvents_whenCallPullDomainEvents_thenShouldReturnAndClearThem(){
+        final var aCategory =  Category.newCategory("Movies", "Category most view", true);
+
+        final var actualEvents = aCategory.pullDomainEvents();
+
+        Assertions.assertEquals(1, actualEvents.size());
+        Assertions.assertTrue(aCategory.getDomainEvents().isEmpty());
+        Assertions.assertTrue(aCategory.pullDomainEvents().isEmpty());
+        Assertions.assertTrue(Category.with(Category.newCategory("Series", null, true)).getDomainEvents().isEmpty());
+    }
+
+    @Test
+    public void givenACategory_whenTakingASnapshot_thenLaterChangesShouldNotAffectIt(){
+        final var aCategory =  Category.newCategory("Movies", "Category most view", true);
+
+        final var actualSnapshot = aCategory.snapshot();
+        aCategory.update("Series", "Category less view", false);
+
+        Assertions.assertEquals(aCategory.getId(), actualSnapshot.id());
+        Assertions.assertEquals("Movies", actualSnapshot.name());
+        Assertions.assertEquals("Category most view", actualSnapshot.description());
+        Assertions.assertTrue(actualSnapshot.active());
+        Assertions.assertNull(actualSnapshot.deleteAt());
+
+        final var actualCategory = Category.with(actualSnapshot);
+
+        Assertions.assertEquals(actualSnapshot, actualCategory.snapshot());
+        Assertions.assertTrue(actualCategory.getDomainEvents().isEmpty());
+    }
+
+    @Test
+    public void givenAVersionedSnapshot_whenRebuildingAndChangingTheCategory_thenShouldKeepTheVersionItWasReadAt(){
+        final var aCategory =  Category.newCategory("Movies", "Category most view", true);
+        final var aSnapshot = aCategory.snapshot().withVersion(5);
+
+        final var actualCategory = Category.with(aSnapshot);
+        actualCategory.update("Series", null, false).activate();
+
+        Assertions.assertEquals(0, aCategory.getVersion());
+        Assertions.assertEquals(0, aCategory.snapshot().version());
+        Assertions.assertEquals(5, actualCategory.getVersion());
+        Assertions.assertEquals(5, actualCategory.snapshot().version());
+        Assertions.assertEquals(5, Category.with(actualCategory).getVersion());
+        Assertions.assertEquals("Movies", aSnapshot.name());
+    }
+
 }
@@ -0,0 +1,90 @@
+package com.fullcycle.catalogue.admin.domain.validation.handler;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.validation.Error;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class NotificationTest {
+
+    @Test
+    public void givenInvalidCategories_whenValidateWithNotification_thenShouldCollectEveryErrorWithoutThrowing() {
+        final var expectedErrors = List.of(
+                new Error("'name' should not be null"),
+                new Error("'name' should not be Blank"),
+                new Error("'name' must be between 3 letters and 255 characteres")
+        );
+        final var aNotification = Notification.create();
+
+        Assertions.assertDoesNotThrow(() -> {
+            Category.newCategory(null, "Category most view", true).validate(aNotification);
+            Category.newCategory(" ", "Category most view", true).validate(aNotification);
+            Category.newCategory("Fa", "Category most view", true).validate(aNotification);
+            Category.newCategory("Movies", "Category most view", true).validate(aNotification);
+        });
+
+        Assertions.assertTrue(aNotification.hasError());
+        Assertions.assertEquals(expectedErrors, aNotification.getErrors());
+    }
+
+    @Test
+    public void givenAUsedNotification_whenCallClear_thenShouldBeReusable() {
+        final var aNotification = Notification.create(new Error("'name' should not be null"));
+        final var errorsView = aNotification.getErrors();
+
+        aNotification.clear();
+        Category.newCategory("Movies", "Category most view", true).validate(aNotification);
+
+        Assertions.assertFalse(aNotification.hasError());
+        Assertions.assertTrue(errorsView.isEmpty());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> errorsView.add(new Error("any")));
+    }
+
+    @Test
+    public void givenANotification_whenConvertedToDomainException_thenShouldNotShareTheBuffer() {
+        final var expectedErrorMessage = "'name' should not be null";
+        final var aNotification = Notification.create(new Error(expectedErrorMessage));
+
+        final var actualException = DomainException.with(aNotification.getErrors());
+        aNotification.clear();
+
+        Assertions.assertEquals(1, actualException.getErrors().size());
+        Assertions.assertEquals(expectedErrorMessage, actualException.getErrors().get(0).message());
+    }
+
+    @Test
+    public void givenAValidationThatThrows_whenValidateWithNotification_thenShouldCollectTheErrors() {
+        final var aNotification = Notification.create();
+
+        aNotification.validate(() -> {
+            throw DomainException.with(List.of(new Error("first"), new Error("second")));
+        });
+        aNotification.validate(() -> {
+            throw new IllegalStateException("third");
+        });
+        aNotification.append(new ThrowsValidationHandler());
+
+        Assertions.assertEquals(List.of(new Error("first"), new Error("second"), new Error("third")), aNotification.getErrors());
+    }
+
+    @Test
+    public void givenAValidationThatFailsWithAnError_whenValidateWithNotification_thenShouldPropagateIt() {
+        final var aNotification = Notification.create();
+
+        Assertions.assertThrows(StackOverflowError.class, () -> aNotification.validate(() -> {
+            throw new StackOverflowError();
+        }));
+        Assertions.assertFalse(aNotification.hasError());
+    }
+
+    @Test
+    public void givenAThrowsValidationHandler_whenCallHasError_thenShouldBeFalse() {
+        final var aHandler = new ThrowsValidationHandler();
+
+        Assertions.assertFalse(aHandler.hasError());
+        Assertions.assertTrue(aHandler.getErrors().isEmpty());
+    }
+}
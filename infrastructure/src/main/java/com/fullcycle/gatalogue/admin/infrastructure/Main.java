@@ -1,10 +1,14 @@
 package com.fullcycle.gatalogue.admin.infrastructure;
 
-import com.fullcycle.gatalogue.admin.application.UseCase;
+import com.fullcycle.gatalogue.admin.application.category.create.CreateCategoryCommand;
+import com.fullcycle.gatalogue.admin.application.category.create.DefaultCreateCategoryUseCase;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryInMemoryGateway;
 
 public class Main {
     public static void main(String[] args){
         System.out.println("Hello World");
-        System.out.println(new UseCase().execute());
+        final var createCategory = new DefaultCreateCategoryUseCase(new CategoryInMemoryGateway());
+        final var aCommand = CreateCategoryCommand.with("Movies", "Category most view", true);
+        System.out.println(createCategory.executeAsync(aCommand).join().id());
     }
 }
@@ -0,0 +1,326 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangePage;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeSource;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestionSource;
+import com.fullcycle.catalogue.admin.domain.category.VersionedCategoryGateway;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of any {@link CategoryGateway} for {@code findById}.
+ *
+ * Entries live in LRU segments bounded by size and expire after a TTL. Missing ids are cached
+ * as negative entries with their own TTL. Writes go to the delegate first and then drop the
+ * cached entry.
+ *
+ * A miss installs a loading token before calling the delegate and only swaps it for the loaded
+ * value if the token is still there. A write that lands while the load is in flight removes the
+ * token, so a value read before that write is never cached.
+ *
+ * Entries hold {@link CategorySnapshot}s: {@code findById} builds a fresh aggregate from the
+ * cached one, {@code findSnapshotById} returns it as is.
+ *
+ * The versioned writes, {@code findChanges} and {@code suggest} reach the delegate when it has
+ * them and throw {@link UnsupportedOperationException} when it does not; {@link Store} wraps a
+ * {@link CategoryStore} and declares them.
+ */
+public class CategoryCachedGateway implements CategoryGateway {
+
+    private static final int SEGMENTS = 16;
+
+    private final CategoryGateway delegate;
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier ticker;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    public CategoryCachedGateway(
+            final CategoryGateway aDelegate,
+            final int maximumSize,
+            final Duration aTtl,
+            final Duration aNegativeTtl
+    ) {
+        this(aDelegate, maximumSize, aTtl, aNegativeTtl, System::nanoTime);
+    }
+
+    public CategoryCachedGateway(
+            final CategoryGateway aDelegate,
+            final int maximumSize,
+            final Duration aTtl,
+            final Duration aNegativeTtl,
+            final LongSupplier aTicker
+    ) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("'maximumSize' should be greater than zero");
+        }
+        this.delegate = Objects.requireNonNull(aDelegate);
+        this.ttlNanos = aTtl.toNanos();
+        this.negativeTtlNanos = aNegativeTtl.toNanos();
+        this.ticker = Objects.requireNonNull(aTicker);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.segments = new Segment[SEGMENTS];
+        final var perSegment = Math.max(1, (maximumSize + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new Segment(perSegment, this.evictions);
+        }
+    }
+
+    @Override
+    public Category create(final Category aCategory) {
+        final var created = this.delegate.create(aCategory);
+        invalidate(created.getId());
+        return created;
+    }
+
+    @Override
+    public List<Category> createAll(final List<Category> categories) {
+        final var created = this.delegate.createAll(categories);
+        for (final var aCategory : created) {
+            invalidate(aCategory.getId());
+        }
+        return created;
+    }
+
+    @Override
+    public void deleteById(final CategoryID anID) {
+        this.delegate.deleteById(anID);
+        invalidate(anID);
+    }
+
+    @Override
+    public Optional<Category> findById(final CategoryID anID) {
+        return Optional.ofNullable(lookup(anID)).map(Category::with);
+    }
+
+    @Override
+    public Optional<CategorySnapshot> findSnapshotById(final CategoryID anID) {
+        return Optional.ofNullable(lookup(anID));
+    }
+
+    @Override
+    public Category update(final Category aCategory) {
+        final var updated = this.delegate.update(aCategory);
+        invalidate(updated.getId());
+        return updated;
+    }
+
+    /**
+     * A rejected write also drops the entry, so the caller's retry reads the version that won.
+     */
+    public Category compareAndUpdate(final Category aCategory) {
+        try {
+            return CategoryCapabilities.of(this.delegate, VersionedCategoryGateway.class).compareAndUpdate(aCategory);
+        } finally {
+            invalidate(aCategory.getId());
+        }
+    }
+
+    public void compareAndDeleteById(final CategoryID anID, final long aVersion) {
+        try {
+            CategoryCapabilities.of(this.delegate, VersionedCategoryGateway.class).compareAndDeleteById(anID, aVersion);
+        } finally {
+            invalidate(anID);
+        }
+    }
+
+    @Override
+    public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+        return this.delegate.findAll(aQuery);
+    }
+
+    @Override
+    public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+        return this.delegate.findAll(aQuery);
+    }
+
+    @Override
+    public CategoryCounts counts() {
+        return this.delegate.counts();
+    }
+
+    @Override
+    public long estimateCount(final String terms) {
+        return this.delegate.estimateCount(terms);
+    }
+
+    @Override
+    public Stream<CategorySnapshot> streamAll(final CategoryStreamQuery aQuery) {
+        return this.delegate.streamAll(aQuery);
+    }
+
+    public CategoryChangePage findChanges(final CategoryChangeQuery aQuery) {
+        return CategoryCapabilities.of(this.delegate, CategoryChangeSource.class).findChanges(aQuery);
+    }
+
+    public List<CategorySnapshot> suggest(final CategorySuggestQuery aQuery) {
+        return CategoryCapabilities.of(this.delegate, CategorySuggestionSource.class).suggest(aQuery);
+    }
+
+    public void invalidate(final CategoryID anID) {
+        segmentFor(anID).remove(anID);
+    }
+
+    public CacheStats stats() {
+        var size = 0L;
+        for (final var aSegment : this.segments) {
+            size += aSegment.size();
+        }
+        return new CacheStats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), size);
+    }
+
+    private CategorySnapshot lookup(final CategoryID anID) {
+        final var aSegment = segmentFor(anID);
+        final var now = this.ticker.getAsLong();
+        final var cached = aSegment.get(anID);
+        if (cached != null && !cached.loading()) {
+            if (cached.expiresAt() - now > 0) {
+                this.hits.increment();
+                return cached.category();
+            }
+            if (aSegment.remove(anID, cached)) {
+                this.evictions.increment();
+            }
+        }
+
+        this.misses.increment();
+        final var aToken = new Entry(null, 0, true);
+        final var installed = aSegment.putIfAbsent(anID, aToken);
+        final CategorySnapshot loaded;
+        try {
+            loaded = this.delegate.findById(anID).map(Category::snapshot).orElse(null);
+        } catch (final RuntimeException e) {
+            if (installed) {
+                aSegment.remove(anID, aToken);
+            }
+            throw e;
+        }
+        if (installed) {
+            final var ttl = loaded != null ? this.ttlNanos : this.negativeTtlNanos;
+            aSegment.replace(anID, aToken, new Entry(loaded, this.ticker.getAsLong() + ttl, false));
+        }
+        return loaded;
+    }
+
+    private Segment segmentFor(final CategoryID anID) {
+        final var hash = anID.hashCode();
+        return this.segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, long size) {
+
+        public double hitRatio() {
+            final var requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * A cached lookup result, where a null category is a negative entry, or the token of a load
+     * in flight. Entries compare by identity so a token is only ever replaced by its own load.
+     */
+    private record Entry(CategorySnapshot category, long expiresAt, boolean loading) {
+
+        @Override
+        public boolean equals(final Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+    private static final class Segment {
+
+        private final LinkedHashMap<CategoryID, Entry> entries;
+
+        private Segment(final int capacity, final LongAdder evictions) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<CategoryID, Entry> eldest) {
+                    final var evict = size() > capacity;
+                    if (evict) {
+                        evictions.increment();
+                    }
+                    return evict;
+                }
+            };
+        }
+
+        synchronized Entry get(final CategoryID anID) {
+            return this.entries.get(anID);
+        }
+
+        synchronized boolean putIfAbsent(final CategoryID anID, final Entry anEntry) {
+            return this.entries.putIfAbsent(anID, anEntry) == null;
+        }
+
+        synchronized void replace(final CategoryID anID, final Entry expected, final Entry anEntry) {
+            this.entries.replace(anID, expected, anEntry);
+        }
+
+        synchronized boolean remove(final CategoryID anID, final Entry expected) {
+            return this.entries.remove(anID, expected);
+        }
+
+        synchronized void remove(final CategoryID anID) {
+            this.entries.remove(anID);
+        }
+
+        synchronized int size() {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * The cached gateway of a {@link CategoryStore}, declaring the capabilities its delegate has.
+     */
+    public static class Store extends CategoryCachedGateway implements CategoryStore {
+
+        public Store(
+                final CategoryStore aDelegate,
+                final int maximumSize,
+                final Duration aTtl,
+                final Duration aNegativeTtl
+        ) {
+            super(aDelegate, maximumSize, aTtl, aNegativeTtl);
+        }
+
+        public Store(
+                final CategoryStore aDelegate,
+                final int maximumSize,
+                final Duration aTtl,
+                final Duration aNegativeTtl,
+                final LongSupplier aTicker
+        ) {
+            super(aDelegate, maximumSize, aTtl, aNegativeTtl, aTicker);
+        }
+    }
+}
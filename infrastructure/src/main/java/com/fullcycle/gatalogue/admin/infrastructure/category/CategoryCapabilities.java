@@ -0,0 +1,24 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+
+/**
+ * Lets a decorator reach an optional capability of its delegate, such as
+ * {@link com.fullcycle.catalogue.admin.domain.category.CategoryChangeSource}, and fail plainly
+ * when the delegate does not have it.
+ */
+final class CategoryCapabilities {
+
+    private CategoryCapabilities() {
+    }
+
+    static <T> T of(final CategoryGateway aDelegate, final Class<T> aCapability) {
+        if (aCapability.isInstance(aDelegate)) {
+            return aCapability.cast(aDelegate);
+        }
+        throw new UnsupportedOperationException("%s is not a %s".formatted(
+                aDelegate.getClass().getSimpleName(),
+                aCapability.getSimpleName()
+        ));
+    }
+}
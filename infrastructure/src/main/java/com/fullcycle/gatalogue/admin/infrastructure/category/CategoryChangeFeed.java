@@ -0,0 +1,217 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryChange;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangePage;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.exceptions.ExpiredChangeTokenException;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * The latest write of every category keyed by an increasing sequence, so a change feed page is
+ * a seek to the token and a walk of the changes after it, however large the catalogue is.
+ *
+ * A write moves its category to the head of the feed: the new entry is added before the old one
+ * is dropped, so a concurrent page may report both but never neither. Sequences are handed out
+ * by an atomic counter without a lock, and a write that is done publishes its sequence; the
+ * watermark only moves past a sequence once every one below it is published too, and pages stop
+ * at the watermark, so a page never sees a change while an older one is still on its way in, and
+ * a token can never skip a change.
+ *
+ * An entry either holds the state the write stored or only the id, in which case a page
+ * resolves the current state through the storage; the caller then records the write only once
+ * that state is readable, so a page never reports an entry with what came before it.
+ *
+ * Removals stay in the feed as tombstones so consumers learn about them. Dropping them, by
+ * {@link #expire(CategoryID, long)} or beyond {@code maxTombstones}, raises the floor of the
+ * feed, and a token older than the floor is rejected as expired since it may have missed them,
+ * unless its consumer started from scratch after they were dropped.
+ */
+final class CategoryChangeFeed {
+
+    static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final ConcurrentSkipListMap<Long, Entry> changes;
+    private final ConcurrentSkipListMap<Long, CategoryID> tombstones;
+    private final ConcurrentHashMap<CategoryID, Long> latest;
+    private final ConcurrentSkipListSet<Long> done;
+    private final AtomicLong sequence;
+    private final AtomicLong watermark;
+    private final AtomicInteger tombstoneCount;
+    private final AtomicLong floor;
+    private final int maxTombstones;
+
+    CategoryChangeFeed(final int maxTombstones) {
+        if (maxTombstones < 0) {
+            throw new IllegalArgumentException("'maxTombstones' should not be negative");
+        }
+        this.changes = new ConcurrentSkipListMap<>();
+        this.tombstones = new ConcurrentSkipListMap<>();
+        this.latest = new ConcurrentHashMap<>();
+        this.done = new ConcurrentSkipListSet<>();
+        this.sequence = new AtomicLong();
+        this.watermark = new AtomicLong();
+        this.tombstoneCount = new AtomicInteger();
+        this.floor = new AtomicLong();
+        this.maxTombstones = maxTombstones;
+    }
+
+    /**
+     * Records a write under the next sequence of the feed and returns it. A null category is a
+     * removal. Writes of one category must be serialized by the caller.
+     */
+    long record(final CategoryID anID, final CategorySnapshot aCategory) {
+        final var aSequence = this.sequence.incrementAndGet();
+        put(anID, aSequence, aCategory, aCategory == null);
+        publish(aSequence);
+        return aSequence;
+    }
+
+    /**
+     * Records a write under a sequence chosen by the caller, visible to pages right away, so the
+     * caller must record in sequence order while it serves pages. A log replaying its compacted
+     * copies may hand in a sequence again, or one below the category's latest, which is then
+     * ignored. A category that is not removed and comes without its state is resolved when a page
+     * reads it.
+     */
+    void record(final CategoryID anID, final long aSequence, final CategorySnapshot aCategory, final boolean removed) {
+        final var current = this.latest.get(anID);
+        if (current != null && current > aSequence) {
+            return;
+        }
+        put(anID, aSequence, aCategory, removed);
+        this.sequence.accumulateAndGet(aSequence, Math::max);
+        this.watermark.accumulateAndGet(aSequence, Math::max);
+    }
+
+    /**
+     * Drops the tombstone a category got at the sequence, once the storage no longer holds it,
+     * and raises the floor past it. A category written again since then is left alone.
+     */
+    void expire(final CategoryID anID, final long aSequence) {
+        final var current = this.latest.get(anID);
+        if (current != null && current == aSequence && this.tombstones.remove(aSequence) != null) {
+            this.tombstoneCount.decrementAndGet();
+            drop(aSequence, anID);
+        }
+    }
+
+    /**
+     * Raises the floor to the last sequence the storage expired, when reopening it. Sequences
+     * handed out from then on are above it.
+     */
+    void raiseFloor(final long aFloor) {
+        this.floor.accumulateAndGet(aFloor, Math::max);
+        this.sequence.accumulateAndGet(aFloor, Math::max);
+        this.watermark.accumulateAndGet(aFloor, Math::max);
+    }
+
+    long floor() {
+        return this.floor.get();
+    }
+
+    /**
+     * Walks the changes after the token. A category written again since its entry was read is
+     * skipped there and reported at its newer entry, and so is one removed in the meantime.
+     */
+    CategoryChangePage page(final CategoryChangeQuery aQuery, final Function<CategoryID, CategorySnapshot> aResolver) {
+        final var aToken = CategoryChangeToken.decode(aQuery.token());
+        final var aStart = aToken == null ? new CategoryChangeToken(0, this.floor.get()) : aToken;
+        checkNotExpired(aStart);
+
+        final var limit = Math.max(aQuery.limit(), 0);
+        final var items = new ArrayList<CategoryChange>(Math.min(limit, 1_024));
+        final var visible = this.watermark.get();
+        var last = aStart.sequence();
+        var hasMore = false;
+        if (visible <= last) {
+            return new CategoryChangePage(aQuery.token(), items, new CategoryChangeToken(last, aStart.horizon()).encode(), false);
+        }
+        for (final var aChange : this.changes.subMap(last, false, visible, true).entrySet()) {
+            final var aSequence = aChange.getKey().longValue();
+            final var anEntry = aChange.getValue();
+            final var current = this.latest.get(anEntry.id());
+            if (current == null || current != aSequence) {
+                continue;
+            }
+            final var aCategory = anEntry.removed() || anEntry.category() != null ? anEntry.category() : aResolver.apply(anEntry.id());
+            if (!anEntry.removed() && aCategory == null) {
+                continue;
+            }
+            if (items.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            items.add(new CategoryChange(aSequence, anEntry.id(), aCategory));
+            last = aSequence;
+        }
+        checkNotExpired(aStart);
+        return new CategoryChangePage(aQuery.token(), items, new CategoryChangeToken(last, aStart.horizon()).encode(), hasMore);
+    }
+
+    private void checkNotExpired(final CategoryChangeToken aToken) {
+        final var aFloor = this.floor.get();
+        if (aToken.isExpired(aFloor)) {
+            throw new ExpiredChangeTokenException(
+                    "change token at %d is older than the oldest retained removal at %d, resync from the start".formatted(aToken.sequence(), aFloor)
+            );
+        }
+    }
+
+    private void put(final CategoryID anID, final long aSequence, final CategorySnapshot aCategory, final boolean removed) {
+        if (removed && this.tombstones.put(aSequence, anID) == null) {
+            this.tombstoneCount.incrementAndGet();
+        }
+        this.changes.put(aSequence, new Entry(anID, removed ? null : aCategory, removed));
+        final var previous = this.latest.put(anID, aSequence);
+        if (previous != null && previous != aSequence) {
+            this.changes.remove(previous);
+            if (this.tombstones.remove(previous) != null) {
+                this.tombstoneCount.decrementAndGet();
+            }
+        }
+        while (this.tombstoneCount.get() > this.maxTombstones) {
+            final var oldest = this.tombstones.pollFirstEntry();
+            if (oldest == null) {
+                break;
+            }
+            this.tombstoneCount.decrementAndGet();
+            drop(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    /**
+     * Moves the watermark over every published sequence that follows it. Whoever publishes the
+     * last missing sequence of a run carries the watermark over the whole run, so none is left
+     * waiting behind it.
+     */
+    private void publish(final long aSequence) {
+        this.done.add(aSequence);
+        while (true) {
+            final var current = this.watermark.get();
+            if (!this.done.contains(current + 1)) {
+                return;
+            }
+            if (this.watermark.compareAndSet(current, current + 1)) {
+                this.done.remove(current + 1);
+            }
+        }
+    }
+
+    private void drop(final long aSequence, final CategoryID anID) {
+        this.changes.remove(aSequence);
+        this.latest.remove(anID, aSequence);
+        this.floor.accumulateAndGet(aSequence, Math::max);
+    }
+
+    private record Entry(CategoryID id, CategorySnapshot category, boolean removed) {
+    }
+}
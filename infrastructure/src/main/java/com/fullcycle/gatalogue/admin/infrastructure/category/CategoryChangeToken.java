@@ -0,0 +1,56 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.validation.Error;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a {@link CategoryChangeFeed}: the sequence of the last change a consumer has seen,
+ * and the floor of the feed when the consumer started from scratch, since tombstones dropped
+ * before that never concerned it.
+ *
+ * Encoded as opaque url-safe base64, like a {@link CategoryCursor}, so clients only pass it back.
+ */
+record CategoryChangeToken(long sequence, long horizon) {
+
+    private static final char SEPARATOR = '\n';
+    private static final String PREFIX = "changes" + SEPARATOR;
+
+    public static CategoryChangeToken decode(final String aToken) {
+        if (aToken == null || aToken.isBlank()) {
+            return null;
+        }
+        try {
+            final var decoded = new String(Base64.getUrlDecoder().decode(aToken), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw invalid();
+            }
+            final var parts = decoded.substring(PREFIX.length()).split(String.valueOf(SEPARATOR), 2);
+            final var aSequence = Long.parseLong(parts[0]);
+            final var aHorizon = Long.parseLong(parts[1]);
+            if (aSequence < 0 || aHorizon < 0) {
+                throw invalid();
+            }
+            return new CategoryChangeToken(aSequence, aHorizon);
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalid();
+        }
+    }
+
+    /**
+     * Whether tombstones the consumer may not have seen were dropped from a feed at this floor.
+     */
+    public boolean isExpired(final long aFloor) {
+        return aFloor > Math.max(sequence, horizon);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + sequence + SEPARATOR + horizon).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static DomainException invalid() {
+        return DomainException.with(new Error("'token' is not a change feed token"));
+    }
+}
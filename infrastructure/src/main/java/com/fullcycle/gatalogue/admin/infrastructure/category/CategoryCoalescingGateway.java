@@ -0,0 +1,306 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangePage;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeSource;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestionSource;
+import com.fullcycle.catalogue.admin.domain.category.VersionedCategoryGateway;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.exceptions.GatewayTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Single-flight {@code findById} and {@code findSnapshotById}: concurrent lookups of the same
+ * {@link CategoryID} share one delegate call and its result or failure.
+ *
+ * The first caller starts the lookup on the executor and every caller, the first included,
+ * waits for it at most the configured timeout. A caller that times out forgets the stuck call,
+ * so the next lookup starts a fresh one instead of queueing behind it. When the executor rejects
+ * the lookup the first caller runs it on its own thread, without a timeout. The default executor
+ * keeps at most {@value #DEFAULT_MAX_THREADS} threads and queues nothing, so a burst of distinct
+ * ids or of stuck lookups falls back to the callers' threads instead of growing the pool.
+ *
+ * Every write forgets the lookup in flight for its id once the delegate has applied it, so a
+ * read issued after a write never joins a lookup that may have started before it.
+ *
+ * The versioned writes, {@code findChanges} and {@code suggest} reach the delegate when it has
+ * them and throw {@link UnsupportedOperationException} when it does not; {@link Store} wraps a
+ * {@link CategoryStore} and declares them.
+ */
+public class CategoryCoalescingGateway implements CategoryGateway, AutoCloseable {
+
+    public static final int DEFAULT_MAX_THREADS = 64;
+
+    private final CategoryGateway delegate;
+    private final long timeoutNanos;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final ConcurrentHashMap<CategoryID, CompletableFuture<Optional<Category>>> inFlight;
+    private final ConcurrentHashMap<CategoryID, CompletableFuture<Optional<CategorySnapshot>>> snapshotsInFlight;
+    private final LongAdder calls;
+    private final LongAdder deduplicated;
+    private final LongAdder timeouts;
+
+    public CategoryCoalescingGateway(final CategoryGateway aDelegate, final Duration aTimeout) {
+        this(aDelegate, aTimeout, new ThreadPoolExecutor(0, DEFAULT_MAX_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), aRunnable -> {
+            final var aThread = new Thread(aRunnable, "category-coalescing");
+            aThread.setDaemon(true);
+            return aThread;
+        }), true);
+    }
+
+    public CategoryCoalescingGateway(final CategoryGateway aDelegate, final Duration aTimeout, final Executor anExecutor) {
+        this(aDelegate, aTimeout, anExecutor, false);
+    }
+
+    private CategoryCoalescingGateway(final CategoryGateway aDelegate, final Duration aTimeout, final Executor anExecutor, final boolean owned) {
+        this.delegate = Objects.requireNonNull(aDelegate);
+        this.timeoutNanos = aTimeout.toNanos();
+        this.executor = Objects.requireNonNull(anExecutor);
+        this.ownedExecutor = owned ? (ExecutorService) anExecutor : null;
+        this.inFlight = new ConcurrentHashMap<>();
+        this.snapshotsInFlight = new ConcurrentHashMap<>();
+        this.calls = new LongAdder();
+        this.deduplicated = new LongAdder();
+        this.timeouts = new LongAdder();
+    }
+
+    @Override
+    public Category create(final Category aCategory) {
+        try {
+            return this.delegate.create(aCategory);
+        } finally {
+            forget(aCategory.getId());
+        }
+    }
+
+    @Override
+    public List<Category> createAll(final List<Category> categories) {
+        try {
+            return this.delegate.createAll(categories);
+        } finally {
+            categories.forEach(aCategory -> forget(aCategory.getId()));
+        }
+    }
+
+    @Override
+    public void deleteById(final CategoryID anID) {
+        try {
+            this.delegate.deleteById(anID);
+        } finally {
+            forget(anID);
+        }
+    }
+
+    @Override
+    public Optional<Category> findById(final CategoryID anID) {
+        return coalesce("findById", this.inFlight, anID, () -> this.delegate.findById(anID).map(Category::with))
+                .map(Category::with);
+    }
+
+    @Override
+    public Optional<CategorySnapshot> findSnapshotById(final CategoryID anID) {
+        return coalesce("findSnapshotById", this.snapshotsInFlight, anID, () -> this.delegate.findSnapshotById(anID));
+    }
+
+    @Override
+    public Category update(final Category aCategory) {
+        try {
+            return this.delegate.update(aCategory);
+        } finally {
+            forget(aCategory.getId());
+        }
+    }
+
+    public Category compareAndUpdate(final Category aCategory) {
+        try {
+            return CategoryCapabilities.of(this.delegate, VersionedCategoryGateway.class).compareAndUpdate(aCategory);
+        } finally {
+            forget(aCategory.getId());
+        }
+    }
+
+    public void compareAndDeleteById(final CategoryID anID, final long aVersion) {
+        try {
+            CategoryCapabilities.of(this.delegate, VersionedCategoryGateway.class).compareAndDeleteById(anID, aVersion);
+        } finally {
+            forget(anID);
+        }
+    }
+
+    @Override
+    public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+        return this.delegate.findAll(aQuery);
+    }
+
+    @Override
+    public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+        return this.delegate.findAll(aQuery);
+    }
+
+    @Override
+    public Pagination<CategorySnapshot> findAllSnapshots(final CategorySearchQuery aQuery) {
+        return this.delegate.findAllSnapshots(aQuery);
+    }
+
+    @Override
+    public CursorPagination<CategorySnapshot> findAllSnapshots(final CategoryCursorQuery aQuery) {
+        return this.delegate.findAllSnapshots(aQuery);
+    }
+
+    @Override
+    public CategoryCounts counts() {
+        return this.delegate.counts();
+    }
+
+    @Override
+    public long estimateCount(final String terms) {
+        return this.delegate.estimateCount(terms);
+    }
+
+    @Override
+    public Stream<CategorySnapshot> streamAll(final CategoryStreamQuery aQuery) {
+        return this.delegate.streamAll(aQuery);
+    }
+
+    public CategoryChangePage findChanges(final CategoryChangeQuery aQuery) {
+        return CategoryCapabilities.of(this.delegate, CategoryChangeSource.class).findChanges(aQuery);
+    }
+
+    public List<CategorySnapshot> suggest(final CategorySuggestQuery aQuery) {
+        return CategoryCapabilities.of(this.delegate, CategorySuggestionSource.class).suggest(aQuery);
+    }
+
+    /**
+     * Shuts down the executor this gateway created, if it created one. Lookups already running
+     * are left to finish and later ones run on their first caller's thread.
+     */
+    @Override
+    public void close() {
+        if (this.ownedExecutor != null) {
+            this.ownedExecutor.shutdown();
+        }
+    }
+
+    public CoalescingStats stats() {
+        return new CoalescingStats(
+                this.calls.sum(),
+                this.deduplicated.sum(),
+                this.timeouts.sum(),
+                this.inFlight.size() + this.snapshotsInFlight.size()
+        );
+    }
+
+    private void forget(final CategoryID anID) {
+        this.inFlight.remove(anID);
+        this.snapshotsInFlight.remove(anID);
+    }
+
+    private <T> T coalesce(
+            final String anOperation,
+            final ConcurrentHashMap<CategoryID, CompletableFuture<T>> aFlight,
+            final CategoryID anID,
+            final Supplier<T> aLookup
+    ) {
+        this.calls.increment();
+        final var aCall = new CompletableFuture<T>();
+        final var running = aFlight.putIfAbsent(anID, aCall);
+        if (running != null) {
+            this.deduplicated.increment();
+            return await(anOperation, aFlight, anID, running);
+        }
+
+        aCall.whenComplete((aResult, e) -> aFlight.remove(anID, aCall));
+        try {
+            this.executor.execute(() -> run(aCall, aLookup));
+        } catch (final RejectedExecutionException e) {
+            run(aCall, aLookup);
+        } catch (final RuntimeException e) {
+            aCall.completeExceptionally(e);
+            throw e;
+        }
+        return await(anOperation, aFlight, anID, aCall);
+    }
+
+    private static <T> void run(final CompletableFuture<T> aCall, final Supplier<T> aLookup) {
+        try {
+            aCall.complete(aLookup.get());
+        } catch (final RuntimeException | Error e) {
+            aCall.completeExceptionally(e);
+        }
+    }
+
+    private <T> T await(
+            final String anOperation,
+            final ConcurrentHashMap<CategoryID, CompletableFuture<T>> aFlight,
+            final CategoryID anID,
+            final CompletableFuture<T> aCall
+    ) {
+        try {
+            return aCall.get(this.timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            this.timeouts.increment();
+            aFlight.remove(anID, aCall);
+            throw new GatewayTimeoutException("'%s' of %s timed out waiting for the in-flight lookup".formatted(anOperation, anID.getValue()), e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException aCause) {
+                throw aCause;
+            }
+            if (e.getCause() instanceof Error aCause) {
+                throw aCause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record CoalescingStats(long calls, long deduplicated, long timeouts, long inFlight) {
+
+        public long backendCalls() {
+            return calls - deduplicated;
+        }
+    }
+
+    /**
+     * The coalescing gateway of a {@link CategoryStore}, declaring the capabilities its delegate has.
+     */
+    public static class Store extends CategoryCoalescingGateway implements CategoryStore {
+
+        public Store(final CategoryStore aDelegate, final Duration aTimeout) {
+            super(aDelegate, aTimeout);
+        }
+
+        public Store(final CategoryStore aDelegate, final Duration aTimeout, final Executor anExecutor) {
+            super(aDelegate, aTimeout, anExecutor);
+        }
+    }
+}
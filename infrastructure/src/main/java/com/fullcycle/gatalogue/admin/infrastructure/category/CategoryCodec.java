@@ -0,0 +1,319 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.gatalogue.admin.infrastructure.exceptions.CodecException;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Versioned binary encoding of a {@link Category} or a {@link CategorySnapshot}, written to and
+ * read from caller-owned {@link ByteBuffer}s so a producer or consumer can reuse one buffer for
+ * every message.
+ *
+ * Version 2 layout: {@code [version][flags][id: 16 bytes][aggregate version][name][description][createAt][updateAt][deleteAt]},
+ * where the aggregate version is a varint, strings are a varint byte length followed by UTF-8 and absent fields are only flagged.
+ * {@code createAt} is a zig-zag varint of epoch microseconds; {@code updateAt} and
+ * {@code deleteAt} are zig-zag varints of microseconds after {@code createAt} when it is present,
+ * which keeps them to a few bytes. Instants are therefore truncated to microseconds. Version 1
+ * is the same layout without the aggregate version and still decodes, as version 0.
+ *
+ * Encoding allocates nothing, decoding allocates only the category, its id, strings and instants.
+ */
+public final class CategoryCodec {
+
+    public static final byte VERSION = 2;
+
+    private static final byte UNVERSIONED = 1;
+
+    private static final int ACTIVE = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int HAS_CREATE_AT = 1 << 3;
+    private static final int HAS_UPDATE_AT = 1 << 4;
+    private static final int HAS_DELETE_AT = 1 << 5;
+
+    private static final int FIXED_BYTES = 2 + Long.BYTES * 2;
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[256]);
+
+    private CategoryCodec() {
+    }
+
+    /**
+     * Writes the category at the buffer position and advances it. Throws
+     * {@link BufferOverflowException} without writing anything when it does not fit.
+     */
+    public static int encode(final Category aCategory, final ByteBuffer aTarget) {
+        return encode(
+                aCategory.getId(), aCategory.getName(), aCategory.getDescription(), aCategory.isActive(),
+                aCategory.getCreateAt(), aCategory.getUpdateAt(), aCategory.getDeleteAt(), aCategory.getVersion(),
+                aTarget
+        );
+    }
+
+    public static int encode(final CategorySnapshot aCategory, final ByteBuffer aTarget) {
+        return encode(
+                aCategory.id(), aCategory.name(), aCategory.description(), aCategory.active(),
+                aCategory.createAt(), aCategory.updateAt(), aCategory.deleteAt(), aCategory.version(),
+                aTarget
+        );
+    }
+
+    /**
+     * Reads one category from the buffer position and advances past it.
+     */
+    public static Category decode(final ByteBuffer aSource) {
+        final var version = aSource.get();
+        if (version != VERSION && version != UNVERSIONED) {
+            throw new CodecException("unsupported category codec version " + version);
+        }
+        final var flags = aSource.get();
+        final var anID = CategoryID.from(aSource.getLong(), aSource.getLong());
+        final var aVersion = version == VERSION ? getVarLong(aSource) : 0;
+        final var aName = (flags & HAS_NAME) != 0 ? getString(aSource) : null;
+        final var aDescription = (flags & HAS_DESCRIPTION) != 0 ? getString(aSource) : null;
+        final var base = (flags & HAS_CREATE_AT) != 0 ? unZigZag(getVarLong(aSource)) : 0;
+        final var createAt = (flags & HAS_CREATE_AT) != 0 ? instant(base) : null;
+        final var updateAt = (flags & HAS_UPDATE_AT) != 0 ? instant(base + unZigZag(getVarLong(aSource))) : null;
+        final var deleteAt = (flags & HAS_DELETE_AT) != 0 ? instant(base + unZigZag(getVarLong(aSource))) : null;
+        return Category.with(anID, aName, aDescription, (flags & ACTIVE) != 0, createAt, updateAt, deleteAt, aVersion);
+    }
+
+    /**
+     * Aggregate version of the category encoded at the buffer position, without decoding the rest
+     * of it or moving the position.
+     */
+    static long version(final ByteBuffer aSource) {
+        final var position = aSource.position();
+        final var version = aSource.get(position);
+        if (version != VERSION) {
+            return 0;
+        }
+        return getVarLong(aSource.duplicate().position(position + FIXED_BYTES));
+    }
+
+    /**
+     * Whether the category encoded at the buffer position is active and whether it is
+     * soft-deleted, as a {@link CategoryCounters} state, read from its flags alone.
+     */
+    static int countersState(final ByteBuffer aSource) {
+        final var flags = aSource.get(aSource.position() + 1);
+        return CategoryCounters.state((flags & ACTIVE) != 0, (flags & HAS_DELETE_AT) != 0);
+    }
+
+    public static int encodedSize(final Category aCategory) {
+        return encodedSize(aCategory.getName(), aCategory.getDescription(), aCategory.getCreateAt(), aCategory.getUpdateAt(), aCategory.getDeleteAt(), aCategory.getVersion());
+    }
+
+    public static int encodedSize(final CategorySnapshot aCategory) {
+        return encodedSize(aCategory.name(), aCategory.description(), aCategory.createAt(), aCategory.updateAt(), aCategory.deleteAt(), aCategory.version());
+    }
+
+    private static int encode(
+            final CategoryID anID,
+            final String aName,
+            final String aDescription,
+            final boolean active,
+            final Instant createAt,
+            final Instant updateAt,
+            final Instant deleteAt,
+            final long aVersion,
+            final ByteBuffer aTarget
+    ) {
+        final var size = encodedSize(aName, aDescription, createAt, updateAt, deleteAt, aVersion);
+        if (aTarget.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+
+        var flags = active ? ACTIVE : 0;
+        flags |= aName != null ? HAS_NAME : 0;
+        flags |= aDescription != null ? HAS_DESCRIPTION : 0;
+        flags |= createAt != null ? HAS_CREATE_AT : 0;
+        flags |= updateAt != null ? HAS_UPDATE_AT : 0;
+        flags |= deleteAt != null ? HAS_DELETE_AT : 0;
+
+        aTarget.put(VERSION);
+        aTarget.put((byte) flags);
+        aTarget.putLong(anID.getMostSigBits());
+        aTarget.putLong(anID.getLeastSigBits());
+        putVarLong(aTarget, aVersion);
+        if (aName != null) {
+            putString(aTarget, aName);
+        }
+        if (aDescription != null) {
+            putString(aTarget, aDescription);
+        }
+        final var base = createAt != null ? micros(createAt) : 0;
+        if (createAt != null) {
+            putVarLong(aTarget, zigZag(base));
+        }
+        if (updateAt != null) {
+            putVarLong(aTarget, zigZag(micros(updateAt) - base));
+        }
+        if (deleteAt != null) {
+            putVarLong(aTarget, zigZag(micros(deleteAt) - base));
+        }
+        return size;
+    }
+
+    private static int encodedSize(
+            final String aName,
+            final String aDescription,
+            final Instant createAt,
+            final Instant updateAt,
+            final Instant deleteAt,
+            final long aVersion
+    ) {
+        var size = FIXED_BYTES + varLongSize(aVersion);
+        if (aName != null) {
+            size += stringSize(aName);
+        }
+        if (aDescription != null) {
+            size += stringSize(aDescription);
+        }
+        final var base = createAt != null ? micros(createAt) : 0;
+        if (createAt != null) {
+            size += varLongSize(zigZag(base));
+        }
+        if (updateAt != null) {
+            size += varLongSize(zigZag(micros(updateAt) - base));
+        }
+        if (deleteAt != null) {
+            size += varLongSize(zigZag(micros(deleteAt) - base));
+        }
+        return size;
+    }
+
+    private static long micros(final Instant anInstant) {
+        return Math.addExact(Math.multiplyExact(anInstant.getEpochSecond(), 1_000_000L), anInstant.getNano() / 1_000);
+    }
+
+    private static Instant instant(final long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    private static int stringSize(final String aValue) {
+        final var length = utf8Length(aValue);
+        return varLongSize(length) + length;
+    }
+
+    /**
+     * Same byte count as {@code String.getBytes(UTF_8)}, where an unpaired surrogate becomes '?'.
+     */
+    private static int utf8Length(final String aValue) {
+        var length = 0;
+        for (int i = 0, n = aValue.length(); i < n; i++) {
+            final var c = aValue.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(aValue.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void putString(final ByteBuffer aTarget, final String aValue) {
+        putVarLong(aTarget, utf8Length(aValue));
+        for (int i = 0, n = aValue.length(); i < n; i++) {
+            final var c = aValue.charAt(i);
+            if (c < 0x80) {
+                aTarget.put((byte) c);
+            } else if (c < 0x800) {
+                aTarget.put((byte) (0xC0 | c >> 6));
+                aTarget.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(aValue.charAt(i + 1))) {
+                final var codePoint = Character.toCodePoint(c, aValue.charAt(++i));
+                aTarget.put((byte) (0xF0 | codePoint >> 18));
+                aTarget.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                aTarget.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                aTarget.put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                aTarget.put((byte) '?');
+            } else {
+                aTarget.put((byte) (0xE0 | c >> 12));
+                aTarget.put((byte) (0x80 | c >> 6 & 0x3F));
+                aTarget.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static String getString(final ByteBuffer aSource) {
+        final var length = (int) getVarLong(aSource);
+        if (length > aSource.remaining()) {
+            throw new CodecException("string of %d bytes overruns the buffer".formatted(length));
+        }
+        if (aSource.hasArray()) {
+            final var aValue = new String(aSource.array(), aSource.arrayOffset() + aSource.position(), length, StandardCharsets.UTF_8);
+            aSource.position(aSource.position() + length);
+            return aValue;
+        }
+
+        var chars = SCRATCH.get();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            SCRATCH.set(chars);
+        }
+        var count = 0;
+        final var end = aSource.position() + length;
+        while (aSource.position() < end) {
+            final var b = aSource.get() & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if (b < 0xE0) {
+                chars[count++] = (char) ((b & 0x1F) << 6 | aSource.get() & 0x3F);
+            } else if (b < 0xF0) {
+                chars[count++] = (char) ((b & 0x0F) << 12 | (aSource.get() & 0x3F) << 6 | aSource.get() & 0x3F);
+            } else {
+                final var codePoint = (b & 0x07) << 18 | (aSource.get() & 0x3F) << 12 | (aSource.get() & 0x3F) << 6 | aSource.get() & 0x3F;
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static long zigZag(final long aValue) {
+        return (aValue << 1) ^ (aValue >> 63);
+    }
+
+    private static long unZigZag(final long aValue) {
+        return (aValue >>> 1) ^ -(aValue & 1);
+    }
+
+    private static int varLongSize(final long aValue) {
+        return aValue == 0 ? 1 : (63 - Long.numberOfLeadingZeros(aValue)) / 7 + 1;
+    }
+
+    private static void putVarLong(final ByteBuffer aTarget, long aValue) {
+        while ((aValue & ~0x7FL) != 0) {
+            aTarget.put((byte) (aValue & 0x7F | 0x80));
+            aValue >>>= 7;
+        }
+        aTarget.put((byte) aValue);
+    }
+
+    private static long getVarLong(final ByteBuffer aSource) {
+        var aValue = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final var b = aSource.get();
+            aValue |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return aValue;
+            }
+        }
+        throw new CodecException("malformed varint");
+    }
+}
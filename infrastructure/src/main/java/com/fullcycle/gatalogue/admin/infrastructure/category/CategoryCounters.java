@@ -0,0 +1,71 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running counts of total, active and soft-deleted categories, moved by the difference between
+ * the previous and the new state of every write, so reading them never scans anything.
+ *
+ * The counts are exact once the writes in flight have returned. A read racing a write may see
+ * one counter moved and not the other yet. States are bit sets of presence, active and
+ * soft-deleted, so a gateway that only has the flags of a stored record can count it without
+ * decoding it.
+ */
+final class CategoryCounters {
+
+    static final int ABSENT = 0;
+
+    private static final int PRESENT = 1;
+    private static final int ACTIVE = 1 << 1;
+    private static final int DELETED = 1 << 2;
+
+    private final LongAdder total;
+    private final LongAdder active;
+    private final LongAdder deleted;
+
+    CategoryCounters() {
+        this.total = new LongAdder();
+        this.active = new LongAdder();
+        this.deleted = new LongAdder();
+    }
+
+    /**
+     * Must be called while the caller holds the write for the category id, with the state it
+     * replaces, so every write is counted against the state it actually changed.
+     */
+    void update(final CategorySnapshot previous, final CategorySnapshot next) {
+        update(state(previous), state(next));
+    }
+
+    void update(final int before, final int after) {
+        move(this.total, before, after, PRESENT);
+        move(this.active, before, after, ACTIVE);
+        move(this.deleted, before, after, DELETED);
+    }
+
+    static int state(final CategorySnapshot aCategory) {
+        return aCategory == null ? ABSENT : state(aCategory.active(), aCategory.deleteAt() != null);
+    }
+
+    static int state(final boolean active, final boolean deleted) {
+        return PRESENT | (active ? ACTIVE : 0) | (deleted ? DELETED : 0);
+    }
+
+    long total() {
+        return this.total.sum();
+    }
+
+    CategoryCounts counts() {
+        return new CategoryCounts(this.total.sum(), this.active.sum(), this.deleted.sum());
+    }
+
+    private static void move(final LongAdder aCounter, final int before, final int after, final int aBit) {
+        final var delta = (after & aBit) - (before & aBit);
+        if (delta != 0) {
+            aCounter.add(Integer.signum(delta));
+        }
+    }
+}
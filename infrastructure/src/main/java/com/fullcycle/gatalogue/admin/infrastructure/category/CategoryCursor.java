@@ -0,0 +1,73 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.validation.Error;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position of a listing: the sort key and id of the last category a page returned.
+ *
+ * Encoded as opaque url-safe base64 so clients only pass it back. The sort field and direction
+ * travel with it, and a cursor replayed against a different ordering is rejected.
+ */
+record CategoryCursor(CategorySortField field, boolean descending, CategoryID id, String key) {
+
+    private static final char SEPARATOR = '\n';
+
+    public static CategoryCursor of(final CategorySnapshot aCategory, final CategorySortField aField, final boolean descending) {
+        final var key = switch (aField) {
+            case NAME -> aCategory.name();
+            case CREATE_AT -> aCategory.createAt().toString();
+            case UPDATE_AT -> aCategory.updateAt().toString();
+        };
+        return new CategoryCursor(aField, descending, aCategory.id(), key == null ? "" : key);
+    }
+
+    public static CategoryCursor decode(final String aCursor, final CategorySortField aField, final boolean descending) {
+        if (aCursor == null || aCursor.isBlank()) {
+            return null;
+        }
+        try {
+            final var decoded = new String(Base64.getUrlDecoder().decode(aCursor), StandardCharsets.UTF_8);
+            final var parts = decoded.split(String.valueOf(SEPARATOR), 4);
+            final var aCursorField = CategorySortField.valueOf(parts[0]);
+            final var isDescending = Boolean.parseBoolean(parts[1]);
+            if (aCursorField != aField || isDescending != descending) {
+                throw invalid();
+            }
+            if (aCursorField != CategorySortField.NAME) {
+                Instant.parse(parts[3]);
+            }
+            return new CategoryCursor(aCursorField, isDescending, CategoryID.from(parts[2]), parts[3]);
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException | DateTimeException | DomainException e) {
+            throw invalid();
+        }
+    }
+
+    public String encode() {
+        final var raw = field.name() + SEPARATOR + descending + SEPARATOR + id.getValue() + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A category holding only the sort key and id, to binary search a sorted listing with the
+     * field comparator.
+     */
+    public CategorySnapshot probe() {
+        return switch (field) {
+            case NAME -> new CategorySnapshot(id, key, null, false, null, null, null, 0);
+            case CREATE_AT -> new CategorySnapshot(id, null, null, false, Instant.parse(key), null, null, 0);
+            case UPDATE_AT -> new CategorySnapshot(id, null, null, false, null, Instant.parse(key), null, 0);
+        };
+    }
+
+    private static DomainException invalid() {
+        return DomainException.with(new Error("'cursor' is invalid for this sort and direction"));
+    }
+}
@@ -0,0 +1,420 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangePage;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.category.ConsistentCategoryGateway;
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
+import com.fullcycle.catalogue.admin.domain.exceptions.StaleVersionException;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.Outbox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * In-memory {@link CategoryGateway} for load tests and edge nodes.
+ *
+ * Writes are serialized per {@link CategoryID} by the map bins, reads never take a lock.
+ * Every {@link Category} is stored as an immutable {@link CategorySnapshot}, so callers mutating
+ * the aggregates they passed in never change what is stored. Aggregate reads get a fresh copy,
+ * snapshot reads get the stored instances themselves and allocate nothing per category.
+ *
+ * Listings are served from a {@link CategorySortedIndex} per sort field, kept in step with
+ * every write, so a listing only walks the requested window and a write never forces a
+ * scan-and-sort on the next read.
+ *
+ * Cursor listings seek straight to the last returned key, so deep pages cost O(log n) instead
+ * of O(offset), and inserts made between two pages never shift them.
+ *
+ * Every write bumps the stored version. {@link #compareAndUpdate(Category)} and
+ * {@link #compareAndDeleteById(CategoryID, long)} only commit when the stored version is still
+ * the one the caller read, and never block a reader.
+ *
+ * {@code terms} are resolved through a {@link CategoryTermIndex} kept in step with every write.
+ * Without an explicit sort, or with {@code sort = "relevance"}, matches come back ranked.
+ *
+ * {@code streamAll} walks the same indexes without paging. Writes share a {@link StampedLock}
+ * in read mode that a consistent stream takes exclusively only to register a
+ * {@link CategoryStreamPin}, then copies its rows while writers carry on.
+ *
+ * Every write also moves its category to the head of a {@link CategoryChangeFeed}, which serves
+ * {@code findChanges} by seeking to the token. Removals are kept as tombstones up to
+ * {@code maxTombstones}, past which the oldest are dropped and older tokens expire.
+ *
+ * Active names are kept in a {@link CategoryPrefixIndex} too, so {@code suggest} is a seek to
+ * the prefix rather than a {@code terms} search.
+ *
+ * {@link CategoryCounters} are moved by every write as well, so {@code counts()} and the total
+ * of an unfiltered page never scan, and {@code estimateCount} answers from posting sizes.
+ *
+ * Given an {@link Outbox}, every write pulls the domain events off the incoming aggregate and
+ * appends them while it still holds the write for that id, so the events of one category reach
+ * the outbox in the order its writes were applied.
+ */
+public class CategoryInMemoryGateway implements CategoryStore, ConsistentCategoryGateway {
+
+    public static final int DEFAULT_MAX_TOMBSTONES = 100_000;
+
+    private final ConcurrentHashMap<CategoryID, CategorySnapshot> categories;
+    private final Map<CategorySortField, CategorySortedIndex> sortedIndexes;
+    private final CategoryTermIndex termIndex;
+    private final CategoryPrefixIndex prefixIndex;
+    private final CategoryCounters counters;
+    private final CategoryChangeFeed changeFeed;
+    private final StampedLock writeGate;
+    private final CopyOnWriteArrayList<CategoryStreamPin> pins;
+    private final Outbox outbox;
+
+    public CategoryInMemoryGateway() {
+        this(null);
+    }
+
+    public CategoryInMemoryGateway(final Outbox anOutbox) {
+        this(anOutbox, DEFAULT_MAX_TOMBSTONES);
+    }
+
+    public CategoryInMemoryGateway(final Outbox anOutbox, final int maxTombstones) {
+        this.outbox = anOutbox;
+        this.categories = new ConcurrentHashMap<>();
+        this.termIndex = new CategoryTermIndex();
+        this.prefixIndex = new CategoryPrefixIndex();
+        this.counters = new CategoryCounters();
+        this.changeFeed = new CategoryChangeFeed(maxTombstones);
+        this.writeGate = new StampedLock();
+        this.pins = new CopyOnWriteArrayList<>();
+        this.sortedIndexes = new EnumMap<>(CategorySortField.class);
+        for (final var aField : CategorySortField.values()) {
+            this.sortedIndexes.put(aField, new CategorySortedIndex(aField));
+        }
+    }
+
+    @Override
+    public Category create(final Category aCategory) {
+        return save(aCategory);
+    }
+
+    @Override
+    public List<Category> createAll(final List<Category> categories) {
+        final var created = new ArrayList<Category>(categories.size());
+        for (final var aCategory : categories) {
+            created.add(Category.with(store(aCategory)));
+        }
+        return created;
+    }
+
+    @Override
+    public void deleteById(final CategoryID anID) {
+        final var stamp = this.writeGate.readLock();
+        try {
+            this.categories.computeIfPresent(anID, (id, previous) -> {
+                reindex(previous, null);
+                return null;
+            });
+        } finally {
+            this.writeGate.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void compareAndDeleteById(final CategoryID anID, final long aVersion) {
+        final var witness = new CategorySnapshot[1];
+        final var removed = new boolean[1];
+        final var stamp = this.writeGate.readLock();
+        try {
+            this.categories.computeIfPresent(anID, (id, previous) -> {
+                if (previous.version() != aVersion) {
+                    witness[0] = previous;
+                    return previous;
+                }
+                reindex(previous, null);
+                removed[0] = true;
+                return null;
+            });
+        } finally {
+            this.writeGate.unlockRead(stamp);
+        }
+        if (!removed[0]) {
+            throw stale(anID, aVersion, witness[0]);
+        }
+    }
+
+    @Override
+    public Optional<Category> findById(final CategoryID anID) {
+        return Optional.ofNullable(this.categories.get(anID)).map(Category::with);
+    }
+
+    @Override
+    public Optional<CategorySnapshot> findSnapshotById(final CategoryID anID) {
+        return Optional.ofNullable(this.categories.get(anID));
+    }
+
+    @Override
+    public Category update(final Category aCategory) {
+        return save(aCategory);
+    }
+
+    /**
+     * Stale writes are rejected against a plain read of the stored version, without touching the
+     * write path, so under contention the losers of a race never queue behind the winner. The
+     * survivors re-check the version inside the write for the id, where the commit happens.
+     */
+    @Override
+    public Category compareAndUpdate(final Category aCategory) {
+        Objects.requireNonNull(aCategory, "'category' should not be null");
+        final var anID = aCategory.getId();
+        final var expected = aCategory.getVersion();
+        final var current = this.categories.get(anID);
+        if (current == null || current.version() != expected) {
+            throw stale(anID, expected, current);
+        }
+
+        final var next = aCategory.snapshot().withVersion(expected + 1);
+        final var witness = new CategorySnapshot[1];
+        final CategorySnapshot stored;
+        final var stamp = this.writeGate.readLock();
+        try {
+            stored = this.categories.computeIfPresent(anID, (id, previous) -> {
+                if (previous.version() != expected) {
+                    witness[0] = previous;
+                    return previous;
+                }
+                return commit(previous, next, this.outbox == null ? List.of() : aCategory.pullDomainEvents());
+            });
+        } finally {
+            this.writeGate.unlockRead(stamp);
+        }
+        if (stored != next) {
+            throw stale(anID, expected, witness[0]);
+        }
+        return Category.with(next);
+    }
+
+    @Override
+    public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+        return page(aQuery, Category::with);
+    }
+
+    @Override
+    public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+        return page(aQuery, Category::with);
+    }
+
+    @Override
+    public Pagination<CategorySnapshot> findAllSnapshots(final CategorySearchQuery aQuery) {
+        return page(aQuery, Function.identity());
+    }
+
+    @Override
+    public CursorPagination<CategorySnapshot> findAllSnapshots(final CategoryCursorQuery aQuery) {
+        return page(aQuery, Function.identity());
+    }
+
+    @Override
+    public CategoryCounts counts() {
+        return this.counters.counts();
+    }
+
+    @Override
+    public long estimateCount(final String terms) {
+        final var anEstimate = this.termIndex.estimate(terms);
+        return anEstimate < 0 ? this.counters.total() : anEstimate;
+    }
+
+    /**
+     * Without terms, a plain stream walks the sorted index lazily and holds nothing; a term
+     * stream holds the matches, as a term listing does. Neither ever shows half of a write.
+     *
+     * A consistent stream without terms holds writers off only to register a
+     * {@link CategoryStreamPin}, then copies one reference per row and swaps the categories
+     * written meanwhile for their pinned state, so it never shows a write made after it was
+     * opened. A consistent term stream holds writers off while it collects its matches.
+     */
+    @Override
+    public Stream<CategorySnapshot> streamAll(final CategoryStreamQuery aQuery) {
+        final var aField = CategorySortField.from(aQuery.sort());
+        final var descending = CategorySortField.isDescending(aQuery.direction());
+        final var unfiltered = aQuery.terms() == null || CategoryTokenizer.tokenize(aQuery.terms()).isEmpty();
+        if (aQuery.consistent() && unfiltered) {
+            return pinnedRows(aField, descending).stream();
+        }
+        if (aQuery.consistent()) {
+            final List<CategorySnapshot> rows;
+            final var stamp = this.writeGate.writeLock();
+            try {
+                rows = rows(aQuery.terms(), aQuery.sort(), aField, descending);
+            } finally {
+                this.writeGate.unlockWrite(stamp);
+            }
+            return rows.stream();
+        }
+        if (unfiltered) {
+            final var rows = this.sortedIndexes.get(aField).from(0, descending);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        }
+        return rows(aQuery.terms(), aQuery.sort(), aField, descending).stream();
+    }
+
+    @Override
+    public CategoryChangePage findChanges(final CategoryChangeQuery aQuery) {
+        return this.changeFeed.page(aQuery, this.categories::get);
+    }
+
+    @Override
+    public List<CategorySnapshot> suggest(final CategorySuggestQuery aQuery) {
+        final var suggestions = new ArrayList<CategorySnapshot>();
+        for (final var anID : this.prefixIndex.search(aQuery.prefix(), aQuery.limit())) {
+            final var aCategory = this.categories.get(anID);
+            if (aCategory != null && aCategory.active()) {
+                suggestions.add(aCategory);
+            }
+        }
+        return suggestions;
+    }
+
+    public PrefixIndexStats prefixIndexStats() {
+        return new PrefixIndexStats(this.prefixIndex.entries(), this.prefixIndex.blocks(), this.prefixIndex.bytes());
+    }
+
+    public long count() {
+        return this.counters.total();
+    }
+
+    private <T> Pagination<T> page(final CategorySearchQuery aQuery, final Function<CategorySnapshot, T> anItem) {
+        final var aField = CategorySortField.from(aQuery.sort());
+        final var descending = CategorySortField.isDescending(aQuery.direction());
+        final var scores = aQuery.terms() == null ? null : this.termIndex.search(aQuery.terms());
+
+        if (scores == null) {
+            final var ordered = this.sortedIndexes.get(aField).from(CategoryPages.offset(aQuery), descending);
+            return CategoryPages.offset(ordered, this.counters.total(), aQuery, anItem);
+        }
+        final var ranked = CategorySortField.isRelevance(aQuery.sort());
+        return CategoryPages.offset(scores, aField, ranked, descending, this.categories::get, () -> this.sortedIndexes.get(aField), this.counters.total(), aQuery, anItem);
+    }
+
+    private <T> CursorPagination<T> page(final CategoryCursorQuery aQuery, final Function<CategorySnapshot, T> anItem) {
+        final var aField = CategorySortField.from(aQuery.sort());
+        final var descending = CategorySortField.isDescending(aQuery.direction());
+        final var after = CategoryCursor.decode(aQuery.cursor(), aField, descending);
+        final var scores = aQuery.terms() == null ? null : this.termIndex.search(aQuery.terms());
+
+        if (scores == null) {
+            final var anIndex = this.sortedIndexes.get(aField);
+            final var ordered = after == null ? anIndex.from(0, descending) : anIndex.after(after.probe(), descending);
+            return CategoryPages.cursor(ordered, aQuery, aField, descending, anItem);
+        }
+        return CategoryPages.cursor(scores, aField, descending, after, this.categories::get, () -> this.sortedIndexes.get(aField), this.counters.total(), aQuery, anItem);
+    }
+
+    private List<CategorySnapshot> pinnedRows(final CategorySortField aField, final boolean descending) {
+        final var aPin = new CategoryStreamPin();
+        final var stamp = this.writeGate.writeLock();
+        try {
+            this.pins.add(aPin);
+        } finally {
+            this.writeGate.unlockWrite(stamp);
+        }
+        try {
+            final var copied = this.sortedIndexes.get(aField).toArray(descending);
+            return aPin.rows(copied, descending ? aField.comparator().reversed() : aField.comparator());
+        } finally {
+            this.pins.remove(aPin);
+        }
+    }
+
+    private List<CategorySnapshot> rows(final String terms, final String aSort, final CategorySortField aField, final boolean descending) {
+        final var scores = terms == null ? null : this.termIndex.search(terms);
+        if (scores == null) {
+            return Arrays.asList(this.sortedIndexes.get(aField).toArray(descending));
+        }
+        final var ranked = CategorySortField.isRelevance(aSort);
+        final var matches = CategoryPages.matches(scores, aField, ranked, this.categories::get);
+        if (descending && !ranked) {
+            Collections.reverse(matches);
+        }
+        return matches;
+    }
+
+    private Category save(final Category aCategory) {
+        return Category.with(store(aCategory));
+    }
+
+    private CategorySnapshot store(final Category aCategory) {
+        Objects.requireNonNull(aCategory, "'category' should not be null");
+        final var aCopy = aCategory.snapshot();
+        final var events = this.outbox == null ? List.<DomainEvent>of() : aCategory.pullDomainEvents();
+        final var stamp = this.writeGate.readLock();
+        try {
+            return this.categories.compute(aCopy.id(), (anID, previous) -> {
+                final var version = previous == null ? 1 : previous.version() + 1;
+                return commit(previous, aCopy.version() == version ? aCopy : aCopy.withVersion(version), events);
+            });
+        } finally {
+            this.writeGate.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Must run inside the map's compute for the id, so the indexes and the outbox see the
+     * writes of one category in the order they were applied.
+     */
+    private CategorySnapshot commit(final CategorySnapshot previous, final CategorySnapshot next, final List<DomainEvent> events) {
+        reindex(previous, next);
+        if (!events.isEmpty()) {
+            this.outbox.append(events);
+        }
+        return next;
+    }
+
+    private void reindex(final CategorySnapshot previous, final CategorySnapshot next) {
+        for (final var aPin : this.pins) {
+            aPin.remember(next != null ? next.id() : previous.id(), previous);
+        }
+        this.termIndex.update(previous, next);
+        this.prefixIndex.update(previous, next);
+        this.counters.update(previous, next);
+        this.changeFeed.record(next != null ? next.id() : previous.id(), next);
+        for (final var anIndex : this.sortedIndexes.values()) {
+            anIndex.update(previous, next);
+        }
+    }
+
+    private static StaleVersionException stale(final CategoryID anID, final long expected, final CategorySnapshot current) {
+        return StaleVersionException.with(anID.getValue(), expected, current == null ? StaleVersionException.MISSING : current.version());
+    }
+
+    /**
+     * Size of the typeahead index: the active categories in it, the blocks they are packed in
+     * and an estimate of the heap it takes.
+     */
+    public record PrefixIndexStats(long entries, int blocks, long bytes) {
+
+        public double bytesPerEntry() {
+            return entries == 0 ? 0 : (double) bytes / entries;
+        }
+    }
+}
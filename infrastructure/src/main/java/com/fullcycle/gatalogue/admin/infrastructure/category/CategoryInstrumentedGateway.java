@@ -0,0 +1,305 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangePage;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeSource;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestionSource;
+import com.fullcycle.catalogue.admin.domain.category.VersionedCategoryGateway;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.application.instrumentation.MetricsRegistry;
+import com.fullcycle.gatalogue.admin.application.instrumentation.OperationMetrics;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Records calls, failures, in-flight calls and latency of every operation of any
+ * {@link CategoryGateway} into a {@link MetricsRegistry}, as {@code <prefix>.<operation>}.
+ *
+ * Operations are resolved once at construction, so a call only pays two clock reads and a few
+ * counter bumps on top of the delegate. {@code streamAll} only records opening the stream, not
+ * reading it.
+ *
+ * The versioned writes, {@code findChanges} and {@code suggest} reach the delegate when it has
+ * them and throw {@link UnsupportedOperationException} when it does not; {@link Store} wraps a
+ * {@link CategoryStore} and declares them.
+ */
+public class CategoryInstrumentedGateway implements CategoryGateway {
+
+    private final CategoryGateway delegate;
+    private final OperationMetrics create;
+    private final OperationMetrics createAll;
+    private final OperationMetrics deleteById;
+    private final OperationMetrics findById;
+    private final OperationMetrics update;
+    private final OperationMetrics compareAndUpdate;
+    private final OperationMetrics compareAndDeleteById;
+    private final OperationMetrics findAll;
+    private final OperationMetrics findAllCursor;
+    private final OperationMetrics findSnapshotById;
+    private final OperationMetrics findAllSnapshots;
+    private final OperationMetrics findAllSnapshotsCursor;
+    private final OperationMetrics counts;
+    private final OperationMetrics estimateCount;
+    private final OperationMetrics streamAll;
+    private final OperationMetrics findChanges;
+    private final OperationMetrics suggest;
+
+    public CategoryInstrumentedGateway(final CategoryGateway aDelegate, final MetricsRegistry aRegistry, final String aPrefix) {
+        this.delegate = Objects.requireNonNull(aDelegate);
+        this.create = aRegistry.operation(aPrefix + ".create");
+        this.createAll = aRegistry.operation(aPrefix + ".createAll");
+        this.deleteById = aRegistry.operation(aPrefix + ".deleteById");
+        this.findById = aRegistry.operation(aPrefix + ".findById");
+        this.update = aRegistry.operation(aPrefix + ".update");
+        this.compareAndUpdate = aRegistry.operation(aPrefix + ".compareAndUpdate");
+        this.compareAndDeleteById = aRegistry.operation(aPrefix + ".compareAndDeleteById");
+        this.findAll = aRegistry.operation(aPrefix + ".findAll");
+        this.findAllCursor = aRegistry.operation(aPrefix + ".findAllCursor");
+        this.findSnapshotById = aRegistry.operation(aPrefix + ".findSnapshotById");
+        this.findAllSnapshots = aRegistry.operation(aPrefix + ".findAllSnapshots");
+        this.findAllSnapshotsCursor = aRegistry.operation(aPrefix + ".findAllSnapshotsCursor");
+        this.counts = aRegistry.operation(aPrefix + ".counts");
+        this.estimateCount = aRegistry.operation(aPrefix + ".estimateCount");
+        this.streamAll = aRegistry.operation(aPrefix + ".streamAll");
+        this.findChanges = aRegistry.operation(aPrefix + ".findChanges");
+        this.suggest = aRegistry.operation(aPrefix + ".suggest");
+    }
+
+    @Override
+    public Category create(final Category aCategory) {
+        final var start = this.create.start();
+        try {
+            final var created = this.delegate.create(aCategory);
+            this.create.success(start);
+            return created;
+        } catch (final RuntimeException | Error e) {
+            this.create.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Category> createAll(final List<Category> categories) {
+        final var start = this.createAll.start();
+        try {
+            final var created = this.delegate.createAll(categories);
+            this.createAll.success(start);
+            return created;
+        } catch (final RuntimeException | Error e) {
+            this.createAll.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteById(final CategoryID anID) {
+        final var start = this.deleteById.start();
+        try {
+            this.delegate.deleteById(anID);
+            this.deleteById.success(start);
+        } catch (final RuntimeException | Error e) {
+            this.deleteById.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Category> findById(final CategoryID anID) {
+        final var start = this.findById.start();
+        try {
+            final var aCategory = this.delegate.findById(anID);
+            this.findById.success(start);
+            return aCategory;
+        } catch (final RuntimeException | Error e) {
+            this.findById.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Category update(final Category aCategory) {
+        final var start = this.update.start();
+        try {
+            final var updated = this.delegate.update(aCategory);
+            this.update.success(start);
+            return updated;
+        } catch (final RuntimeException | Error e) {
+            this.update.failure(start, e);
+            throw e;
+        }
+    }
+
+    public Category compareAndUpdate(final Category aCategory) {
+        final var start = this.compareAndUpdate.start();
+        try {
+            final var updated = CategoryCapabilities.of(this.delegate, VersionedCategoryGateway.class).compareAndUpdate(aCategory);
+            this.compareAndUpdate.success(start);
+            return updated;
+        } catch (final RuntimeException | Error e) {
+            this.compareAndUpdate.failure(start, e);
+            throw e;
+        }
+    }
+
+    public void compareAndDeleteById(final CategoryID anID, final long aVersion) {
+        final var start = this.compareAndDeleteById.start();
+        try {
+            CategoryCapabilities.of(this.delegate, VersionedCategoryGateway.class).compareAndDeleteById(anID, aVersion);
+            this.compareAndDeleteById.success(start);
+        } catch (final RuntimeException | Error e) {
+            this.compareAndDeleteById.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+        final var start = this.findAll.start();
+        try {
+            final var aPage = this.delegate.findAll(aQuery);
+            this.findAll.success(start);
+            return aPage;
+        } catch (final RuntimeException | Error e) {
+            this.findAll.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+        final var start = this.findAllCursor.start();
+        try {
+            final var aPage = this.delegate.findAll(aQuery);
+            this.findAllCursor.success(start);
+            return aPage;
+        } catch (final RuntimeException | Error e) {
+            this.findAllCursor.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<CategorySnapshot> findSnapshotById(final CategoryID anID) {
+        final var start = this.findSnapshotById.start();
+        try {
+            final var aCategory = this.delegate.findSnapshotById(anID);
+            this.findSnapshotById.success(start);
+            return aCategory;
+        } catch (final RuntimeException | Error e) {
+            this.findSnapshotById.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Pagination<CategorySnapshot> findAllSnapshots(final CategorySearchQuery aQuery) {
+        final var start = this.findAllSnapshots.start();
+        try {
+            final var aPage = this.delegate.findAllSnapshots(aQuery);
+            this.findAllSnapshots.success(start);
+            return aPage;
+        } catch (final RuntimeException | Error e) {
+            this.findAllSnapshots.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CursorPagination<CategorySnapshot> findAllSnapshots(final CategoryCursorQuery aQuery) {
+        final var start = this.findAllSnapshotsCursor.start();
+        try {
+            final var aPage = this.delegate.findAllSnapshots(aQuery);
+            this.findAllSnapshotsCursor.success(start);
+            return aPage;
+        } catch (final RuntimeException | Error e) {
+            this.findAllSnapshotsCursor.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CategoryCounts counts() {
+        final var start = this.counts.start();
+        try {
+            final var aCounts = this.delegate.counts();
+            this.counts.success(start);
+            return aCounts;
+        } catch (final RuntimeException | Error e) {
+            this.counts.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long estimateCount(final String terms) {
+        final var start = this.estimateCount.start();
+        try {
+            final var anEstimate = this.delegate.estimateCount(terms);
+            this.estimateCount.success(start);
+            return anEstimate;
+        } catch (final RuntimeException | Error e) {
+            this.estimateCount.failure(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<CategorySnapshot> streamAll(final CategoryStreamQuery aQuery) {
+        final var start = this.streamAll.start();
+        try {
+            final var aStream = this.delegate.streamAll(aQuery);
+            this.streamAll.success(start);
+            return aStream;
+        } catch (final RuntimeException | Error e) {
+            this.streamAll.failure(start, e);
+            throw e;
+        }
+    }
+
+    public CategoryChangePage findChanges(final CategoryChangeQuery aQuery) {
+        final var start = this.findChanges.start();
+        try {
+            final var aPage = CategoryCapabilities.of(this.delegate, CategoryChangeSource.class).findChanges(aQuery);
+            this.findChanges.success(start);
+            return aPage;
+        } catch (final RuntimeException | Error e) {
+            this.findChanges.failure(start, e);
+            throw e;
+        }
+    }
+
+    public List<CategorySnapshot> suggest(final CategorySuggestQuery aQuery) {
+        final var start = this.suggest.start();
+        try {
+            final var suggestions = CategoryCapabilities.of(this.delegate, CategorySuggestionSource.class).suggest(aQuery);
+            this.suggest.success(start);
+            return suggestions;
+        } catch (final RuntimeException | Error e) {
+            this.suggest.failure(start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * The instrumented gateway of a {@link CategoryStore}, declaring the capabilities its delegate has.
+     */
+    public static class Store extends CategoryInstrumentedGateway implements CategoryStore {
+
+        public Store(final CategoryStore aDelegate, final MetricsRegistry aRegistry, final String aPrefix) {
+            super(aDelegate, aRegistry, aPrefix);
+        }
+    }
+}
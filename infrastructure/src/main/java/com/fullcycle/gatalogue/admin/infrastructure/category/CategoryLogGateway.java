@@ -0,0 +1,790 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangePage;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.category.ConsistentCategoryGateway;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.exceptions.StaleVersionException;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.exceptions.GatewayStorageException;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.Outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link CategoryGateway} persisted as an append-only log of memory-mapped segment files, for
+ * single-node deployments and integration tests that need storage without a database.
+ *
+ * Every save appends the whole category and every delete appends a tombstone. An in-memory index
+ * maps each live {@link CategoryID} to the segment and position of its latest record, so
+ * {@code findById} is one map lookup and one decode straight from the mapping. Opening a
+ * directory replays its segments in order to rebuild the index, verifying each record's checksum
+ * and cutting the log at the first torn record.
+ *
+ * {@link #compact()} copies the live records of the sealed segments whose garbage ratio has
+ * reached {@value #DEFAULT_COMPACTION_THRESHOLD} to the end of the log and deletes those segments,
+ * which drops superseded versions and deleted categories, so a segment that is mostly live is
+ * never rewritten. A tombstone is only dropped once no older segment survives that may still hold
+ * a record it deletes; until then it is copied forward like a live record.
+ *
+ * {@code terms} searches use a {@link CategoryTermIndex} and {@code suggest} a
+ * {@link CategoryPrefixIndex}, each built on its first use and kept in step with every write
+ * from then on. {@link CategoryCounters} are rebuilt from the record flags
+ * while replaying and moved by every write, so {@code counts()} never decodes a category.
+ *
+ * Every record stores the change feed sequence of its write, so {@code findChanges} tokens stay
+ * valid across reopens. A compaction copies records as they are, so a moved record keeps its
+ * place in the feed and a consumer that is up to date sees nothing. Only dropping a tombstone
+ * expires the tokens below it, and that floor is appended to the log so a reopen keeps it.
+ *
+ * Every save bumps the category's version, which is stored in its record, and
+ * {@link #compareAndUpdate(Category)} and {@link #compareAndDeleteById(CategoryID, long)} check
+ * it under the append lock.
+ *
+ * Appends are serialized, reads take no lock. Data reaches the page cache on every write, so
+ * a process crash loses nothing; {@link #sync()} and {@link #close()} force it to disk.
+ * Listings walk a {@link CategorySortedIndex} of snapshots per sort field, built from the live
+ * records by the first listing in that order and moved by every write from then on, so a page
+ * or a stream only decodes what it returns once built and {@code findAllSnapshots} hands the
+ * indexed snapshots out as they are.
+ *
+ * A consistent stream holds the append lock only to register a {@link CategoryStreamPin}, then
+ * copies its rows while writers carry on.
+ *
+ * Given an {@link Outbox}, every save pulls the domain events off the incoming aggregate once its
+ * record is appended and hands them to the outbox under the append lock, so the events of one
+ * category reach the outbox in the order its writes were applied. A rejected write leaves them
+ * on the aggregate.
+ */
+public class CategoryLogGateway implements CategoryStore, ConsistentCategoryGateway, AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+
+    private static final long ANY_VERSION = -1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantLock appendLock;
+    private final ReentrantLock compactionLock;
+    private final ConcurrentSkipListMap<Integer, CategoryLogSegment> segments;
+    private final ConcurrentHashMap<CategoryID, Long> index;
+    private final CategoryTermIndex termIndex;
+    private final CategoryPrefixIndex prefixIndex;
+    private final CategoryCounters counters;
+    private final CategoryChangeFeed changeFeed;
+    private final ConcurrentHashMap<CategorySortField, CategorySortedIndex> sortedIndexes;
+    private final CopyOnWriteArrayList<CategoryStreamPin> pins;
+    private final long recoveryNanos;
+    private final Outbox outbox;
+    private volatile CategoryLogSegment active;
+    private long sequence;
+    private long floorLocation = -1;
+    private volatile boolean termIndexReady;
+    private volatile boolean prefixIndexReady;
+    private volatile boolean closed;
+
+    public CategoryLogGateway(final Path aDirectory) {
+        this(aDirectory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public CategoryLogGateway(final Path aDirectory, final Outbox anOutbox) {
+        this(aDirectory, DEFAULT_SEGMENT_SIZE, anOutbox);
+    }
+
+    public CategoryLogGateway(final Path aDirectory, final int segmentSize) {
+        this(aDirectory, segmentSize, null);
+    }
+
+    public CategoryLogGateway(final Path aDirectory, final int segmentSize, final Outbox anOutbox) {
+        if (segmentSize <= CategoryLogSegment.HEADER_BYTES) {
+            throw new IllegalArgumentException("'segmentSize' should be greater than " + CategoryLogSegment.HEADER_BYTES);
+        }
+        this.directory = Objects.requireNonNull(aDirectory);
+        this.segmentSize = segmentSize;
+        this.outbox = anOutbox;
+        this.appendLock = new ReentrantLock();
+        this.compactionLock = new ReentrantLock();
+        this.segments = new ConcurrentSkipListMap<>();
+        this.index = new ConcurrentHashMap<>();
+        this.termIndex = new CategoryTermIndex();
+        this.prefixIndex = new CategoryPrefixIndex();
+        this.counters = new CategoryCounters();
+        this.changeFeed = new CategoryChangeFeed(CategoryChangeFeed.UNBOUNDED);
+        this.sortedIndexes = new ConcurrentHashMap<>();
+        this.pins = new CopyOnWriteArrayList<>();
+
+        final var startedAt = System.nanoTime();
+        recover();
+        this.recoveryNanos = System.nanoTime() - startedAt;
+    }
+
+    @Override
+    public Category create(final Category aCategory) {
+        return save(aCategory);
+    }
+
+    @Override
+    public List<Category> createAll(final List<Category> categories) {
+        final var created = new ArrayList<Category>(categories.size());
+        for (final var aCategory : categories) {
+            created.add(save(aCategory));
+        }
+        return created;
+    }
+
+    @Override
+    public void deleteById(final CategoryID anID) {
+        delete(anID, ANY_VERSION);
+    }
+
+    @Override
+    public void compareAndDeleteById(final CategoryID anID, final long aVersion) {
+        delete(anID, aVersion);
+    }
+
+    private void delete(final CategoryID anID, final long expected) {
+        this.appendLock.lock();
+        try {
+            ensureOpen();
+            final var previous = this.index.get(anID);
+            if (expected != ANY_VERSION) {
+                final var currentVersion = previous == null ? StaleVersionException.MISSING : CategoryLogRecords.version(body(previous));
+                if (currentVersion != expected) {
+                    throw StaleVersionException.with(anID.getValue(), expected, currentVersion);
+                }
+            }
+            if (previous == null) {
+                return;
+            }
+            final var aCategory = indexed() ? read(previous).snapshot() : null;
+            final var aSequence = ++this.sequence;
+            append(CategoryLogRecords.delete(anID, aSequence));
+            this.index.remove(anID);
+            this.changeFeed.record(anID, aSequence, null, true);
+            this.counters.update(CategoryLogRecords.countersState(body(previous)), CategoryCounters.ABSENT);
+            release(previous);
+            if (aCategory != null) {
+                reindex(aCategory, null);
+            }
+        } finally {
+            this.appendLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Category> findById(final CategoryID anID) {
+        return Optional.ofNullable(lookup(anID));
+    }
+
+    @Override
+    public Category update(final Category aCategory) {
+        return save(aCategory);
+    }
+
+    @Override
+    public Category compareAndUpdate(final Category aCategory) {
+        return save(aCategory, aCategory.getVersion());
+    }
+
+    @Override
+    public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+        return page(aQuery, Category::with);
+    }
+
+    @Override
+    public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+        return page(aQuery, Category::with);
+    }
+
+    @Override
+    public Pagination<CategorySnapshot> findAllSnapshots(final CategorySearchQuery aQuery) {
+        return page(aQuery, Function.identity());
+    }
+
+    @Override
+    public CursorPagination<CategorySnapshot> findAllSnapshots(final CategoryCursorQuery aQuery) {
+        return page(aQuery, Function.identity());
+    }
+
+    private <T> Pagination<T> page(final CategorySearchQuery aQuery, final Function<CategorySnapshot, T> anItem) {
+        final var aField = CategorySortField.from(aQuery.sort());
+        final var descending = CategorySortField.isDescending(aQuery.direction());
+        final var scores = search(aQuery.terms());
+
+        if (scores == null) {
+            final var ordered = sortedIndex(aField).from(CategoryPages.offset(aQuery), descending);
+            return CategoryPages.offset(ordered, this.counters.total(), aQuery, anItem);
+        }
+        final var ranked = CategorySortField.isRelevance(aQuery.sort());
+        return CategoryPages.offset(scores, aField, ranked, descending, this::lookupSnapshot, () -> sortedIndex(aField), this.counters.total(), aQuery, anItem);
+    }
+
+    private <T> CursorPagination<T> page(final CategoryCursorQuery aQuery, final Function<CategorySnapshot, T> anItem) {
+        final var aField = CategorySortField.from(aQuery.sort());
+        final var descending = CategorySortField.isDescending(aQuery.direction());
+        final var after = CategoryCursor.decode(aQuery.cursor(), aField, descending);
+        final var scores = search(aQuery.terms());
+
+        if (scores == null) {
+            final var anIndex = sortedIndex(aField);
+            final var ordered = after == null ? anIndex.from(0, descending) : anIndex.after(after.probe(), descending);
+            return CategoryPages.cursor(ordered, aQuery, aField, descending, anItem);
+        }
+        return CategoryPages.cursor(scores, aField, descending, after, this::lookupSnapshot, () -> sortedIndex(aField), this.counters.total(), aQuery, anItem);
+    }
+
+    @Override
+    public CategoryCounts counts() {
+        return this.counters.counts();
+    }
+
+    @Override
+    public long estimateCount(final String terms) {
+        final var anEstimate = terms == null ? -1 : termIndex().estimate(terms);
+        return anEstimate < 0 ? this.counters.total() : anEstimate;
+    }
+
+    /**
+     * Without terms, a plain stream walks the sorted index lazily and holds nothing; a term
+     * stream holds the matches, as a term listing does.
+     *
+     * A consistent stream without terms holds the append lock only to register a
+     * {@link CategoryStreamPin}, then copies one reference per row and swaps the categories
+     * written meanwhile for their pinned state. A consistent term stream collects its matches
+     * under the append lock.
+     */
+    @Override
+    public Stream<CategorySnapshot> streamAll(final CategoryStreamQuery aQuery) {
+        final var aField = CategorySortField.from(aQuery.sort());
+        final var descending = CategorySortField.isDescending(aQuery.direction());
+        final var unfiltered = aQuery.terms() == null || CategoryTokenizer.tokenize(aQuery.terms()).isEmpty();
+        if (aQuery.consistent() && unfiltered) {
+            return pinnedRows(aField, descending).stream();
+        }
+        if (aQuery.consistent()) {
+            this.appendLock.lock();
+            try {
+                ensureOpen();
+                return matches(aQuery.terms(), aQuery.sort(), aField, descending).stream();
+            } finally {
+                this.appendLock.unlock();
+            }
+        }
+        if (unfiltered) {
+            final var rows = sortedIndex(aField).from(0, descending);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        }
+        return matches(aQuery.terms(), aQuery.sort(), aField, descending).stream();
+    }
+
+    private List<CategorySnapshot> pinnedRows(final CategorySortField aField, final boolean descending) {
+        final var anIndex = sortedIndex(aField);
+        final var aPin = new CategoryStreamPin();
+        this.appendLock.lock();
+        try {
+            ensureOpen();
+            this.pins.add(aPin);
+        } finally {
+            this.appendLock.unlock();
+        }
+        try {
+            final var copied = anIndex.toArray(descending);
+            return aPin.rows(copied, descending ? aField.comparator().reversed() : aField.comparator());
+        } finally {
+            this.pins.remove(aPin);
+        }
+    }
+
+    private List<CategorySnapshot> matches(final String terms, final String aSort, final CategorySortField aField, final boolean descending) {
+        final var ranked = CategorySortField.isRelevance(aSort);
+        final var matches = CategoryPages.matches(search(terms), aField, ranked, this::lookupSnapshot);
+        if (descending && !ranked) {
+            Collections.reverse(matches);
+        }
+        return matches;
+    }
+
+    @Override
+    public CategoryChangePage findChanges(final CategoryChangeQuery aQuery) {
+        return this.changeFeed.page(aQuery, this::lookupSnapshot);
+    }
+
+    @Override
+    public List<CategorySnapshot> suggest(final CategorySuggestQuery aQuery) {
+        final var suggestions = new ArrayList<CategorySnapshot>();
+        for (final var anID : prefixIndex().search(aQuery.prefix(), aQuery.limit())) {
+            final var aCategory = lookupSnapshot(anID);
+            if (aCategory != null && aCategory.active()) {
+                suggestions.add(aCategory);
+            }
+        }
+        return suggestions;
+    }
+
+    public long count() {
+        return this.index.size();
+    }
+
+    /**
+     * Compacts the sealed segments that are at least {@value #DEFAULT_COMPACTION_THRESHOLD}
+     * garbage, returning how many it rewrote.
+     */
+    public int compact() {
+        return compact(DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Rewrites the live records of every sealed segment whose garbage ratio reached the threshold
+     * at the end of the log and deletes those segments, returning how many it rewrote. Writers
+     * may keep appending while it runs, each copy takes the append lock only for its own record.
+     *
+     * Compactions run one at a time under their own lock, so two never pick the same segments: a
+     * call made while another runs waits for it and then looks at the segments again.
+     */
+    public int compact(final double minGarbageRatio) {
+        this.compactionLock.lock();
+        try {
+            return compactSegments(minGarbageRatio);
+        } finally {
+            this.compactionLock.unlock();
+        }
+    }
+
+    private int compactSegments(final double minGarbageRatio) {
+        final var sealed = new ArrayList<>(this.segments.headMap(this.active.number()).values());
+        final var selected = new ArrayList<CategoryLogSegment>(sealed.size());
+        var oldestSurvivor = Integer.MAX_VALUE;
+        for (final var aSegment : sealed) {
+            if (aSegment.garbageRatio() >= minGarbageRatio) {
+                selected.add(aSegment);
+            } else {
+                oldestSurvivor = Math.min(oldestSurvivor, aSegment.number());
+            }
+        }
+        if (selected.isEmpty()) {
+            return 0;
+        }
+        for (final var aSegment : selected) {
+            final var keepTombstones = oldestSurvivor < aSegment.number();
+            aSegment.forEach((aPosition, aBody) -> {
+                final var aType = CategoryLogRecords.type(aBody);
+                final var location = location(aSegment.number(), aPosition);
+                if (aType == CategoryLogRecords.FLOOR) {
+                    this.appendLock.lock();
+                    try {
+                        ensureOpen();
+                        if (this.floorLocation == location) {
+                            this.floorLocation = append(aBody.duplicate());
+                            release(location);
+                        }
+                    } finally {
+                        this.appendLock.unlock();
+                    }
+                    return;
+                }
+                final var isPut = aType == CategoryLogRecords.PUT;
+                final var anID = CategoryLogRecords.id(aBody);
+                if (!isPut && !keepTombstones) {
+                    this.changeFeed.expire(anID, CategoryLogRecords.sequence(aBody));
+                    return;
+                }
+                this.appendLock.lock();
+                try {
+                    ensureOpen();
+                    if (isPut && Objects.equals(this.index.get(anID), location)) {
+                        this.index.put(anID, append(aBody.duplicate()));
+                        release(location);
+                    } else if (!isPut && !this.index.containsKey(anID)) {
+                        append(aBody.duplicate());
+                        release(location);
+                    }
+                } finally {
+                    this.appendLock.unlock();
+                }
+            });
+        }
+
+        this.appendLock.lock();
+        try {
+            ensureOpen();
+            final var aFloor = this.changeFeed.floor();
+            if (aFloor > (this.floorLocation < 0 ? 0 : CategoryLogRecords.sequence(body(this.floorLocation)))) {
+                final var previous = this.floorLocation;
+                this.floorLocation = append(CategoryLogRecords.floor(aFloor));
+                if (previous >= 0) {
+                    release(previous);
+                }
+            }
+            this.segments.tailMap(selected.get(selected.size() - 1).number(), false)
+                    .values()
+                    .forEach(CategoryLogSegment::force);
+            for (final var aSegment : selected) {
+                this.segments.remove(aSegment.number());
+                aSegment.delete();
+            }
+        } finally {
+            this.appendLock.unlock();
+        }
+        return selected.size();
+    }
+
+    /**
+     * Forces every segment to disk.
+     */
+    public void sync() {
+        this.segments.values().forEach(CategoryLogSegment::force);
+    }
+
+    @Override
+    public void close() {
+        this.appendLock.lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            for (final var aSegment : this.segments.values()) {
+                aSegment.force();
+                aSegment.close();
+            }
+        } finally {
+            this.appendLock.unlock();
+        }
+    }
+
+    public LogStats stats() {
+        final var active = this.active.number();
+        var compactable = 0;
+        var bytes = 0L;
+        var liveBytes = 0L;
+        for (final var aSegment : this.segments.values()) {
+            bytes += aSegment.position();
+            liveBytes += aSegment.liveBytes().get();
+            if (aSegment.number() < active && aSegment.garbageRatio() >= DEFAULT_COMPACTION_THRESHOLD) {
+                compactable++;
+            }
+        }
+        return new LogStats(this.segments.size(), compactable, this.index.size(), bytes, liveBytes, this.recoveryNanos);
+    }
+
+    private Category save(final Category aCategory) {
+        return save(aCategory, ANY_VERSION);
+    }
+
+    /**
+     * The record is encoded before taking the lock, with the version the write is expected to
+     * get. A plain write that lost a race for the id re-encodes under the lock; a conditional one
+     * fails instead.
+     */
+    private Category save(final Category aCategory, final long expected) {
+        Objects.requireNonNull(aCategory, "'category' should not be null");
+        final var anID = aCategory.getId();
+        final var aVersion = expected == ANY_VERSION ? currentVersion(anID) + 1 : expected + 1;
+        var aCopy = Category.with(aCategory.snapshot().withVersion(aVersion));
+        var aBody = CategoryLogRecords.put(aCopy);
+        this.appendLock.lock();
+        try {
+            ensureOpen();
+            final var current = this.index.get(anID);
+            final var currentVersion = current == null ? 0 : CategoryLogRecords.version(body(current));
+            if (expected != ANY_VERSION && (current == null || currentVersion != expected)) {
+                throw StaleVersionException.with(anID.getValue(), expected, current == null ? StaleVersionException.MISSING : currentVersion);
+            }
+            if (currentVersion + 1 != aVersion) {
+                aCopy = Category.with(aCategory.snapshot().withVersion(currentVersion + 1));
+                aBody = CategoryLogRecords.put(aCopy);
+            }
+            final var aSequence = ++this.sequence;
+            final var location = append(CategoryLogRecords.withSequence(aBody, aSequence));
+            final var previous = this.index.put(anID, location);
+            this.changeFeed.record(anID, aSequence, null, false);
+            this.counters.update(
+                    previous == null ? CategoryCounters.ABSENT : CategoryLogRecords.countersState(body(previous)),
+                    CategoryCounters.state(aCopy.isActive(), aCopy.getDeleteAt() != null)
+            );
+            if (indexed()) {
+                reindex(previous == null ? null : read(previous).snapshot(), aCopy.snapshot());
+            }
+            if (previous != null) {
+                release(previous);
+            }
+            if (this.outbox != null) {
+                final var events = aCategory.pullDomainEvents();
+                if (!events.isEmpty()) {
+                    this.outbox.append(events);
+                }
+            }
+        } finally {
+            this.appendLock.unlock();
+        }
+        return Category.with(aCopy);
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(this.directory);
+            try (final var files = Files.list(this.directory)) {
+                files.mapToInt(CategoryLogSegment::number)
+                        .filter(number -> number > 0)
+                        .sorted()
+                        .forEach(number -> this.segments.put(number, CategoryLogSegment.open(this.directory, number, this.segmentSize)));
+            }
+        } catch (final IOException e) {
+            throw new GatewayStorageException("could not open log directory " + this.directory, e);
+        }
+
+        for (final var aSegment : this.segments.values()) {
+            aSegment.recover((aPosition, aBody) -> {
+                final var aType = CategoryLogRecords.type(aBody);
+                final var aSequence = CategoryLogRecords.sequence(aBody);
+                final var location = track(aSegment, aPosition);
+                this.sequence = Math.max(this.sequence, aSequence);
+                if (aType == CategoryLogRecords.FLOOR) {
+                    if (this.floorLocation >= 0) {
+                        release(this.floorLocation);
+                    }
+                    this.floorLocation = location;
+                    this.changeFeed.raiseFloor(aSequence);
+                    return;
+                }
+                final var anID = CategoryLogRecords.id(aBody);
+                final var isPut = aType == CategoryLogRecords.PUT;
+                final var previous = isPut ? this.index.put(anID, location) : this.index.remove(anID);
+                this.changeFeed.record(anID, aSequence, null, !isPut);
+                this.counters.update(
+                        previous == null ? CategoryCounters.ABSENT : CategoryLogRecords.countersState(body(previous)),
+                        isPut ? CategoryLogRecords.countersState(aBody) : CategoryCounters.ABSENT
+                );
+                if (previous != null) {
+                    release(previous);
+                }
+            });
+        }
+
+        this.active = this.segments.isEmpty()
+                ? roll(1)
+                : this.segments.lastEntry().getValue();
+    }
+
+    /**
+     * The term index is only built by the first search that needs it, so opening a log and
+     * writing to it cost nothing for deployments that never search by terms.
+     */
+    private Map<CategoryID, Double> search(final String terms) {
+        if (terms == null) {
+            return null;
+        }
+        return termIndex().search(terms);
+    }
+
+    private CategoryTermIndex termIndex() {
+        if (!this.termIndexReady) {
+            this.appendLock.lock();
+            try {
+                if (!this.termIndexReady) {
+                    this.index.forEach((anID, location) -> this.termIndex.update(null, read(location).snapshot()));
+                    this.termIndexReady = true;
+                }
+            } finally {
+                this.appendLock.unlock();
+            }
+        }
+        return this.termIndex;
+    }
+
+    private CategoryPrefixIndex prefixIndex() {
+        if (!this.prefixIndexReady) {
+            this.appendLock.lock();
+            try {
+                if (!this.prefixIndexReady) {
+                    this.index.forEach((anID, location) -> this.prefixIndex.update(null, read(location).snapshot()));
+                    this.prefixIndexReady = true;
+                }
+            } finally {
+                this.appendLock.unlock();
+            }
+        }
+        return this.prefixIndex;
+    }
+
+    /**
+     * Built like the term index, by the first listing in that order, under the append lock so
+     * no write lands between the scan and the index taking over.
+     */
+    private CategorySortedIndex sortedIndex(final CategorySortField aField) {
+        final var built = this.sortedIndexes.get(aField);
+        if (built != null) {
+            return built;
+        }
+        this.appendLock.lock();
+        try {
+            return this.sortedIndexes.computeIfAbsent(aField, field -> {
+                final var anIndex = new CategorySortedIndex(field);
+                this.index.forEach((anID, location) -> anIndex.update(null, read(location).snapshot()));
+                return anIndex;
+            });
+        } finally {
+            this.appendLock.unlock();
+        }
+    }
+
+    /**
+     * Whether a write has to decode the category it replaces to move it out of an index.
+     */
+    private boolean indexed() {
+        return this.termIndexReady || this.prefixIndexReady || !this.sortedIndexes.isEmpty();
+    }
+
+    /**
+     * Must hold the append lock. Pins hear of the write before any index changes.
+     */
+    private void reindex(final CategorySnapshot previous, final CategorySnapshot next) {
+        for (final var aPin : this.pins) {
+            aPin.remember(next != null ? next.id() : previous.id(), previous);
+        }
+        if (this.termIndexReady) {
+            this.termIndex.update(previous, next);
+        }
+        if (this.prefixIndexReady) {
+            this.prefixIndex.update(previous, next);
+        }
+        for (final var anIndex : this.sortedIndexes.values()) {
+            anIndex.update(previous, next);
+        }
+    }
+
+    private long append(final ByteBuffer aBody) {
+        if (CategoryLogSegment.HEADER_BYTES + aBody.remaining() > this.segmentSize) {
+            throw new GatewayStorageException("record of %d bytes does not fit a log segment".formatted(aBody.remaining()));
+        }
+        var aSegment = this.active;
+        var aPosition = aSegment.append(aBody);
+        if (aPosition < 0) {
+            aSegment = roll(aSegment.number() + 1);
+            aPosition = aSegment.append(aBody);
+        }
+        return track(aSegment, aPosition);
+    }
+
+    private CategoryLogSegment roll(final int number) {
+        final var aSegment = CategoryLogSegment.open(this.directory, number, this.segmentSize);
+        this.segments.put(number, aSegment);
+        this.active = aSegment;
+        return aSegment;
+    }
+
+    private long track(final CategoryLogSegment aSegment, final int aPosition) {
+        aSegment.liveBytes().addAndGet(aSegment.recordBytes(aPosition));
+        return location(aSegment.number(), aPosition);
+    }
+
+    private void release(final long location) {
+        final var aSegment = this.segments.get(segment(location));
+        if (aSegment != null) {
+            aSegment.liveBytes().addAndGet(-aSegment.recordBytes(position(location)));
+        }
+    }
+
+    private Category lookup(final CategoryID anID) {
+        final var aBody = latestBody(anID);
+        return aBody == null ? null : CategoryLogRecords.category(aBody);
+    }
+
+    private CategorySnapshot lookupSnapshot(final CategoryID anID) {
+        final var aCategory = lookup(anID);
+        return aCategory == null ? null : aCategory.snapshot();
+    }
+
+    private Category read(final long location) {
+        return CategoryLogRecords.category(body(location));
+    }
+
+    private ByteBuffer body(final long location) {
+        return this.segments.get(segment(location)).body(position(location));
+    }
+
+    private long currentVersion(final CategoryID anID) {
+        final var aBody = latestBody(anID);
+        return aBody == null ? 0 : CategoryLogRecords.version(aBody);
+    }
+
+    /**
+     * A concurrent compaction may delete the segment a location points to right after the index
+     * was read, in which case the index already holds the new location and the read follows it.
+     * A location whose segment is gone while the index still holds it is a broken log.
+     */
+    private ByteBuffer latestBody(final CategoryID anID) {
+        var location = this.index.get(anID);
+        while (location != null) {
+            final var aSegment = this.segments.get(segment(location));
+            if (aSegment != null) {
+                return aSegment.body(position(location));
+            }
+            final var moved = this.index.get(anID);
+            if (Objects.equals(moved, location)) {
+                throw new GatewayStorageException("category %s points into segment %d, which is gone".formatted(anID.getValue(), segment(location)));
+            }
+            location = moved;
+        }
+        return null;
+    }
+
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new GatewayStorageException("log at " + this.directory + " is closed");
+        }
+    }
+
+    private static long location(final int aSegment, final int aPosition) {
+        return ((long) aSegment << 32) | (aPosition & 0xFFFFFFFFL);
+    }
+
+    private static int segment(final long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int position(final long location) {
+        return (int) location;
+    }
+
+    /**
+     * {@code bytes} counts every record written to the segments still on disk, {@code liveBytes}
+     * only the latest version of each live category and the tombstones, so their difference is
+     * what compaction frees. {@code compactableSegments} are the sealed segments {@link #compact()}
+     * would rewrite now.
+     */
+    public record LogStats(int segments, int compactableSegments, long records, long bytes, long liveBytes, long recoveryNanos) {
+
+        public double garbageRatio() {
+            return bytes == 0 ? 0 : 1 - (double) liveBytes / bytes;
+        }
+    }
+}
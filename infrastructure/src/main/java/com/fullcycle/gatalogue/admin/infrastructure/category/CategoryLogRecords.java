@@ -0,0 +1,88 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Body of a {@link CategoryLogGateway} record: a type byte and the change feed sequence of the
+ * write, followed, for a put, by the {@link CategoryCodec} encoding of the category or, for a
+ * delete, by the 16 bytes of the id. A floor record has nothing else; its sequence is the last
+ * one a compaction expired.
+ *
+ * A compaction copies records byte for byte, so a moved record keeps the sequence it was
+ * written with.
+ */
+final class CategoryLogRecords {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    static final byte FLOOR = 3;
+
+    private static final int TYPE_BYTES = 1;
+    private static final int SEQUENCE_OFFSET = TYPE_BYTES;
+    private static final int PAYLOAD_OFFSET = SEQUENCE_OFFSET + Long.BYTES;
+    private static final int CODEC_ID_OFFSET = 2;
+
+    private CategoryLogRecords() {
+    }
+
+    /**
+     * Encoded without a sequence, which {@link #withSequence(ByteBuffer, long)} sets once the
+     * write is ordered.
+     */
+    static ByteBuffer put(final Category aCategory) {
+        final var aBuffer = ByteBuffer.allocate(PAYLOAD_OFFSET + CategoryCodec.encodedSize(aCategory));
+        aBuffer.put(PUT);
+        aBuffer.putLong(0);
+        CategoryCodec.encode(aCategory, aBuffer);
+        return aBuffer.flip();
+    }
+
+    static ByteBuffer delete(final CategoryID anID, final long aSequence) {
+        final var aBuffer = ByteBuffer.allocate(PAYLOAD_OFFSET + Long.BYTES * 2);
+        aBuffer.put(DELETE);
+        aBuffer.putLong(aSequence);
+        aBuffer.putLong(anID.getMostSigBits());
+        aBuffer.putLong(anID.getLeastSigBits());
+        return aBuffer.flip();
+    }
+
+    static ByteBuffer floor(final long aSequence) {
+        final var aBuffer = ByteBuffer.allocate(PAYLOAD_OFFSET);
+        aBuffer.put(FLOOR);
+        aBuffer.putLong(aSequence);
+        return aBuffer.flip();
+    }
+
+    static ByteBuffer withSequence(final ByteBuffer aBody, final long aSequence) {
+        aBody.putLong(SEQUENCE_OFFSET, aSequence);
+        return aBody;
+    }
+
+    static byte type(final ByteBuffer aBody) {
+        return aBody.get(0);
+    }
+
+    static long sequence(final ByteBuffer aBody) {
+        return aBody.getLong(SEQUENCE_OFFSET);
+    }
+
+    static CategoryID id(final ByteBuffer aBody) {
+        final var offset = PAYLOAD_OFFSET + (type(aBody) == PUT ? CODEC_ID_OFFSET : 0);
+        return CategoryID.from(aBody.getLong(offset), aBody.getLong(offset + Long.BYTES));
+    }
+
+    static long version(final ByteBuffer aBody) {
+        return CategoryCodec.version(aBody.duplicate().position(PAYLOAD_OFFSET));
+    }
+
+    static int countersState(final ByteBuffer aBody) {
+        return CategoryCodec.countersState(aBody.duplicate().position(PAYLOAD_OFFSET));
+    }
+
+    static Category category(final ByteBuffer aBody) {
+        return CategoryCodec.decode(aBody.duplicate().position(PAYLOAD_OFFSET));
+    }
+}
@@ -0,0 +1,191 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.gatalogue.admin.infrastructure.exceptions.GatewayStorageException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped file of a {@link CategoryLogGateway}, holding records back to back:
+ * {@code [int length][int crc32c][body]}. A zero length marks the end of the written part.
+ *
+ * Every access uses absolute offsets, so readers share the mapping with the single appender
+ * without any lock. The appender writes the body and checksum before the length, so a record
+ * cut short by a crash is never taken as complete.
+ */
+final class CategoryLogSegment {
+
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final int number;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final AtomicLong liveBytes;
+    private volatile int position;
+
+    private CategoryLogSegment(final int number, final Path aPath, final FileChannel aChannel, final MappedByteBuffer aBuffer) {
+        this.number = number;
+        this.path = aPath;
+        this.channel = aChannel;
+        this.buffer = aBuffer;
+        this.liveBytes = new AtomicLong();
+    }
+
+    static CategoryLogSegment open(final Path aDirectory, final int number, final int capacity) {
+        final var aPath = aDirectory.resolve(fileName(number));
+        try {
+            final var aChannel = FileChannel.open(aPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            final var size = (int) Math.max(aChannel.size(), capacity);
+            return new CategoryLogSegment(number, aPath, aChannel, aChannel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (final IOException e) {
+            throw new GatewayStorageException("could not open log segment " + aPath, e);
+        }
+    }
+
+    static String fileName(final int number) {
+        return "segment-%010d.log".formatted(number);
+    }
+
+    static int number(final Path aPath) {
+        final var aName = aPath.getFileName().toString();
+        if (!aName.startsWith("segment-") || !aName.endsWith(".log")) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(aName.substring("segment-".length(), aName.length() - ".log".length()));
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    int number() {
+        return this.number;
+    }
+
+    int position() {
+        return this.position;
+    }
+
+    int capacity() {
+        return this.buffer.capacity();
+    }
+
+    AtomicLong liveBytes() {
+        return this.liveBytes;
+    }
+
+    /**
+     * Share of the written bytes that no longer hold a live record, which a compaction frees.
+     */
+    double garbageRatio() {
+        final var written = this.position;
+        return written == 0 ? 0 : 1 - (double) this.liveBytes.get() / written;
+    }
+
+    /**
+     * Appends the body and returns its record position, or -1 when the segment has no room left.
+     * Only one thread may append at a time.
+     */
+    int append(final ByteBuffer aBody) {
+        final var length = aBody.remaining();
+        final var start = this.position;
+        if ((long) start + HEADER_BYTES + length > this.buffer.capacity()) {
+            return -1;
+        }
+        this.buffer.put(start + HEADER_BYTES, aBody, aBody.position(), length);
+        this.buffer.putInt(start + Integer.BYTES, checksum(start + HEADER_BYTES, length));
+        this.buffer.putInt(start, length);
+        this.position = start + HEADER_BYTES + length;
+        return start;
+    }
+
+    ByteBuffer body(final int aPosition) {
+        return this.buffer.slice(aPosition + HEADER_BYTES, this.buffer.getInt(aPosition));
+    }
+
+    int recordBytes(final int aPosition) {
+        return HEADER_BYTES + this.buffer.getInt(aPosition);
+    }
+
+    /**
+     * Walks the records from the start, verifying every checksum, and stops at the end of the
+     * written part or at the first torn record. Whatever follows a torn record is zeroed so the
+     * next append starts from clean space. Returns true when a torn record was found.
+     */
+    boolean recover(final RecordVisitor aVisitor) {
+        var at = 0;
+        var torn = false;
+        while (at + HEADER_BYTES <= this.buffer.capacity()) {
+            final var length = this.buffer.getInt(at);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || (long) at + HEADER_BYTES + length > this.buffer.capacity()
+                    || this.buffer.getInt(at + Integer.BYTES) != checksum(at + HEADER_BYTES, length)) {
+                torn = true;
+                break;
+            }
+            aVisitor.visit(at, body(at));
+            at += HEADER_BYTES + length;
+        }
+        if (torn) {
+            for (var i = at; i < this.buffer.capacity(); i++) {
+                this.buffer.put(i, (byte) 0);
+            }
+        }
+        this.position = at;
+        return torn;
+    }
+
+    /**
+     * Walks the records already appended, without verifying them again.
+     */
+    void forEach(final RecordVisitor aVisitor) {
+        final var end = this.position;
+        var at = 0;
+        while (at < end) {
+            aVisitor.visit(at, body(at));
+            at += recordBytes(at);
+        }
+    }
+
+    void force() {
+        this.buffer.force();
+    }
+
+    void close() {
+        try {
+            this.channel.close();
+        } catch (final IOException e) {
+            throw new GatewayStorageException("could not close log segment " + this.path, e);
+        }
+    }
+
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(this.path);
+        } catch (final IOException e) {
+            throw new GatewayStorageException("could not delete log segment " + this.path, e);
+        }
+    }
+
+    private int checksum(final int aPosition, final int length) {
+        final var crc = new CRC32C();
+        crc.update(this.buffer.slice(aPosition, length));
+        return (int) crc.getValue();
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(int aPosition, ByteBuffer aBody);
+    }
+}
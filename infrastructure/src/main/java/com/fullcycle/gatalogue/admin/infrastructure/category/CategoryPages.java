@@ -0,0 +1,241 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cuts offset and cursor pages out of category snapshots, either from an iterator already
+ * positioned at the start of the page or from the scores of a term search, shared by the gateways
+ * that keep their own sorted views. Each item of a page is built from its snapshot
+ * by the given function: an aggregate copy for {@code findAll}, the shared snapshot itself for
+ * {@code findAllSnapshots}.
+ */
+final class CategoryPages {
+
+    private CategoryPages() {
+    }
+
+    /**
+     * The categories matching a term search, ranked by score or sorted by the field.
+     */
+    static List<CategorySnapshot> matches(
+            final Map<CategoryID, Double> scores,
+            final CategorySortField aField,
+            final boolean ranked,
+            final Function<CategoryID, CategorySnapshot> aLookup
+    ) {
+        final Collection<CategoryID> ids = ranked ? CategoryTermIndex.ranked(scores) : scores.keySet();
+        final var matches = new ArrayList<CategorySnapshot>(ids.size());
+        for (final var anID : ids) {
+            final var aCategory = aLookup.apply(anID);
+            if (aCategory != null) {
+                matches.add(aCategory);
+            }
+        }
+        if (!ranked) {
+            matches.sort(aField.comparator());
+        }
+        return matches;
+    }
+
+    /**
+     * An offset page of the categories matching a term search, ranked by score or sorted by the
+     * field, out of {@code rows} categories in all.
+     *
+     * When the matches are a large enough share of the rows, a sorted page walks the field's index
+     * and keeps the rows that match, which stops after about {@code (offset + perPage) * rows /
+     * matches} rows. Otherwise only the first {@code offset + perPage} matches are kept, in a
+     * bounded heap, so the search costs one pass over its matches rather than sorting them all. A
+     * ranked page keeps the best scores the same way and only looks up the ids it keeps.
+     *
+     * The total is the number of scored matches.
+     */
+    static <T> Pagination<T> offset(
+            final Map<CategoryID, Double> scores,
+            final CategorySortField aField,
+            final boolean ranked,
+            final boolean descending,
+            final Function<CategoryID, CategorySnapshot> aLookup,
+            final Supplier<CategorySortedIndex> anIndex,
+            final long rows,
+            final CategorySearchQuery aQuery,
+            final Function<CategorySnapshot, T> anItem
+    ) {
+        final var start = offset(aQuery);
+        final var limit = (int) Math.min(start + Math.max(aQuery.perPage(), 0), Integer.MAX_VALUE);
+        if (ranked) {
+            final var ranking = new ArrayList<CategorySnapshot>();
+            for (final var anID : CategoryTermIndex.top(scores, limit)) {
+                final var aCategory = aLookup.apply(anID);
+                if (aCategory != null) {
+                    ranking.add(aCategory);
+                }
+            }
+            return offset(ranking.listIterator((int) Math.min(start, ranking.size())), scores.size(), aQuery, anItem);
+        }
+        if (walks(scores.size(), limit, rows)) {
+            final var ordered = matching(anIndex.get().from(0, descending), scores);
+            for (long skipped = 0; skipped < start && ordered.hasNext(); skipped++) {
+                ordered.next();
+            }
+            return offset(ordered, scores.size(), aQuery, anItem);
+        }
+        final var order = descending ? aField.comparator().reversed() : aField.comparator();
+        final var top = top(scores, order, null, limit, aLookup);
+        return offset(top.listIterator((int) Math.min(start, top.size())), scores.size(), aQuery, anItem);
+    }
+
+    /**
+     * A page of {@code total} categories, whose iterator is already at the page offset.
+     */
+    static <T> Pagination<T> offset(
+            final Iterator<CategorySnapshot> ordered,
+            final long total,
+            final CategorySearchQuery aQuery,
+            final Function<CategorySnapshot, T> anItem
+    ) {
+        final var perPage = Math.max(aQuery.perPage(), 0);
+        final var items = new ArrayList<T>((int) Math.min(perPage, total));
+        while (ordered.hasNext() && items.size() < perPage) {
+            items.add(anItem.apply(ordered.next()));
+        }
+        return new Pagination<>(Math.max(aQuery.page(), 0), perPage, total, items);
+    }
+
+    static long offset(final CategorySearchQuery aQuery) {
+        return (long) Math.max(aQuery.page(), 0) * Math.max(aQuery.perPage(), 0);
+    }
+
+    /**
+     * A cursor page of the categories matching a term search, sorted by the field, out of
+     * {@code rows} categories in all. Like an offset page, it either walks the field's index from
+     * the cursor or keeps the {@code perPage + 1} first matches past the cursor in a bounded heap,
+     * the extra one telling whether another page follows.
+     */
+    static <T> CursorPagination<T> cursor(
+            final Map<CategoryID, Double> scores,
+            final CategorySortField aField,
+            final boolean descending,
+            final CategoryCursor after,
+            final Function<CategoryID, CategorySnapshot> aLookup,
+            final Supplier<CategorySortedIndex> anIndex,
+            final long rows,
+            final CategoryCursorQuery aQuery,
+            final Function<CategorySnapshot, T> anItem
+    ) {
+        final var limit = (int) Math.min((long) Math.max(aQuery.perPage(), 0) + 1, Integer.MAX_VALUE);
+        if (walks(scores.size(), limit, rows)) {
+            final var aSorted = anIndex.get();
+            final var ordered = after == null ? aSorted.from(0, descending) : aSorted.after(after.probe(), descending);
+            return cursor(matching(ordered, scores), aQuery, aField, descending, anItem);
+        }
+        final var order = descending ? aField.comparator().reversed() : aField.comparator();
+        final var top = top(scores, order, after == null ? null : after.probe(), limit, aLookup);
+        return cursor(top.iterator(), aQuery, aField, descending, anItem);
+    }
+
+    /**
+     * A page of the categories after the cursor, whose iterator already starts right after it.
+     */
+    static <T> CursorPagination<T> cursor(
+            final Iterator<CategorySnapshot> ordered,
+            final CategoryCursorQuery aQuery,
+            final CategorySortField aField,
+            final boolean descending,
+            final Function<CategorySnapshot, T> anItem
+    ) {
+        final var perPage = Math.max(aQuery.perPage(), 0);
+        final var items = new ArrayList<T>(perPage);
+        CategorySnapshot last = null;
+        while (ordered.hasNext() && items.size() < perPage) {
+            last = ordered.next();
+            items.add(anItem.apply(last));
+        }
+
+        final var nextCursor = last != null && ordered.hasNext()
+                ? CategoryCursor.of(last, aField, descending).encode()
+                : null;
+        return new CursorPagination<>(aQuery.cursor(), perPage, items, nextCursor);
+    }
+
+    /**
+     * The first {@code limit} matches that still exist in order, past {@code after} when given.
+     */
+    private static List<CategorySnapshot> top(
+            final Map<CategoryID, Double> scores,
+            final Comparator<CategorySnapshot> anOrder,
+            final CategorySnapshot after,
+            final int limit,
+            final Function<CategoryID, CategorySnapshot> aLookup
+    ) {
+        final var heap = new PriorityQueue<CategorySnapshot>(Math.min(limit, scores.size()) + 1, anOrder.reversed());
+        for (final var anID : scores.keySet()) {
+            final var aCategory = aLookup.apply(anID);
+            if (aCategory == null || limit == 0 || after != null && anOrder.compare(aCategory, after) <= 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.offer(aCategory);
+            } else if (anOrder.compare(aCategory, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(aCategory);
+            }
+        }
+        final var top = new ArrayList<>(heap);
+        top.sort(anOrder);
+        return top;
+    }
+
+    /**
+     * Walking the index visits about {@code limit * rows / matches} rows, the heap every match.
+     */
+    private static boolean walks(final long matches, final long limit, final long rows) {
+        return matches > 0 && limit * rows < matches * matches;
+    }
+
+    private static Iterator<CategorySnapshot> matching(final Iterator<CategorySnapshot> ordered, final Map<CategoryID, Double> scores) {
+        return new Iterator<>() {
+            private CategorySnapshot next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public CategorySnapshot next() {
+                if (this.next == null) {
+                    throw new NoSuchElementException();
+                }
+                final var current = this.next;
+                this.next = advance();
+                return current;
+            }
+
+            private CategorySnapshot advance() {
+                while (ordered.hasNext()) {
+                    final var aCategory = ordered.next();
+                    if (scores.containsKey(aCategory.id())) {
+                        return aCategory;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,557 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Normalised names of the active categories in sorted order, for typeahead: the first
+ * {@code limit} names starting with a prefix are a seek and a short walk.
+ *
+ * Names are normalised like {@link CategoryTokenizer} tokens, joined by single spaces, and kept
+ * as UTF-8 ordered byte-wise, then by id. They are stored in blocks of about {@value #BLOCK_SIZE}
+ * front-coded entries, each holding only the bytes it does not share with the entry before it
+ * and the id of its category, so sorted neighbours cost a few bytes each instead of a string
+ * and a tree node. The blocks sit in skip lists keyed by a lower bound of their entries, one per
+ * leading byte of the name, since a prefix never spans two of them.
+ *
+ * Blocks never change once published. Writers are serialized per leading byte, so writes of
+ * names starting differently never wait on each other, and replace the block they touch with a
+ * new one, splitting it past {@value #MAX_BLOCK_SIZE} entries and folding it into the block
+ * before it below {@value #MIN_BLOCK_SIZE}. An update walks the block once and splices the bytes
+ * of the entry it adds or drops and of the entry after it, whose shared prefix changes, copying
+ * the rest as they are, and readers take no lock. A split publishes its new block first, so a
+ * reader may meet the same entries twice, and readers only ever move forward, skipping what they
+ * already passed. A fold may hide the entries it moves from a reader already past the block they
+ * move into, and a rename across leading bytes may hide the category in between, which a
+ * typeahead can live with like any other write it raced.
+ *
+ * Updates for one category must be serialized by the caller, like any other index here.
+ */
+final class CategoryPrefixIndex {
+
+    static final int BLOCK_SIZE = 64;
+    static final int MAX_BLOCK_SIZE = 2 * BLOCK_SIZE;
+    static final int MIN_BLOCK_SIZE = BLOCK_SIZE / 4;
+
+    static final Comparator<CategorySnapshot> ORDER = Comparator.<CategorySnapshot, byte[]>comparing(
+            aCategory -> key(aCategory.name()),
+            Arrays::compareUnsigned
+    ).thenComparing(CategorySnapshot::id);
+
+    private static final Key FIRST = new Key(new byte[0], null);
+    private static final long NODE_BYTES = 48;
+    private static final long OBJECT_BYTES = 16;
+
+    private final Partition[] partitions;
+    private final AtomicLong entries;
+    private final AtomicLong bytes;
+
+    CategoryPrefixIndex() {
+        this.partitions = new Partition[257];
+        for (int i = 0; i < this.partitions.length; i++) {
+            this.partitions[i] = new Partition();
+        }
+        this.entries = new AtomicLong();
+        this.bytes = new AtomicLong();
+    }
+
+    /**
+     * Moves a category from its previous name to its new one. Only active categories are
+     * indexed, so activating or deactivating one adds or removes it.
+     */
+    void update(final CategorySnapshot previous, final CategorySnapshot next) {
+        final var before = previous != null && previous.active() ? key(previous.name()) : null;
+        final var after = next != null && next.active() ? key(next.name()) : null;
+        if (before == null && after == null || before != null && after != null && Arrays.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            final var aPartition = partitionOf(before);
+            aPartition.lock.lock();
+            try {
+                remove(aPartition.blocks, new Key(before, previous.id()));
+            } finally {
+                aPartition.lock.unlock();
+            }
+        }
+        if (after != null) {
+            final var aPartition = partitionOf(after);
+            aPartition.lock.lock();
+            try {
+                insert(aPartition.blocks, new Key(after, next.id()));
+            } finally {
+                aPartition.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * The ids of the first {@code limit} indexed categories whose normalised name starts with
+     * the normalised prefix, in index order.
+     */
+    List<CategoryID> search(final String aPrefix, final int limit) {
+        final var found = new ArrayList<CategoryID>(Math.max(Math.min(limit, 64), 0));
+        if (limit <= 0) {
+            return found;
+        }
+        final var prefix = prefix(aPrefix);
+        final var from = prefix.length == 0 ? 0 : slot(prefix);
+        final var to = prefix.length == 0 ? this.partitions.length - 1 : from;
+        Key last = null;
+        for (int i = from; i <= to; i++) {
+            final var blocks = this.partitions[i].blocks;
+            final var start = blocks.floorKey(new Key(prefix, null));
+            for (final var aBlock : blocks.tailMap(start == null ? FIRST : start, true).values()) {
+                final var aCursor = aBlock.cursor();
+                while (aCursor.next()) {
+                    final var shared = Math.min(prefix.length, aCursor.length);
+                    final var compared = Arrays.compareUnsigned(aCursor.name, 0, shared, prefix, 0, shared);
+                    if (compared < 0 || compared == 0 && aCursor.length < prefix.length) {
+                        continue;
+                    }
+                    if (compared > 0) {
+                        return found;
+                    }
+                    final var aKey = new Key(Arrays.copyOf(aCursor.name, aCursor.length), aBlock.ids[aCursor.index]);
+                    if (last != null && aKey.compareTo(last) <= 0) {
+                        continue;
+                    }
+                    found.add(aKey.id());
+                    if (found.size() == limit) {
+                        return found;
+                    }
+                    last = aKey;
+                }
+            }
+        }
+        return found;
+    }
+
+    long entries() {
+        return this.entries.get();
+    }
+
+    int blocks() {
+        var blocks = 0;
+        for (final var aPartition : this.partitions) {
+            blocks += aPartition.blocks.size();
+        }
+        return blocks;
+    }
+
+    /**
+     * Rough heap footprint of the index, from the sizes of its arrays and an average per block
+     * for the objects and skip list nodes around them.
+     */
+    long bytes() {
+        return this.bytes.get();
+    }
+
+    static byte[] key(final String aName) {
+        return String.join(" ", CategoryTokenizer.tokenize(aName)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Normalises a prefix like a name, keeping a trailing separator so "war " only matches
+     * names with more words after "war".
+     */
+    static byte[] prefix(final String aPrefix) {
+        final var aKey = key(aPrefix);
+        final var normalized = CategoryTokenizer.normalize(aPrefix);
+        if (aKey.length > 0 && normalized.charAt(normalized.length() - 1) == ' ') {
+            final var spaced = Arrays.copyOf(aKey, aKey.length + 1);
+            spaced[aKey.length] = ' ';
+            return spaced;
+        }
+        return aKey;
+    }
+
+    /**
+     * Empty names come first, then one partition per leading byte in unsigned order.
+     */
+    private static int slot(final byte[] aName) {
+        return aName.length == 0 ? 0 : (aName[0] & 0xFF) + 1;
+    }
+
+    private Partition partitionOf(final byte[] aName) {
+        return this.partitions[slot(aName)];
+    }
+
+    /**
+     * Must hold the lock of the partition.
+     */
+    private void insert(final ConcurrentSkipListMap<Key, Block> blocks, final Key aKey) {
+        final var anEntry = blocks.floorEntry(aKey);
+        if (anEntry == null) {
+            publish(blocks, FIRST, null, Block.of(aKey));
+            this.entries.incrementAndGet();
+            return;
+        }
+        final var aBlock = anEntry.getValue();
+        final var inserted = aBlock.insert(aKey);
+        if (inserted == null) {
+            return;
+        }
+        this.entries.incrementAndGet();
+
+        if (inserted.ids.length <= MAX_BLOCK_SIZE) {
+            publish(blocks, anEntry.getKey(), aBlock, inserted);
+            return;
+        }
+        final var half = inserted.ids.length / 2;
+        final var right = inserted.from(half);
+        publish(blocks, right.first(), null, right);
+        publish(blocks, anEntry.getKey(), aBlock, inserted.before(half));
+    }
+
+    /**
+     * Must hold the lock of the partition.
+     */
+    private void remove(final ConcurrentSkipListMap<Key, Block> blocks, final Key aKey) {
+        final var anEntry = blocks.floorEntry(aKey);
+        if (anEntry == null) {
+            return;
+        }
+        final var aBlock = anEntry.getValue();
+        final var removed = aBlock.remove(aKey);
+        if (removed == null) {
+            return;
+        }
+        this.entries.decrementAndGet();
+
+        final var previous = anEntry.getKey() == FIRST ? null : blocks.lowerEntry(anEntry.getKey());
+        if (previous == null || removed.ids.length >= MIN_BLOCK_SIZE || previous.getValue().ids.length + removed.ids.length > MAX_BLOCK_SIZE) {
+            publish(blocks, anEntry.getKey(), aBlock, removed);
+            return;
+        }
+        publish(blocks, previous.getKey(), previous.getValue(), previous.getValue().append(removed));
+        publish(blocks, anEntry.getKey(), aBlock, null);
+    }
+
+    /**
+     * Replaces the block under a key, or drops it when the replacement is null, keeping the
+     * footprint in step.
+     */
+    private void publish(final ConcurrentSkipListMap<Key, Block> blocks, final Key aKey, final Block previous, final Block next) {
+        var delta = 0L;
+        if (previous != null) {
+            delta -= previous.footprint() + aKey.footprint();
+        }
+        if (next != null) {
+            blocks.put(aKey, next);
+            delta += next.footprint() + aKey.footprint();
+        } else {
+            blocks.remove(aKey);
+        }
+        this.bytes.addAndGet(delta);
+    }
+
+    private static long align(final long aSize) {
+        return (aSize + 7) & ~7L;
+    }
+
+    private static final class Partition {
+
+        private final ConcurrentSkipListMap<Key, Block> blocks = new ConcurrentSkipListMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+    }
+
+    private record Key(byte[] name, CategoryID id) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(final Key other) {
+            final var compared = Arrays.compareUnsigned(this.name, other.name);
+            if (compared != 0) {
+                return compared;
+            }
+            if (this.id == null || other.id == null) {
+                return this.id == other.id ? 0 : this.id == null ? -1 : 1;
+            }
+            return this.id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key aKey && compareTo(aKey) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(this.name) + Objects.hashCode(this.id);
+        }
+
+        long footprint() {
+            return OBJECT_BYTES + align(OBJECT_BYTES + this.name.length);
+        }
+    }
+
+    /**
+     * Entries as {@code shared, suffix length, suffix} runs, both lengths as varints, with the
+     * ids alongside in the same order.
+     *
+     * In sorted order the prefix two entries share is the smallest one shared by any two
+     * neighbours between them, so adding or dropping an entry only re-encodes the entry after
+     * it, and every other run is copied byte for byte.
+     */
+    private static final class Block {
+
+        private static final byte[] EMPTY = new byte[0];
+
+        private final byte[] data;
+        private final CategoryID[] ids;
+
+        private Block(final byte[] aData, final CategoryID[] anIds) {
+            this.data = aData;
+            this.ids = anIds;
+        }
+
+        static Block of(final Key aKey) {
+            return new Block(run(0, aKey.name(), aKey.name().length), new CategoryID[]{aKey.id()});
+        }
+
+        Cursor cursor() {
+            return new Cursor(this.data);
+        }
+
+        Key first() {
+            final var aCursor = cursor();
+            aCursor.next();
+            return new Key(Arrays.copyOf(aCursor.name, aCursor.length), this.ids[0]);
+        }
+
+        /**
+         * This block with the key added, or null when it holds it already.
+         */
+        Block insert(final Key aKey) {
+            final var aCursor = cursor();
+            var sharedBefore = 0;
+            while (aCursor.next()) {
+                final var compared = compare(aCursor, aKey);
+                if (compared == 0) {
+                    return null;
+                }
+                if (compared > 0) {
+                    final var at = aCursor.index;
+                    final var sharedAfter = shared(aCursor, aKey.name());
+                    return new Block(
+                            splice(this.data, aCursor.start, aCursor.position,
+                                    run(sharedBefore, aKey.name(), aKey.name().length),
+                                    run(sharedAfter, aCursor.name, aCursor.length)),
+                            insertId(this.ids, at, aKey.id())
+                    );
+                }
+                sharedBefore = shared(aCursor, aKey.name());
+            }
+            return new Block(
+                    splice(this.data, this.data.length, this.data.length, run(sharedBefore, aKey.name(), aKey.name().length), EMPTY),
+                    insertId(this.ids, this.ids.length, aKey.id())
+            );
+        }
+
+        /**
+         * This block without the key, or null when it does not hold it.
+         */
+        Block remove(final Key aKey) {
+            final var aCursor = cursor();
+            while (aCursor.next()) {
+                final var compared = compare(aCursor, aKey);
+                if (compared > 0) {
+                    return null;
+                }
+                if (compared < 0) {
+                    continue;
+                }
+                final var at = aCursor.index;
+                final var start = aCursor.start;
+                final var sharedRemoved = aCursor.shared;
+                if (!aCursor.next()) {
+                    return new Block(Arrays.copyOf(this.data, start), removeId(this.ids, at));
+                }
+                final var sharedNext = Math.min(sharedRemoved, aCursor.shared);
+                return new Block(
+                        splice(this.data, start, aCursor.position, run(sharedNext, aCursor.name, aCursor.length), EMPTY),
+                        removeId(this.ids, at)
+                );
+            }
+            return null;
+        }
+
+        /**
+         * The entries from {@code index} on, the first of them written out in full.
+         */
+        Block from(final int index) {
+            final var aCursor = seek(index);
+            final var head = run(0, aCursor.name, aCursor.length);
+            final var aData = new byte[head.length + this.data.length - aCursor.position];
+            System.arraycopy(head, 0, aData, 0, head.length);
+            System.arraycopy(this.data, aCursor.position, aData, head.length, this.data.length - aCursor.position);
+            return new Block(aData, Arrays.copyOfRange(this.ids, index, this.ids.length));
+        }
+
+        /**
+         * The entries before {@code index}, as they are.
+         */
+        Block before(final int index) {
+            return new Block(Arrays.copyOf(this.data, seek(index).start), Arrays.copyOf(this.ids, index));
+        }
+
+        /**
+         * This block followed by the entries of the next one, whose first entry is re-encoded
+         * against the last one here.
+         */
+        Block append(final Block next) {
+            if (next.ids.length == 0) {
+                return this;
+            }
+            final var last = seek(this.ids.length - 1);
+            final var head = next.cursor();
+            head.next();
+            final var shared = Arrays.mismatch(last.name, 0, last.length, head.name, 0, head.length);
+            final var run = run(shared < 0 ? head.length : shared, head.name, head.length);
+            final var aData = new byte[this.data.length + run.length + next.data.length - head.position];
+            System.arraycopy(this.data, 0, aData, 0, this.data.length);
+            System.arraycopy(run, 0, aData, this.data.length, run.length);
+            System.arraycopy(next.data, head.position, aData, this.data.length + run.length, next.data.length - head.position);
+            final var anIds = Arrays.copyOf(this.ids, this.ids.length + next.ids.length);
+            System.arraycopy(next.ids, 0, anIds, this.ids.length, next.ids.length);
+            return new Block(aData, anIds);
+        }
+
+        long footprint() {
+            return NODE_BYTES + OBJECT_BYTES + align(OBJECT_BYTES + this.data.length) + align(OBJECT_BYTES + 4L * this.ids.length);
+        }
+
+        private Cursor seek(final int index) {
+            final var aCursor = cursor();
+            while (aCursor.index < index) {
+                aCursor.next();
+            }
+            return aCursor;
+        }
+
+        private int compare(final Cursor aCursor, final Key aKey) {
+            final var compared = Arrays.compareUnsigned(aCursor.name, 0, aCursor.length, aKey.name(), 0, aKey.name().length);
+            return compared != 0 ? compared : this.ids[aCursor.index].compareTo(aKey.id());
+        }
+
+        private static int shared(final Cursor aCursor, final byte[] aName) {
+            final var mismatch = Arrays.mismatch(aCursor.name, 0, aCursor.length, aName, 0, aName.length);
+            return mismatch < 0 ? aCursor.length : mismatch;
+        }
+
+        /**
+         * The bytes before {@code from}, then the new runs, then the bytes from {@code to} on.
+         */
+        private static byte[] splice(final byte[] aData, final int from, final int to, final byte[] first, final byte[] second) {
+            final var spliced = new byte[from + first.length + second.length + aData.length - to];
+            System.arraycopy(aData, 0, spliced, 0, from);
+            System.arraycopy(first, 0, spliced, from, first.length);
+            System.arraycopy(second, 0, spliced, from + first.length, second.length);
+            System.arraycopy(aData, to, spliced, from + first.length + second.length, aData.length - to);
+            return spliced;
+        }
+
+        private static byte[] run(final int shared, final byte[] aName, final int length) {
+            final var suffix = length - shared;
+            final var aRun = new byte[varintSize(shared) + varintSize(suffix) + suffix];
+            var position = writeVarint(aRun, 0, shared);
+            position = writeVarint(aRun, position, suffix);
+            System.arraycopy(aName, shared, aRun, position, suffix);
+            return aRun;
+        }
+
+        private static CategoryID[] insertId(final CategoryID[] anIds, final int at, final CategoryID anID) {
+            final var inserted = new CategoryID[anIds.length + 1];
+            System.arraycopy(anIds, 0, inserted, 0, at);
+            inserted[at] = anID;
+            System.arraycopy(anIds, at, inserted, at + 1, anIds.length - at);
+            return inserted;
+        }
+
+        private static CategoryID[] removeId(final CategoryID[] anIds, final int at) {
+            final var removed = new CategoryID[anIds.length - 1];
+            System.arraycopy(anIds, 0, removed, 0, at);
+            System.arraycopy(anIds, at + 1, removed, at, anIds.length - at - 1);
+            return removed;
+        }
+
+        private static int varintSize(final int aValue) {
+            var size = 1;
+            for (var value = aValue >>> 7; value != 0; value >>>= 7) {
+                size++;
+            }
+            return size;
+        }
+
+        private static int writeVarint(final byte[] aData, final int aPosition, final int aValue) {
+            var position = aPosition;
+            var value = aValue;
+            while ((value & ~0x7F) != 0) {
+                aData[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            aData[position++] = (byte) value;
+            return position;
+        }
+    }
+
+    /**
+     * Decodes the entries of a block one after the other into a reused buffer, remembering
+     * where the current one starts and how much it shares with the one before.
+     */
+    private static final class Cursor {
+
+        private final byte[] data;
+        private byte[] name;
+        private int length;
+        private int shared;
+        private int start;
+        private int position;
+        private int index;
+
+        Cursor(final byte[] aData) {
+            this.data = aData;
+            this.name = new byte[32];
+            this.index = -1;
+        }
+
+        boolean next() {
+            if (this.position >= this.data.length) {
+                return false;
+            }
+            this.start = this.position;
+            final var shared = readVarint();
+            final var suffix = readVarint();
+            if (shared + suffix > this.name.length) {
+                this.name = Arrays.copyOf(this.name, Math.max(shared + suffix, this.name.length * 2));
+            }
+            System.arraycopy(this.data, this.position, this.name, shared, suffix);
+            this.position += suffix;
+            this.shared = shared;
+            this.length = shared + suffix;
+            this.index++;
+            return true;
+        }
+
+        private int readVarint() {
+            var value = 0;
+            for (int shift = 0; ; shift += 7) {
+                final var aByte = this.data[this.position++];
+                value |= (aByte & 0x7F) << shift;
+                if (aByte >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
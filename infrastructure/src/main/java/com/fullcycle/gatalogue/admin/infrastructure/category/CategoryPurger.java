@@ -0,0 +1,338 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeSource;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.VersionedCategoryGateway;
+import com.fullcycle.catalogue.admin.domain.exceptions.ExpiredChangeTokenException;
+import com.fullcycle.catalogue.admin.domain.exceptions.StaleVersionException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Background purge of the categories soft-deleted, with a {@code deleteAt}, for longer than
+ * {@code retention}, so listings, indexes and counts stop carrying them.
+ *
+ * A worker runs every {@code interval}. It follows the change feed of the gateway and keeps the
+ * soft-deleted categories it has seen ordered by {@code deleteAt}, so a run costs the changes
+ * since the last one plus the rows it removes, never a scan of the catalogue. Gateways that are
+ * not a {@link CategoryChangeSource} are walked with {@code streamAll} on every run instead, and
+ * an expired feed token starts the feed over.
+ *
+ * Due categories are removed in batches of {@code batchSize} through
+ * {@link VersionedCategoryGateway#compareAndDeleteById(CategoryID, long)} at the version the
+ * purger saw, so a category restored or written again since is skipped rather than lost, and the
+ * gateway drops it from its indexes, counters and sorted views as it goes. After each batch the
+ * worker sleeps long enough to stay under {@code maxRowsPerSecond}, and never less than the batch
+ * took, so it holds the storage at most half of the time and backs off by itself when foreground
+ * traffic slows it down. Storages that only reclaim space by rewriting, like
+ * {@link CategoryLogGateway#compact()}, can pass a {@code compaction} that is offered every run
+ * that removed something. It decides for itself whether enough garbage piled up to rewrite
+ * anything and returns how much it rewrote, and only those that did count as compactions.
+ *
+ * A failing delete ends the run and is retried on the next one. {@link #purgeNow()} runs a pass
+ * on the calling thread, and {@link #close()} stops the worker, cutting a run short between
+ * batches.
+ */
+public class CategoryPurger implements AutoCloseable {
+
+    private static final int FEED_PAGE_SIZE = 1_000;
+    private static final Comparator<Candidate> BY_DELETE_AT = Comparator.comparing(Candidate::deleteAt).thenComparing(Candidate::id);
+
+    private final VersionedCategoryGateway gateway;
+    private final CategoryChangeSource feed;
+    private final Duration retention;
+    private final int batchSize;
+    private final long nanosPerRow;
+    private final IntSupplier compaction;
+    private final ReentrantLock runLock;
+    private final AtomicBoolean closed;
+    private final ScheduledExecutorService worker;
+    private final Map<CategoryID, Candidate> candidates;
+    private final TreeSet<Candidate> due;
+    private final LongAdder runs;
+    private final LongAdder purged;
+    private final LongAdder skipped;
+    private final LongAdder failures;
+    private final LongAdder batches;
+    private final LongAdder compactions;
+    private final LongAdder batchNanos;
+    private final LongAccumulator maxBatchNanos;
+    private final LongAdder throttledNanos;
+    private String token;
+    private volatile int pending;
+
+    public CategoryPurger(
+            final VersionedCategoryGateway aGateway,
+            final Duration aRetention,
+            final int batchSize,
+            final int maxRowsPerSecond,
+            final Duration anInterval
+    ) {
+        this(aGateway, aRetention, batchSize, maxRowsPerSecond, anInterval, null);
+    }
+
+    public CategoryPurger(
+            final VersionedCategoryGateway aGateway,
+            final Duration aRetention,
+            final int batchSize,
+            final int maxRowsPerSecond,
+            final Duration anInterval,
+            final IntSupplier aCompaction
+    ) {
+        if (aRetention.isNegative()) {
+            throw new IllegalArgumentException("'retention' should not be negative");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("'batchSize' should be greater than zero");
+        }
+        if (maxRowsPerSecond < 1) {
+            throw new IllegalArgumentException("'maxRowsPerSecond' should be greater than zero");
+        }
+        this.gateway = Objects.requireNonNull(aGateway);
+        this.feed = aGateway instanceof CategoryChangeSource aSource ? aSource : null;
+        this.retention = aRetention;
+        this.batchSize = batchSize;
+        this.nanosPerRow = TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond;
+        this.compaction = aCompaction;
+        this.runLock = new ReentrantLock();
+        this.closed = new AtomicBoolean();
+        this.candidates = new HashMap<>();
+        this.due = new TreeSet<>(BY_DELETE_AT);
+        this.runs = new LongAdder();
+        this.purged = new LongAdder();
+        this.skipped = new LongAdder();
+        this.failures = new LongAdder();
+        this.batches = new LongAdder();
+        this.compactions = new LongAdder();
+        this.batchNanos = new LongAdder();
+        this.maxBatchNanos = new LongAccumulator(Math::max, 0);
+        this.throttledNanos = new LongAdder();
+        this.worker = Executors.newSingleThreadScheduledExecutor(aRunnable -> {
+            final var aThread = new Thread(aRunnable, "category-purger");
+            aThread.setDaemon(true);
+            return aThread;
+        });
+        final var intervalNanos = anInterval.toNanos();
+        this.worker.scheduleWithFixedDelay(this::purgeQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs a purge now, waiting for a run already in progress, and returns how many categories
+     * it removed.
+     */
+    public long purgeNow() {
+        this.runLock.lock();
+        try {
+            this.runs.increment();
+            refresh();
+            final var removed = purge(Instant.now().minus(this.retention));
+            if (removed > 0 && this.compaction != null && !this.closed.get() && this.compaction.getAsInt() > 0) {
+                this.compactions.increment();
+            }
+            return removed;
+        } finally {
+            this.pending = this.candidates.size();
+            this.runLock.unlock();
+        }
+    }
+
+    public PurgeStats stats() {
+        return new PurgeStats(
+                this.runs.sum(),
+                this.purged.sum(),
+                this.skipped.sum(),
+                this.failures.sum(),
+                this.batches.sum(),
+                this.compactions.sum(),
+                this.pending,
+                this.batchNanos.sum(),
+                this.maxBatchNanos.get(),
+                this.throttledNanos.sum()
+        );
+    }
+
+    @Override
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+        this.worker.shutdownNow();
+        try {
+            this.worker.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            purgeNow();
+        } catch (final RuntimeException e) {
+            this.failures.increment();
+        }
+    }
+
+    /**
+     * Brings the candidates up to date with the writes made since the last run.
+     */
+    private void refresh() {
+        if (this.feed != null) {
+            try {
+                follow();
+            } catch (final ExpiredChangeTokenException e) {
+                this.token = null;
+                clear();
+                follow();
+            }
+            return;
+        }
+        clear();
+        try (final var categories = this.gateway.streamAll(CategoryStreamQuery.all())) {
+            categories.filter(aCategory -> aCategory.deleteAt() != null).forEach(aCategory -> track(aCategory.id(), aCategory));
+        }
+    }
+
+    private void follow() {
+        var hasMore = true;
+        while (hasMore && !this.closed.get()) {
+            final var aPage = this.feed.findChanges(new CategoryChangeQuery(this.token, FEED_PAGE_SIZE));
+            for (final var aChange : aPage.items()) {
+                track(aChange.id(), aChange.category());
+            }
+            this.token = aPage.nextToken();
+            hasMore = aPage.hasMore();
+        }
+    }
+
+    private long purge(final Instant aCutoff) {
+        var removed = 0L;
+        final var batch = new ArrayList<Candidate>(this.batchSize);
+        var pauseNanos = 0L;
+        while (!this.closed.get()) {
+            while (batch.size() < this.batchSize && !this.due.isEmpty() && !this.due.first().deleteAt().isAfter(aCutoff)) {
+                final var aCandidate = this.due.pollFirst();
+                this.candidates.remove(aCandidate.id());
+                batch.add(aCandidate);
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (pauseNanos > 0) {
+                throttle(pauseNanos);
+            }
+
+            final var startedAt = System.nanoTime();
+            var failed = false;
+            for (int i = 0; i < batch.size(); i++) {
+                final var aCandidate = batch.get(i);
+                try {
+                    this.gateway.compareAndDeleteById(aCandidate.id(), aCandidate.version());
+                    removed++;
+                    this.purged.increment();
+                } catch (final StaleVersionException e) {
+                    this.skipped.increment();
+                    track(aCandidate.id(), this.gateway.findSnapshotById(aCandidate.id()).orElse(null));
+                } catch (final RuntimeException e) {
+                    this.failures.increment();
+                    batch.subList(i, batch.size()).forEach(this::add);
+                    failed = true;
+                    break;
+                }
+            }
+            final var elapsed = System.nanoTime() - startedAt;
+            this.batches.increment();
+            this.batchNanos.add(elapsed);
+            this.maxBatchNanos.accumulate(elapsed);
+            if (failed) {
+                break;
+            }
+            pauseNanos = Math.max(batch.size() * this.nanosPerRow - elapsed, elapsed);
+            batch.clear();
+        }
+        return removed;
+    }
+
+    private void throttle(final long pauseNanos) {
+        final var deadline = System.nanoTime() + pauseNanos;
+        var remaining = pauseNanos;
+        while (remaining > 0 && !this.closed.get() && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        this.throttledNanos.add(pauseNanos - Math.max(remaining, 0));
+    }
+
+    /**
+     * Follows the latest state of a category: soft-deleted ones are candidates at their
+     * {@code deleteAt}, anything else, including a removed one, is not.
+     */
+    private void track(final CategoryID anID, final CategorySnapshot aCategory) {
+        final var previous = this.candidates.remove(anID);
+        if (previous != null) {
+            this.due.remove(previous);
+        }
+        if (aCategory != null && aCategory.deleteAt() != null) {
+            add(new Candidate(anID, aCategory.deleteAt(), aCategory.version()));
+        }
+    }
+
+    private void add(final Candidate aCandidate) {
+        this.candidates.put(aCandidate.id(), aCandidate);
+        this.due.add(aCandidate);
+    }
+
+    private void clear() {
+        this.candidates.clear();
+        this.due.clear();
+    }
+
+    /**
+     * {@code batchNanos} is the time spent removing categories, when the purger competes with
+     * foreground writes, and {@code throttledNanos} the time it stayed off the storage between
+     * batches to respect the rate limit.
+     */
+    public record PurgeStats(
+            long runs,
+            long purged,
+            long skipped,
+            long failures,
+            long batches,
+            long compactions,
+            int pending,
+            long batchNanos,
+            long maxBatchNanos,
+            long throttledNanos
+    ) {
+
+        public Duration averageBatchPause() {
+            return Duration.ofNanos(batches == 0 ? 0 : batchNanos / batches);
+        }
+
+        public double dutyCycle() {
+            final var busy = batchNanos + throttledNanos;
+            return busy == 0 ? 0 : (double) batchNanos / busy;
+        }
+    }
+
+    private record Candidate(CategoryID id, Instant deleteAt, long version) {
+    }
+}
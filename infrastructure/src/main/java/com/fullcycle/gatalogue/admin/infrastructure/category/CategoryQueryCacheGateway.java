@@ -0,0 +1,270 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangePage;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeSource;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestionSource;
+import com.fullcycle.catalogue.admin.domain.category.VersionedCategoryGateway;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.gatalogue.admin.infrastructure.category.CategoryCachedGateway.CacheStats;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Caches {@code findAll} results keyed by the {@link CategorySearchQuery} record.
+ *
+ * Every write through this gateway bumps a generation counter, and an entry is only served while
+ * it carries the current generation, so invalidation costs one increment and never scans the
+ * entries. The generation is read before the delegate runs, so a result that raced a write is
+ * already stale when stored, and it never replaces an entry a later load stored for a newer
+ * generation.
+ *
+ * Entries sit in a {@link ConcurrentHashMap}, so a hit takes no lock: it only marks its entry as
+ * referenced. Stores queue their query and, once the bound is passed, sweep the queue like a
+ * clock, giving referenced entries a second chance and evicting the first unreferenced one, which
+ * approximates least recently used without ordering the map on every read.
+ *
+ * Pages are cached as {@link CategorySnapshot}s: {@code findAll} hands out fresh aggregates built
+ * from them, {@code findAllSnapshots} hands out the cached page itself.
+ *
+ * The versioned writes, {@code findChanges} and {@code suggest} reach the delegate when it has
+ * them and throw {@link UnsupportedOperationException} when it does not; {@link Store} wraps a
+ * {@link CategoryStore} and declares them.
+ */
+public class CategoryQueryCacheGateway implements CategoryGateway {
+
+    private final CategoryGateway delegate;
+    private final AtomicLong generation;
+    private final int maximumSize;
+    private final ConcurrentHashMap<CategorySearchQuery, Entry> entries;
+    private final ConcurrentLinkedQueue<CategorySearchQuery> clock;
+    private final ReentrantLock evictionLock;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    public CategoryQueryCacheGateway(final CategoryGateway aDelegate, final int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("'maximumSize' should be greater than zero");
+        }
+        this.delegate = Objects.requireNonNull(aDelegate);
+        this.generation = new AtomicLong();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.maximumSize = maximumSize;
+        this.entries = new ConcurrentHashMap<>();
+        this.clock = new ConcurrentLinkedQueue<>();
+        this.evictionLock = new ReentrantLock();
+    }
+
+    @Override
+    public Category create(final Category aCategory) {
+        try {
+            return this.delegate.create(aCategory);
+        } finally {
+            this.generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public List<Category> createAll(final List<Category> categories) {
+        try {
+            return this.delegate.createAll(categories);
+        } finally {
+            this.generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void deleteById(final CategoryID anID) {
+        try {
+            this.delegate.deleteById(anID);
+        } finally {
+            this.generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public Optional<Category> findById(final CategoryID anID) {
+        return this.delegate.findById(anID);
+    }
+
+    @Override
+    public Category update(final Category aCategory) {
+        try {
+            return this.delegate.update(aCategory);
+        } finally {
+            this.generation.incrementAndGet();
+        }
+    }
+
+    public Category compareAndUpdate(final Category aCategory) {
+        try {
+            return CategoryCapabilities.of(this.delegate, VersionedCategoryGateway.class).compareAndUpdate(aCategory);
+        } finally {
+            this.generation.incrementAndGet();
+        }
+    }
+
+    public void compareAndDeleteById(final CategoryID anID, final long aVersion) {
+        try {
+            CategoryCapabilities.of(this.delegate, VersionedCategoryGateway.class).compareAndDeleteById(anID, aVersion);
+        } finally {
+            this.generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+        final var current = this.generation.get();
+        final var cached = cached(aQuery, current);
+        if (cached != null) {
+            return aggregates(cached);
+        }
+
+        final var aPage = this.delegate.findAll(aQuery);
+        store(aQuery, current, snapshots(aPage));
+        return aPage;
+    }
+
+    @Override
+    public Pagination<CategorySnapshot> findAllSnapshots(final CategorySearchQuery aQuery) {
+        final var current = this.generation.get();
+        final var cached = cached(aQuery, current);
+        if (cached != null) {
+            return cached;
+        }
+
+        final var aPage = this.delegate.findAllSnapshots(aQuery);
+        store(aQuery, current, aPage);
+        return aPage;
+    }
+
+    @Override
+    public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+        return this.delegate.findAll(aQuery);
+    }
+
+    @Override
+    public CategoryCounts counts() {
+        return this.delegate.counts();
+    }
+
+    @Override
+    public long estimateCount(final String terms) {
+        return this.delegate.estimateCount(terms);
+    }
+
+    @Override
+    public Stream<CategorySnapshot> streamAll(final CategoryStreamQuery aQuery) {
+        return this.delegate.streamAll(aQuery);
+    }
+
+    public CategoryChangePage findChanges(final CategoryChangeQuery aQuery) {
+        return CategoryCapabilities.of(this.delegate, CategoryChangeSource.class).findChanges(aQuery);
+    }
+
+    public List<CategorySnapshot> suggest(final CategorySuggestQuery aQuery) {
+        return CategoryCapabilities.of(this.delegate, CategorySuggestionSource.class).suggest(aQuery);
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), this.entries.size());
+    }
+
+    private Pagination<CategorySnapshot> cached(final CategorySearchQuery aQuery, final long current) {
+        final var cached = this.entries.get(aQuery);
+        if (cached != null && cached.generation == current) {
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            this.hits.increment();
+            return cached.page;
+        }
+        this.misses.increment();
+        return null;
+    }
+
+    private void store(final CategorySearchQuery aQuery, final long current, final Pagination<CategorySnapshot> aPage) {
+        this.evictionLock.lock();
+        try {
+            final var isNew = !this.entries.containsKey(aQuery);
+            this.entries.merge(aQuery, new Entry(current, aPage), (previous, loaded) -> previous.generation > loaded.generation ? previous : loaded);
+            if (isNew) {
+                this.clock.offer(aQuery);
+            }
+            while (this.entries.size() > this.maximumSize) {
+                final var aCandidate = this.clock.poll();
+                final var anEntry = this.entries.get(aCandidate);
+                if (anEntry.referenced) {
+                    anEntry.referenced = false;
+                    this.clock.offer(aCandidate);
+                } else {
+                    this.entries.remove(aCandidate);
+                    this.evictions.increment();
+                }
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private static Pagination<CategorySnapshot> snapshots(final Pagination<Category> aPage) {
+        return new Pagination<>(
+                aPage.currentPage(),
+                aPage.perPage(),
+                aPage.total(),
+                aPage.items().stream().map(Category::snapshot).toList()
+        );
+    }
+
+    private static Pagination<Category> aggregates(final Pagination<CategorySnapshot> aPage) {
+        return new Pagination<>(
+                aPage.currentPage(),
+                aPage.perPage(),
+                aPage.total(),
+                aPage.items().stream().map(Category::with).toList()
+        );
+    }
+
+    private static final class Entry {
+
+        private final long generation;
+        private final Pagination<CategorySnapshot> page;
+        private volatile boolean referenced;
+
+        private Entry(final long aGeneration, final Pagination<CategorySnapshot> aPage) {
+            this.generation = aGeneration;
+            this.page = aPage;
+        }
+    }
+
+    /**
+     * The query cache of a {@link CategoryStore}, declaring the capabilities its delegate has.
+     */
+    public static class Store extends CategoryQueryCacheGateway implements CategoryStore {
+
+        public Store(final CategoryStore aDelegate, final int maximumSize) {
+            super(aDelegate, maximumSize);
+        }
+    }
+}
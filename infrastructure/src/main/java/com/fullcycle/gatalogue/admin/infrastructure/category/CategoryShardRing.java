@@ -0,0 +1,77 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+
+import java.util.Arrays;
+
+/**
+ * Consistent hash ring placing every {@link CategoryID} on one of {@code shards} shards.
+ *
+ * Each shard owns {@code virtualNodes} points of a 64-bit ring, and an id belongs to the shard
+ * owning the first point at or after its hash, so load evens out within a few percent. The
+ * points of a shard depend only on its index, so a ring with one more shard keeps every point
+ * of the smaller one and only the ids landing on the new points move, about 1 / shards of them.
+ */
+final class CategoryShardRing {
+
+    static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final long[] points;
+    private final int[] owners;
+    private final int shards;
+
+    CategoryShardRing(final int shards, final int virtualNodes) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("'shards' should be greater than zero");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("'virtualNodes' should be greater than zero");
+        }
+        final var nodes = new long[shards * virtualNodes][];
+        for (int shard = 0, i = 0; shard < shards; shard++) {
+            for (int node = 0; node < virtualNodes; node++, i++) {
+                nodes[i] = new long[]{mix(((long) shard << 32) | node), shard};
+            }
+        }
+        Arrays.sort(nodes, (left, right) -> Long.compareUnsigned(left[0], right[0]));
+        this.points = new long[nodes.length];
+        this.owners = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            this.points[i] = nodes[i][0];
+            this.owners[i] = (int) nodes[i][1];
+        }
+        this.shards = shards;
+    }
+
+    int shards() {
+        return this.shards;
+    }
+
+    int shardOf(final CategoryID anID) {
+        final var aHash = mix(anID.getMostSigBits() ^ mix(anID.getLeastSigBits()));
+        var low = 0;
+        var high = this.points.length;
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(this.points[middle], aHash) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return this.owners[low == this.points.length ? 0 : low];
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3, which spreads sequential or time-ordered ids evenly.
+     */
+    private static long mix(final long aValue) {
+        var h = aValue;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
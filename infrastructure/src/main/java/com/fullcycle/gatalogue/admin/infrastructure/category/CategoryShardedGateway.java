@@ -0,0 +1,506 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChange;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangePage;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import com.fullcycle.catalogue.admin.domain.validation.Error;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link CategoryGateway} partitioned over several shard gateways, for catalogues that outgrow
+ * one store.
+ *
+ * Every call about one category goes to the shard a {@link CategoryShardRing} picks for its id.
+ * Listings, counts and change feeds ask every shard at once on a fan-out pool and merge the
+ * answers on the calling thread, which also queries one shard itself.
+ *
+ * An offset page asks each shard for everything up to the end of the page and k-way merges the
+ * sorted answers, so page {@code p} costs {@code (p + 1) * perPage} rows per shard; cursor
+ * listings only ever ask for one page per shard and should be preferred for deep reads. Cursors
+ * are passed to every shard as they are, so the shards must be gateways of this package. Ranked
+ * term searches cannot be merged by score, since each shard scores against its own statistics,
+ * and are interleaved by rank instead.
+ *
+ * Streams merge the shard streams lazily and are never consistent across shards. A change feed
+ * page asks every shard for up to {@code limit} changes, merges them by the time of the write
+ * while keeping the order of each shard, and returns the first {@code limit}. Only the order
+ * within a shard is guaranteed: shard sequences do not compare, and the times come from the
+ * writers' clocks. Its token holds the token of every shard, moved only past the changes that
+ * made it into the page. Suggestions take the first {@code limit} of every shard and merge them
+ * in the order of {@link CategoryPrefixIndex}.
+ */
+public class CategoryShardedGateway implements CategoryStore, AutoCloseable {
+
+    private static final String TOKEN_PREFIX = "shards";
+    private static final char SEPARATOR = '\n';
+
+    private final List<CategoryStore> shards;
+    private final CategoryShardRing ring;
+    private final ExecutorService fanOut;
+
+    public CategoryShardedGateway(final List<? extends CategoryStore> aShards) {
+        this(aShards, CategoryShardRing.DEFAULT_VIRTUAL_NODES);
+    }
+
+    public CategoryShardedGateway(final List<? extends CategoryStore> aShards, final int virtualNodes) {
+        if (aShards.isEmpty()) {
+            throw new IllegalArgumentException("'shards' should not be empty");
+        }
+        this.shards = List.copyOf(aShards);
+        this.ring = new CategoryShardRing(this.shards.size(), virtualNodes);
+        this.fanOut = this.shards.size() == 1 ? null : Executors.newFixedThreadPool(this.shards.size() - 1, aRunnable -> {
+            final var aThread = new Thread(aRunnable, "category-shard-fan-out");
+            aThread.setDaemon(true);
+            return aThread;
+        });
+    }
+
+    @Override
+    public Category create(final Category aCategory) {
+        return shardOf(aCategory).create(aCategory);
+    }
+
+    /**
+     * Splits the batch by shard, writes the parts in parallel and returns the created categories
+     * in the order they were given.
+     */
+    @Override
+    public List<Category> createAll(final List<Category> categories) {
+        final var batches = new ArrayList<List<Integer>>(this.shards.size());
+        for (int i = 0; i < this.shards.size(); i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (int i = 0; i < categories.size(); i++) {
+            batches.get(this.ring.shardOf(categories.get(i).getId())).add(i);
+        }
+
+        final var results = fanOut(i -> batches.get(i).isEmpty()
+                ? List.<Category>of()
+                : this.shards.get(i).createAll(batches.get(i).stream().map(categories::get).toList()));
+        final var created = new Category[categories.size()];
+        for (int i = 0; i < this.shards.size(); i++) {
+            final var positions = batches.get(i);
+            for (int j = 0; j < positions.size(); j++) {
+                created[positions.get(j)] = results.get(i).get(j);
+            }
+        }
+        return List.of(created);
+    }
+
+    @Override
+    public void deleteById(final CategoryID anID) {
+        shardOf(anID).deleteById(anID);
+    }
+
+    @Override
+    public void compareAndDeleteById(final CategoryID anID, final long aVersion) {
+        shardOf(anID).compareAndDeleteById(anID, aVersion);
+    }
+
+    @Override
+    public Optional<Category> findById(final CategoryID anID) {
+        return shardOf(anID).findById(anID);
+    }
+
+    @Override
+    public Optional<CategorySnapshot> findSnapshotById(final CategoryID anID) {
+        return shardOf(anID).findSnapshotById(anID);
+    }
+
+    @Override
+    public Category update(final Category aCategory) {
+        return shardOf(aCategory).update(aCategory);
+    }
+
+    @Override
+    public Category compareAndUpdate(final Category aCategory) {
+        return shardOf(aCategory).compareAndUpdate(aCategory);
+    }
+
+    @Override
+    public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+        return page(aQuery, Category::with);
+    }
+
+    @Override
+    public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+        return page(aQuery, Category::with);
+    }
+
+    @Override
+    public Pagination<CategorySnapshot> findAllSnapshots(final CategorySearchQuery aQuery) {
+        return page(aQuery, Function.identity());
+    }
+
+    @Override
+    public CursorPagination<CategorySnapshot> findAllSnapshots(final CategoryCursorQuery aQuery) {
+        return page(aQuery, Function.identity());
+    }
+
+    @Override
+    public CategoryCounts counts() {
+        var total = 0L;
+        var active = 0L;
+        var deleted = 0L;
+        for (final var aCounts : fanOut(i -> this.shards.get(i).counts())) {
+            total += aCounts.total();
+            active += aCounts.active();
+            deleted += aCounts.deleted();
+        }
+        return new CategoryCounts(total, active, deleted);
+    }
+
+    @Override
+    public long estimateCount(final String terms) {
+        return fanOut(i -> this.shards.get(i).estimateCount(terms)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public Stream<CategorySnapshot> streamAll(final CategoryStreamQuery aQuery) {
+        if (aQuery.consistent()) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " does not support consistent streams");
+        }
+        final var streams = new ArrayList<Stream<CategorySnapshot>>(this.shards.size());
+        try {
+            for (final var aShard : this.shards) {
+                streams.add(aShard.streamAll(aQuery));
+            }
+        } catch (final RuntimeException | java.lang.Error e) {
+            streams.forEach(Stream::close);
+            throw e;
+        }
+        final var merged = merge(streams.stream().map(Stream::iterator).toList(), order(aQuery.terms(), aQuery.sort(), aQuery.direction()));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> streams.forEach(Stream::close));
+    }
+
+    /**
+     * Changes of one shard come in the order of that shard's sequence. Across shards they are
+     * interleaved by {@code updateAt}, which is stamped by whichever writer made the change, so
+     * clock skew between writers can put a change before one from another shard that happened
+     * earlier. Readers that need a causal order across categories should not rely on it; each
+     * category lives on one shard, so the changes of one category are always in order.
+     *
+     * A removal carries no state to take a time from, so it keeps the time of the change before
+     * it in its shard, or sorts first when it heads the shard page.
+     */
+    @Override
+    public CategoryChangePage findChanges(final CategoryChangeQuery aQuery) {
+        final var tokens = decodeTokens(aQuery.token());
+        final var limit = Math.max(aQuery.limit(), 0);
+        final var pages = fanOut(i -> this.shards.get(i).findChanges(new CategoryChangeQuery(tokens.get(i), limit)));
+
+        final var heads = new PriorityQueue<ChangeHead>(pages.size(), Comparator.comparing(ChangeHead::time).thenComparingInt(ChangeHead::source));
+        for (int i = 0; i < pages.size(); i++) {
+            if (!pages.get(i).items().isEmpty()) {
+                heads.add(ChangeHead.of(pages.get(i).items(), 0, i, Instant.MIN));
+            }
+        }
+        final var items = new ArrayList<CategoryChange>(Math.min(limit, 1_024));
+        final var taken = new int[pages.size()];
+        while (items.size() < limit && !heads.isEmpty()) {
+            final var aHead = heads.poll();
+            final var shardItems = pages.get(aHead.source()).items();
+            items.add(shardItems.get(aHead.index()));
+            taken[aHead.source()]++;
+            if (aHead.index() + 1 < shardItems.size()) {
+                heads.add(ChangeHead.of(shardItems, aHead.index() + 1, aHead.source(), aHead.time()));
+            }
+        }
+
+        final var nextTokens = new ArrayList<String>(pages.size());
+        var hasMore = !heads.isEmpty();
+        for (int i = 0; i < pages.size(); i++) {
+            final var aPage = pages.get(i);
+            hasMore |= aPage.hasMore();
+            nextTokens.add(nextToken(tokens.get(i), aPage, taken[i]));
+        }
+        return new CategoryChangePage(aQuery.token(), items, encodeTokens(nextTokens), hasMore);
+    }
+
+    @Override
+    public List<CategorySnapshot> suggest(final CategorySuggestQuery aQuery) {
+        final var suggestions = fanOut(i -> this.shards.get(i).suggest(aQuery));
+        final var merged = merge(suggestions.stream().map(List::iterator).toList(), CategoryPrefixIndex.ORDER);
+        final var items = new ArrayList<CategorySnapshot>(Math.max(aQuery.limit(), 0));
+        while (merged.hasNext() && items.size() < aQuery.limit()) {
+            items.add(merged.next());
+        }
+        return items;
+    }
+
+    public int shards() {
+        return this.shards.size();
+    }
+
+    /**
+     * Stops the fan-out pool. The shards are left open, they belong to the caller.
+     */
+    @Override
+    public void close() {
+        if (this.fanOut != null) {
+            this.fanOut.shutdown();
+        }
+    }
+
+    /**
+     * The shard token after the first {@code taken} changes of its page: the page token when all
+     * of them made it, the token it was asked with when none did.
+     */
+    private static String nextToken(final String aToken, final CategoryChangePage aPage, final int taken) {
+        if (taken == aPage.items().size()) {
+            return aPage.nextToken();
+        }
+        if (taken == 0) {
+            return aToken;
+        }
+        final var aHorizon = CategoryChangeToken.decode(aPage.nextToken()).horizon();
+        return new CategoryChangeToken(aPage.items().get(taken - 1).sequence(), aHorizon).encode();
+    }
+
+    private CategoryStore shardOf(final Category aCategory) {
+        Objects.requireNonNull(aCategory, "'category' should not be null");
+        return shardOf(aCategory.getId());
+    }
+
+    private CategoryStore shardOf(final CategoryID anID) {
+        return this.shards.get(this.ring.shardOf(anID));
+    }
+
+    private <T> Pagination<T> page(final CategorySearchQuery aQuery, final Function<CategorySnapshot, T> anItem) {
+        final var perPage = Math.max(aQuery.perPage(), 0);
+        final var offset = CategoryPages.offset(aQuery);
+        final var window = (int) Math.min(offset + perPage, Integer.MAX_VALUE);
+        final var aShardQuery = new CategorySearchQuery(0, window, aQuery.terms(), aQuery.sort(), aQuery.direction());
+        final var pages = fanOut(i -> this.shards.get(i).findAllSnapshots(aShardQuery));
+
+        final var total = pages.stream().mapToLong(Pagination::total).sum();
+        final var merged = merge(
+                pages.stream().map(aPage -> aPage.items().iterator()).toList(),
+                order(aQuery.terms(), aQuery.sort(), aQuery.direction())
+        );
+        for (long i = 0; i < offset && merged.hasNext(); i++) {
+            merged.next();
+        }
+        return CategoryPages.offset(merged, total, aQuery, anItem);
+    }
+
+    /**
+     * Every shard returns the page after the same cursor, so the merged page is the first
+     * {@code perPage} of their union, and there is more whenever anything was left out of it.
+     */
+    private <T> CursorPagination<T> page(final CategoryCursorQuery aQuery, final Function<CategorySnapshot, T> anItem) {
+        final var aField = CategorySortField.from(aQuery.sort());
+        final var descending = CategorySortField.isDescending(aQuery.direction());
+        final var pages = fanOut(i -> this.shards.get(i).findAllSnapshots(aQuery));
+
+        final var comparator = descending ? aField.comparator().reversed() : aField.comparator();
+        final var merged = merge(pages.stream().map(aPage -> aPage.items().iterator()).toList(), comparator);
+        final var perPage = Math.max(aQuery.perPage(), 0);
+        final var items = new ArrayList<T>(perPage);
+        CategorySnapshot last = null;
+        while (merged.hasNext() && items.size() < perPage) {
+            last = merged.next();
+            items.add(anItem.apply(last));
+        }
+
+        final var hasMore = merged.hasNext() || pages.stream().anyMatch(CursorPagination::hasNext);
+        final var nextCursor = last != null && hasMore ? CategoryCursor.of(last, aField, descending).encode() : null;
+        return new CursorPagination<>(aQuery.cursor(), perPage, items, nextCursor);
+    }
+
+    /**
+     * The order the shards return a listing in, or null when it is ranked by relevance.
+     */
+    private static Comparator<CategorySnapshot> order(final String terms, final String aSort, final String aDirection) {
+        if (terms != null && !CategoryTokenizer.tokenize(terms).isEmpty() && CategorySortField.isRelevance(aSort)) {
+            return null;
+        }
+        final var comparator = CategorySortField.from(aSort).comparator();
+        return CategorySortField.isDescending(aDirection) ? comparator.reversed() : comparator;
+    }
+
+    /**
+     * K-way merge of sources already in the given order, through a heap of their heads, ties
+     * going to the lower shard. Without an order the sources are interleaved one item at a time.
+     */
+    private static Iterator<CategorySnapshot> merge(final List<Iterator<CategorySnapshot>> sources, final Comparator<CategorySnapshot> anOrder) {
+        if (sources.size() == 1) {
+            return sources.get(0);
+        }
+        if (anOrder == null) {
+            return interleave(sources);
+        }
+        final var heads = new PriorityQueue<Head>(sources.size(), Comparator.<Head, CategorySnapshot>comparing(Head::item, anOrder).thenComparingInt(Head::source));
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).hasNext()) {
+                heads.add(new Head(sources.get(i).next(), i));
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public CategorySnapshot next() {
+                final var aHead = heads.poll();
+                if (aHead == null) {
+                    throw new NoSuchElementException();
+                }
+                final var aSource = sources.get(aHead.source());
+                if (aSource.hasNext()) {
+                    heads.add(new Head(aSource.next(), aHead.source()));
+                }
+                return aHead.item();
+            }
+        };
+    }
+
+    private static Iterator<CategorySnapshot> interleave(final List<Iterator<CategorySnapshot>> sources) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                for (int i = 0; i < sources.size(); i++) {
+                    if (sources.get((this.next + i) % sources.size()).hasNext()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public CategorySnapshot next() {
+                for (int i = 0; i < sources.size(); i++) {
+                    final var aSource = sources.get(this.next);
+                    this.next = (this.next + 1) % sources.size();
+                    if (aSource.hasNext()) {
+                        return aSource.next();
+                    }
+                }
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    /**
+     * Runs the call against every shard, one on the calling thread and the others on the fan-out
+     * pool, and returns the results in shard order.
+     */
+    private <T> List<T> fanOut(final ShardCall<T> aCall) {
+        if (this.fanOut == null) {
+            return List.of(aCall.apply(0));
+        }
+        final var futures = new ArrayList<Future<T>>(this.shards.size() - 1);
+        for (int i = 1; i < this.shards.size(); i++) {
+            final var shard = i;
+            futures.add(this.fanOut.submit(() -> aCall.apply(shard)));
+        }
+        final var results = new ArrayList<T>(this.shards.size());
+        try {
+            results.add(aCall.apply(0));
+            for (final var aFuture : futures) {
+                results.add(aFuture.get());
+            }
+        } catch (final ExecutionException e) {
+            futures.forEach(aFuture -> aFuture.cancel(true));
+            if (e.getCause() instanceof RuntimeException aCause) {
+                throw aCause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            futures.forEach(aFuture -> aFuture.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final RuntimeException | java.lang.Error e) {
+            futures.forEach(aFuture -> aFuture.cancel(true));
+            throw e;
+        }
+        return results;
+    }
+
+    private List<String> decodeTokens(final String aToken) {
+        final var tokens = new ArrayList<String>(this.shards.size());
+        if (aToken == null || aToken.isBlank()) {
+            for (int i = 0; i < this.shards.size(); i++) {
+                tokens.add(null);
+            }
+            return tokens;
+        }
+        try {
+            final var parts = new String(Base64.getUrlDecoder().decode(aToken), StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR), -1);
+            if (!TOKEN_PREFIX.equals(parts[0]) || parts.length != this.shards.size() + 1) {
+                throw invalidToken();
+            }
+            for (int i = 1; i < parts.length; i++) {
+                tokens.add(parts[i].isEmpty() ? null : parts[i]);
+            }
+            return tokens;
+        } catch (final IllegalArgumentException e) {
+            throw invalidToken();
+        }
+    }
+
+    private static String encodeTokens(final List<String> tokens) {
+        final var raw = new StringBuilder(TOKEN_PREFIX);
+        for (final var aToken : tokens) {
+            raw.append(SEPARATOR).append(aToken == null ? "" : aToken);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static DomainException invalidToken() {
+        return DomainException.with(new Error("'token' is not a change feed token for this number of shards"));
+    }
+
+    @FunctionalInterface
+    private interface ShardCall<T> {
+        T apply(int shard);
+    }
+
+    private record Head(CategorySnapshot item, int source) {
+    }
+
+    private record ChangeHead(Instant time, int source, int index) {
+
+        static ChangeHead of(final List<CategoryChange> items, final int index, final int source, final Instant previous) {
+            final var aCategory = items.get(index).category();
+            return new ChangeHead(aCategory == null ? previous : aCategory.updateAt(), source, index);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+
+import java.util.Comparator;
+
+enum CategorySortField {
+
+    NAME("name", Comparator.comparing(CategorySnapshot::name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))),
+    CREATE_AT("createAt", Comparator.comparing(CategorySnapshot::createAt)),
+    UPDATE_AT("updateAt", Comparator.comparing(CategorySnapshot::updateAt));
+
+    private final String field;
+    private final Comparator<CategorySnapshot> comparator;
+
+    CategorySortField(final String aField, final Comparator<CategorySnapshot> aComparator) {
+        this.field = aField;
+        this.comparator = aComparator.thenComparing(CategorySnapshot::id);
+    }
+
+    public static CategorySortField from(final String aSort) {
+        if (aSort == null || aSort.isBlank()) {
+            return NAME;
+        }
+        for (final var aField : values()) {
+            if (aField.field.equalsIgnoreCase(aSort.trim())) {
+                return aField;
+            }
+        }
+        return NAME;
+    }
+
+    public static boolean isRelevance(final String aSort) {
+        return aSort == null || aSort.isBlank() || "relevance".equalsIgnoreCase(aSort.trim());
+    }
+
+    public static boolean isDescending(final String aDirection) {
+        return aDirection != null && "desc".equalsIgnoreCase(aDirection.trim());
+    }
+
+    public String field() {
+        return field;
+    }
+
+    public Comparator<CategorySnapshot> comparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,260 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Categories ordered by one {@link CategorySortField}, kept in a skip list that every write
+ * updates in O(log n) instead of sorting on read. A page walks only its window from the head,
+ * the tail or the cursor position, in either direction.
+ *
+ * Walking to a deep offset costs O(offset), so offsets past {@value #WALK_LIMIT} first ask a
+ * {@link Ranks} order-statistic index for the key at that rank and walk the skip list from
+ * there. Writes only queue the keys they add and remove for it, without a lock, and the queue is
+ * applied by the next deep read, or by a writer once {@value #DRAIN_THRESHOLD} are pending, at
+ * O(log n) plus a shift within one block each, so a write never invalidates more than its own
+ * key.
+ *
+ * Updates for one category must be serialized by the caller. A category whose sort key changed
+ * is removed before it is added back, so a concurrent walk may miss it but never sees it twice.
+ */
+final class CategorySortedIndex {
+
+    static final int WALK_LIMIT = 4_096;
+    static final int DRAIN_THRESHOLD = 4_096;
+
+    private final ConcurrentSkipListMap<CategorySnapshot, CategorySnapshot> entries;
+    private final ConcurrentLinkedQueue<Delta> deltas;
+    private final AtomicInteger pending;
+    private final ReentrantLock ranksLock;
+    private final Ranks ranks;
+
+    CategorySortedIndex(final CategorySortField aField) {
+        this.entries = new ConcurrentSkipListMap<>(aField.comparator());
+        this.deltas = new ConcurrentLinkedQueue<>();
+        this.pending = new AtomicInteger();
+        this.ranksLock = new ReentrantLock();
+        this.ranks = new Ranks(aField.comparator());
+    }
+
+    /**
+     * Moves a category from its previous position to its new one. Either side is null for a
+     * create or a delete. Keys compare by sort key and id, so a write that keeps the sort key
+     * only swaps the stored snapshot in place and leaves the ranks alone.
+     */
+    void update(final CategorySnapshot previous, final CategorySnapshot next) {
+        final var moved = previous == null || next == null || this.entries.comparator().compare(previous, next) != 0;
+        if (!moved) {
+            this.entries.put(next, next);
+            return;
+        }
+        var queued = 0;
+        if (previous != null) {
+            this.entries.remove(previous);
+            this.deltas.offer(new Delta(previous, false));
+            queued++;
+        }
+        if (next != null) {
+            this.entries.put(next, next);
+            this.deltas.offer(new Delta(next, true));
+            queued++;
+        }
+        if (this.pending.addAndGet(queued) >= DRAIN_THRESHOLD && this.ranksLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                this.ranksLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Walks the categories in order starting at the given offset.
+     */
+    Iterator<CategorySnapshot> from(final long offset, final boolean descending) {
+        if (offset > WALK_LIMIT) {
+            final var aKey = keyAt(offset, descending);
+            if (aKey == null) {
+                return Collections.emptyIterator();
+            }
+            final var tail = descending
+                    ? this.entries.headMap(aKey, true).descendingMap()
+                    : this.entries.tailMap(aKey, true);
+            return tail.values().iterator();
+        }
+        final var values = descending ? this.entries.descendingMap().values() : this.entries.values();
+        final var iterator = values.iterator();
+        for (long i = 0; i < offset && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        return iterator;
+    }
+
+    /**
+     * Walks the categories in order strictly after the given position.
+     */
+    Iterator<CategorySnapshot> after(final CategorySnapshot aProbe, final boolean descending) {
+        final var tail = descending
+                ? this.entries.headMap(aProbe, false).descendingMap()
+                : this.entries.tailMap(aProbe, false);
+        return tail.values().iterator();
+    }
+
+    /**
+     * Every category in order, copied in one pass.
+     */
+    CategorySnapshot[] toArray(final boolean descending) {
+        final var values = descending ? this.entries.descendingMap().values() : this.entries.values();
+        return values.toArray(new CategorySnapshot[0]);
+    }
+
+    private CategorySnapshot keyAt(final long offset, final boolean descending) {
+        this.ranksLock.lock();
+        try {
+            drain();
+            final var size = this.ranks.size();
+            final var rank = descending ? size - 1 - offset : offset;
+            return rank < 0 || rank >= size ? null : this.ranks.get(rank);
+        } finally {
+            this.ranksLock.unlock();
+        }
+    }
+
+    /**
+     * Must hold {@code ranksLock}. Deltas of one category are queued in the order its writes
+     * were applied, so applying them in queue order leaves exactly its latest key.
+     */
+    private void drain() {
+        var applied = 0;
+        Delta aDelta;
+        while ((aDelta = this.deltas.poll()) != null) {
+            if (aDelta.added()) {
+                this.ranks.add(aDelta.key());
+            } else {
+                this.ranks.remove(aDelta.key());
+            }
+            applied++;
+        }
+        if (applied > 0) {
+            this.pending.addAndGet(-applied);
+        }
+    }
+
+    private record Delta(CategorySnapshot key, boolean added) {
+    }
+
+    /**
+     * Sorted keys packed in blocks that split in half once they pass twice {@code BLOCK_SIZE},
+     * so an insert or a removal shifts at most one block and finding a rank sums the block
+     * sizes, O(n / BLOCK_SIZE), without touching the keys.
+     */
+    private static final class Ranks {
+
+        private static final int BLOCK_SIZE = 512;
+
+        private final Comparator<CategorySnapshot> comparator;
+        private final ArrayList<Block> blocks;
+        private long size;
+
+        private Ranks(final Comparator<CategorySnapshot> aComparator) {
+            this.comparator = aComparator;
+            this.blocks = new ArrayList<>();
+        }
+
+        long size() {
+            return this.size;
+        }
+
+        CategorySnapshot get(final long rank) {
+            var remaining = rank;
+            for (final var aBlock : this.blocks) {
+                if (remaining < aBlock.size) {
+                    return aBlock.keys[(int) remaining];
+                }
+                remaining -= aBlock.size;
+            }
+            throw new IndexOutOfBoundsException(rank);
+        }
+
+        void add(final CategorySnapshot aKey) {
+            if (this.blocks.isEmpty()) {
+                this.blocks.add(new Block(new CategorySnapshot[2 * BLOCK_SIZE + 1], 0));
+            }
+            final var b = blockOf(aKey);
+            final var aBlock = this.blocks.get(b);
+            final var i = Arrays.binarySearch(aBlock.keys, 0, aBlock.size, aKey, this.comparator);
+            if (i >= 0) {
+                aBlock.keys[i] = aKey;
+                return;
+            }
+            final var at = -i - 1;
+            System.arraycopy(aBlock.keys, at, aBlock.keys, at + 1, aBlock.size - at);
+            aBlock.keys[at] = aKey;
+            aBlock.size++;
+            this.size++;
+            if (aBlock.size > 2 * BLOCK_SIZE) {
+                final var upper = new CategorySnapshot[2 * BLOCK_SIZE + 1];
+                final var moved = aBlock.size - BLOCK_SIZE;
+                System.arraycopy(aBlock.keys, BLOCK_SIZE, upper, 0, moved);
+                Arrays.fill(aBlock.keys, BLOCK_SIZE, aBlock.size, null);
+                aBlock.size = BLOCK_SIZE;
+                this.blocks.add(b + 1, new Block(upper, moved));
+            }
+        }
+
+        void remove(final CategorySnapshot aKey) {
+            if (this.blocks.isEmpty()) {
+                return;
+            }
+            final var b = blockOf(aKey);
+            final var aBlock = this.blocks.get(b);
+            final var i = Arrays.binarySearch(aBlock.keys, 0, aBlock.size, aKey, this.comparator);
+            if (i < 0) {
+                return;
+            }
+            System.arraycopy(aBlock.keys, i + 1, aBlock.keys, i, aBlock.size - i - 1);
+            aBlock.keys[--aBlock.size] = null;
+            this.size--;
+            if (aBlock.size == 0 && this.blocks.size() > 1) {
+                this.blocks.remove(b);
+            }
+        }
+
+        /**
+         * The last block whose first key is not after the given one, or the first block.
+         */
+        private int blockOf(final CategorySnapshot aKey) {
+            var low = 0;
+            var high = this.blocks.size() - 1;
+            while (low < high) {
+                final var middle = (low + high + 1) >>> 1;
+                if (this.comparator.compare(this.blocks.get(middle).keys[0], aKey) <= 0) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class Block {
+
+        private final CategorySnapshot[] keys;
+        private int size;
+
+        private Block(final CategorySnapshot[] aKeys, final int aSize) {
+            this.keys = aKeys;
+            this.size = aSize;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeSource;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestionSource;
+import com.fullcycle.catalogue.admin.domain.category.VersionedCategoryGateway;
+
+/**
+ * A {@link VersionedCategoryGateway} that also keeps a change feed and a prefix index, as every
+ * storage of this package does. Each decorator has a {@code Store} variant that takes one as its
+ * delegate and declares the same capabilities, while the decorator itself takes any gateway.
+ */
+public interface CategoryStore extends VersionedCategoryGateway, CategoryChangeSource, CategorySuggestionSource {
+}
@@ -0,0 +1,64 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The point in time a consistent stream was opened at, for gateways whose writers keep going
+ * while the stream copies its rows.
+ *
+ * A gateway registers the pin while it holds writers off, which takes O(1), and from then on
+ * every write first hands the pin the state it is about to replace, or null for a create, and
+ * only the first write of each category is kept. The stream then copies the sorted index without
+ * holding anyone off and {@link #rows(CategorySnapshot[], Comparator)} swaps every category
+ * written since for its pinned state. A write reaches the pin before the index, so a row the copy
+ * took from a later write is always replaced.
+ */
+final class CategoryStreamPin {
+
+    private final ConcurrentHashMap<CategoryID, Optional<CategorySnapshot>> before;
+
+    CategoryStreamPin() {
+        this.before = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Must be called by every write made while the pin is registered, before it touches any index.
+     */
+    void remember(final CategoryID anID, final CategorySnapshot previous) {
+        this.before.putIfAbsent(anID, Optional.ofNullable(previous));
+    }
+
+    /**
+     * The rows as of the pin, from a copy of the sorted index taken after it was registered.
+     */
+    List<CategorySnapshot> rows(final CategorySnapshot[] copied, final Comparator<CategorySnapshot> anOrder) {
+        final var written = new HashMap<>(this.before);
+        final var pinned = new ArrayList<CategorySnapshot>(written.size());
+        for (final var aState : written.values()) {
+            aState.ifPresent(pinned::add);
+        }
+        pinned.sort(anOrder);
+
+        final var rows = new ArrayList<CategorySnapshot>(copied.length + pinned.size());
+        var next = 0;
+        for (final var aCategory : copied) {
+            if (written.containsKey(aCategory.id())) {
+                continue;
+            }
+            while (next < pinned.size() && anOrder.compare(pinned.get(next), aCategory) < 0) {
+                rows.add(pinned.get(next++));
+            }
+            rows.add(aCategory);
+        }
+        rows.addAll(pinned.subList(next, pinned.size()));
+        return rows;
+    }
+}
@@ -0,0 +1,263 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inverted index over {@link CategorySnapshot#name()} and {@link CategorySnapshot#description()}.
+ *
+ * Every token points to the categories containing it with a weight, where a name hit counts
+ * more than a description hit. Query tokens match whole tokens, and from
+ * {@value #MIN_PREFIX_LENGTH} characters on token prefixes too, so a one or two letter token never
+ * expands to a large share of the vocabulary. All query tokens must match, and results are scored
+ * with a tf-idf style sum so the caller can rank them.
+ *
+ * A forward entry per category keeps its token weights, used both to diff updates and to check
+ * candidates without walking postings.
+ *
+ * The index is maintained incrementally: {@link #update(CategorySnapshot, CategorySnapshot)} only touches the
+ * postings whose weight changed, so saving an activated or deactivated category costs nothing.
+ */
+final class CategoryTermIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_FACTOR = 0.5;
+    static final int MIN_PREFIX_LENGTH = 3;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<CategoryID, Integer>> postings;
+    private final ConcurrentHashMap<CategoryID, Map<String, Integer>> forward;
+    private final ConcurrentSkipListSet<String> vocabulary;
+    private final AtomicLong documents;
+
+    public CategoryTermIndex() {
+        this.postings = new ConcurrentHashMap<>();
+        this.forward = new ConcurrentHashMap<>();
+        this.vocabulary = new ConcurrentSkipListSet<>();
+        this.documents = new AtomicLong();
+    }
+
+    /**
+     * Must be called while the caller holds the write for the category id, so two updates of the
+     * same category are never applied out of order.
+     */
+    public void update(final CategorySnapshot previous, final CategorySnapshot current) {
+        if (previous == null && current == null) {
+            return;
+        }
+        if (previous == null) {
+            this.documents.incrementAndGet();
+        } else if (current == null) {
+            this.documents.decrementAndGet();
+        } else if (Objects.equals(previous.name(), current.name())
+                && Objects.equals(previous.description(), current.description())) {
+            return;
+        }
+
+        final var anID = previous != null ? previous.id() : current.id();
+        final var before = this.forward.getOrDefault(anID, Map.of());
+        final var after = current == null ? Map.<String, Integer>of() : Map.copyOf(weights(current));
+        if (after.isEmpty()) {
+            this.forward.remove(anID);
+        } else {
+            this.forward.put(anID, after);
+        }
+
+        before.forEach((token, weight) -> {
+            if (!after.containsKey(token)) {
+                unpost(token, anID);
+            }
+        });
+        after.forEach((token, weight) -> {
+            if (!weight.equals(before.get(token))) {
+                post(token, anID, weight);
+            }
+        });
+    }
+
+    /**
+     * Returns the categories matching every token of the terms with their relevance score,
+     * or null when the terms hold no searchable token.
+     *
+     * Only the most selective token is resolved through its postings, the others are checked
+     * against the forward entry of each candidate, so a broad token never gets materialized
+     * next to a narrow one.
+     */
+    public Map<CategoryID, Double> search(final String terms) {
+        final var tokens = CategoryTokenizer.tokenize(terms);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        final var expansions = new ArrayList<Expansion>(tokens.size());
+        for (final var aToken : tokens) {
+            final var anExpansion = expand(aToken);
+            if (anExpansion.size() == 0) {
+                return Map.of();
+            }
+            expansions.add(anExpansion);
+        }
+        expansions.sort(Comparator.comparingLong(Expansion::size));
+
+        final var results = new HashMap<CategoryID, Double>((int) Math.min(expansions.get(0).size() * 4 / 3 + 1, Integer.MAX_VALUE));
+        expansions.get(0).scores().forEach((aToken, aScore) -> {
+            final var aPosting = this.postings.get(aToken);
+            if (aPosting != null) {
+                aPosting.forEach((anID, weight) -> results.merge(anID, weight * aScore, Math::max));
+            }
+        });
+
+        for (final var anExpansion : expansions.subList(1, expansions.size())) {
+            final var iterator = results.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final var anEntry = iterator.next();
+                final var aScore = score(this.forward.get(anEntry.getKey()), anExpansion);
+                if (aScore == 0) {
+                    iterator.remove();
+                } else {
+                    anEntry.setValue(anEntry.getValue() + aScore);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * An upper bound of how many categories {@link #search(String)} would return, or -1 when the
+     * terms hold no searchable token. Only posting sizes of the most selective token are summed,
+     * nothing is intersected or scored, and a category holding several of its expansions is
+     * counted once per expansion.
+     */
+    public long estimate(final String terms) {
+        final var tokens = CategoryTokenizer.tokenize(terms);
+        if (tokens.isEmpty()) {
+            return -1;
+        }
+        var best = Long.MAX_VALUE;
+        for (final var aToken : tokens) {
+            var size = 0L;
+            for (final var anIndexed : expansions(aToken)) {
+                final var aPosting = this.postings.get(anIndexed);
+                size += aPosting == null ? 0 : aPosting.size();
+                if (size >= best) {
+                    break;
+                }
+            }
+            best = Math.min(best, size);
+        }
+        return best;
+    }
+
+    public static List<CategoryID> ranked(final Map<CategoryID, Double> scores) {
+        final var ids = new ArrayList<>(scores.keySet());
+        ids.sort(Comparator.<CategoryID>comparingDouble(scores::get).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return ids;
+    }
+
+    /**
+     * The first {@code limit} ids in {@link #ranked(Map)} order, kept in a bounded heap rather than
+     * sorting every score.
+     */
+    public static List<CategoryID> top(final Map<CategoryID, Double> scores, final int limit) {
+        final var order = Map.Entry.<CategoryID, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        final var heap = new PriorityQueue<Map.Entry<CategoryID, Double>>(Math.min(limit, scores.size()) + 1, order.reversed());
+        for (final var anEntry : scores.entrySet()) {
+            if (heap.size() < limit) {
+                heap.offer(anEntry);
+            } else if (limit > 0 && order.compare(anEntry, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(anEntry);
+            }
+        }
+        final var top = new ArrayList<>(heap);
+        top.sort(order);
+        return top.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private Expansion expand(final String aToken) {
+        final var documents = (double) Math.max(this.documents.get(), 1);
+        final var scores = new HashMap<String, Double>();
+        var size = 0L;
+        for (final var anIndexed : expansions(aToken)) {
+            final var aPosting = this.postings.get(anIndexed);
+            if (aPosting == null || aPosting.isEmpty()) {
+                continue;
+            }
+            final var factor = anIndexed.length() == aToken.length() ? 1.0 : PREFIX_FACTOR;
+            scores.put(anIndexed, Math.log(1.0 + documents / aPosting.size()) * factor);
+            size += aPosting.size();
+        }
+        return new Expansion(scores, size);
+    }
+
+    private NavigableSet<String> expansions(final String aToken) {
+        if (aToken.length() < MIN_PREFIX_LENGTH) {
+            return this.vocabulary.subSet(aToken, true, aToken, true);
+        }
+        return this.vocabulary.subSet(aToken, true, aToken + Character.MAX_VALUE, false);
+    }
+
+    private static double score(final Map<String, Integer> weights, final Expansion anExpansion) {
+        if (weights == null) {
+            return 0;
+        }
+        var best = 0.0;
+        for (final var anEntry : weights.entrySet()) {
+            final var aScore = anExpansion.scores().get(anEntry.getKey());
+            if (aScore != null) {
+                best = Math.max(best, anEntry.getValue() * aScore);
+            }
+        }
+        return best;
+    }
+
+    private void post(final String aToken, final CategoryID anID, final int weight) {
+        this.postings.compute(aToken, (token, aPosting) -> {
+            final var posting = aPosting != null ? aPosting : new ConcurrentHashMap<CategoryID, Integer>();
+            if (aPosting == null) {
+                this.vocabulary.add(token);
+            }
+            posting.put(anID, weight);
+            return posting;
+        });
+    }
+
+    private void unpost(final String aToken, final CategoryID anID) {
+        this.postings.computeIfPresent(aToken, (token, aPosting) -> {
+            aPosting.remove(anID);
+            if (aPosting.isEmpty()) {
+                this.vocabulary.remove(token);
+                return null;
+            }
+            return aPosting;
+        });
+    }
+
+    private static Map<String, Integer> weights(final CategorySnapshot aCategory) {
+        final var weights = new HashMap<String, Integer>();
+        for (final var aToken : CategoryTokenizer.tokenize(aCategory.name())) {
+            weights.merge(aToken, NAME_WEIGHT, Integer::sum);
+        }
+        for (final var aToken : CategoryTokenizer.tokenize(aCategory.description())) {
+            weights.merge(aToken, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return weights;
+    }
+
+    private record Expansion(Map<String, Double> scores, long size) {
+    }
+}
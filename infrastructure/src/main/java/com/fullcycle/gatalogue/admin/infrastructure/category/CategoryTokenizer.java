@@ -0,0 +1,56 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits free text into case- and accent-insensitive tokens, so "Ação" and "acao" index
+ * and match the same way.
+ */
+final class CategoryTokenizer {
+
+    private CategoryTokenizer() {
+    }
+
+    public static String normalize(final String aText) {
+        if (aText == null) {
+            return "";
+        }
+        final var decomposed = isAscii(aText) ? aText : Normalizer.normalize(aText, Normalizer.Form.NFD);
+        final var normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            final var aChar = decomposed.charAt(i);
+            if (Character.getType(aChar) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            normalized.append(Character.isLetterOrDigit(aChar) ? Character.toLowerCase(aChar) : ' ');
+        }
+        return normalized.toString();
+    }
+
+    public static List<String> tokenize(final String aText) {
+        final var normalized = normalize(aText);
+        final var tokens = new ArrayList<String>();
+        var start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            final var separator = i == normalized.length() || normalized.charAt(i) == ' ';
+            if (separator && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            } else if (!separator && start < 0) {
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isAscii(final String aText) {
+        for (int i = 0; i < aText.length(); i++) {
+            if (aText.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
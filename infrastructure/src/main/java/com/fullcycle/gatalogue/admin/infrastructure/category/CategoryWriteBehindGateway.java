@@ -0,0 +1,465 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangePage;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeSource;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestionSource;
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind buffer in front of any {@link CategoryStore}.
+ *
+ * Writes are buffered per {@link CategoryID} and only the latest state of each category is kept,
+ * so a burst of updates reaches the delegate as one write. A background worker flushes the buffer
+ * every {@code flushInterval}, or as soon as it holds {@code maxBatchSize} categories, sending
+ * creates through {@link CategoryGateway#createAll(List)} in batches of at most that size. When
+ * the delegate falls far enough behind, the writing thread runs the flush itself.
+ *
+ * {@code findById} answers from the buffer first, so a caller always reads its own writes.
+ * Listings, streams, change feeds and counts go straight to the delegate and only see a write once it has been flushed.
+ *
+ * The domain events of a buffered write are pulled off the caller's aggregate and travel with the
+ * buffered state: merged writes keep them in order and the flush registers them on the aggregate
+ * it hands the delegate, so a delegate with an outbox still relays them. An update that a delete
+ * overtakes is flushed before the delete if it carries events; a category created and deleted
+ * before any flush never reaches the delegate, and neither do its events.
+ *
+ * A write the delegate rejects is put back in the buffer and retried on the next flush.
+ * {@code compareAndUpdate} is not supported: a buffered write has no version yet to compare.
+ * {@link #close()} stops the worker, letting a flush already running finish, and flushes whatever
+ * is left before returning; from then on writes go straight to the delegate. Buffering a write and
+ * closing exclude each other, so no write lands in the buffer after the final flush, and writers
+ * that arrive while it runs wait for it rather than racing it to the delegate. Writes the delegate
+ * still rejects during that flush stay buffered until the next explicit {@link #flush()}.
+ */
+public class CategoryWriteBehindGateway implements CategoryGateway, CategoryChangeSource, CategorySuggestionSource, AutoCloseable {
+
+    private static final int BACKPRESSURE_FACTOR = 4;
+
+    private final CategoryStore delegate;
+    private final int maxBatchSize;
+    private final ConcurrentHashMap<CategoryID, Write> pending;
+    private final ConcurrentHashMap<CategoryID, Write> flushing;
+    private final ReentrantLock flushLock;
+    private final AtomicBoolean flushRequested;
+    private final ReentrantReadWriteLock closeLock;
+    private volatile boolean closed;
+    private final ScheduledExecutorService worker;
+    private final LongAdder writes;
+    private final LongAdder coalesced;
+    private final LongAdder flushed;
+    private final LongAdder flushes;
+    private final LongAdder failures;
+    private final LongAdder flushNanos;
+    private final LongAccumulator maxFlushNanos;
+
+    public CategoryWriteBehindGateway(
+            final CategoryStore aDelegate,
+            final int maxBatchSize,
+            final Duration aFlushInterval
+    ) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("'maxBatchSize' should be greater than zero");
+        }
+        this.delegate = Objects.requireNonNull(aDelegate);
+        this.maxBatchSize = maxBatchSize;
+        this.pending = new ConcurrentHashMap<>();
+        this.flushing = new ConcurrentHashMap<>();
+        this.flushLock = new ReentrantLock();
+        this.flushRequested = new AtomicBoolean();
+        this.closeLock = new ReentrantReadWriteLock();
+        this.writes = new LongAdder();
+        this.coalesced = new LongAdder();
+        this.flushed = new LongAdder();
+        this.flushes = new LongAdder();
+        this.failures = new LongAdder();
+        this.flushNanos = new LongAdder();
+        this.maxFlushNanos = new LongAccumulator(Math::max, 0);
+        this.worker = Executors.newSingleThreadScheduledExecutor(aRunnable -> {
+            final var aThread = new Thread(aRunnable, "category-write-behind");
+            aThread.setDaemon(true);
+            return aThread;
+        });
+        final var intervalNanos = aFlushInterval.toNanos();
+        this.worker.scheduleWithFixedDelay(this::flushQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Category create(final Category aCategory) {
+        return buffer(aCategory, true);
+    }
+
+    @Override
+    public List<Category> createAll(final List<Category> categories) {
+        final var created = new ArrayList<Category>(categories.size());
+        for (final var aCategory : categories) {
+            created.add(buffer(aCategory, true));
+        }
+        return created;
+    }
+
+    @Override
+    public void deleteById(final CategoryID anID) {
+        if (!write(anID, new Write(null, false, true, List.of()))) {
+            this.delegate.deleteById(anID);
+        }
+    }
+
+    @Override
+    public Optional<Category> findById(final CategoryID anID) {
+        var aWrite = this.pending.get(anID);
+        if (aWrite == null) {
+            aWrite = this.flushing.get(anID);
+        }
+        if (aWrite != null) {
+            return Optional.ofNullable(aWrite.state()).map(Category::with);
+        }
+        return this.delegate.findById(anID);
+    }
+
+    @Override
+    public Optional<CategorySnapshot> findSnapshotById(final CategoryID anID) {
+        var aWrite = this.pending.get(anID);
+        if (aWrite == null) {
+            aWrite = this.flushing.get(anID);
+        }
+        if (aWrite != null) {
+            return Optional.ofNullable(aWrite.state()).map(Category::snapshot);
+        }
+        return this.delegate.findSnapshotById(anID);
+    }
+
+    @Override
+    public Category update(final Category aCategory) {
+        return buffer(aCategory, false);
+    }
+
+    @Override
+    public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+        return this.delegate.findAll(aQuery);
+    }
+
+    @Override
+    public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+        return this.delegate.findAll(aQuery);
+    }
+
+    @Override
+    public Pagination<CategorySnapshot> findAllSnapshots(final CategorySearchQuery aQuery) {
+        return this.delegate.findAllSnapshots(aQuery);
+    }
+
+    @Override
+    public CursorPagination<CategorySnapshot> findAllSnapshots(final CategoryCursorQuery aQuery) {
+        return this.delegate.findAllSnapshots(aQuery);
+    }
+
+    @Override
+    public CategoryCounts counts() {
+        return this.delegate.counts();
+    }
+
+    @Override
+    public long estimateCount(final String terms) {
+        return this.delegate.estimateCount(terms);
+    }
+
+    @Override
+    public Stream<CategorySnapshot> streamAll(final CategoryStreamQuery aQuery) {
+        return this.delegate.streamAll(aQuery);
+    }
+
+    @Override
+    public CategoryChangePage findChanges(final CategoryChangeQuery aQuery) {
+        return this.delegate.findChanges(aQuery);
+    }
+
+    @Override
+    public List<CategorySnapshot> suggest(final CategorySuggestQuery aQuery) {
+        return this.delegate.suggest(aQuery);
+    }
+
+    /**
+     * Sends every buffered write to the delegate before returning.
+     */
+    public void flush() {
+        this.flushLock.lock();
+        try {
+            this.flushRequested.set(false);
+            while (!this.pending.isEmpty()) {
+                if (flushBatch() == 0) {
+                    return;
+                }
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closeLock.writeLock().lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            this.worker.shutdown();
+            try {
+                this.worker.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flush();
+            this.closed = true;
+        } finally {
+            this.closeLock.writeLock().unlock();
+        }
+    }
+
+    public WriteBehindStats stats() {
+        return new WriteBehindStats(
+                this.writes.sum(),
+                this.coalesced.sum(),
+                this.flushed.sum(),
+                this.flushes.sum(),
+                this.failures.sum(),
+                this.pending.size(),
+                this.flushNanos.sum(),
+                this.maxFlushNanos.get()
+        );
+    }
+
+    private Category buffer(final Category aCategory, final boolean create) {
+        Objects.requireNonNull(aCategory, "'category' should not be null");
+        final var aCopy = Category.with(aCategory);
+        if (!write(aCopy.getId(), new Write(aCopy, create, false, List.copyOf(aCategory.getDomainEvents())))) {
+            return create ? this.delegate.create(aCategory) : this.delegate.update(aCategory);
+        }
+        aCategory.pullDomainEvents();
+        return Category.with(aCopy);
+    }
+
+    /**
+     * Buffers a write unless the gateway is closed, in which case the caller writes through.
+     */
+    private boolean write(final CategoryID anID, final Write aWrite) {
+        this.closeLock.readLock().lock();
+        try {
+            if (this.closed) {
+                return false;
+            }
+            this.writes.increment();
+            this.pending.compute(anID, (id, previous) -> {
+                if (previous == null) {
+                    return aWrite;
+                }
+                this.coalesced.increment();
+                return merge(previous, aWrite);
+            });
+        } finally {
+            this.closeLock.readLock().unlock();
+        }
+
+        final var size = this.pending.size();
+        if (size >= this.maxBatchSize * BACKPRESSURE_FACTOR) {
+            flush();
+        } else if (size >= this.maxBatchSize && this.flushRequested.compareAndSet(false, true)) {
+            try {
+                this.worker.execute(this::flushQuietly);
+            } catch (final RejectedExecutionException e) {
+                flush();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A category created and deleted before reaching the delegate is dropped altogether; a
+     * category created and then updated still reaches the delegate as a create. A delete keeps
+     * the state and events of the write it overtakes.
+     */
+    private static Write merge(final Write previous, final Write next) {
+        if (next.delete()) {
+            return previous.create() ? null : new Write(previous.category(), false, true, previous.events());
+        }
+        return new Write(next.category(), previous.create() || next.create(), false, concat(previous.events(), next.events()));
+    }
+
+    private static List<DomainEvent> concat(final List<DomainEvent> first, final List<DomainEvent> second) {
+        if (first.isEmpty()) {
+            return second;
+        }
+        if (second.isEmpty()) {
+            return first;
+        }
+        final var events = new ArrayList<DomainEvent>(first.size() + second.size());
+        events.addAll(first);
+        events.addAll(second);
+        return List.copyOf(events);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (final RuntimeException e) {
+            this.failures.increment();
+        }
+    }
+
+    private int flushBatch() {
+        final var startedAt = System.nanoTime();
+        final var batch = new ArrayList<Map.Entry<CategoryID, Write>>(Math.min(this.maxBatchSize, this.pending.size()));
+        for (final var anEntry : this.pending.entrySet()) {
+            if (batch.size() >= this.maxBatchSize) {
+                break;
+            }
+            final var anID = anEntry.getKey();
+            final var aWrite = anEntry.getValue();
+            this.flushing.put(anID, aWrite);
+            if (this.pending.remove(anID, aWrite)) {
+                batch.add(Map.entry(anID, aWrite));
+            } else {
+                this.flushing.remove(anID, aWrite);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        final var creates = new ArrayList<Map.Entry<CategoryID, Write>>();
+        var applied = 0;
+        for (final var anEntry : batch) {
+            final var aWrite = anEntry.getValue();
+            if (aWrite.create()) {
+                creates.add(anEntry);
+            } else if (apply(anEntry.getKey(), aWrite)) {
+                applied++;
+            }
+        }
+        if (!creates.isEmpty()) {
+            try {
+                this.delegate.createAll(creates.stream().map(anEntry -> anEntry.getValue().aggregate()).toList());
+                creates.forEach(anEntry -> this.flushing.remove(anEntry.getKey(), anEntry.getValue()));
+                applied += creates.size();
+            } catch (final RuntimeException e) {
+                creates.forEach(anEntry -> requeue(anEntry.getKey(), anEntry.getValue()));
+            }
+        }
+
+        final var elapsed = System.nanoTime() - startedAt;
+        this.flushed.add(applied);
+        this.flushes.increment();
+        this.flushNanos.add(elapsed);
+        this.maxFlushNanos.accumulate(elapsed);
+        return applied;
+    }
+
+    private boolean apply(final CategoryID anID, final Write aWrite) {
+        try {
+            if (!aWrite.delete()) {
+                this.delegate.update(aWrite.aggregate());
+            } else {
+                if (!aWrite.events().isEmpty()) {
+                    this.delegate.update(aWrite.aggregate());
+                }
+                this.delegate.deleteById(anID);
+            }
+            this.flushing.remove(anID, aWrite);
+            return true;
+        } catch (final RuntimeException e) {
+            requeue(anID, aWrite);
+            return false;
+        }
+    }
+
+    private void requeue(final CategoryID anID, final Write aWrite) {
+        this.failures.increment();
+        this.pending.compute(anID, (id, newer) -> newer == null ? aWrite : merge(aWrite, newer));
+        this.flushing.remove(anID, aWrite);
+    }
+
+    /**
+     * {@code coalescingRatio} is the share of writes absorbed by a later write to the same id,
+     * and the flush latency is the time one batch takes to reach the delegate.
+     */
+    public record WriteBehindStats(
+            long writes,
+            long coalesced,
+            long flushed,
+            long flushes,
+            long failures,
+            long pending,
+            long flushNanos,
+            long maxFlushNanos
+    ) {
+
+        public double coalescingRatio() {
+            return writes == 0 ? 0 : (double) coalesced / writes;
+        }
+
+        public Duration averageFlushLatency() {
+            return Duration.ofNanos(flushes == 0 ? 0 : flushNanos / flushes);
+        }
+
+        public Duration maxFlushLatency() {
+            return Duration.ofNanos(maxFlushNanos);
+        }
+    }
+
+    /**
+     * The latest buffered state of a category and the events raised on the way to it. A delete
+     * keeps the state it overtook only to flush its events. Writes compare by identity, so the
+     * flush only ever removes the exact write it sent.
+     */
+    private record Write(Category category, boolean create, boolean delete, List<DomainEvent> events) {
+
+        Category state() {
+            return this.delete ? null : this.category;
+        }
+
+        Category aggregate() {
+            final var aCategory = Category.with(this.category);
+            aCategory.restoreDomainEvents(this.events);
+            return aCategory;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
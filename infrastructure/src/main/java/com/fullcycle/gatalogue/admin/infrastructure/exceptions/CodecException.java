@@ -0,0 +1,10 @@
+package com.fullcycle.gatalogue.admin.infrastructure.exceptions;
+
+import com.fullcycle.catalogue.admin.domain.exceptions.NoStackTraceExceptions;
+
+public class CodecException extends NoStackTraceExceptions {
+
+    public CodecException(final String aMessage) {
+        super(aMessage);
+    }
+}
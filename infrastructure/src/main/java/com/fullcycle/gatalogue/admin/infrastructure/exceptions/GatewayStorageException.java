@@ -0,0 +1,14 @@
+package com.fullcycle.gatalogue.admin.infrastructure.exceptions;
+
+import com.fullcycle.catalogue.admin.domain.exceptions.NoStackTraceExceptions;
+
+public class GatewayStorageException extends NoStackTraceExceptions {
+
+    public GatewayStorageException(final String aMessage) {
+        super(aMessage);
+    }
+
+    public GatewayStorageException(final String aMessage, final Throwable aCause) {
+        super(aMessage, aCause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.fullcycle.gatalogue.admin.infrastructure.exceptions;
+
+import com.fullcycle.catalogue.admin.domain.exceptions.NoStackTraceExceptions;
+
+public class GatewayTimeoutException extends NoStackTraceExceptions {
+
+    public GatewayTimeoutException(final String aMessage) {
+        super(aMessage);
+    }
+
+    public GatewayTimeoutException(final String aMessage, final Throwable aCause) {
+        super(aMessage, aCause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.fullcycle.gatalogue.admin.infrastructure.outbox;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends a batch of outbox entries to a broker. The future completes once the broker has taken
+ * the whole batch, or fails if any of it may not have been delivered.
+ *
+ * Batches are handed over in sequence order, and an implementation must deliver them in the
+ * order it received them.
+ */
+@FunctionalInterface
+public interface EventPublisher {
+
+    CompletableFuture<Void> publish(List<OutboxEntry> batch);
+}
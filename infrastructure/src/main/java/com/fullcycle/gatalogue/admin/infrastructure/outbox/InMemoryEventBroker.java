@@ -0,0 +1,81 @@
+package com.fullcycle.gatalogue.admin.infrastructure.outbox;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for a message broker in tests and benchmarks.
+ *
+ * Every batch is delivered to the subscribers on a single thread after a fixed latency, in the
+ * order the batches were published. The latency is paid per batch and batches in flight overlap,
+ * like a round trip to a remote broker would.
+ */
+public class InMemoryEventBroker implements EventPublisher, AutoCloseable {
+
+    private final long latencyNanos;
+    private final ScheduledExecutorService delivery;
+    private final CopyOnWriteArrayList<Consumer<OutboxEntry>> subscribers;
+    private final LongAdder delivered;
+
+    public InMemoryEventBroker() {
+        this(Duration.ZERO);
+    }
+
+    public InMemoryEventBroker(final Duration aLatency) {
+        this.latencyNanos = aLatency.toNanos();
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.delivered = new LongAdder();
+        this.delivery = Executors.newSingleThreadScheduledExecutor(aRunnable -> {
+            final var aThread = new Thread(aRunnable, "in-memory-event-broker");
+            aThread.setDaemon(true);
+            return aThread;
+        });
+    }
+
+    public void subscribe(final Consumer<OutboxEntry> aSubscriber) {
+        this.subscribers.add(Objects.requireNonNull(aSubscriber));
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(final List<OutboxEntry> batch) {
+        final var aResult = new CompletableFuture<Void>();
+        try {
+            this.delivery.schedule(() -> deliver(batch, aResult), this.latencyNanos, TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            aResult.completeExceptionally(e);
+        }
+        return aResult;
+    }
+
+    public long delivered() {
+        return this.delivered.sum();
+    }
+
+    @Override
+    public void close() {
+        this.delivery.shutdown();
+    }
+
+    private void deliver(final List<OutboxEntry> batch, final CompletableFuture<Void> aResult) {
+        try {
+            for (final var anEntry : batch) {
+                for (final var aSubscriber : this.subscribers) {
+                    aSubscriber.accept(anEntry);
+                }
+            }
+            this.delivered.add(batch.size());
+            aResult.complete(null);
+        } catch (final RuntimeException e) {
+            aResult.completeExceptionally(e);
+        }
+    }
+}
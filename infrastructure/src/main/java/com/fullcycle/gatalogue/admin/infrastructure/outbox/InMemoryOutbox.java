@@ -0,0 +1,71 @@
+package com.fullcycle.gatalogue.admin.infrastructure.outbox;
+
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link Outbox} for tests and single-node setups.
+ *
+ * Appends never take a lock: each one reserves a range of sequences and then inserts its
+ * entries. Two appends may become visible out of order, so {@link #fetch(long, int)} stops at
+ * the first missing sequence and the relay never skips an entry still being written.
+ * Acknowledged entries are dropped, so the outbox only holds what has not been published yet.
+ */
+public class InMemoryOutbox implements Outbox {
+
+    private final ConcurrentSkipListMap<Long, OutboxEntry> entries;
+    private final AtomicLong sequence;
+    private final AtomicLong acknowledged;
+
+    public InMemoryOutbox() {
+        this.entries = new ConcurrentSkipListMap<>();
+        this.sequence = new AtomicLong();
+        this.acknowledged = new AtomicLong();
+    }
+
+    @Override
+    public void append(final List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        var next = this.sequence.getAndAdd(events.size()) + 1;
+        for (final var anEvent : events) {
+            this.entries.put(next, new OutboxEntry(next, anEvent));
+            next++;
+        }
+    }
+
+    @Override
+    public List<OutboxEntry> fetch(final long afterSequence, final int limit) {
+        final var fetched = new ArrayList<OutboxEntry>(Math.min(limit, 256));
+        var expected = afterSequence + 1;
+        for (final var anEntry : this.entries.tailMap(afterSequence, false).values()) {
+            if (anEntry.sequence() != expected || fetched.size() == limit) {
+                break;
+            }
+            fetched.add(anEntry);
+            expected++;
+        }
+        return fetched;
+    }
+
+    @Override
+    public void acknowledge(final long upToSequence) {
+        this.acknowledged.accumulateAndGet(upToSequence, Math::max);
+        this.entries.headMap(upToSequence, true).clear();
+    }
+
+    @Override
+    public long lastSequence() {
+        return this.sequence.get();
+    }
+
+    @Override
+    public long acknowledgedSequence() {
+        return this.acknowledged.get();
+    }
+}
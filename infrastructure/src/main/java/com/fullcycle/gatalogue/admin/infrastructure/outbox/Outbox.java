@@ -0,0 +1,37 @@
+package com.fullcycle.gatalogue.admin.infrastructure.outbox;
+
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Durable queue of domain events, written by the gateway in the same step as the aggregate
+ * and drained by an {@link OutboxRelay}.
+ */
+public interface Outbox {
+
+    /**
+     * Appends the events in order. Must be called while the caller holds the write for the
+     * aggregate, so the events of one aggregate are sequenced in the order they were raised.
+     */
+    void append(List<? extends DomainEvent> events);
+
+    /**
+     * Returns at most {@code limit} entries following {@code afterSequence}, without gaps.
+     */
+    List<OutboxEntry> fetch(long afterSequence, int limit);
+
+    /**
+     * Marks every entry up to and including {@code upToSequence} as published, so it can be
+     * dropped.
+     */
+    void acknowledge(long upToSequence);
+
+    long lastSequence();
+
+    long acknowledgedSequence();
+
+    default long pending() {
+        return lastSequence() - acknowledgedSequence();
+    }
+}
@@ -0,0 +1,14 @@
+package com.fullcycle.gatalogue.admin.infrastructure.outbox;
+
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
+
+/**
+ * A domain event as stored in the {@link Outbox}, stamped with its position in the outbox.
+ * Sequences are dense and increasing, so consumers can dedupe redeliveries by sequence.
+ */
+public record OutboxEntry(long sequence, DomainEvent event) {
+
+    public String aggregateId() {
+        return event.aggregateId();
+    }
+}
@@ -0,0 +1,190 @@
+package com.fullcycle.gatalogue.admin.infrastructure.outbox;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains an {@link Outbox} into an {@link EventPublisher} with at-least-once delivery.
+ *
+ * A single worker fetches entries in sequence order, in batches of at most {@code batchSize},
+ * and keeps up to {@code maxInFlightBatches} of them in flight, so the broker round trip is
+ * overlapped instead of paid once per batch. Batches are acknowledged strictly in order, only
+ * once every batch before them has completed, and the relay never holds more than
+ * {@code batchSize * maxInFlightBatches} entries however far behind it is.
+ *
+ * When a batch fails, the batches behind it are abandoned and the relay starts over from the
+ * last acknowledged sequence after {@code pollInterval}. Entries can therefore be delivered more
+ * than once, and with more than one batch in flight a redelivered entry may arrive after later
+ * ones, so consumers should dedupe by {@link OutboxEntry#sequence()}. A single batch in flight
+ * keeps the stream strictly ordered.
+ *
+ * The worker starts with the relay. {@link #close()} stops fetching and waits for the batches
+ * already in flight before returning.
+ */
+public class OutboxRelay implements AutoCloseable {
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Outbox outbox;
+    private final EventPublisher publisher;
+    private final int batchSize;
+    private final int maxInFlightBatches;
+    private final long pollNanos;
+    private final AtomicBoolean closed;
+    private final Thread worker;
+    private final LongAdder published;
+    private final LongAdder batches;
+    private final LongAdder failures;
+    private volatile int inFlight;
+
+    public OutboxRelay(
+            final Outbox anOutbox,
+            final EventPublisher aPublisher,
+            final int batchSize,
+            final int maxInFlightBatches,
+            final Duration aPollInterval
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("'batchSize' should be greater than zero");
+        }
+        if (maxInFlightBatches < 1) {
+            throw new IllegalArgumentException("'maxInFlightBatches' should be greater than zero");
+        }
+        this.outbox = Objects.requireNonNull(anOutbox);
+        this.publisher = Objects.requireNonNull(aPublisher);
+        this.batchSize = batchSize;
+        this.maxInFlightBatches = maxInFlightBatches;
+        this.pollNanos = aPollInterval.toNanos();
+        this.closed = new AtomicBoolean();
+        this.published = new LongAdder();
+        this.batches = new LongAdder();
+        this.failures = new LongAdder();
+        this.worker = new Thread(this::run, "outbox-relay");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public RelayStats stats() {
+        return new RelayStats(
+                this.published.sum(),
+                this.batches.sum(),
+                this.failures.sum(),
+                this.inFlight,
+                this.outbox.pending()
+        );
+    }
+
+    @Override
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+        LockSupport.unpark(this.worker);
+        try {
+            this.worker.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        final var window = new ArrayDeque<Batch>(this.maxInFlightBatches);
+        var fetched = this.outbox.acknowledgedSequence();
+        while (!this.closed.get()) {
+            if (!retire(window)) {
+                window.clear();
+                this.inFlight = 0;
+                fetched = this.outbox.acknowledgedSequence();
+                LockSupport.parkNanos(this.pollNanos);
+                continue;
+            }
+            if (window.size() < this.maxInFlightBatches) {
+                final var entries = this.outbox.fetch(fetched, this.batchSize);
+                if (!entries.isEmpty()) {
+                    window.addLast(send(entries));
+                    this.inFlight = window.size();
+                    fetched = entries.get(entries.size() - 1).sequence();
+                    continue;
+                }
+            }
+            if (window.isEmpty()) {
+                LockSupport.parkNanos(this.pollNanos);
+            } else {
+                await(window.peekFirst().result(), this.pollNanos);
+            }
+        }
+        drain(window);
+    }
+
+    /**
+     * Acknowledges the completed batches at the head of the window, returning false when the
+     * head has failed.
+     */
+    private boolean retire(final ArrayDeque<Batch> window) {
+        while (!window.isEmpty() && window.peekFirst().result().isDone()) {
+            final var aBatch = window.pollFirst();
+            this.inFlight = window.size();
+            if (aBatch.result().isCompletedExceptionally()) {
+                this.failures.increment();
+                return false;
+            }
+            this.outbox.acknowledge(aBatch.lastSequence());
+            this.published.add(aBatch.size());
+            this.batches.increment();
+        }
+        return true;
+    }
+
+    private void drain(final ArrayDeque<Batch> window) {
+        final var deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (!window.isEmpty()) {
+            final var remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !await(window.peekFirst().result(), remaining)) {
+                break;
+            }
+            if (!retire(window)) {
+                break;
+            }
+        }
+        this.inFlight = 0;
+    }
+
+    private Batch send(final List<OutboxEntry> entries) {
+        CompletableFuture<Void> aResult;
+        try {
+            aResult = Objects.requireNonNull(this.publisher.publish(entries));
+        } catch (final RuntimeException e) {
+            aResult = CompletableFuture.failedFuture(e);
+        }
+        return new Batch(entries.get(entries.size() - 1).sequence(), entries.size(), aResult);
+    }
+
+    private static boolean await(final CompletableFuture<Void> aResult, final long timeoutNanos) {
+        try {
+            aResult.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (final ExecutionException e) {
+            return true;
+        } catch (final TimeoutException e) {
+            return false;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public record RelayStats(long published, long batches, long failures, int inFlight, long lag) {
+    }
+
+    private record Batch(long lastSequence, int size, CompletableFuture<Void> result) {
+    }
+}
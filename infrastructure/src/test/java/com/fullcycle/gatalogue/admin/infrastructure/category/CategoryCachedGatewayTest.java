@@ -0,0 +1,239 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.exceptions.StaleVersionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CategoryCachedGatewayTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(10);
+
+    @Test
+    public void givenACachedCategory_whenCallFindByIdAgain_thenShouldNotHitTheDelegate() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryCachedGateway(aDelegate, 100, TTL, NEGATIVE_TTL);
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        aGateway.findById(aCategory.getId()).orElseThrow().update("Changed outside", null, false);
+        final var actualCategory = aGateway.findById(aCategory.getId()).orElseThrow();
+
+        Assertions.assertEquals("Movies", actualCategory.getName());
+        Assertions.assertEquals(1, aDelegate.lookups.get());
+        Assertions.assertEquals(1, aGateway.stats().hits());
+        Assertions.assertEquals(1, aGateway.stats().misses());
+        Assertions.assertEquals(0.5, aGateway.stats().hitRatio());
+    }
+
+    @Test
+    public void givenACachedCategory_whenCallFindSnapshotById_thenShouldShareTheCachedSnapshot() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryCachedGateway(aDelegate, 100, TTL, NEGATIVE_TTL);
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        final var firstRead = aGateway.findSnapshotById(aCategory.getId()).orElseThrow();
+        final var secondRead = aGateway.findSnapshotById(aCategory.getId()).orElseThrow();
+
+        Assertions.assertSame(firstRead, secondRead);
+        Assertions.assertNotSame(aGateway.findById(aCategory.getId()).orElseThrow(), aGateway.findById(aCategory.getId()).orElseThrow());
+        Assertions.assertEquals(1, aDelegate.lookups.get());
+    }
+
+    @Test
+    public void givenAMissingId_whenCallFindByIdTwice_thenShouldCacheTheNegativeEntryUntilItExpires() {
+        final var aDelegate = new CountingGateway();
+        final var aTicker = new AtomicLong();
+        final var aGateway = new CategoryCachedGateway(aDelegate, 100, TTL, NEGATIVE_TTL, aTicker::get);
+        final var anID = CategoryID.unique();
+
+        Assertions.assertTrue(aGateway.findById(anID).isEmpty());
+        Assertions.assertTrue(aGateway.findById(anID).isEmpty());
+        Assertions.assertEquals(1, aDelegate.lookups.get());
+
+        aTicker.addAndGet(NEGATIVE_TTL.toNanos());
+
+        Assertions.assertTrue(aGateway.findById(anID).isEmpty());
+        Assertions.assertEquals(2, aDelegate.lookups.get());
+        Assertions.assertEquals(1, aGateway.stats().evictions());
+    }
+
+    @Test
+    public void givenANegativeEntry_whenCategoryIsCreated_thenShouldBeVisible() {
+        final var aGateway = new CategoryCachedGateway(new CountingGateway(), 100, TTL, NEGATIVE_TTL);
+        final var aCategory = Category.newCategory("Movies", "Category most view", true);
+
+        Assertions.assertTrue(aGateway.findById(aCategory.getId()).isEmpty());
+        aGateway.create(aCategory);
+
+        Assertions.assertTrue(aGateway.findById(aCategory.getId()).isPresent());
+    }
+
+    @Test
+    public void givenACachedCategory_whenCallUpdateOrDelete_thenShouldInvalidateIt() {
+        final var aGateway = new CategoryCachedGateway(new CountingGateway(), 100, TTL, NEGATIVE_TTL);
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+        aGateway.findById(aCategory.getId());
+
+        aGateway.update(aCategory.update("Series", "Category less view", false));
+
+        Assertions.assertEquals("Series", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+
+        aGateway.deleteById(aCategory.getId());
+
+        Assertions.assertTrue(aGateway.findById(aCategory.getId()).isEmpty());
+    }
+
+    @Test
+    public void givenACachedCategoryWrittenBehindTheCache_whenCompareAndUpdateIsRejected_thenShouldReadTheWinningVersion() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryCachedGateway(aDelegate, 100, TTL, NEGATIVE_TTL);
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+        final var aStaleCopy = aGateway.findById(aCategory.getId()).orElseThrow();
+        aDelegate.update(aCategory.update("Series", null, true));
+
+        Assertions.assertThrows(StaleVersionException.class, () -> aGateway.compareAndUpdate(aStaleCopy.update("Kids", null, true)));
+        final var actualCategory = aGateway.findById(aCategory.getId()).orElseThrow();
+
+        Assertions.assertEquals("Series", actualCategory.getName());
+        Assertions.assertEquals(2, actualCategory.getVersion());
+        Assertions.assertEquals(3, aGateway.compareAndUpdate(actualCategory.update("Kids", null, true)).getVersion());
+        Assertions.assertEquals("Kids", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void givenAFullCache_whenLoadingMoreIds_thenShouldEvictTheLeastRecentlyUsed() {
+        final var maximumSize = 32;
+        final var aGateway = new CategoryCachedGateway(new CountingGateway(), maximumSize, TTL, NEGATIVE_TTL);
+
+        for (int i = 0; i < 1_000; i++) {
+            aGateway.findById(CategoryID.unique());
+        }
+
+        Assertions.assertTrue(aGateway.stats().size() <= maximumSize);
+        Assertions.assertTrue(aGateway.stats().evictions() >= 1_000 - maximumSize);
+    }
+
+    @Test
+    public void givenAnUpdateDuringAnInFlightLoad_whenTheLoadCompletes_thenShouldNotCacheTheStaleCategory() throws Exception {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryCachedGateway(aDelegate, 100, TTL, NEGATIVE_TTL);
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+        final var loaded = new CountDownLatch(1);
+        final var updated = new CountDownLatch(1);
+        aDelegate.afterLookup = () -> {
+            loaded.countDown();
+            await(updated);
+        };
+
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            final var staleRead = executor.submit(() -> aGateway.findById(aCategory.getId()));
+            await(loaded);
+            aDelegate.afterLookup = () -> {
+            };
+            aGateway.update(Category.with(aCategory).update("Series", "Category less view", true));
+            updated.countDown();
+
+            Assertions.assertEquals("Movies", staleRead.get(5, TimeUnit.SECONDS).orElseThrow().getName());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals("Series", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void givenConcurrentReadersAndWriters_whenWritesStop_thenCacheShouldMatchTheDelegate() throws Exception {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryCachedGateway(aDelegate, 64, TTL, NEGATIVE_TTL);
+        final var ids = new ArrayList<CategoryID>();
+        for (int i = 0; i < 16; i++) {
+            ids.add(aGateway.create(Category.newCategory("Category " + i, null, true)).getId());
+        }
+        final var versions = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 8; t++) {
+                final var writer = t % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    for (int i = 0; i < 2_000; i++) {
+                        final var anID = ids.get(i % ids.size());
+                        if (writer) {
+                            final var aCopy = aDelegate.findById(anID).orElseThrow();
+                            aGateway.update(aCopy.update("Version " + versions.incrementAndGet(), null, true));
+                        } else {
+                            aGateway.findById(anID);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var aFuture : futures) {
+                aFuture.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (final var anID : ids) {
+            Assertions.assertEquals(
+                    aDelegate.findById(anID).orElseThrow().getName(),
+                    aGateway.findById(anID).orElseThrow().getName()
+            );
+        }
+    }
+
+    private static void await(final CountDownLatch aLatch) {
+        try {
+            aLatch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void givenAWriteBehindDelegate_whenCached_thenShouldServeReadsAndRejectVersionedWrites() {
+        try (final var aWriteBehind = new CategoryWriteBehindGateway(new CountingGateway(), 100, Duration.ofHours(1))) {
+            final var aGateway = new CategoryCachedGateway(aWriteBehind, 100, TTL, NEGATIVE_TTL);
+            final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+            Assertions.assertEquals("Movies", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+            Assertions.assertEquals("Movies", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> aGateway.compareAndUpdate(aCategory.update("Series", null, true)));
+            Assertions.assertEquals(1, aGateway.stats().hits());
+        }
+    }
+
+    private static class CountingGateway extends CategoryInMemoryGateway {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+        private volatile Runnable afterLookup = () -> {
+        };
+
+        @Override
+        public Optional<Category> findById(final CategoryID anID) {
+            lookups.incrementAndGet();
+            final var aCategory = super.findById(anID);
+            afterLookup.run();
+            return aCategory;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.gatalogue.admin.infrastructure.exceptions.GatewayTimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CategoryCoalescingGatewayTest {
+
+    @Test
+    public void givenConcurrentLookupsOfTheSameId_whenDelegateIsSlow_thenShouldCallItOnce() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var aDelegate = new BlockingGateway(release);
+        final var aGateway = new CategoryCoalescingGateway(aDelegate, Duration.ofSeconds(10));
+        final var aCategory = aDelegate.create(Category.newCategory("Movies", "Category most view", true));
+        final var callers = 16;
+        final var executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            final var futures = new ArrayList<Future<Optional<Category>>>();
+            futures.add(executor.submit(() -> aGateway.findById(aCategory.getId())));
+            aDelegate.entered.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < callers; i++) {
+                futures.add(executor.submit(() -> aGateway.findById(aCategory.getId())));
+            }
+            while (aGateway.stats().deduplicated() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            final var instances = new ArrayList<Category>();
+            for (final var aFuture : futures) {
+                final var actualCategory = aFuture.get(5, TimeUnit.SECONDS).orElseThrow();
+                Assertions.assertEquals("Movies", actualCategory.getName());
+                instances.forEach(other -> Assertions.assertNotSame(other, actualCategory));
+                instances.add(actualCategory);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, aDelegate.lookups.get());
+        Assertions.assertEquals(callers, aGateway.stats().calls());
+        Assertions.assertEquals(callers - 1, aGateway.stats().deduplicated());
+        Assertions.assertEquals(1, aGateway.stats().backendCalls());
+        Assertions.assertEquals(0, aGateway.stats().inFlight());
+    }
+
+    @Test
+    public void givenAFailingLookup_whenCallersAreCoalesced_thenShouldShareTheFailure() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var aDelegate = new BlockingGateway(release);
+        aDelegate.failure = new IllegalStateException("database is down");
+        final var aGateway = new CategoryCoalescingGateway(aDelegate, Duration.ofSeconds(10));
+        final var anID = CategoryID.unique();
+        final var executor = Executors.newFixedThreadPool(2);
+
+        try {
+            final var leader = executor.submit(() -> aGateway.findById(anID));
+            aDelegate.entered.await(5, TimeUnit.SECONDS);
+            final var follower = executor.submit(() -> aGateway.findById(anID));
+            while (aGateway.stats().deduplicated() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            final var leaderError = Assertions.assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            final var followerError = Assertions.assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+
+            Assertions.assertEquals("database is down", leaderError.getCause().getMessage());
+            Assertions.assertEquals("database is down", followerError.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, aDelegate.lookups.get());
+    }
+
+    @Test
+    public void givenAStuckLookup_whenCallersTimeOut_thenShouldThrowAndLetTheNextCallStartOver() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var aDelegate = new BlockingGateway(release);
+        final var aGateway = new CategoryCoalescingGateway(aDelegate, Duration.ofMillis(50));
+        final var aCategory = aDelegate.create(Category.newCategory("Movies", "Category most view", true));
+        final var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            final var leader = executor.submit(() -> aGateway.findById(aCategory.getId()));
+            aDelegate.entered.await(5, TimeUnit.SECONDS);
+
+            Assertions.assertThrows(GatewayTimeoutException.class, () -> aGateway.findById(aCategory.getId()));
+            final var leaderError = Assertions.assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(GatewayTimeoutException.class, leaderError.getCause());
+            Assertions.assertEquals(2, aGateway.stats().timeouts());
+
+            aDelegate.blocking = false;
+            Assertions.assertTrue(aGateway.findById(aCategory.getId()).isPresent());
+            Assertions.assertEquals(0, aGateway.stats().inFlight());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            aGateway.close();
+        }
+
+        Assertions.assertEquals(aGateway.stats().backendCalls(), aDelegate.lookups.get());
+    }
+
+    @Test
+    public void givenALookupStartedBeforeAnUpdate_whenReadingAfterTheUpdate_thenShouldSeeTheUpdate() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var entered = new CountDownLatch(1);
+        final var lookups = new AtomicInteger();
+        final var aDelegate = new CategoryInMemoryGateway() {
+            @Override
+            public Optional<Category> findById(final CategoryID anID) {
+                final var aCategory = super.findById(anID);
+                if (lookups.getAndIncrement() == 0) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return aCategory;
+            }
+        };
+        final var aGateway = new CategoryCoalescingGateway(aDelegate, Duration.ofSeconds(10));
+        final var aCategory = aDelegate.create(Category.newCategory("Movies", "Category most view", true));
+        final var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            final var before = executor.submit(() -> aGateway.findById(aCategory.getId()));
+            entered.await(5, TimeUnit.SECONDS);
+
+            aGateway.update(aCategory.update("Series", "Episodes", true));
+
+            Assertions.assertEquals("Series", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+            release.countDown();
+            Assertions.assertEquals("Movies", before.get(5, TimeUnit.SECONDS).orElseThrow().getName());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            aGateway.close();
+        }
+
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void givenConcurrentSnapshotLookupsOfTheSameId_whenDelegateIsSlow_thenShouldCallItOnce() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var aDelegate = new BlockingGateway(release);
+        final var aGateway = new CategoryCoalescingGateway(aDelegate, Duration.ofSeconds(10));
+        final var aCategory = aDelegate.create(Category.newCategory("Movies", "Category most view", true));
+        final var callers = 8;
+        final var executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            final var futures = new ArrayList<Future<Optional<CategorySnapshot>>>();
+            futures.add(executor.submit(() -> aGateway.findSnapshotById(aCategory.getId())));
+            aDelegate.entered.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < callers; i++) {
+                futures.add(executor.submit(() -> aGateway.findSnapshotById(aCategory.getId())));
+            }
+            while (aGateway.stats().deduplicated() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (final var aFuture : futures) {
+                Assertions.assertEquals("Movies", aFuture.get(5, TimeUnit.SECONDS).orElseThrow().name());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, aDelegate.lookups.get());
+        Assertions.assertEquals(1, aGateway.stats().backendCalls());
+        Assertions.assertEquals(0, aGateway.stats().inFlight());
+    }
+
+    @Test
+    public void givenAnExecutorThatRejects_whenCallFindById_thenShouldLookUpOnTheCallerThread() {
+        final var lookupThread = new AtomicReference<Thread>();
+        final var aDelegate = new CategoryInMemoryGateway() {
+            @Override
+            public Optional<Category> findById(final CategoryID anID) {
+                lookupThread.set(Thread.currentThread());
+                return super.findById(anID);
+            }
+        };
+        final var aGateway = new CategoryCoalescingGateway(aDelegate, Duration.ofSeconds(10), aRunnable -> {
+            throw new RejectedExecutionException("saturated");
+        });
+        final var aCategory = aDelegate.create(Category.newCategory("Movies", "Category most view", true));
+
+        Assertions.assertEquals("Movies", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+        Assertions.assertSame(Thread.currentThread(), lookupThread.get());
+        Assertions.assertEquals(0, aGateway.stats().inFlight());
+    }
+
+    private static class BlockingGateway extends CategoryInMemoryGateway {
+
+        private final CountDownLatch release;
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final AtomicInteger lookups = new AtomicInteger();
+        private volatile boolean blocking = true;
+        private volatile RuntimeException failure;
+
+        private BlockingGateway(final CountDownLatch aRelease) {
+            this.release = aRelease;
+        }
+
+        @Override
+        public Optional<Category> findById(final CategoryID anID) {
+            block();
+            return super.findById(anID);
+        }
+
+        @Override
+        public Optional<CategorySnapshot> findSnapshotById(final CategoryID anID) {
+            block();
+            return super.findSnapshotById(anID);
+        }
+
+        private void block() {
+            lookups.incrementAndGet();
+            if (blocking) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
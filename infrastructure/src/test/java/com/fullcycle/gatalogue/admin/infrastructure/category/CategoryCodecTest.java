@@ -0,0 +1,181 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.gatalogue.admin.infrastructure.exceptions.CodecException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Random;
+
+public class CategoryCodecTest {
+
+    private static final int SAMPLES = 10_000;
+
+    @Test
+    public void givenRandomCategories_whenEncodedAndDecoded_thenShouldRoundTrip() {
+        final var random = new Random(42);
+        final var heap = ByteBuffer.allocate(4096);
+        final var direct = ByteBuffer.allocateDirect(4096);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            final var aCategory = randomCategory(random);
+            for (final var aBuffer : new ByteBuffer[]{heap, direct}) {
+                aBuffer.clear();
+                final var written = CategoryCodec.encode(aCategory, aBuffer);
+
+                Assertions.assertEquals(CategoryCodec.encodedSize(aCategory), written);
+                Assertions.assertEquals(written, aBuffer.position());
+
+                aBuffer.flip();
+                assertSame(aCategory, CategoryCodec.decode(aBuffer));
+                Assertions.assertFalse(aBuffer.hasRemaining());
+            }
+        }
+    }
+
+    @Test
+    public void givenManyCategories_whenEncodedBackToBackInOneBuffer_thenShouldDecodeInOrder() {
+        final var random = new Random(7);
+        final var aBuffer = ByteBuffer.allocate(1 << 20);
+        final var categories = new ArrayList<Category>();
+        for (int i = 0; i < 1_000; i++) {
+            final var aCategory = randomCategory(random);
+            categories.add(aCategory);
+            CategoryCodec.encode(aCategory, aBuffer);
+        }
+
+        aBuffer.flip();
+        for (final var aCategory : categories) {
+            assertSame(aCategory, CategoryCodec.decode(aBuffer));
+        }
+        Assertions.assertFalse(aBuffer.hasRemaining());
+    }
+
+    @Test
+    public void givenASnapshot_whenEncoded_thenShouldWriteTheSameBytesAsItsAggregate() {
+        final var random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            final var aCategory = randomCategory(random);
+            final var fromAggregate = ByteBuffer.allocate(CategoryCodec.encodedSize(aCategory));
+            final var fromSnapshot = ByteBuffer.allocate(CategoryCodec.encodedSize(aCategory.snapshot()));
+
+            CategoryCodec.encode(aCategory, fromAggregate);
+            CategoryCodec.encode(aCategory.snapshot(), fromSnapshot);
+
+            Assertions.assertEquals(fromAggregate.flip(), fromSnapshot.flip());
+        }
+    }
+
+    @Test
+    public void givenAnAsciiCategory_whenEncoded_thenShouldBeFarSmallerThanItsTextForm() {
+        final var aCategory = Category.newCategory("Movies", "Category most view", true);
+        final var json = """
+                {"id":"%s","name":"Movies","description":"Category most view","active":true,"createAt":"%s","updateAt":"%s","deleteAt":null}"""
+                .formatted(aCategory.getId().getValue(), aCategory.getCreateAt(), aCategory.getUpdateAt());
+
+        Assertions.assertTrue(CategoryCodec.encodedSize(aCategory) * 2 < json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void givenATooSmallBuffer_whenEncoding_thenShouldThrowWithoutWriting() {
+        final var aCategory = Category.newCategory("Movies", "Category most view", true);
+        final var aBuffer = ByteBuffer.allocate(CategoryCodec.encodedSize(aCategory) - 1);
+
+        Assertions.assertThrows(BufferOverflowException.class, () -> CategoryCodec.encode(aCategory, aBuffer));
+        Assertions.assertEquals(0, aBuffer.position());
+    }
+
+    @Test
+    public void givenAnUnknownVersion_whenDecoding_thenShouldThrow() {
+        final var aBuffer = ByteBuffer.allocate(64);
+        CategoryCodec.encode(Category.newCategory("Movies", null, true), aBuffer);
+        aBuffer.put(0, (byte) (CategoryCodec.VERSION + 1)).flip();
+
+        final var actualException = Assertions.assertThrows(CodecException.class, () -> CategoryCodec.decode(aBuffer));
+
+        Assertions.assertEquals("unsupported category codec version 3", actualException.getMessage());
+    }
+
+    @Test
+    public void givenAVersionOneMessage_whenDecoding_thenShouldReadItAsVersionZero() {
+        final var aCategory = Category.with(Category.newCategory("Movies", "Most watched", true).snapshot().withVersion(7));
+        final var aBuffer = ByteBuffer.allocate(64);
+        CategoryCodec.encode(aCategory, aBuffer);
+        aBuffer.flip();
+
+        final var aLegacy = ByteBuffer.allocate(aBuffer.remaining() - 1);
+        aLegacy.put((byte) 1).put(aBuffer.get(1));
+        aLegacy.put(aBuffer.slice(2, 16));
+        aLegacy.put(aBuffer.slice(19, aBuffer.limit() - 19));
+        aLegacy.flip();
+
+        final var actualCategory = CategoryCodec.decode(aLegacy);
+
+        Assertions.assertEquals(aCategory.getId(), actualCategory.getId());
+        Assertions.assertEquals("Movies", actualCategory.getName());
+        Assertions.assertEquals("Most watched", actualCategory.getDescription());
+        Assertions.assertEquals(0, actualCategory.getVersion());
+        Assertions.assertFalse(aLegacy.hasRemaining());
+    }
+
+    private static void assertSame(final Category expected, final Category actual) {
+        Assertions.assertEquals(expected.getId(), actual.getId());
+        Assertions.assertEquals(utf8(expected.getName()), actual.getName());
+        Assertions.assertEquals(utf8(expected.getDescription()), actual.getDescription());
+        Assertions.assertEquals(expected.isActive(), actual.isActive());
+        Assertions.assertEquals(micros(expected.getCreateAt()), actual.getCreateAt());
+        Assertions.assertEquals(micros(expected.getUpdateAt()), actual.getUpdateAt());
+        Assertions.assertEquals(micros(expected.getDeleteAt()), actual.getDeleteAt());
+        Assertions.assertEquals(expected.getVersion(), actual.getVersion());
+    }
+
+    private static String utf8(final String aValue) {
+        return aValue == null ? null : new String(aValue.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    private static Instant micros(final Instant anInstant) {
+        return anInstant == null ? null : anInstant.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static Category randomCategory(final Random random) {
+        final var createAt = random.nextInt(8) == 0 ? null : randomInstant(random);
+        final var base = createAt != null ? createAt : randomInstant(random);
+        return Category.with(
+                CategoryID.from(random.nextLong(), random.nextLong()),
+                random.nextInt(8) == 0 ? null : randomString(random),
+                random.nextInt(4) == 0 ? null : randomString(random),
+                random.nextBoolean(),
+                createAt,
+                random.nextInt(8) == 0 ? null : base.plusNanos(Math.abs(random.nextLong() % 1_000_000_000_000_000L)),
+                random.nextInt(2) == 0 ? null : base.minusNanos(random.nextInt(1_000_000)),
+                random.nextInt(4) == 0 ? 0 : Math.abs(random.nextLong() >> random.nextInt(64))
+        );
+    }
+
+    private static Instant randomInstant(final Random random) {
+        return Instant.ofEpochSecond(random.nextLong() % 10_000_000_000L, random.nextInt(1_000_000_000));
+    }
+
+    private static String randomString(final Random random) {
+        final var length = random.nextInt(300);
+        final var aBuilder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(6)) {
+                case 0 -> aBuilder.append((char) (0x20 + random.nextInt(0x5F)));
+                case 1 -> aBuilder.append((char) (0x80 + random.nextInt(0x780)));
+                case 2 -> aBuilder.append((char) (0x800 + random.nextInt(0xD000)));
+                case 3 -> aBuilder.appendCodePoint(0x10000 + random.nextInt(0xFFFFF));
+                case 4 -> aBuilder.append((char) (0xD800 + random.nextInt(0x800)));
+                default -> aBuilder.append("ação ");
+            }
+        }
+        return aBuilder.toString();
+    }
+}
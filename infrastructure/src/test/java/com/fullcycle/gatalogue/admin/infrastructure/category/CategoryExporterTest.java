@@ -0,0 +1,134 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Optional;
+
+public class CategoryExporterTest {
+
+    @Test
+    public void givenCategories_whenExportingNdjson_thenShouldWriteOneEscapedLinePerCategory() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var movies = aGateway.create(Category.newCategory("Movies \"HD\"", "Line one\nC:\\path\ttab\u0001", true));
+        aGateway.create(Category.newCategory("Séries ✓", null, false).deActivate());
+        final var anOutput = new ByteArrayOutputStream();
+
+        final var aStats = new CategoryExporter(aGateway, 64)
+                .export(new CategoryStreamQuery(null, "name", "asc", false), CategoryExporter.Format.NDJSON, Channels.newChannel(anOutput));
+
+        final var lines = anOutput.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, aStats.rows());
+        Assertions.assertEquals(anOutput.size(), aStats.bytes());
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals(
+                "{\"id\":\"" + movies.getId().getValue() + "\",\"name\":\"Movies \\\"HD\\\"\""
+                        + ",\"description\":\"Line one\\nC:\\\\path\\ttab\\u0001\",\"active\":true"
+                        + ",\"createAt\":\"" + movies.getCreateAt() + "\",\"updateAt\":\"" + movies.getUpdateAt() + "\""
+                        + ",\"deleteAt\":null,\"version\":1}",
+                lines[0]
+        );
+        Assertions.assertTrue(lines[1].contains("\"name\":\"Séries ✓\",\"description\":null,\"active\":false"));
+        Assertions.assertFalse(lines[1].contains("\"deleteAt\":null"));
+    }
+
+    @Test
+    public void givenCategories_whenExportingBinary_thenShouldDecodeBackInOrder() {
+        final var aGateway = new CategoryInMemoryGateway();
+        for (int i = 0; i < 500; i++) {
+            aGateway.create(Category.newCategory("Category " + i, i % 3 == 0 ? null : "Description " + i, i % 2 == 0));
+        }
+        final var anOutput = new ByteArrayOutputStream();
+        final var aQuery = new CategoryStreamQuery(null, "name", "desc", true);
+
+        final var aStats = new CategoryExporter(aGateway, 256).export(aQuery, CategoryExporter.Format.BINARY, Channels.newChannel(anOutput));
+
+        final var aBuffer = ByteBuffer.wrap(anOutput.toByteArray());
+        final var decoded = new ArrayList<Category>();
+        while (aBuffer.hasRemaining()) {
+            decoded.add(CategoryCodec.decode(aBuffer));
+        }
+        final var expected = aGateway.streamAll(aQuery).toList();
+        Assertions.assertEquals(500, aStats.rows());
+        Assertions.assertEquals(anOutput.size(), aStats.bytes());
+        Assertions.assertEquals(expected.size(), decoded.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).id(), decoded.get(i).getId());
+            Assertions.assertEquals(expected.get(i).description(), decoded.get(i).getDescription());
+            Assertions.assertEquals(expected.get(i).createAt().truncatedTo(ChronoUnit.MICROS), decoded.get(i).getCreateAt());
+            Assertions.assertEquals(expected.get(i).version(), decoded.get(i).getVersion());
+        }
+    }
+
+    @Test
+    public void givenAGatewayWithoutItsOwnStream_whenExporting_thenShouldWalkEveryCursorPage() {
+        final var aGateway = new PagedGateway();
+        final var total = CategoryGateway.STREAM_PAGE_SIZE * 2 + 500;
+        for (int i = 0; i < total; i++) {
+            aGateway.create(Category.newCategory("Category " + i, null, true));
+        }
+        final var anOutput = new ByteArrayOutputStream();
+
+        final var aStats = new CategoryExporter(aGateway)
+                .export(new CategoryStreamQuery("category", "name", "asc", false), CategoryExporter.Format.NDJSON, Channels.newChannel(anOutput));
+
+        Assertions.assertEquals(total, aStats.rows());
+        Assertions.assertEquals(total, anOutput.toString(StandardCharsets.UTF_8).lines().distinct().count());
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> aGateway.streamAll(new CategoryStreamQuery(null, null, null, true))
+        );
+    }
+
+    /**
+     * Implements only what a gateway must, so {@code streamAll} is the interface default.
+     */
+    private static class PagedGateway implements CategoryGateway {
+
+        private final CategoryInMemoryGateway delegate = new CategoryInMemoryGateway();
+
+        @Override
+        public Category create(final Category aCategory) {
+            return delegate.create(aCategory);
+        }
+
+        @Override
+        public void deleteById(final CategoryID anID) {
+            delegate.deleteById(anID);
+        }
+
+        @Override
+        public Optional<Category> findById(final CategoryID anID) {
+            return delegate.findById(anID);
+        }
+
+        @Override
+        public Category update(final Category aCategory) {
+            return delegate.update(aCategory);
+        }
+
+        @Override
+        public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+            return delegate.findAll(aQuery);
+        }
+
+        @Override
+        public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+            return delegate.findAll(aQuery);
+        }
+    }
+}
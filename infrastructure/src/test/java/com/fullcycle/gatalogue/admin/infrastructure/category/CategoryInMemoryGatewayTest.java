@@ -0,0 +1,1130 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryActivated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChange;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCreated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryDeactivated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryUpdated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import com.fullcycle.catalogue.admin.domain.exceptions.ExpiredChangeTokenException;
+import com.fullcycle.catalogue.admin.domain.exceptions.StaleVersionException;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.InMemoryOutbox;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.OutboxEntry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class CategoryInMemoryGatewayTest {
+
+    @Test
+    public void givenAValidCategory_whenCallCreate_thenShouldPersistACopy() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = Category.newCategory("Movies", "Category most view", true);
+
+        final var actualCategory = aGateway.create(aCategory);
+        aCategory.update("Changed outside", "Changed outside", false);
+
+        final var persistedCategory = aGateway.findById(aCategory.getId()).orElseThrow();
+
+        Assertions.assertEquals(aCategory.getId(), actualCategory.getId());
+        Assertions.assertEquals("Movies", actualCategory.getName());
+        Assertions.assertEquals("Movies", persistedCategory.getName());
+        Assertions.assertTrue(persistedCategory.isActive());
+        Assertions.assertNull(persistedCategory.getDeleteAt());
+    }
+
+    @Test
+    public void givenABatchOfCategories_whenCallCreateAll_thenShouldPersistThemInOrder() {
+        final var aGateway = new CategoryInMemoryGateway();
+        aGateway.findAll(new CategorySearchQuery(0, 10, "", "name", "asc"));
+        final var categories = List.of(
+                Category.newCategory("Series", "Category less view", true),
+                Category.newCategory("Movies", "Category most view", true),
+                Category.newCategory("Documentaries", null, false)
+        );
+
+        final var actualCategories = aGateway.createAll(categories);
+        categories.get(0).update("Changed outside", null, false);
+
+        Assertions.assertEquals(3, actualCategories.size());
+        for (int i = 0; i < categories.size(); i++) {
+            Assertions.assertEquals(categories.get(i).getId(), actualCategories.get(i).getId());
+        }
+        Assertions.assertEquals(3, aGateway.count());
+        Assertions.assertEquals("Series", aGateway.findById(categories.get(0).getId()).orElseThrow().getName());
+        Assertions.assertEquals(
+                List.of("Documentaries", "Movies", "Series"),
+                aGateway.findAll(new CategorySearchQuery(0, 10, "", "name", "asc")).items().stream().map(Category::getName).toList()
+        );
+        Assertions.assertEquals(1, aGateway.findAll(new CategorySearchQuery(0, 10, "less", "name", "asc")).total());
+    }
+
+    @Test
+    public void givenAnOutbox_whenCallCreateAndUpdate_thenShouldAppendTheEventsInWriteOrder() {
+        final var anOutbox = new InMemoryOutbox();
+        final var aGateway = new CategoryInMemoryGateway(anOutbox);
+        final var aCategory = Category.newCategory("Movies", "Category most view", true);
+
+        aGateway.create(aCategory);
+        aGateway.update(aCategory.update("Series", null, false));
+        aGateway.update(aCategory.activate());
+
+        final var actualTypes = anOutbox.fetch(0, 10).stream().map(OutboxEntry::event).map(Object::getClass).toList();
+
+        Assertions.assertEquals(
+                List.of(CategoryCreated.class, CategoryDeactivated.class, CategoryUpdated.class, CategoryActivated.class),
+                actualTypes
+        );
+        Assertions.assertTrue(aCategory.getDomainEvents().isEmpty());
+        Assertions.assertEquals(4, anOutbox.lastSequence());
+    }
+
+    @Test
+    public void givenNoOutbox_whenCallCreate_thenShouldLeaveTheEventsOnTheAggregate() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = Category.newCategory("Movies", "Category most view", true);
+
+        aGateway.create(aCategory);
+
+        Assertions.assertEquals(1, aCategory.getDomainEvents().size());
+    }
+
+    @Test
+    public void givenAPersistedCategory_whenCallFindSnapshotById_thenShouldShareTheStoredSnapshot() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        final var firstRead = aGateway.findSnapshotById(aCategory.getId()).orElseThrow();
+        final var secondRead = aGateway.findSnapshotById(aCategory.getId()).orElseThrow();
+        aGateway.findById(aCategory.getId()).orElseThrow().update("Changed outside", null, false);
+
+        Assertions.assertSame(firstRead, secondRead);
+        Assertions.assertEquals("Movies", aGateway.findSnapshotById(aCategory.getId()).orElseThrow().name());
+
+        aGateway.update(aCategory.update("Series", null, true));
+
+        Assertions.assertEquals("Series", aGateway.findSnapshotById(aCategory.getId()).orElseThrow().name());
+        Assertions.assertEquals("Movies", firstRead.name());
+    }
+
+    @Test
+    public void givenPersistedCategories_whenCallFindAllSnapshots_thenShouldMatchFindAllWithSharedItems() {
+        final var aGateway = new CategoryInMemoryGateway();
+        for (final var aName : List.of("Movies", "Series", "Documentaries", "Kids")) {
+            aGateway.create(Category.newCategory(aName, null, true));
+        }
+        final var aQuery = new CategorySearchQuery(0, 3, null, "name", "desc");
+
+        final var actualSnapshots = aGateway.findAllSnapshots(aQuery);
+        final var actualCategories = aGateway.findAll(aQuery);
+
+        Assertions.assertEquals(4, actualSnapshots.total());
+        Assertions.assertEquals(
+                actualCategories.items().stream().map(Category::snapshot).toList(),
+                actualSnapshots.items()
+        );
+        Assertions.assertSame(actualSnapshots.items().get(0), aGateway.findAllSnapshots(aQuery).items().get(0));
+
+        final var aCursorPage = aGateway.findAllSnapshots(new CategoryCursorQuery(null, 2, null, "name", "asc"));
+        final var aNextPage = aGateway.findAllSnapshots(new CategoryCursorQuery(aCursorPage.nextCursor(), 2, null, "name", "asc"));
+
+        Assertions.assertEquals(List.of("Documentaries", "Kids"), aCursorPage.items().stream().map(CategorySnapshot::name).toList());
+        Assertions.assertEquals(List.of("Movies", "Series"), aNextPage.items().stream().map(CategorySnapshot::name).toList());
+    }
+
+    @Test
+    public void givenAPersistedCategory_whenCallUpdate_thenShouldReplaceIt() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        aGateway.update(aCategory.update("Series", "Category less view", false));
+
+        final var actualCategory = aGateway.findById(aCategory.getId()).orElseThrow();
+
+        Assertions.assertEquals("Series", actualCategory.getName());
+        Assertions.assertEquals("Category less view", actualCategory.getDescription());
+        Assertions.assertFalse(actualCategory.isActive());
+        Assertions.assertNotNull(actualCategory.getDeleteAt());
+        Assertions.assertEquals(1, aGateway.count());
+    }
+
+    @Test
+    public void givenAPersistedCategory_whenWrittenAgain_thenShouldBumpItsVersion() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        final var anUpdated = aGateway.update(aCategory.update("Series", null, true));
+        final var aCompared = aGateway.compareAndUpdate(anUpdated.update("Kids", null, true));
+
+        Assertions.assertEquals(1, aCategory.getVersion());
+        Assertions.assertEquals(2, anUpdated.getVersion());
+        Assertions.assertEquals(3, aCompared.getVersion());
+        Assertions.assertEquals(3, aGateway.findSnapshotById(aCategory.getId()).orElseThrow().version());
+        Assertions.assertEquals("Kids", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void givenAStaleCopy_whenCallCompareAndUpdate_thenShouldRejectItAndKeepTheStoredCategory() {
+        final var anOutbox = new InMemoryOutbox();
+        final var aGateway = new CategoryInMemoryGateway(anOutbox);
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+        final var aStaleCopy = aGateway.findById(aCategory.getId()).orElseThrow();
+        aGateway.compareAndUpdate(aCategory.update("Series", null, true));
+
+        final var actualException = Assertions.assertThrows(
+                StaleVersionException.class,
+                () -> aGateway.compareAndUpdate(aStaleCopy.update("Kids", null, false))
+        );
+
+        Assertions.assertEquals(1, actualException.getExpectedVersion());
+        Assertions.assertEquals(2, actualException.getActualVersion());
+        Assertions.assertEquals("Series", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+        Assertions.assertEquals(1, aGateway.findAll(new CategorySearchQuery(0, 10, "series", "name", "asc")).total());
+        Assertions.assertEquals(0, aGateway.findAll(new CategorySearchQuery(0, 10, "kids", "name", "asc")).total());
+        Assertions.assertEquals(2, anOutbox.lastSequence());
+        Assertions.assertEquals(2, aStaleCopy.getDomainEvents().size());
+    }
+
+    @Test
+    public void givenADeletedCategory_whenCallCompareAndUpdate_thenShouldRejectItAsMissing() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+        aGateway.deleteById(aCategory.getId());
+
+        final var actualException = Assertions.assertThrows(
+                StaleVersionException.class,
+                () -> aGateway.compareAndUpdate(aCategory.update("Series", null, true))
+        );
+
+        Assertions.assertEquals(StaleVersionException.MISSING, actualException.getActualVersion());
+        Assertions.assertTrue(aGateway.findById(aCategory.getId()).isEmpty());
+    }
+
+    @Test
+    public void givenAVersion_whenCallCompareAndDeleteById_thenShouldOnlyRemoveThatVersion() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", false));
+        final var aStaleCopy = aGateway.findById(aCategory.getId()).orElseThrow();
+        final var anUpdated = aGateway.update(aCategory.activate());
+
+        final var actualException = Assertions.assertThrows(
+                StaleVersionException.class,
+                () -> aGateway.compareAndDeleteById(aStaleCopy.getId(), aStaleCopy.getVersion())
+        );
+        Assertions.assertEquals(2, actualException.getActualVersion());
+        Assertions.assertTrue(aGateway.findById(aCategory.getId()).isPresent());
+
+        aGateway.compareAndDeleteById(anUpdated.getId(), anUpdated.getVersion());
+
+        Assertions.assertTrue(aGateway.findById(aCategory.getId()).isEmpty());
+        Assertions.assertEquals(0, aGateway.findAll(new CategorySearchQuery(0, 10, "movies", "name", "asc")).total());
+        Assertions.assertEquals(new CategoryCounts(0, 0, 0), aGateway.counts());
+        Assertions.assertEquals(
+                StaleVersionException.MISSING,
+                Assertions.assertThrows(StaleVersionException.class, () -> aGateway.compareAndDeleteById(anUpdated.getId(), anUpdated.getVersion())).getActualVersion()
+        );
+    }
+
+    @Test
+    public void givenAPersistedCategory_whenCallDeleteById_thenShouldRemoveIt() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        aGateway.deleteById(aCategory.getId());
+        aGateway.deleteById(CategoryID.unique());
+
+        Assertions.assertTrue(aGateway.findById(aCategory.getId()).isEmpty());
+        Assertions.assertEquals(0, aGateway.count());
+        Assertions.assertEquals(0, aGateway.findAll(new CategorySearchQuery(0, 10, "", "name", "asc")).total());
+    }
+
+    @Test
+    public void givenPersistedCategories_whenCallFindAllSortedByName_thenShouldReturnPages() {
+        final var aGateway = new CategoryInMemoryGateway();
+        aGateway.create(Category.newCategory("Series", "Category less view", true));
+        aGateway.create(Category.newCategory("movies", "Category most view", true));
+        aGateway.create(Category.newCategory("Documentaries", "Category real life", true));
+        aGateway.create(Category.newCategory("Kids", "Category for children", true));
+
+        final var firstPage = aGateway.findAll(new CategorySearchQuery(0, 3, "", "name", "asc"));
+        final var secondPage = aGateway.findAll(new CategorySearchQuery(1, 3, "", "name", "asc"));
+        final var descPage = aGateway.findAll(new CategorySearchQuery(0, 2, null, "name", "desc"));
+
+        Assertions.assertEquals(0, firstPage.currentPage());
+        Assertions.assertEquals(3, firstPage.perPage());
+        Assertions.assertEquals(4, firstPage.total());
+        Assertions.assertEquals(List.of("Documentaries", "Kids", "movies"), names(firstPage.items()));
+        Assertions.assertEquals(List.of("Series"), names(secondPage.items()));
+        Assertions.assertEquals(List.of("Series", "movies"), names(descPage.items()));
+    }
+
+    @Test
+    public void givenPersistedCategories_whenCallFindAllWithTerms_thenShouldFilterAndCountMatches() {
+        final var aGateway = new CategoryInMemoryGateway();
+        aGateway.create(Category.newCategory("Movies", "Category most view", true));
+        aGateway.create(Category.newCategory("Series", "Category less VIEW", true));
+        aGateway.create(Category.newCategory("Kids", "Category for children", true));
+
+        final var actualPage = aGateway.findAll(new CategorySearchQuery(0, 1, " view ", "name", "asc"));
+
+        Assertions.assertEquals(2, actualPage.total());
+        Assertions.assertEquals(List.of("Movies"), names(actualPage.items()));
+    }
+
+    @Test
+    public void givenAccentedCategories_whenCallFindAllWithUnaccentedTerms_thenShouldMatch() {
+        final var aGateway = new CategoryInMemoryGateway();
+        aGateway.create(Category.newCategory("Ação", "Filmes de ação", true));
+        aGateway.create(Category.newCategory("Comédia", "Filmes para rir", true));
+
+        final var actualPage = aGateway.findAll(new CategorySearchQuery(0, 10, "ACAO", "name", "asc"));
+
+        Assertions.assertEquals(1, actualPage.total());
+        Assertions.assertEquals(List.of("Ação"), names(actualPage.items()));
+    }
+
+    @Test
+    public void givenPersistedCategories_whenCallFindAllWithTermsAndNoSort_thenShouldRankByRelevance() {
+        final var aGateway = new CategoryInMemoryGateway();
+        aGateway.create(Category.newCategory("Kids", "Cartoons and action for children", true));
+        aGateway.create(Category.newCategory("Action", "Explosions", true));
+        aGateway.create(Category.newCategory("Drama", "Tears", true));
+
+        final var actualPage = aGateway.findAll(new CategorySearchQuery(0, 10, "act", "", "desc"));
+
+        Assertions.assertEquals(2, actualPage.total());
+        Assertions.assertEquals(List.of("Action", "Kids"), names(actualPage.items()));
+    }
+
+    @Test
+    public void givenAShortToken_whenCallFindAllWithTerms_thenShouldMatchWholeTokensOnly() {
+        final var aGateway = new CategoryInMemoryGateway();
+        aGateway.create(Category.newCategory("Movies", "Category most view", true));
+        aGateway.create(Category.newCategory("Mo", "Short name", true));
+
+        Assertions.assertEquals(List.of("Mo"), names(aGateway.findAll(new CategorySearchQuery(0, 10, "mo", "name", "asc")).items()));
+        Assertions.assertEquals(List.of("Movies"), names(aGateway.findAll(new CategorySearchQuery(0, 10, "mov", "name", "asc")).items()));
+        Assertions.assertEquals(1, aGateway.estimateCount("mo"));
+    }
+
+    @Test
+    public void givenABroadSearch_whenPagingEverySortAndDirection_thenShouldMatchTheFullSortedMatches() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            final var description = random.nextInt(3) == 0 ? "Drama and tears" : "Comedy";
+            aGateway.create(Category.newCategory("Category " + random.nextInt(500), description, true));
+        }
+
+        for (final var aSort : List.of("name", "createAt", "")) {
+            for (final var direction : List.of("asc", "desc")) {
+                final var expected = aGateway.streamAll(new CategoryStreamQuery("drama", aSort, direction, false)).toList();
+                for (final var page : List.of(0, 4, 13, 40)) {
+                    final var actualPage = aGateway.findAllSnapshots(new CategorySearchQuery(page, 50, "drama", aSort, direction));
+                    final var from = Math.min(page * 50, expected.size());
+
+                    Assertions.assertEquals(expected.size(), actualPage.total());
+                    Assertions.assertEquals(expected.subList(from, Math.min(from + 50, expected.size())), actualPage.items());
+                }
+                if (aSort.isEmpty()) {
+                    continue;
+                }
+                for (final var perPage : List.of(64, 400)) {
+                    final var walked = new ArrayList<CategorySnapshot>();
+                    String aCursor = null;
+                    do {
+                        final var aPage = aGateway.findAllSnapshots(new CategoryCursorQuery(aCursor, perPage, "drama", aSort, direction));
+                        walked.addAll(aPage.items());
+                        aCursor = aPage.nextCursor();
+                    } while (aCursor != null);
+                    Assertions.assertEquals(expected, walked);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void givenAnUpdatedCategory_whenCallFindAllWithTerms_thenShouldUseTheLatestText() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        aGateway.update(aCategory.update("Series", "Episodes", true));
+        aGateway.update(aCategory.deActivate());
+
+        Assertions.assertEquals(0, aGateway.findAll(new CategorySearchQuery(0, 10, "movies", "name", "asc")).total());
+        Assertions.assertEquals(1, aGateway.findAll(new CategorySearchQuery(0, 10, "episodes", "name", "asc")).total());
+
+        aGateway.deleteById(aCategory.getId());
+
+        Assertions.assertEquals(0, aGateway.findAll(new CategorySearchQuery(0, 10, "episodes", "name", "asc")).total());
+    }
+
+    @Test
+    public void givenPersistedCategories_whenCallFindAllSortedByCreateAt_thenShouldHonourDirection() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var first = aGateway.create(Category.newCategory("First", null, true));
+        TimeUnit.MILLISECONDS.sleep(2);
+        final var second = aGateway.create(Category.newCategory("Second", null, true));
+
+        final var ascPage = aGateway.findAll(new CategorySearchQuery(0, 10, "", "createAt", "asc"));
+        final var descPage = aGateway.findAll(new CategorySearchQuery(0, 10, "", "createAt", "desc"));
+
+        Assertions.assertEquals(first.getId(), ascPage.items().get(0).getId());
+        Assertions.assertEquals(second.getId(), descPage.items().get(0).getId());
+    }
+
+    @Test
+    public void givenRandomWrites_whenListingEverySortAndDirection_thenShouldMatchSortOnRead() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var random = new Random(42);
+        final var ids = new ArrayList<CategoryID>();
+        for (int i = 0; i < 6_000; i++) {
+            ids.add(aGateway.create(Category.newCategory("Category " + random.nextInt(2_000), null, true)).getId());
+        }
+        for (int i = 0; i < 3_000; i++) {
+            final var anID = ids.get(random.nextInt(ids.size()));
+            final var aCategory = aGateway.findById(anID);
+            if (aCategory.isEmpty()) {
+                continue;
+            }
+            if (i % 4 == 0) {
+                aGateway.deleteById(anID);
+            } else {
+                aGateway.update(aCategory.get().update("Category " + random.nextInt(2_000), null, i % 3 != 0));
+            }
+        }
+
+        for (final var aField : CategorySortField.values()) {
+            final var expected = ids.stream().map(aGateway::findSnapshotById).flatMap(Optional::stream)
+                    .sorted(aField.comparator()).toList();
+            for (final var direction : List.of("asc", "desc")) {
+                final var ordered = new ArrayList<>(expected);
+                if (direction.equals("desc")) {
+                    Collections.reverse(ordered);
+                }
+                for (final var page : List.of(0, 3, 40, 99, 200)) {
+                    final var actualPage = aGateway.findAllSnapshots(new CategorySearchQuery(page, 50, null, aField.field(), direction));
+                    final var from = Math.min(page * 50, ordered.size());
+
+                    Assertions.assertEquals(expected.size(), actualPage.total());
+                    Assertions.assertEquals(ordered.subList(from, Math.min(from + 50, ordered.size())), actualPage.items());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void givenADeepOffsetPage_whenACategoryIsWrittenBeforeIt_thenNextListingShouldShift() {
+        final var aGateway = new CategoryInMemoryGateway();
+        for (int i = 0; i < CategorySortedIndex.WALK_LIMIT * 2; i++) {
+            aGateway.create(Category.newCategory("Category %05d".formatted(i), null, true));
+        }
+        final var aPage = CategorySortedIndex.WALK_LIMIT / 10 + 1;
+        final var aDeepPage = new CategorySearchQuery(aPage, 10, null, "name", "asc");
+        final var firstNames = names(aGateway.findAll(aDeepPage).items());
+
+        aGateway.create(Category.newCategory("Aardvarks", null, true));
+        final var secondNames = names(aGateway.findAll(aDeepPage).items());
+
+        Assertions.assertEquals("Category %05d".formatted(aPage * 10), firstNames.get(0));
+        Assertions.assertEquals(firstNames.subList(0, 9), secondNames.subList(1, 10));
+    }
+
+    @Test
+    public void givenRenamesAndDeletes_whenListingDeepOffsets_thenShouldMatchTheFullListing() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var categories = new ArrayList<Category>();
+        for (int i = 0; i < CategorySortedIndex.WALK_LIMIT * 3; i++) {
+            categories.add(aGateway.create(Category.newCategory("Category %05d".formatted(i), null, true)));
+        }
+        final var random = new Random(42);
+        for (int i = 0; i < CategorySortedIndex.DRAIN_THRESHOLD * 2; i++) {
+            final var aCategory = categories.get(random.nextInt(categories.size()));
+            if (i % 5 == 0) {
+                aGateway.deleteById(aCategory.getId());
+            } else if (aGateway.findById(aCategory.getId()).isPresent()) {
+                aGateway.update(Category.with(aCategory).update("Renamed %05d".formatted(random.nextInt(100_000)), null, true));
+            }
+        }
+
+        for (final var direction : List.of("asc", "desc")) {
+            final var everything = names(aGateway.findAll(new CategorySearchQuery(0, categories.size(), null, "name", direction)).items());
+            for (final var aPage : List.of(CategorySortedIndex.WALK_LIMIT / 10 + 1, everything.size() / 20, everything.size() / 10 - 1)) {
+                final var actualNames = names(aGateway.findAll(new CategorySearchQuery(aPage, 10, null, "name", direction)).items());
+
+                Assertions.assertEquals(everything.subList(aPage * 10, Math.min(aPage * 10 + 10, everything.size())), actualNames);
+            }
+            Assertions.assertTrue(aGateway.findAll(new CategorySearchQuery(everything.size(), 10, null, "name", direction)).items().isEmpty());
+        }
+    }
+
+    @Test
+    public void givenPersistedCategories_whenWalkingWithCursor_thenShouldMatchOffsetListing() {
+        final var aGateway = new CategoryInMemoryGateway();
+        for (int i = 0; i < 25; i++) {
+            aGateway.create(Category.newCategory("Category " + (char) ('a' + i % 7) + i, null, true));
+        }
+        for (final var direction : List.of("asc", "desc")) {
+            final var expectedNames = names(aGateway.findAll(new CategorySearchQuery(0, 25, "", "name", direction)).items());
+
+            final var actualNames = new ArrayList<String>();
+            String aCursor = null;
+            do {
+                final var aPage = aGateway.findAll(new CategoryCursorQuery(aCursor, 4, "", "name", direction));
+                Assertions.assertTrue(aPage.items().size() <= 4);
+                actualNames.addAll(names(aPage.items()));
+                aCursor = aPage.nextCursor();
+            } while (aCursor != null);
+
+            Assertions.assertEquals(expectedNames, actualNames);
+        }
+    }
+
+    @Test
+    public void givenACursor_whenCategoriesAreInsertedBeforeIt_thenNextPageShouldNotShift() {
+        final var aGateway = new CategoryInMemoryGateway();
+        for (final var aName : List.of("Comedy", "Drama", "Horror", "Kids", "Series")) {
+            aGateway.create(Category.newCategory(aName, null, true));
+        }
+
+        final var firstPage = aGateway.findAll(new CategoryCursorQuery(null, 2, null, "name", "asc"));
+        aGateway.create(Category.newCategory("Action", null, true));
+        aGateway.create(Category.newCategory("Anime", null, true));
+        final var secondPage = aGateway.findAll(new CategoryCursorQuery(firstPage.nextCursor(), 2, null, "name", "asc"));
+
+        Assertions.assertEquals(List.of("Comedy", "Drama"), names(firstPage.items()));
+        Assertions.assertEquals(List.of("Horror", "Kids"), names(secondPage.items()));
+        Assertions.assertTrue(secondPage.hasNext());
+    }
+
+    @Test
+    public void givenACursorFromTheLastItem_whenItIsDeleted_thenShouldResumeAfterItsKey() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var first = aGateway.create(Category.newCategory("First", null, true));
+        TimeUnit.MILLISECONDS.sleep(2);
+        aGateway.create(Category.newCategory("Second", null, true));
+
+        final var firstPage = aGateway.findAll(new CategoryCursorQuery(null, 1, null, "createAt", "asc"));
+        aGateway.deleteById(first.getId());
+        final var secondPage = aGateway.findAll(new CategoryCursorQuery(firstPage.nextCursor(), 1, null, "createAt", "asc"));
+
+        Assertions.assertEquals(List.of("First"), names(firstPage.items()));
+        Assertions.assertEquals(List.of("Second"), names(secondPage.items()));
+        Assertions.assertFalse(secondPage.hasNext());
+    }
+
+    @Test
+    public void givenACursorForAnotherOrdering_whenCallFindAll_thenShouldReceiveError() {
+        final var aGateway = new CategoryInMemoryGateway();
+        aGateway.create(Category.newCategory("Comedy", null, true));
+        aGateway.create(Category.newCategory("Drama", null, true));
+        final var aCursor = aGateway.findAll(new CategoryCursorQuery(null, 1, null, "name", "asc")).nextCursor();
+
+        Assertions.assertThrows(DomainException.class,
+                () -> aGateway.findAll(new CategoryCursorQuery(aCursor, 1, null, "name", "desc")));
+        Assertions.assertThrows(DomainException.class,
+                () -> aGateway.findAll(new CategoryCursorQuery("not a cursor", 1, null, "name", "asc")));
+    }
+
+    @Test
+    public void givenConcurrentWritersAndReaders_whenStressed_thenShouldStayConsistent() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var writers = 8;
+        final var perWriter = 500;
+        final var readers = 4;
+        final var failures = new ConcurrentLinkedQueue<Throwable>();
+        final var start = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(writers + readers);
+        final var kept = new ConcurrentLinkedQueue<CategoryID>();
+
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int w = 0; w < writers; w++) {
+                final var writer = w;
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    for (int i = 0; i < perWriter; i++) {
+                        final var aCategory = aGateway.create(Category.newCategory("Writer " + writer + " item " + i, "stress", true));
+                        aGateway.update(aCategory.update("Writer " + writer + " updated " + i, "stress", i % 2 == 0));
+                        if (i % 5 == 0) {
+                            aGateway.deleteById(aCategory.getId());
+                        } else {
+                            kept.add(aCategory.getId());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < readers; r++) {
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    for (int i = 0; i < 300; i++) {
+                        try {
+                            final var aPage = aGateway.findAll(new CategorySearchQuery(i % 5, 20, i % 3 == 0 ? "updated" : "", "name", i % 2 == 0 ? "asc" : "desc"));
+                            Assertions.assertTrue(aPage.items().size() <= 20);
+                            final var ids = new HashSet<CategoryID>();
+                            aPage.items().forEach(aCategory -> Assertions.assertTrue(ids.add(aCategory.getId())));
+                        } catch (final Throwable t) {
+                            failures.add(t);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (final var aFuture : futures) {
+                aFuture.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var expectedTotal = writers * perWriter * 4 / 5;
+        final var actualPage = aGateway.findAll(new CategorySearchQuery(0, expectedTotal, "", "name", "asc"));
+
+        Assertions.assertTrue(failures.isEmpty(), () -> failures.peek().toString());
+        Assertions.assertEquals(expectedTotal, aGateway.count());
+        Assertions.assertEquals(expectedTotal, actualPage.total());
+        Assertions.assertEquals(expectedTotal, new HashSet<>(actualPage.items()).size());
+        for (final var anID : kept) {
+            final var actualCategory = aGateway.findById(anID).orElseThrow();
+            Assertions.assertTrue(actualCategory.getName().contains("updated"));
+        }
+    }
+
+    @Test
+    public void givenConcurrentUpdatesOnSameCategory_whenStressed_thenLastWriteShouldBeVisibleEverywhere() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = aGateway.create(Category.newCategory("Hot", "contended", true));
+        final var threads = 8;
+        final var start = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                final var thread = t;
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    for (int i = 0; i < 1_000; i++) {
+                        final var aCopy = aGateway.findById(aCategory.getId()).orElseThrow();
+                        aGateway.update(aCopy.update("Hot " + thread + " " + i, "contended", i % 2 == 0));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var aFuture : futures) {
+                aFuture.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var actualCategory = aGateway.findById(aCategory.getId()).orElseThrow();
+        final var actualPage = aGateway.findAll(new CategorySearchQuery(0, 10, "", "name", "asc"));
+
+        Assertions.assertEquals(1, aGateway.count());
+        Assertions.assertEquals(1, actualPage.total());
+        Assertions.assertEquals(actualCategory.getName(), actualPage.items().get(0).getName());
+    }
+
+    @Test
+    public void givenManyWritersOnHotCategories_whenRetryingCompareAndUpdate_thenShouldLoseNoUpdate() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var ids = new ArrayList<CategoryID>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(aGateway.create(Category.newCategory("Hot " + i, "0", true)).getId());
+        }
+        final var threads = 8;
+        final var increments = 1_000;
+        final var start = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                final var thread = t;
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    for (int i = 0; i < increments; i++) {
+                        final var anID = ids.get((thread + i) % ids.size());
+                        while (true) {
+                            final var aCopy = aGateway.findById(anID).orElseThrow();
+                            final var aCounter = Long.parseLong(aCopy.getDescription());
+                            try {
+                                aGateway.compareAndUpdate(aCopy.update(aCopy.getName(), String.valueOf(aCounter + 1), true));
+                                break;
+                            } catch (final StaleVersionException ignored) {
+                                // someone else got there first, read it again
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var aFuture : futures) {
+                aFuture.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var actualTotal = 0L;
+        for (final var anID : ids) {
+            final var actualCategory = aGateway.findById(anID).orElseThrow();
+            final var actualCounter = Long.parseLong(actualCategory.getDescription());
+            Assertions.assertEquals(actualCounter + 1, actualCategory.getVersion());
+            actualTotal += actualCounter;
+        }
+        Assertions.assertEquals((long) threads * increments, actualTotal);
+    }
+
+    @Test
+    public void givenWritesThatActivateAndDeactivate_whenCallCounts_thenShouldCountEachState() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var movies = aGateway.create(Category.newCategory("Movies", null, true));
+        final var series = aGateway.create(Category.newCategory("Series", null, false));
+        aGateway.create(Category.newCategory("Kids", null, true));
+
+        Assertions.assertEquals(new CategoryCounts(3, 2, 1), aGateway.counts());
+
+        aGateway.update(movies.deActivate());
+        aGateway.update(series.activate());
+        aGateway.update(series.update("Series", "renamed", true));
+
+        Assertions.assertEquals(new CategoryCounts(3, 2, 1), aGateway.counts());
+
+        aGateway.deleteById(movies.getId());
+        aGateway.deleteById(movies.getId());
+
+        Assertions.assertEquals(new CategoryCounts(2, 2, 0), aGateway.counts());
+        Assertions.assertEquals(2, aGateway.findAll(new CategorySearchQuery(0, 1, null, "name", "asc")).total());
+    }
+
+    @Test
+    public void givenTerms_whenCallEstimateCount_thenShouldNeverUnderEstimateTheSearch() {
+        final var aGateway = new CategoryInMemoryGateway();
+        aGateway.create(Category.newCategory("Action movies", "Explosions", true));
+        aGateway.create(Category.newCategory("Action series", "Moviegoers welcome", true));
+        aGateway.create(Category.newCategory("Kids movies", null, true));
+        aGateway.create(Category.newCategory("Documentaries", null, true));
+
+        for (final var terms : List.of("action", "movie", "action movie", "kids", "opera", "")) {
+            final var exact = aGateway.findAll(new CategorySearchQuery(0, 10, terms, null, null)).total();
+            Assertions.assertTrue(aGateway.estimateCount(terms) >= exact, terms);
+        }
+        Assertions.assertEquals(2, aGateway.estimateCount("action"));
+        Assertions.assertEquals(0, aGateway.estimateCount("opera"));
+        Assertions.assertEquals(4, aGateway.estimateCount(""));
+    }
+
+    @Test
+    public void givenConcurrentWriters_whenWritesStop_thenCountsShouldMatchAScan() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var ids = new ArrayList<CategoryID>();
+        for (int i = 0; i < 64; i++) {
+            ids.add(aGateway.create(Category.newCategory("Shared " + i, null, i % 2 == 0)).getId());
+        }
+        final var threads = 8;
+        final var start = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                final var thread = t;
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    final var random = new Random(thread);
+                    for (int i = 0; i < 2_000; i++) {
+                        final var anID = ids.get(random.nextInt(ids.size()));
+                        switch (random.nextInt(4)) {
+                            case 0 -> aGateway.deleteById(anID);
+                            case 1 -> {
+                                final var active = random.nextBoolean();
+                                final var now = Instant.now();
+                                aGateway.create(Category.with(anID, "Shared", null, active, now, now, active ? null : now));
+                            }
+                            default -> aGateway.findById(anID).ifPresent(aCategory ->
+                                    aGateway.update(aCategory.isActive() ? aCategory.deActivate() : aCategory.activate()));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var aFuture : futures) {
+                aFuture.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var stored = ids.stream().map(aGateway::findSnapshotById).flatMap(Optional::stream).toList();
+        final var expected = new CategoryCounts(
+                stored.size(),
+                stored.stream().filter(CategorySnapshot::active).count(),
+                stored.stream().filter(aCategory -> aCategory.deleteAt() != null).count()
+        );
+
+        Assertions.assertEquals(expected, aGateway.counts());
+        Assertions.assertEquals(expected.total(), aGateway.count());
+    }
+
+    @Test
+    public void givenAConsistentStream_whenWritingWhileReadingIt_thenShouldOnlySeeTheRowsAsOfOpening() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var movies = aGateway.create(Category.newCategory("Movies", null, true));
+        aGateway.create(Category.newCategory("Series", null, true));
+
+        try (final var aStream = aGateway.streamAll(new CategoryStreamQuery(null, "name", "asc", true))) {
+            aGateway.create(Category.newCategory("Documentaries", null, true));
+            aGateway.update(movies.update("Sports", null, true));
+            aGateway.deleteById(movies.getId());
+
+            Assertions.assertEquals(List.of("Movies", "Series"), aStream.map(CategorySnapshot::name).toList());
+        }
+        Assertions.assertEquals(List.of("Documentaries", "Series"), aGateway.streamAll(CategoryStreamQuery.all()).map(CategorySnapshot::name).sorted().toList());
+    }
+
+    @Test
+    public void givenWritersMovingRows_whenStreamingConsistently_thenEveryStreamShouldHoldEachCategoryOnceInOrder() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var categories = new ArrayList<Category>();
+        for (int i = 0; i < 2_000; i++) {
+            categories.add(aGateway.create(Category.newCategory("M %04d".formatted(i), null, true)));
+        }
+        final var stop = new AtomicBoolean();
+        final var executor = Executors.newFixedThreadPool(2);
+        try {
+            final var writers = new ArrayList<Future<?>>();
+            for (int t = 0; t < 2; t++) {
+                final var writer = t;
+                writers.add(executor.submit(() -> {
+                    final var random = new Random(writer);
+                    while (!stop.get()) {
+                        final var aCategory = categories.get(random.nextInt(categories.size()));
+                        final var aName = (random.nextBoolean() ? "A " : "Z ") + aCategory.getName().substring(2);
+                        aGateway.update(Category.with(aGateway.findSnapshotById(aCategory.getId()).orElseThrow()).update(aName, null, true));
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 50; i++) {
+                final var rows = aGateway.streamAll(new CategoryStreamQuery(null, "name", "asc", true)).toList();
+
+                Assertions.assertEquals(categories.size(), rows.stream().map(CategorySnapshot::id).distinct().count());
+                Assertions.assertEquals(categories.size(), rows.size());
+                for (int j = 1; j < rows.size(); j++) {
+                    Assertions.assertTrue(CategorySortField.NAME.comparator().compare(rows.get(j - 1), rows.get(j)) < 0);
+                }
+            }
+            stop.set(true);
+            for (final var aWriter : writers) {
+                aWriter.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            stop.set(true);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenStreamQueries_whenCallStreamAll_thenShouldWalkTheSameRowsAsTheListing() {
+        final var aGateway = new CategoryInMemoryGateway();
+        for (int i = 0; i < 50; i++) {
+            aGateway.create(Category.newCategory((i % 2 == 0 ? "Action " : "Drama ") + i, null, true));
+        }
+
+        for (final var terms : Arrays.asList(null, "action", "drama 7")) {
+            for (final var aDirection : List.of("asc", "desc")) {
+                for (final var consistent : List.of(false, true)) {
+                    final var aQuery = new CategoryStreamQuery(terms, "name", aDirection, consistent);
+                    final var expected = aGateway.findAll(new CategorySearchQuery(0, 100, terms, "name", aDirection)).items();
+
+                    Assertions.assertEquals(names(expected), aGateway.streamAll(aQuery).map(CategorySnapshot::name).toList());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void givenATokenFromAPreviousPage_whenCallFindChanges_thenShouldReturnOnlyLaterWritesInOrder() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var movies = aGateway.create(Category.newCategory("Movies", null, true));
+        final var series = aGateway.create(Category.newCategory("Series", null, true));
+        final var kids = aGateway.create(Category.newCategory("Kids", null, true));
+
+        final var firstPage = aGateway.findChanges(CategoryChangeQuery.fromStart(2));
+        final var secondPage = aGateway.findChanges(new CategoryChangeQuery(firstPage.nextToken(), 2));
+
+        Assertions.assertEquals(List.of(movies.getId(), series.getId()), firstPage.items().stream().map(CategoryChange::id).toList());
+        Assertions.assertTrue(firstPage.hasMore());
+        Assertions.assertEquals(List.of(kids.getId()), secondPage.items().stream().map(CategoryChange::id).toList());
+        Assertions.assertFalse(secondPage.hasMore());
+
+        aGateway.update(series.deActivate());
+        aGateway.update(movies.update("Films", null, true));
+        aGateway.update(movies.update("Feature films", null, true));
+        aGateway.deleteById(kids.getId());
+
+        final var delta = aGateway.findChanges(new CategoryChangeQuery(secondPage.nextToken(), 10));
+        final var caughtUp = aGateway.findChanges(new CategoryChangeQuery(delta.nextToken(), 10));
+
+        Assertions.assertEquals(3, delta.items().size());
+        Assertions.assertEquals(series.getId(), delta.items().get(0).id());
+        Assertions.assertNotNull(delta.items().get(0).category().deleteAt());
+        Assertions.assertEquals("Feature films", delta.items().get(1).category().name());
+        Assertions.assertEquals(3, delta.items().get(1).category().version());
+        Assertions.assertEquals(kids.getId(), delta.items().get(2).id());
+        Assertions.assertTrue(delta.items().get(2).isRemoved());
+        Assertions.assertTrue(caughtUp.items().isEmpty());
+        Assertions.assertEquals(delta.nextToken(), caughtUp.nextToken());
+        Assertions.assertThrows(DomainException.class, () -> aGateway.findChanges(new CategoryChangeQuery("not a token", 10)));
+    }
+
+    @Test
+    public void givenMoreRemovalsThanRetained_whenResumingAnOldToken_thenShouldAskForAResync() {
+        final var aGateway = new CategoryInMemoryGateway(null, 2);
+        final var ids = new ArrayList<CategoryID>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(aGateway.create(Category.newCategory("Category " + i, null, true)).getId());
+        }
+        final var aToken = aGateway.findChanges(CategoryChangeQuery.fromStart(10)).nextToken();
+
+        aGateway.deleteById(ids.get(0));
+        aGateway.deleteById(ids.get(1));
+        Assertions.assertEquals(2, aGateway.findChanges(new CategoryChangeQuery(aToken, 10)).items().size());
+
+        aGateway.deleteById(ids.get(2));
+
+        Assertions.assertThrows(ExpiredChangeTokenException.class, () -> aGateway.findChanges(new CategoryChangeQuery(aToken, 10)));
+        final var resync = aGateway.findChanges(CategoryChangeQuery.fromStart(10)).items();
+        Assertions.assertEquals(4, resync.size());
+        Assertions.assertEquals(2, resync.stream().filter(CategoryChange::isRemoved).count());
+    }
+
+    @Test
+    public void givenConcurrentWriters_whenAConsumerPollsTheFeed_thenItShouldEndWithTheStoredState() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var ids = new ArrayList<CategoryID>();
+        for (int i = 0; i < 64; i++) {
+            ids.add(aGateway.create(Category.newCategory("Category " + i, "0", true)).getId());
+        }
+        final var threads = 4;
+        final var writes = 2_000;
+        final var done = new AtomicBoolean();
+        final var replica = new HashMap<CategoryID, CategorySnapshot>();
+        final var executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                final var seed = t;
+                futures.add(executor.submit(() -> {
+                    final var random = new Random(seed);
+                    for (int i = 0; i < writes; i++) {
+                        final var anID = ids.get(random.nextInt(ids.size()));
+                        if (random.nextInt(20) == 0) {
+                            aGateway.deleteById(anID);
+                        } else {
+                            aGateway.update(Category.with(anID, "Category " + i, String.valueOf(i), random.nextBoolean(), Instant.now(), Instant.now(), null, 0));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            String aToken = null;
+            while (!done.get()) {
+                done.set(futures.stream().allMatch(Future::isDone));
+                final var aPage = aGateway.findChanges(new CategoryChangeQuery(aToken, 100));
+                for (final var aChange : aPage.items()) {
+                    if (aChange.isRemoved()) {
+                        replica.remove(aChange.id());
+                    } else {
+                        replica.put(aChange.id(), aChange.category());
+                    }
+                }
+                aToken = aPage.nextToken();
+                if (aPage.hasMore()) {
+                    done.set(false);
+                }
+            }
+            for (final var aFuture : futures) {
+                aFuture.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (final var anID : ids) {
+            Assertions.assertEquals(aGateway.findSnapshotById(anID), Optional.ofNullable(replica.get(anID)));
+        }
+    }
+
+    @Test
+    public void givenAccentedCategories_whenCallSuggest_thenShouldMatchNormalisedPrefixesInNameOrder() {
+        final var aGateway = new CategoryInMemoryGateway();
+        aGateway.create(Category.newCategory("Acessórios", null, true));
+        aGateway.create(Category.newCategory("Ação e  Aventura", null, true));
+        aGateway.create(Category.newCategory("Ação", null, true));
+        aGateway.create(Category.newCategory("Comédia", null, true));
+        aGateway.create(Category.newCategory("Acidentes", null, false));
+
+        Assertions.assertEquals(List.of("Ação", "Ação e  Aventura", "Acessórios"), suggestions(aGateway, "AC", 10));
+        Assertions.assertEquals(List.of("Ação", "Ação e  Aventura"), suggestions(aGateway, "acao", 10));
+        Assertions.assertEquals(List.of("Ação e  Aventura"), suggestions(aGateway, "AÇÃO ", 10));
+        Assertions.assertEquals(List.of("Ação e  Aventura"), suggestions(aGateway, "acao e av", 10));
+        Assertions.assertEquals(List.of("Ação"), suggestions(aGateway, "a", 1));
+        Assertions.assertEquals(List.of(), suggestions(aGateway, "b", 10));
+        Assertions.assertEquals(List.of(), suggestions(aGateway, "a", 0));
+    }
+
+    @Test
+    public void givenWritesToACategory_whenCallSuggest_thenShouldFollowItsNameAndState() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var aCategory = aGateway.create(Category.newCategory("Movies", null, true));
+
+        aGateway.update(aCategory.update("Series", null, true));
+        Assertions.assertEquals(List.of(), suggestions(aGateway, "mov", 10));
+        Assertions.assertEquals(List.of("Series"), suggestions(aGateway, "ser", 10));
+
+        aGateway.update(aCategory.deActivate());
+        Assertions.assertEquals(List.of(), suggestions(aGateway, "ser", 10));
+
+        aGateway.update(aCategory.activate());
+        Assertions.assertEquals(List.of("Series"), suggestions(aGateway, "ser", 10));
+
+        aGateway.deleteById(aCategory.getId());
+        Assertions.assertEquals(List.of(), suggestions(aGateway, "ser", 10));
+        Assertions.assertEquals(0, aGateway.prefixIndexStats().entries());
+    }
+
+    @Test
+    public void givenRandomWrites_whenCallSuggest_thenShouldMatchAScanOfActiveNames() {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var random = new Random(42);
+        final var ids = new ArrayList<CategoryID>();
+        for (int i = 0; i < 6_000; i++) {
+            ids.add(aGateway.create(Category.newCategory("Category " + random.nextInt(2_000), null, random.nextInt(5) != 0)).getId());
+        }
+        for (int i = 0; i < 6_000; i++) {
+            final var anID = ids.get(random.nextInt(ids.size()));
+            final var aCategory = aGateway.findById(anID);
+            if (aCategory.isEmpty()) {
+                continue;
+            }
+            if (i % 3 == 0) {
+                aGateway.deleteById(anID);
+            } else {
+                aGateway.update(aCategory.get().update("Category " + random.nextInt(2_000), null, i % 5 != 0));
+            }
+        }
+
+        final var active = ids.stream().map(aGateway::findSnapshotById).flatMap(Optional::stream)
+                .filter(CategorySnapshot::active).sorted(CategoryPrefixIndex.ORDER).toList();
+        for (final var aPrefix : List.of("", "c", "category 1", "CATEGORY 19", "category 1999", "category 2 ", "x")) {
+            final var expected = active.stream().filter(aCategory -> aCategory.name().toLowerCase().startsWith(aPrefix.toLowerCase())).toList();
+            for (final var limit : List.of(1, 7, 500, 10_000)) {
+                Assertions.assertEquals(expected.subList(0, Math.min(limit, expected.size())), aGateway.suggest(new CategorySuggestQuery(aPrefix, limit)));
+            }
+        }
+
+        final var actualStats = aGateway.prefixIndexStats();
+        Assertions.assertEquals(active.size(), actualStats.entries());
+        Assertions.assertTrue(actualStats.blocks() > active.size() / CategoryPrefixIndex.MAX_BLOCK_SIZE);
+        Assertions.assertTrue(actualStats.bytesPerEntry() > 0);
+    }
+
+    @Test
+    public void givenWritersRenamingAcrossLeadingLetters_whenCallSuggest_thenShouldMatchAScanOfActiveNames() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        final var words = List.of("alpha", "alps", "beta", "bet", "gamma", "zeta", "zero", "9 lives", "ação");
+        final var ids = new ArrayList<CategoryID>();
+        for (int i = 0; i < 4_000; i++) {
+            ids.add(aGateway.create(Category.newCategory(words.get(i % words.size()) + " " + i % 300, null, true)).getId());
+        }
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var writers = new ArrayList<Future<?>>();
+            for (int t = 0; t < 4; t++) {
+                final var writer = t;
+                writers.add(executor.submit(() -> {
+                    final var random = new Random(writer);
+                    for (int i = writer; i < ids.size(); i += 4) {
+                        for (int j = 0; j < 3; j++) {
+                            final var aCategory = aGateway.findById(ids.get(i)).orElseThrow();
+                            final var aName = words.get(random.nextInt(words.size())) + " " + random.nextInt(300);
+                            aGateway.update(aCategory.update(aName, null, random.nextInt(6) != 0));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (final var aWriter : writers) {
+                aWriter.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var active = ids.stream().map(aGateway::findSnapshotById).flatMap(Optional::stream)
+                .filter(CategorySnapshot::active).sorted(CategoryPrefixIndex.ORDER).toList();
+        for (final var aPrefix : List.of("", "a", "alp", "alps ", "b", "bet", "z", "9", "acao 2", "q")) {
+            final var aKey = CategoryPrefixIndex.prefix(aPrefix);
+            final var expected = active.stream().filter(aCategory -> {
+                final var aName = CategoryPrefixIndex.key(aCategory.name());
+                return aName.length >= aKey.length && Arrays.equals(aName, 0, aKey.length, aKey, 0, aKey.length);
+            }).toList();
+            for (final var limit : List.of(1, 40, 10_000)) {
+                Assertions.assertEquals(expected.subList(0, Math.min(limit, expected.size())), aGateway.suggest(new CategorySuggestQuery(aPrefix, limit)));
+            }
+        }
+        Assertions.assertEquals(active.size(), aGateway.prefixIndexStats().entries());
+    }
+
+    private static List<String> names(final List<Category> categories) {
+        return categories.stream().map(Category::getName).toList();
+    }
+
+    private static List<String> suggestions(final CategoryInMemoryGateway aGateway, final String aPrefix, final int limit) {
+        return aGateway.suggest(new CategorySuggestQuery(aPrefix, limit)).stream().map(CategorySnapshot::name).toList();
+    }
+
+    private static void await(final CountDownLatch aLatch) {
+        try {
+            aLatch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChange;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.gatalogue.admin.application.instrumentation.MetricsRegistry;
+import com.fullcycle.gatalogue.admin.application.instrumentation.OperationSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CategoryInstrumentedGatewayTest {
+
+    @Test
+    public void givenAnInstrumentedGateway_whenCallingItsOperations_thenShouldRecordEachOne() {
+        final var aRegistry = new MetricsRegistry();
+        final var aGateway = new CategoryInstrumentedGateway(new CategoryInMemoryGateway(), aRegistry, "category.gateway");
+
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+        aGateway.findById(aCategory.getId());
+        aGateway.findById(CategoryID.unique());
+        aGateway.update(aCategory.update("Series", null, true));
+        aGateway.findAll(new CategorySearchQuery(0, 10, null, "name", "asc"));
+
+        final var actualOperations = aRegistry.snapshot().stream()
+                .collect(Collectors.toMap(OperationSnapshot::name, Function.identity()));
+
+        Assertions.assertEquals(1, actualOperations.get("category.gateway.create").calls());
+        Assertions.assertEquals(2, actualOperations.get("category.gateway.findById").calls());
+        Assertions.assertEquals(1, actualOperations.get("category.gateway.update").calls());
+        Assertions.assertEquals(1, actualOperations.get("category.gateway.findAll").calls());
+        Assertions.assertEquals(0, actualOperations.get("category.gateway.deleteById").calls());
+        Assertions.assertTrue(actualOperations.get("category.gateway.create").latency().max() > 0);
+    }
+
+    @Test
+    public void givenAFailingDelegate_whenCallFindById_thenShouldCountTheErrorAndRethrow() {
+        final var aRegistry = new MetricsRegistry();
+        final var aGateway = new CategoryInstrumentedGateway(new CategoryInMemoryGateway() {
+            @Override
+            public Optional<Category> findById(final CategoryID anID) {
+                throw new IllegalStateException("database is down");
+            }
+        }, aRegistry, "category.gateway");
+
+        Assertions.assertThrows(IllegalStateException.class, () -> aGateway.findById(CategoryID.unique()));
+
+        final var actualSnapshot = aRegistry.operation("category.gateway.findById").snapshot();
+        Assertions.assertEquals(1, actualSnapshot.calls());
+        Assertions.assertEquals(0, actualSnapshot.domainErrors());
+        Assertions.assertEquals(1, actualSnapshot.otherErrors());
+        Assertions.assertEquals(0, actualSnapshot.inFlight());
+    }
+
+    @Test
+    public void givenAWriteBehindDelegate_whenInstrumented_thenShouldForwardOnlyTheCapabilitiesItHas() {
+        final var aRegistry = new MetricsRegistry();
+        try (final var aWriteBehind = new CategoryWriteBehindGateway(new CategoryInMemoryGateway(), 100, Duration.ofHours(1))) {
+            final var aGateway = new CategoryInstrumentedGateway(aWriteBehind, aRegistry, "category.gateway");
+
+            final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+            aWriteBehind.flush();
+            final var actualChanges = aGateway.findChanges(CategoryChangeQuery.fromStart(10));
+
+            Assertions.assertEquals(List.of(aCategory.getId()), actualChanges.items().stream().map(CategoryChange::id).toList());
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> aGateway.compareAndUpdate(aCategory.update("Series", null, true)));
+            Assertions.assertFalse(aGateway instanceof CategoryStore);
+            Assertions.assertEquals(1, aRegistry.operation("category.gateway.findChanges").snapshot().calls());
+            Assertions.assertEquals(1, aRegistry.operation("category.gateway.compareAndUpdate").snapshot().otherErrors());
+        }
+    }
+
+    @Test
+    public void givenAStoreDelegate_whenInstrumentedAsAStore_thenShouldDeclareItsCapabilities() {
+        final CategoryStore aGateway = new CategoryInstrumentedGateway.Store(new CategoryInMemoryGateway(), new MetricsRegistry(), "category.gateway");
+
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+        final var actualCategory = aGateway.compareAndUpdate(aGateway.findById(aCategory.getId()).orElseThrow().update("Series", null, true));
+
+        Assertions.assertEquals("Series", actualCategory.getName());
+    }
+}
@@ -0,0 +1,641 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryActivated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChange;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCreated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryDeactivated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryUpdated;
+import com.fullcycle.catalogue.admin.domain.exceptions.ExpiredChangeTokenException;
+import com.fullcycle.catalogue.admin.domain.exceptions.StaleVersionException;
+import com.fullcycle.gatalogue.admin.infrastructure.exceptions.GatewayStorageException;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.InMemoryOutbox;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.OutboxEntry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+public class CategoryLogGatewayTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void givenAnOutbox_whenCallCreateAndUpdate_thenShouldAppendTheEventsInWriteOrder() {
+        final var anOutbox = new InMemoryOutbox();
+        try (final var aGateway = new CategoryLogGateway(directory, anOutbox)) {
+            final var aCategory = Category.newCategory("Movies", "Category most view", true);
+
+            aGateway.create(aCategory);
+            aGateway.update(aCategory.update("Series", null, false));
+            final var aStaleCopy = aGateway.findById(aCategory.getId()).orElseThrow().activate();
+            aGateway.update(aCategory.activate());
+            Assertions.assertThrows(StaleVersionException.class, () -> aGateway.compareAndUpdate(aStaleCopy));
+
+            final var actualTypes = anOutbox.fetch(0, 10).stream().map(OutboxEntry::event).map(Object::getClass).toList();
+
+            Assertions.assertEquals(
+                    List.of(CategoryCreated.class, CategoryDeactivated.class, CategoryUpdated.class, CategoryActivated.class),
+                    actualTypes
+            );
+            Assertions.assertTrue(aCategory.getDomainEvents().isEmpty());
+            Assertions.assertEquals(1, aStaleCopy.getDomainEvents().size());
+        }
+    }
+
+    @Test
+    public void givenSavedCategories_whenReopeningTheLog_thenShouldRecoverTheLatestState() {
+        final CategoryID deletedID;
+        final CategoryID updatedID;
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+            aGateway.update(aCategory.update("Series", null, false));
+            deletedID = aGateway.create(Category.newCategory("Documentaries", "Category less view", true)).getId();
+            aGateway.deleteById(deletedID);
+            updatedID = aCategory.getId();
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            final var actualCategory = aGateway.findById(updatedID).orElseThrow();
+
+            Assertions.assertEquals(1, aGateway.count());
+            Assertions.assertEquals("Series", actualCategory.getName());
+            Assertions.assertNull(actualCategory.getDescription());
+            Assertions.assertFalse(actualCategory.isActive());
+            Assertions.assertNotNull(actualCategory.getCreateAt());
+            Assertions.assertNotNull(actualCategory.getDeleteAt());
+            Assertions.assertTrue(aGateway.findById(deletedID).isEmpty());
+            Assertions.assertEquals(1, aGateway.findAll(new CategorySearchQuery(0, 10, "series", "name", "asc")).total());
+        }
+    }
+
+    @Test
+    public void givenAPersistedCategory_whenMutatingTheInstances_thenShouldKeepTheStoredState() {
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            final var aCategory = Category.newCategory("Movies", "Category most view", true);
+            final var actualCategory = aGateway.create(aCategory);
+
+            aCategory.update("Changed outside", null, false);
+            actualCategory.update("Changed outside", null, false);
+
+            Assertions.assertEquals("Movies", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+        }
+    }
+
+    @Test
+    public void givenVersionedWrites_whenReopeningTheLog_thenShouldKeepTheVersionAndRejectStaleWrites() {
+        final Category aStaleCopy;
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+            aStaleCopy = aGateway.findById(aCategory.getId()).orElseThrow();
+            final var anUpdated = aGateway.compareAndUpdate(aCategory.update("Series", null, true));
+
+            Assertions.assertEquals(2, anUpdated.getVersion());
+            Assertions.assertThrows(StaleVersionException.class, () -> aGateway.compareAndUpdate(aStaleCopy.update("Kids", null, true)));
+            aGateway.compact();
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            final var actualCategory = aGateway.findById(aStaleCopy.getId()).orElseThrow();
+
+            Assertions.assertEquals("Series", actualCategory.getName());
+            Assertions.assertEquals(2, actualCategory.getVersion());
+            final var aKids = aGateway.update(actualCategory.update("Kids", null, true));
+            Assertions.assertEquals(3, aKids.getVersion());
+            Assertions.assertEquals(4, aGateway.compareAndUpdate(aKids.update("Documentaries", null, true)).getVersion());
+            Assertions.assertEquals(
+                    StaleVersionException.MISSING,
+                    Assertions.assertThrows(StaleVersionException.class, () -> aGateway.compareAndUpdate(Category.newCategory("New", null, true))).getActualVersion()
+            );
+        }
+    }
+
+    @Test
+    public void givenAVersion_whenCallCompareAndDeleteById_thenShouldOnlyRemoveThatVersionDurably() {
+        final CategoryID anID;
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", false));
+            anID = aCategory.getId();
+            final var anUpdated = aGateway.update(aCategory.activate());
+
+            Assertions.assertThrows(StaleVersionException.class, () -> aGateway.compareAndDeleteById(anID, aCategory.getVersion()));
+            Assertions.assertTrue(aGateway.findById(anID).isPresent());
+
+            aGateway.compareAndDeleteById(anID, anUpdated.getVersion());
+            Assertions.assertTrue(aGateway.findById(anID).isEmpty());
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            Assertions.assertTrue(aGateway.findById(anID).isEmpty());
+            Assertions.assertEquals(0, aGateway.counts().total());
+            Assertions.assertEquals(
+                    StaleVersionException.MISSING,
+                    Assertions.assertThrows(StaleVersionException.class, () -> aGateway.compareAndDeleteById(anID, 2)).getActualVersion()
+            );
+        }
+    }
+
+    @Test
+    public void givenWritesBeforeAndAfterTheFirstSuggest_whenReopeningTheLog_thenShouldSuggestTheLatestNames() {
+        final CategoryID anID;
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            anID = aGateway.create(Category.newCategory("Movies", null, true)).getId();
+            aGateway.create(Category.newCategory("Música", null, true));
+            aGateway.create(Category.newCategory("Museums", null, false));
+
+            Assertions.assertEquals(List.of("Movies", "Música"), suggestions(aGateway, "m", 10));
+
+            aGateway.update(aGateway.findById(anID).orElseThrow().update("Series", null, true));
+            aGateway.create(Category.newCategory("Mundial", null, true));
+
+            Assertions.assertEquals(List.of("Mundial", "Música"), suggestions(aGateway, "MU", 10));
+            Assertions.assertEquals(List.of("Series"), suggestions(aGateway, "se", 10));
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            aGateway.deleteById(anID);
+
+            Assertions.assertEquals(List.of(), suggestions(aGateway, "se", 10));
+            Assertions.assertEquals(List.of("Mundial"), suggestions(aGateway, "m", 1));
+        }
+    }
+
+    @Test
+    public void givenWritesAndACompaction_whenReopeningTheLog_thenShouldRebuildTheSameCounts() {
+        final CategoryCounts expectedCounts;
+        try (final var aGateway = new CategoryLogGateway(directory, 4096)) {
+            for (int i = 0; i < 200; i++) {
+                final var aCategory = aGateway.create(Category.newCategory("Category " + i, null, i % 3 != 0));
+                if (i % 4 == 0) {
+                    aGateway.update(aCategory.isActive() ? aCategory.deActivate() : aCategory.activate());
+                }
+                if (i % 5 == 0) {
+                    aGateway.deleteById(aCategory.getId());
+                }
+            }
+            expectedCounts = aGateway.counts();
+            aGateway.compact();
+
+            final var stored = aGateway.findAllSnapshots(new CategorySearchQuery(0, 1_000, null, "name", "asc")).items();
+            Assertions.assertEquals(stored.size(), expectedCounts.total());
+            Assertions.assertEquals(stored.stream().filter(CategorySnapshot::active).count(), expectedCounts.active());
+            Assertions.assertEquals(stored.stream().filter(aCategory -> aCategory.deleteAt() != null).count(), expectedCounts.deleted());
+            Assertions.assertEquals(expectedCounts, aGateway.counts());
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory, 4096)) {
+            Assertions.assertEquals(expectedCounts, aGateway.counts());
+            Assertions.assertEquals(160, aGateway.counts().total());
+        }
+    }
+
+    @Test
+    public void givenPersistedCategories_whenCallFindAll_thenShouldPageLikeTheInMemoryGateway() {
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            final var anInMemory = new CategoryInMemoryGateway();
+            for (final var aName : List.of("Movies", "Series", "Documentaries", "Kids", "Sports", "News")) {
+                final var aCategory = Category.newCategory(aName, aName + " category", true);
+                aGateway.create(aCategory);
+                anInMemory.create(aCategory);
+            }
+
+            final var aQuery = new CategorySearchQuery(1, 2, null, "name", "desc");
+            Assertions.assertEquals(names(anInMemory.findAll(aQuery).items()), names(aGateway.findAll(aQuery).items()));
+
+            final var aCursorQuery = new CategoryCursorQuery(null, 4, "category", "name", "asc");
+            final var expectedPage = anInMemory.findAll(aCursorQuery);
+            final var actualPage = aGateway.findAll(aCursorQuery);
+            Assertions.assertEquals(names(expectedPage.items()), names(actualPage.items()));
+            Assertions.assertEquals(
+                    names(anInMemory.findAll(new CategoryCursorQuery(expectedPage.nextCursor(), 4, "category", "name", "asc")).items()),
+                    names(aGateway.findAll(new CategoryCursorQuery(actualPage.nextCursor(), 4, "category", "name", "asc")).items())
+            );
+        }
+    }
+
+    @Test
+    public void givenPersistedCategories_whenCallStreamAll_thenShouldWalkTheListingAndIgnoreLaterWrites() {
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            for (final var aName : List.of("Movies", "Series", "Documentaries", "Kids", "Sports", "News")) {
+                aGateway.create(Category.newCategory(aName, aName + " category", true));
+            }
+
+            for (final var aDirection : List.of("asc", "desc")) {
+                final var expected = names(aGateway.findAll(new CategorySearchQuery(0, 10, null, "name", aDirection)).items());
+                Assertions.assertEquals(expected, aGateway.streamAll(new CategoryStreamQuery(null, "name", aDirection, false)).map(CategorySnapshot::name).toList());
+            }
+            try (final var aStream = aGateway.streamAll(new CategoryStreamQuery("category", "name", "asc", true))) {
+                aGateway.create(Category.newCategory("Shorts", "Shorts category", true));
+
+                Assertions.assertEquals(List.of("Documentaries", "Kids", "Movies", "News", "Series", "Sports"), aStream.map(CategorySnapshot::name).toList());
+            }
+        }
+    }
+
+    @Test
+    public void givenWritersMovingRows_whenStreamingConsistently_thenEveryStreamShouldHoldEachCategoryOnceInOrder() throws Exception {
+        try (final var aGateway = new CategoryLogGateway(directory)) {
+            final var categories = new ArrayList<Category>();
+            for (int i = 0; i < 1_000; i++) {
+                categories.add(aGateway.create(Category.newCategory("M %04d".formatted(i), null, true)));
+            }
+            final var stop = new AtomicBoolean();
+            final var executor = Executors.newFixedThreadPool(2);
+            try {
+                final var writers = new ArrayList<Future<?>>();
+                for (int t = 0; t < 2; t++) {
+                    final var writer = t;
+                    writers.add(executor.submit(() -> {
+                        final var random = new Random(writer);
+                        while (!stop.get()) {
+                            final var aCategory = categories.get(random.nextInt(categories.size()));
+                            final var aName = (random.nextBoolean() ? "A " : "Z ") + aCategory.getName().substring(2);
+                            aGateway.update(aGateway.findById(aCategory.getId()).orElseThrow().update(aName, null, true));
+                        }
+                        return null;
+                    }));
+                }
+                for (int i = 0; i < 30; i++) {
+                    final var rows = aGateway.streamAll(new CategoryStreamQuery(null, "name", i % 2 == 0 ? "asc" : "desc", true)).toList();
+
+                    Assertions.assertEquals(categories.size(), rows.stream().map(CategorySnapshot::id).distinct().count());
+                    Assertions.assertEquals(categories.size(), rows.size());
+                    for (int j = 1; j < rows.size(); j++) {
+                        final var order = CategorySortField.NAME.comparator().compare(rows.get(j - 1), rows.get(j));
+                        Assertions.assertTrue(i % 2 == 0 ? order < 0 : order > 0);
+                    }
+                }
+                stop.set(true);
+                for (final var aWriter : writers) {
+                    aWriter.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                stop.set(true);
+                executor.shutdownNow();
+            }
+
+            final var listed = aGateway.findAll(new CategorySearchQuery(0, categories.size(), null, "name", "asc")).items();
+            Assertions.assertEquals(
+                    listed.stream().map(Category::getName).toList(),
+                    aGateway.streamAll(new CategoryStreamQuery(null, "name", "asc", false)).map(CategorySnapshot::name).toList()
+            );
+        }
+    }
+
+    @Test
+    public void givenAChangeToken_whenReopeningAndCompactingTheLog_thenShouldResumeUntilItsSegmentIsGone() {
+        final String aToken;
+        final CategoryID removedID;
+        try (final var aGateway = new CategoryLogGateway(directory, 4096)) {
+            final var movies = aGateway.create(Category.newCategory("Movies", null, true));
+            removedID = aGateway.create(Category.newCategory("Series", null, true)).getId();
+            aToken = aGateway.findChanges(CategoryChangeQuery.fromStart(10)).nextToken();
+
+            aGateway.update(movies.update("Films", null, true));
+            aGateway.deleteById(removedID);
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory, 4096)) {
+            final var delta = aGateway.findChanges(new CategoryChangeQuery(aToken, 10)).items();
+
+            Assertions.assertEquals(2, delta.size());
+            Assertions.assertEquals("Films", delta.get(0).category().name());
+            Assertions.assertEquals(removedID, delta.get(1).id());
+            Assertions.assertTrue(delta.get(1).isRemoved());
+
+            for (int i = 0; i < 100; i++) {
+                aGateway.create(Category.newCategory("Category " + i, "filler to roll segments", true));
+            }
+            aGateway.compact(0);
+
+            Assertions.assertThrows(ExpiredChangeTokenException.class, () -> aGateway.findChanges(new CategoryChangeQuery(aToken, 10)));
+            final var resync = aGateway.findChanges(CategoryChangeQuery.fromStart(1_000)).items();
+            Assertions.assertEquals(101, resync.size());
+            Assertions.assertTrue(resync.stream().noneMatch(CategoryChange::isRemoved));
+        }
+    }
+
+    @Test
+    public void givenAnUpToDateToken_whenCompactingAndReopening_thenShouldReportNoChanges() {
+        final var segmentSize = 4096;
+        String aToken;
+        try (final var aGateway = new CategoryLogGateway(directory, segmentSize)) {
+            final var categories = new ArrayList<Category>();
+            for (int i = 0; i < 60; i++) {
+                categories.add(aGateway.create(Category.newCategory("Category " + i, "filler to roll segments", true)));
+            }
+            for (final var aCategory : categories.subList(0, 30)) {
+                aGateway.update(aCategory.update(aCategory.getName() + " v2", null, true));
+            }
+            final var firstPage = aGateway.findChanges(CategoryChangeQuery.fromStart(1_000));
+            Assertions.assertEquals(60, firstPage.items().size());
+            aToken = firstPage.nextToken();
+
+            Assertions.assertTrue(aGateway.compact(0) > 0);
+
+            final var afterCompaction = aGateway.findChanges(new CategoryChangeQuery(aToken, 1_000));
+            Assertions.assertTrue(afterCompaction.items().isEmpty());
+            Assertions.assertEquals(60, aGateway.findChanges(CategoryChangeQuery.fromStart(1_000)).items().size());
+
+            aGateway.update(categories.get(45).update("Renamed", null, true));
+            final var delta = aGateway.findChanges(new CategoryChangeQuery(aToken, 1_000));
+            Assertions.assertEquals(List.of("Renamed"), delta.items().stream().map(aChange -> aChange.category().name()).toList());
+            aToken = delta.nextToken();
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory, segmentSize)) {
+            Assertions.assertTrue(aGateway.findChanges(new CategoryChangeQuery(aToken, 1_000)).items().isEmpty());
+
+            final var created = aGateway.create(Category.newCategory("Created", null, true));
+            Assertions.assertEquals(List.of(created.getId()), aGateway.findChanges(new CategoryChangeQuery(aToken, 1_000)).items().stream().map(CategoryChange::id).toList());
+        }
+    }
+
+    @Test
+    public void givenADroppedTombstone_whenReopeningTheLog_thenShouldStillExpireOlderTokens() {
+        final var segmentSize = 4096;
+        final String aToken;
+        try (final var aGateway = new CategoryLogGateway(directory, segmentSize)) {
+            final var removed = aGateway.create(Category.newCategory("Removed", null, true));
+            aToken = aGateway.findChanges(CategoryChangeQuery.fromStart(10)).nextToken();
+            aGateway.deleteById(removed.getId());
+            for (int i = 0; i < 100; i++) {
+                aGateway.create(Category.newCategory("Category " + i, "filler to roll segments", true));
+            }
+            aGateway.compact(0);
+
+            Assertions.assertThrows(ExpiredChangeTokenException.class, () -> aGateway.findChanges(new CategoryChangeQuery(aToken, 10)));
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory, segmentSize)) {
+            Assertions.assertThrows(ExpiredChangeTokenException.class, () -> aGateway.findChanges(new CategoryChangeQuery(aToken, 10)));
+            Assertions.assertEquals(100, aGateway.findChanges(CategoryChangeQuery.fromStart(1_000)).items().size());
+        }
+    }
+
+    @Test
+    public void givenATornRecordAtTheTail_whenReopeningTheLog_thenShouldKeepEverythingBeforeIt() throws Exception {
+        final var ids = new ArrayList<CategoryID>();
+        try (final var aGateway = new CategoryLogGateway(directory, 64 * 1024)) {
+            for (int i = 0; i < 3; i++) {
+                ids.add(aGateway.create(Category.newCategory("Category " + i, null, true)).getId());
+            }
+        }
+
+        final var aSegment = directory.resolve(CategoryLogSegment.fileName(1));
+        try (final var aFile = new RandomAccessFile(aSegment.toFile(), "rw")) {
+            var position = 0L;
+            for (int i = 0; i < 2; i++) {
+                aFile.seek(position);
+                position += CategoryLogSegment.HEADER_BYTES + aFile.readInt();
+            }
+            aFile.seek(position + CategoryLogSegment.HEADER_BYTES + 3);
+            aFile.writeByte(0x7F);
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory, 64 * 1024)) {
+            Assertions.assertEquals(2, aGateway.count());
+            Assertions.assertTrue(aGateway.findById(ids.get(2)).isEmpty());
+            ids.set(2, aGateway.create(Category.newCategory("Category 3", null, true)).getId());
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory, 64 * 1024)) {
+            Assertions.assertEquals(3, aGateway.count());
+            ids.forEach(anID -> Assertions.assertTrue(aGateway.findById(anID).isPresent()));
+        }
+    }
+
+    @Test
+    public void givenSupersededAndDeletedRecords_whenCompacting_thenShouldDropThemAndKeepTheLiveOnes() throws Exception {
+        final var segmentSize = 4 * 1024;
+        final var live = new ArrayList<CategoryID>();
+        try (final var aGateway = new CategoryLogGateway(directory, segmentSize)) {
+            for (int i = 0; i < 200; i++) {
+                final var aCategory = aGateway.create(Category.newCategory("Category " + i, "Some description", true));
+                aGateway.update(aCategory.update("Category " + i + " v2", "Some description", true));
+                if (i % 4 == 0) {
+                    aGateway.deleteById(aCategory.getId());
+                } else {
+                    live.add(aCategory.getId());
+                }
+            }
+            final var before = aGateway.stats();
+            Assertions.assertTrue(before.segments() > 2);
+            Assertions.assertTrue(before.garbageRatio() > 0.5);
+
+            aGateway.compact();
+
+            final var after = aGateway.stats();
+            Assertions.assertTrue(after.bytes() < before.bytes());
+            Assertions.assertTrue(after.garbageRatio() < before.garbageRatio());
+            Assertions.assertEquals(live.size(), aGateway.count());
+            try (final var files = Files.list(directory)) {
+                Assertions.assertEquals(after.segments(), files.count());
+            }
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory, segmentSize)) {
+            Assertions.assertEquals(live.size(), aGateway.count());
+            for (final var anID : live) {
+                Assertions.assertTrue(aGateway.findById(anID).orElseThrow().getName().endsWith(" v2"));
+            }
+        }
+    }
+
+    @Test
+    public void givenTwoCompactionsAtOnce_whenBothRun_thenShouldRewriteEachSegmentOnce() throws Exception {
+        final var segmentSize = 4 * 1024;
+        final var executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 5; round++) {
+                final var aDirectory = Files.createDirectory(directory.resolve("round-" + round));
+                final var live = new ArrayList<CategoryID>();
+                try (final var aGateway = new CategoryLogGateway(aDirectory, segmentSize)) {
+                    for (int i = 0; i < 400; i++) {
+                        live.add(aGateway.create(Category.newCategory("Survivor " + i, "Some description", true)).getId());
+                    }
+                    for (int i = 0; i < 4_000; i++) {
+                        final var aCategory = aGateway.create(Category.newCategory("Category " + i, "Some description", true));
+                        aGateway.update(aCategory.update("Category " + i + " v2", "Some description", true));
+                        if (i % 4 == 0) {
+                            aGateway.deleteById(aCategory.getId());
+                        } else {
+                            live.add(aCategory.getId());
+                        }
+                    }
+                    final var segmentsBefore = segmentNumbers(aDirectory);
+
+                    final var start = new CountDownLatch(1);
+                    final var first = executor.submit(() -> {
+                        start.await();
+                        return aGateway.compact();
+                    });
+                    final var second = executor.submit(() -> {
+                        start.await();
+                        return aGateway.compact();
+                    });
+                    start.countDown();
+
+                    final var rewritten = first.get(60, TimeUnit.SECONDS) + second.get(60, TimeUnit.SECONDS);
+                    final var segmentsAfter = segmentNumbers(aDirectory);
+                    final var created = segmentsAfter.last() - segmentsBefore.last();
+                    Assertions.assertTrue(rewritten > 0);
+                    Assertions.assertEquals(segmentsBefore.size() + created - segmentsAfter.size(), rewritten);
+                    Assertions.assertEquals(live.size(), aGateway.count());
+                    final var after = aGateway.stats();
+                    aGateway.close();
+
+                    try (final var reopened = new CategoryLogGateway(aDirectory, segmentSize)) {
+                        Assertions.assertEquals(after.segments(), reopened.stats().segments());
+                        Assertions.assertEquals(after.liveBytes(), reopened.stats().liveBytes());
+                        Assertions.assertEquals(live.size(), reopened.count());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TreeSet<Integer> segmentNumbers(final Path aDirectory) throws IOException {
+        try (final var files = Files.list(aDirectory)) {
+            return files.map(CategoryLogSegment::number).filter(number -> number >= 0).collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    @Test
+    public void givenSegmentsBelowTheGarbageThreshold_whenCompacting_thenShouldLeaveThemAlone() throws Exception {
+        try (final var aGateway = new CategoryLogGateway(directory, 4 * 1024)) {
+            final var first = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+            for (int i = 0; i < 200; i++) {
+                aGateway.create(Category.newCategory("Category " + i, "Some description", true));
+            }
+            aGateway.update(first.update("Films", null, true));
+            final var before = aGateway.stats();
+            Assertions.assertTrue(before.segments() > 2);
+
+            Assertions.assertEquals(0, aGateway.compact());
+
+            Assertions.assertEquals(before, aGateway.stats());
+            Assertions.assertTrue(Files.exists(directory.resolve(CategoryLogSegment.fileName(1))));
+            Assertions.assertTrue(aGateway.compact(0) > 0);
+            Assertions.assertFalse(Files.exists(directory.resolve(CategoryLogSegment.fileName(1))));
+            Assertions.assertEquals("Films", aGateway.findById(first.getId()).orElseThrow().getName());
+        }
+    }
+
+    @Test
+    public void givenATombstoneAboveASurvivingSegment_whenCompactingAndReopening_thenShouldKeepTheCategoryDeleted() {
+        final var segmentSize = 4 * 1024;
+        final CategoryID deletedID;
+        try (final var aGateway = new CategoryLogGateway(directory, segmentSize)) {
+            deletedID = aGateway.create(Category.newCategory("Movies", "Category most view", true)).getId();
+            while (aGateway.stats().segments() < 2) {
+                aGateway.create(Category.newCategory("Filler", "Some description", true));
+            }
+            aGateway.deleteById(deletedID);
+            final var garbage = aGateway.create(Category.newCategory("Garbage", "Some description", true));
+            while (aGateway.stats().segments() < 3) {
+                aGateway.update(garbage.update("Garbage", "Some description", true));
+            }
+
+            Assertions.assertEquals(1, aGateway.compact());
+            Assertions.assertTrue(Files.exists(directory.resolve(CategoryLogSegment.fileName(1))));
+            Assertions.assertFalse(Files.exists(directory.resolve(CategoryLogSegment.fileName(2))));
+        }
+
+        try (final var aGateway = new CategoryLogGateway(directory, segmentSize)) {
+            Assertions.assertTrue(aGateway.findById(deletedID).isEmpty());
+        }
+    }
+
+    @Test
+    public void givenConcurrentWritersAndACompaction_whenReopening_thenShouldHoldTheLastWriteOfEveryCategory() throws Exception {
+        final var segmentSize = 16 * 1024;
+        final var ids = new ArrayList<CategoryID>();
+        final var executor = Executors.newFixedThreadPool(4);
+        try (final var aGateway = new CategoryLogGateway(directory, segmentSize)) {
+            for (int i = 0; i < 64; i++) {
+                ids.add(aGateway.create(Category.newCategory("Category " + i, null, true)).getId());
+            }
+            final var start = new CountDownLatch(1);
+            final var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 3; t++) {
+                final var writer = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = writer; i < 3_000; i += 3) {
+                        final var anID = ids.get(i % ids.size());
+                        final var aCategory = aGateway.findById(anID).orElseThrow();
+                        aGateway.update(aCategory.update("Version " + i, null, true));
+                    }
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    aGateway.compact();
+                    Thread.sleep(1);
+                }
+                return null;
+            }));
+            start.countDown();
+            for (final var aFuture : futures) {
+                aFuture.get(60, TimeUnit.SECONDS);
+            }
+            Assertions.assertEquals(ids.size(), aGateway.count());
+
+            final var expected = new ArrayList<String>();
+            ids.forEach(anID -> expected.add(aGateway.findById(anID).orElseThrow().getName()));
+            aGateway.close();
+
+            try (final var reopened = new CategoryLogGateway(directory, segmentSize)) {
+                for (int i = 0; i < ids.size(); i++) {
+                    Assertions.assertEquals(expected.get(i), reopened.findById(ids.get(i)).orElseThrow().getName());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenAClosedLog_whenWriting_thenShouldThrow() {
+        final var aGateway = new CategoryLogGateway(directory);
+        aGateway.close();
+
+        Assertions.assertThrows(GatewayStorageException.class, () -> aGateway.create(Category.newCategory("Movies", null, true)));
+    }
+
+    private static List<String> names(final List<Category> categories) {
+        return categories.stream().map(Category::getName).toList();
+    }
+
+    private static List<String> suggestions(final CategoryLogGateway aGateway, final String aPrefix, final int limit) {
+        return aGateway.suggest(new CategorySuggestQuery(aPrefix, limit)).stream().map(CategorySnapshot::name).toList();
+    }
+}
@@ -0,0 +1,221 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeSource;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryGateway;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.VersionedCategoryGateway;
+import com.fullcycle.catalogue.admin.domain.pagination.CursorPagination;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CategoryPurgerTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void givenSoftDeletedCategories_whenPurgingPastRetention_thenShouldRemoveThemFromEveryIndex() {
+        final var aGateway = new CategoryInMemoryGateway();
+        fill(aGateway, 10, 5);
+
+        try (final var aPurger = new CategoryPurger(aGateway, Duration.ZERO, 2, 1_000_000, NEVER)) {
+            Assertions.assertEquals(5, aPurger.purgeNow());
+            Assertions.assertEquals(0, aPurger.purgeNow());
+
+            final var actualStats = aPurger.stats();
+            Assertions.assertEquals(2, actualStats.runs());
+            Assertions.assertEquals(5, actualStats.purged());
+            Assertions.assertEquals(3, actualStats.batches());
+            Assertions.assertEquals(0, actualStats.pending());
+        }
+        Assertions.assertEquals(new CategoryCounts(10, 10, 0), aGateway.counts());
+        Assertions.assertEquals(0, aGateway.findAll(new CategorySearchQuery(0, 10, "deleted", "name", "asc")).total());
+        Assertions.assertEquals(10, aGateway.findAll(new CategorySearchQuery(0, 20, null, "name", "asc")).items().size());
+    }
+
+    @Test
+    public void givenSoftDeletedCategoriesWithinRetention_whenPurging_thenShouldKeepThemPending() {
+        final var aGateway = new CategoryInMemoryGateway();
+        fill(aGateway, 3, 4);
+
+        try (final var aPurger = new CategoryPurger(aGateway, NEVER, 10, 1_000_000, NEVER)) {
+            Assertions.assertEquals(0, aPurger.purgeNow());
+            Assertions.assertEquals(4, aPurger.stats().pending());
+        }
+        Assertions.assertEquals(new CategoryCounts(7, 3, 4), aGateway.counts());
+    }
+
+    @Test
+    public void givenACategoryRestoredAfterItWasSeen_whenPurging_thenShouldSkipIt() {
+        final var restores = new AtomicInteger();
+        final var aGateway = new CategoryInMemoryGateway() {
+            @Override
+            public void compareAndDeleteById(final CategoryID anID, final long aVersion) {
+                if (restores.getAndIncrement() == 0) {
+                    update(findById(anID).orElseThrow().activate());
+                }
+                super.compareAndDeleteById(anID, aVersion);
+            }
+        };
+        fill(aGateway, 0, 3);
+
+        try (final var aPurger = new CategoryPurger(aGateway, Duration.ZERO, 10, 1_000_000, NEVER)) {
+            Assertions.assertEquals(2, aPurger.purgeNow());
+
+            Assertions.assertEquals(1, aPurger.stats().skipped());
+            Assertions.assertEquals(0, aPurger.stats().pending());
+        }
+        Assertions.assertEquals(new CategoryCounts(1, 1, 0), aGateway.counts());
+    }
+
+    @Test
+    public void givenAGatewayWithoutAChangeFeed_whenPurging_thenShouldScanForSoftDeletes() {
+        final var aGateway = new VersionedOnlyGateway();
+        fill(aGateway, 5, 5);
+
+        Assertions.assertFalse(aGateway instanceof CategoryChangeSource);
+
+        try (final var aPurger = new CategoryPurger(aGateway, Duration.ZERO, 3, 1_000_000, NEVER)) {
+            Assertions.assertEquals(5, aPurger.purgeNow());
+            aGateway.update(aGateway.create(Category.newCategory("Late", null, true)).deActivate());
+            Assertions.assertEquals(1, aPurger.purgeNow());
+        }
+        Assertions.assertEquals(new CategoryCounts(5, 5, 0), aGateway.counts());
+    }
+
+    @Test
+    public void givenARateLimit_whenPurgingManyBatches_thenShouldPauseBetweenThem() {
+        final var aGateway = new CategoryInMemoryGateway();
+        fill(aGateway, 0, 50);
+
+        try (final var aPurger = new CategoryPurger(aGateway, Duration.ZERO, 10, 500, NEVER)) {
+            final var startedAt = System.nanoTime();
+            Assertions.assertEquals(50, aPurger.purgeNow());
+            final var elapsed = System.nanoTime() - startedAt;
+
+            final var actualStats = aPurger.stats();
+            Assertions.assertEquals(5, actualStats.batches());
+            Assertions.assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(75), "took " + elapsed);
+            Assertions.assertTrue(actualStats.throttledNanos() + actualStats.batchNanos() >= TimeUnit.MILLISECONDS.toNanos(80));
+            Assertions.assertTrue(actualStats.dutyCycle() <= 0.5);
+        }
+    }
+
+    @Test
+    public void givenALogGateway_whenPurging_thenShouldCompactAfterwards() {
+        try (final var aGateway = new CategoryLogGateway(directory, 4096)) {
+            fill(aGateway, 20, 40);
+            try (final var aPurger = new CategoryPurger(aGateway, Duration.ZERO, 8, 1_000_000, NEVER, aGateway::compact)) {
+                Assertions.assertEquals(40, aPurger.purgeNow());
+                Assertions.assertEquals(1, aPurger.stats().compactions());
+                Assertions.assertEquals(0, aPurger.purgeNow());
+                Assertions.assertEquals(1, aPurger.stats().compactions());
+            }
+            Assertions.assertEquals(new CategoryCounts(20, 20, 0), aGateway.counts());
+            Assertions.assertEquals(20, aGateway.stats().records());
+        }
+    }
+
+    @Test
+    public void givenALogGatewayThatIsMostlyLive_whenPurging_thenShouldNotRewriteAnySegment() {
+        try (final var aGateway = new CategoryLogGateway(directory, 4096)) {
+            fill(aGateway, 200, 4);
+            final var segments = aGateway.stats().segments();
+            try (final var aPurger = new CategoryPurger(aGateway, Duration.ZERO, 8, 1_000_000, NEVER, aGateway::compact)) {
+                Assertions.assertEquals(4, aPurger.purgeNow());
+
+                Assertions.assertEquals(0, aPurger.stats().compactions());
+                Assertions.assertEquals(0, aGateway.stats().compactableSegments());
+                Assertions.assertTrue(aGateway.stats().segments() >= segments);
+            }
+            Assertions.assertEquals(200, aGateway.stats().records());
+        }
+    }
+
+    @Test
+    public void givenAnInterval_whenCategoriesAreSoftDeleted_thenTheWorkerShouldPurgeThem() throws Exception {
+        final var aGateway = new CategoryInMemoryGateway();
+        try (final var aPurger = new CategoryPurger(aGateway, Duration.ZERO, 10, 1_000_000, Duration.ofMillis(10))) {
+            fill(aGateway, 2, 6);
+
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (aPurger.stats().purged() < 6 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            Assertions.assertEquals(6, aPurger.stats().purged());
+        }
+        Assertions.assertEquals(new CategoryCounts(2, 2, 0), aGateway.counts());
+    }
+
+    private static void fill(final CategoryGateway aGateway, final int active, final int deleted) {
+        for (int i = 0; i < active; i++) {
+            aGateway.create(Category.newCategory("Category " + i, null, true));
+        }
+        for (int i = 0; i < deleted; i++) {
+            aGateway.create(Category.newCategory("Deleted " + i, null, false));
+        }
+    }
+
+    /**
+     * Offers versioned writes but no change feed.
+     */
+    private static class VersionedOnlyGateway implements VersionedCategoryGateway {
+
+        private final CategoryInMemoryGateway delegate = new CategoryInMemoryGateway();
+
+        @Override
+        public Category create(final Category aCategory) {
+            return delegate.create(aCategory);
+        }
+
+        @Override
+        public void deleteById(final CategoryID anID) {
+            delegate.deleteById(anID);
+        }
+
+        @Override
+        public Optional<Category> findById(final CategoryID anID) {
+            return delegate.findById(anID);
+        }
+
+        @Override
+        public Category update(final Category aCategory) {
+            return delegate.update(aCategory);
+        }
+
+        @Override
+        public Category compareAndUpdate(final Category aCategory) {
+            return delegate.compareAndUpdate(aCategory);
+        }
+
+        @Override
+        public void compareAndDeleteById(final CategoryID anID, final long aVersion) {
+            delegate.compareAndDeleteById(anID, aVersion);
+        }
+
+        @Override
+        public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+            return delegate.findAll(aQuery);
+        }
+
+        @Override
+        public CursorPagination<Category> findAll(final CategoryCursorQuery aQuery) {
+            return delegate.findAll(aQuery);
+        }
+    }
+}
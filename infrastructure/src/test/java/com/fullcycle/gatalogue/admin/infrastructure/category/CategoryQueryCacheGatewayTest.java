@@ -0,0 +1,150 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.pagination.Pagination;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CategoryQueryCacheGatewayTest {
+
+    @Test
+    public void givenTheSameQuery_whenCallFindAllTwice_thenShouldServeTheSecondFromCache() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryQueryCacheGateway(aDelegate, 10);
+        aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        final var firstPage = aGateway.findAll(new CategorySearchQuery(0, 10, "", "name", "asc"));
+        firstPage.items().get(0).update("Changed outside", null, false);
+        final var secondPage = aGateway.findAll(new CategorySearchQuery(0, 10, "", "name", "asc"));
+
+        Assertions.assertEquals("Movies", secondPage.items().get(0).getName());
+        Assertions.assertEquals(1, aDelegate.listings.get());
+        Assertions.assertEquals(1, aGateway.stats().hits());
+        Assertions.assertEquals(0.5, aGateway.stats().hitRatio());
+    }
+
+    @Test
+    public void givenACachedQuery_whenAnyWriteGoesThroughTheGateway_thenShouldReloadIt() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryQueryCacheGateway(aDelegate, 10);
+        final var aQuery = new CategorySearchQuery(0, 10, "", "name", "asc");
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        aGateway.findAll(aQuery);
+        aGateway.update(aCategory.update("Series", null, true));
+
+        Assertions.assertEquals("Series", aGateway.findAll(aQuery).items().get(0).getName());
+
+        aGateway.deleteById(aCategory.getId());
+
+        Assertions.assertEquals(0, aGateway.findAll(aQuery).total());
+        Assertions.assertEquals(3, aDelegate.listings.get());
+    }
+
+    @Test
+    public void givenAWriteDuringALoad_whenTheLoadCompletes_thenShouldNotServeItAgain() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryQueryCacheGateway(aDelegate, 10);
+        final var aQuery = new CategorySearchQuery(0, 10, "", "name", "asc");
+        aDelegate.duringListing = () -> {
+            aDelegate.duringListing = () -> {
+            };
+            aGateway.create(Category.newCategory("Created while listing", null, true));
+        };
+
+        aGateway.findAll(aQuery);
+
+        Assertions.assertEquals(1, aGateway.findAll(aQuery).total());
+        Assertions.assertEquals(2, aDelegate.listings.get());
+    }
+
+    @Test
+    public void givenAnOlderLoadFinishingAfterANewerOne_whenItStores_thenShouldKeepTheNewerEntry() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryQueryCacheGateway(aDelegate, 10);
+        final var aQuery = new CategorySearchQuery(0, 10, "", "name", "asc");
+        aDelegate.duringListing = () -> {
+            aDelegate.duringListing = () -> {
+            };
+            aGateway.create(Category.newCategory("Created while listing", null, true));
+            aGateway.findAll(aQuery);
+        };
+
+        Assertions.assertEquals(0, aGateway.findAll(aQuery).total());
+
+        Assertions.assertEquals(1, aGateway.findAll(aQuery).total());
+        Assertions.assertEquals(2, aDelegate.listings.get());
+        Assertions.assertEquals(1, aGateway.stats().hits());
+    }
+
+    @Test
+    public void givenMoreQueriesThanTheBound_whenCallFindAll_thenShouldEvictTheLeastRecentlyUsed() {
+        final var aGateway = new CategoryQueryCacheGateway(new CountingGateway(), 4);
+
+        for (int page = 0; page < 10; page++) {
+            aGateway.findAll(new CategorySearchQuery(page, 10, "", "name", "asc"));
+        }
+
+        Assertions.assertEquals(4, aGateway.stats().size());
+        Assertions.assertEquals(6, aGateway.stats().evictions());
+    }
+
+    @Test
+    public void givenARecentlyHitQuery_whenTheBoundIsPassed_thenShouldEvictAnUnreferencedOneFirst() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryQueryCacheGateway(aDelegate, 2);
+        final var first = new CategorySearchQuery(0, 10, "", "name", "asc");
+        final var second = new CategorySearchQuery(1, 10, "", "name", "asc");
+
+        aGateway.findAll(first);
+        aGateway.findAll(second);
+        aGateway.findAll(first);
+        aGateway.findAll(new CategorySearchQuery(2, 10, "", "name", "asc"));
+        aGateway.findAll(first);
+
+        Assertions.assertEquals(3, aDelegate.listings.get());
+        Assertions.assertEquals(1, aGateway.stats().evictions());
+        Assertions.assertEquals(2, aGateway.stats().size());
+    }
+
+    @Test
+    public void givenASnapshotQuery_whenItMisses_thenShouldLoadItThroughTheSnapshotPath() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryQueryCacheGateway(aDelegate, 10);
+        final var aQuery = new CategorySearchQuery(0, 10, "", "name", "asc");
+        aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        final var firstPage = aGateway.findAllSnapshots(aQuery);
+
+        Assertions.assertSame(firstPage, aGateway.findAllSnapshots(aQuery));
+        Assertions.assertEquals("Movies", aGateway.findAll(aQuery).items().get(0).getName());
+        Assertions.assertEquals(1, aDelegate.snapshotListings.get());
+        Assertions.assertEquals(0, aDelegate.listings.get());
+    }
+
+    private static class CountingGateway extends CategoryInMemoryGateway {
+
+        private final AtomicInteger listings = new AtomicInteger();
+        private final AtomicInteger snapshotListings = new AtomicInteger();
+        private volatile Runnable duringListing = () -> {
+        };
+
+        @Override
+        public Pagination<Category> findAll(final CategorySearchQuery aQuery) {
+            listings.incrementAndGet();
+            final var aPage = super.findAll(aQuery);
+            duringListing.run();
+            return aPage;
+        }
+
+        @Override
+        public Pagination<CategorySnapshot> findAllSnapshots(final CategorySearchQuery aQuery) {
+            snapshotListings.incrementAndGet();
+            return super.findAllSnapshots(aQuery);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChange;
+import com.fullcycle.catalogue.admin.domain.category.CategoryChangeQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCounts;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCursorQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategorySearchQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySnapshot;
+import com.fullcycle.catalogue.admin.domain.category.CategoryStreamQuery;
+import com.fullcycle.catalogue.admin.domain.category.CategorySuggestQuery;
+import com.fullcycle.catalogue.admin.domain.exceptions.DomainException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class CategoryShardedGatewayTest {
+
+    @Test
+    public void givenManyIds_whenPlacedOnTheRing_thenShouldSpreadThemEvenly() {
+        final var aRing = new CategoryShardRing(8, CategoryShardRing.DEFAULT_VIRTUAL_NODES);
+        final var load = new int[8];
+        final var ids = 80_000;
+        for (int i = 0; i < ids; i++) {
+            load[aRing.shardOf(CategoryID.unique())]++;
+        }
+
+        for (final var aLoad : load) {
+            Assertions.assertEquals(ids / 8.0, aLoad, ids / 8.0 * 0.15);
+        }
+    }
+
+    @Test
+    public void givenARingWithOneMoreShard_whenPlacingTheSameIds_thenShouldOnlyMoveIdsToTheNewShard() {
+        final var before = new CategoryShardRing(4, CategoryShardRing.DEFAULT_VIRTUAL_NODES);
+        final var after = new CategoryShardRing(5, CategoryShardRing.DEFAULT_VIRTUAL_NODES);
+        final var ids = 50_000;
+        var moved = 0;
+        for (int i = 0; i < ids; i++) {
+            final var anID = CategoryID.unique();
+            final var aShard = after.shardOf(anID);
+            if (aShard != before.shardOf(anID)) {
+                Assertions.assertEquals(4, aShard);
+                moved++;
+            }
+        }
+
+        Assertions.assertEquals(ids / 5.0, moved, ids / 5.0 * 0.2);
+    }
+
+    @Test
+    public void givenShards_whenWritingAndReadingById_thenShouldRouteEveryIdToOneShard() {
+        final var shards = shards(4);
+        try (final var aGateway = new CategoryShardedGateway(shards)) {
+            final var created = aGateway.createAll(IntStream.range(0, 200)
+                    .mapToObj(i -> Category.newCategory("Category " + i, null, true)).toList());
+
+            Assertions.assertEquals(IntStream.range(0, 200).mapToObj(i -> "Category " + i).toList(), names(created));
+            for (final var aCategory : created) {
+                final var owners = shards.stream().filter(aShard -> aShard.findById(aCategory.getId()).isPresent()).count();
+                Assertions.assertEquals(1, owners);
+                Assertions.assertEquals(aCategory.getName(), aGateway.findById(aCategory.getId()).orElseThrow().getName());
+            }
+            Assertions.assertTrue(shards.stream().allMatch(aShard -> aShard.counts().total() > 0));
+
+            final var aCategory = created.get(7);
+            aGateway.update(aCategory.update("Movies", null, false));
+            Assertions.assertEquals("Movies", aGateway.findSnapshotById(aCategory.getId()).orElseThrow().name());
+
+            aGateway.deleteById(aCategory.getId());
+            Assertions.assertTrue(aGateway.findById(aCategory.getId()).isEmpty());
+            Assertions.assertEquals(new CategoryCounts(199, 199, 0), aGateway.counts());
+        }
+    }
+
+    @Test
+    public void givenShards_whenListingEverySortAndDirection_thenShouldMatchOneGateway() {
+        final var aReference = new CategoryInMemoryGateway();
+        try (final var aGateway = new CategoryShardedGateway(shards(5))) {
+            final var random = new Random(42);
+            for (int i = 0; i < 1_500; i++) {
+                final var aCategory = Category.newCategory("Category " + random.nextInt(400), i % 3 == 0 ? "kids" : null, i % 5 != 0);
+                aReference.create(aCategory);
+                aGateway.create(aCategory);
+            }
+
+            for (final var terms : new String[]{null, "kids"}) {
+                for (final var aField : CategorySortField.values()) {
+                    for (final var direction : List.of("asc", "desc")) {
+                        for (final var page : List.of(0, 1, 7, 60)) {
+                            final var aQuery = new CategorySearchQuery(page, 25, terms, aField.field(), direction);
+                            final var expected = aReference.findAllSnapshots(aQuery);
+                            final var actual = aGateway.findAllSnapshots(aQuery);
+
+                            Assertions.assertEquals(expected.total(), actual.total());
+                            Assertions.assertEquals(ids(expected.items()), ids(actual.items()));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void givenShards_whenWalkingWithCursor_thenShouldMatchOneGateway() {
+        final var aReference = new CategoryInMemoryGateway();
+        try (final var aGateway = new CategoryShardedGateway(shards(3))) {
+            for (int i = 0; i < 100; i++) {
+                final var aCategory = Category.newCategory("Category " + (char) ('a' + i % 7) + i, null, true);
+                aReference.create(aCategory);
+                aGateway.create(aCategory);
+            }
+
+            for (final var direction : List.of("asc", "desc")) {
+                final var expected = ids(aReference.findAllSnapshots(new CategorySearchQuery(0, 100, null, "name", direction)).items());
+
+                final var actual = new ArrayList<CategoryID>();
+                String aCursor = null;
+                do {
+                    final var aPage = aGateway.findAllSnapshots(new CategoryCursorQuery(aCursor, 9, null, "name", direction));
+                    Assertions.assertTrue(aPage.items().size() <= 9);
+                    actual.addAll(ids(aPage.items()));
+                    aCursor = aPage.nextCursor();
+                } while (aCursor != null);
+
+                Assertions.assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void givenShards_whenRankingByRelevance_thenShouldReturnEveryMatchOnce() {
+        try (final var aGateway = new CategoryShardedGateway(shards(4))) {
+            for (int i = 0; i < 60; i++) {
+                aGateway.create(Category.newCategory(i % 2 == 0 ? "Kids movies " + i : "Series " + i, null, true));
+            }
+
+            final var seen = new HashSet<CategoryID>();
+            for (int page = 0; page < 4; page++) {
+                final var aPage = aGateway.findAll(new CategorySearchQuery(page, 10, "kids", null, null));
+                Assertions.assertEquals(30, aPage.total());
+                seen.addAll(aPage.items().stream().map(Category::getId).toList());
+            }
+
+            Assertions.assertEquals(30, seen.size());
+        }
+    }
+
+    @Test
+    public void givenShards_whenStreamingAll_thenShouldMergeThemInOrder() {
+        final var aReference = new CategoryInMemoryGateway();
+        try (final var aGateway = new CategoryShardedGateway(shards(4))) {
+            for (int i = 0; i < 500; i++) {
+                final var aCategory = Category.newCategory("Category " + i, null, true);
+                aReference.create(aCategory);
+                aGateway.create(aCategory);
+            }
+            final var aQuery = new CategoryStreamQuery(null, "name", "desc", false);
+
+            try (final var expected = aReference.streamAll(aQuery); final var actual = aGateway.streamAll(aQuery)) {
+                Assertions.assertEquals(ids(expected.toList()), ids(actual.toList()));
+            }
+            Assertions.assertThrows(IllegalArgumentException.class, () -> aGateway.streamAll(new CategoryStreamQuery(null, "name", "asc", true)));
+        }
+    }
+
+    @Test
+    public void givenShards_whenFollowingTheChangeFeed_thenShouldSeeEveryChangeOfEveryShard() {
+        try (final var aGateway = new CategoryShardedGateway(shards(3))) {
+            final var created = new ArrayList<Category>();
+            for (int i = 0; i < 30; i++) {
+                created.add(aGateway.create(Category.newCategory("Category " + i, null, true)));
+            }
+
+            final var seen = new ArrayList<CategoryChange>();
+            var aPage = aGateway.findChanges(CategoryChangeQuery.fromStart(7));
+            seen.addAll(aPage.items());
+            while (aPage.hasMore()) {
+                Assertions.assertEquals(7, aPage.items().size());
+                aPage = aGateway.findChanges(new CategoryChangeQuery(aPage.nextToken(), 7));
+                seen.addAll(aPage.items());
+            }
+            Assertions.assertEquals(30, seen.size());
+            Assertions.assertEquals(30, seen.stream().map(CategoryChange::id).distinct().count());
+            for (int i = 1; i < seen.size(); i++) {
+                Assertions.assertFalse(seen.get(i).category().updateAt().isBefore(seen.get(i - 1).category().updateAt()));
+            }
+
+            aGateway.deleteById(created.get(3).getId());
+            final var delta = aGateway.findChanges(new CategoryChangeQuery(aPage.nextToken(), 10));
+
+            Assertions.assertEquals(1, delta.items().size());
+            Assertions.assertTrue(delta.items().get(0).isRemoved());
+            Assertions.assertThrows(DomainException.class, () -> aGateway.findChanges(new CategoryChangeQuery("not a token", 10)));
+        }
+    }
+
+    @Test
+    public void givenShards_whenCallSuggest_thenShouldMatchOneGateway() {
+        final var aReference = new CategoryInMemoryGateway();
+        final var random = new Random(7);
+        try (final var aGateway = new CategoryShardedGateway(shards(4))) {
+            for (int i = 0; i < 1_000; i++) {
+                final var aCategory = Category.newCategory("Category " + random.nextInt(300), null, random.nextInt(4) != 0);
+                aReference.create(aCategory);
+                aGateway.create(aCategory);
+            }
+
+            for (final var aPrefix : List.of("", "category 1", "category 29", "x")) {
+                for (final var limit : List.of(1, 10, 2_000)) {
+                    final var aQuery = new CategorySuggestQuery(aPrefix, limit);
+                    Assertions.assertEquals(aReference.suggest(aQuery), aGateway.suggest(aQuery));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void givenAFailingShard_whenFanningOut_thenShouldRethrowItsFailure() {
+        final var shards = new ArrayList<CategoryInMemoryGateway>(shards(2));
+        shards.add(new CategoryInMemoryGateway() {
+            @Override
+            public CategoryCounts counts() {
+                throw new IllegalStateException("shard is down");
+            }
+        });
+        try (final var aGateway = new CategoryShardedGateway(shards)) {
+            final var actualException = Assertions.assertThrows(IllegalStateException.class, aGateway::counts);
+
+            Assertions.assertEquals("shard is down", actualException.getMessage());
+        }
+    }
+
+    private static List<CategoryInMemoryGateway> shards(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> new CategoryInMemoryGateway()).toList();
+    }
+
+    private static List<CategoryID> ids(final List<CategorySnapshot> categories) {
+        return categories.stream().map(CategorySnapshot::id).toList();
+    }
+
+    private static List<String> names(final List<Category> categories) {
+        return categories.stream().map(Category::getName).toList();
+    }
+}
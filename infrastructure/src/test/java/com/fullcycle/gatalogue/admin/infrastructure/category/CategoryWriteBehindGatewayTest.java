@@ -0,0 +1,265 @@
+package com.fullcycle.gatalogue.admin.infrastructure.category;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.category.CategoryActivated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryCreated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryDeactivated;
+import com.fullcycle.catalogue.admin.domain.category.CategoryID;
+import com.fullcycle.catalogue.admin.domain.category.CategoryUpdated;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.InMemoryOutbox;
+import com.fullcycle.gatalogue.admin.infrastructure.outbox.OutboxEntry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CategoryWriteBehindGatewayTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @Test
+    public void givenABurstOfUpdates_whenFlushed_thenShouldWriteOnlyTheLatestState() {
+        final var aDelegate = new CountingGateway();
+        final var aCategory = aDelegate.create(Category.newCategory("Movies", "Category most view", true));
+        aDelegate.writes.set(0);
+
+        try (final var aGateway = new CategoryWriteBehindGateway(aDelegate, 100, NEVER)) {
+            for (int i = 0; i < 10; i++) {
+                aGateway.update(Category.with(aCategory).update("Movies " + i, null, i % 2 == 0));
+            }
+            Assertions.assertEquals("Movies", aDelegate.findById(aCategory.getId()).orElseThrow().getName());
+
+            aGateway.flush();
+
+            final var actualCategory = aDelegate.findById(aCategory.getId()).orElseThrow();
+            Assertions.assertEquals("Movies 9", actualCategory.getName());
+            Assertions.assertFalse(actualCategory.isActive());
+            Assertions.assertEquals(1, aDelegate.writes.get());
+            Assertions.assertEquals(10, aGateway.stats().writes());
+            Assertions.assertEquals(9, aGateway.stats().coalesced());
+            Assertions.assertEquals(0.9, aGateway.stats().coalescingRatio());
+            Assertions.assertEquals(1, aGateway.stats().flushed());
+        }
+    }
+
+    @Test
+    public void givenBufferedWrites_whenCallFindById_thenShouldReadThemBeforeTheFlush() {
+        final var aDelegate = new CountingGateway();
+        final var existing = aDelegate.create(Category.newCategory("Series", "Category less view", true));
+
+        try (final var aGateway = new CategoryWriteBehindGateway(aDelegate, 100, NEVER)) {
+            final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+            aGateway.deleteById(existing.getId());
+
+            Assertions.assertEquals("Movies", aGateway.findById(aCategory.getId()).orElseThrow().getName());
+            Assertions.assertTrue(aGateway.findById(existing.getId()).isEmpty());
+            Assertions.assertTrue(aDelegate.findById(aCategory.getId()).isEmpty());
+            Assertions.assertTrue(aDelegate.findById(existing.getId()).isPresent());
+        }
+    }
+
+    @Test
+    public void givenACategoryCreatedAndDeleted_whenFlushed_thenShouldNeverReachTheDelegate() {
+        final var aDelegate = new CountingGateway();
+
+        try (final var aGateway = new CategoryWriteBehindGateway(aDelegate, 100, NEVER)) {
+            final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+            aGateway.update(aCategory.update("Series", null, true));
+            aGateway.deleteById(aCategory.getId());
+            aGateway.flush();
+
+            Assertions.assertTrue(aGateway.findById(aCategory.getId()).isEmpty());
+            Assertions.assertEquals(0, aDelegate.writes.get());
+        }
+    }
+
+    @Test
+    public void givenAFullBatch_whenWriting_thenShouldFlushInTheBackground() throws Exception {
+        final var aDelegate = new CountingGateway();
+
+        try (final var aGateway = new CategoryWriteBehindGateway(aDelegate, 10, NEVER)) {
+            final var categories = new ArrayList<Category>();
+            for (int i = 0; i < 10; i++) {
+                categories.add(Category.newCategory("Category " + i, null, true));
+            }
+            aGateway.createAll(categories);
+
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (aDelegate.count() < 10 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+
+            Assertions.assertEquals(10, aDelegate.count());
+            Assertions.assertEquals(1, aDelegate.batches.get());
+            Assertions.assertTrue(aGateway.stats().flushes() >= 1);
+            Assertions.assertTrue(aGateway.stats().maxFlushLatency().toNanos() > 0);
+        }
+    }
+
+    @Test
+    public void givenAFlushInterval_whenItElapses_thenShouldFlushWithoutBeingAsked() throws Exception {
+        final var aDelegate = new CountingGateway();
+
+        try (final var aGateway = new CategoryWriteBehindGateway(aDelegate, 100, Duration.ofMillis(10))) {
+            final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (aDelegate.findById(aCategory.getId()).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+
+            Assertions.assertTrue(aDelegate.findById(aCategory.getId()).isPresent());
+        }
+    }
+
+    @Test
+    public void givenBufferedWrites_whenClosed_thenShouldFlushThemAndWriteThroughAfterwards() {
+        final var aDelegate = new CountingGateway();
+        final var aGateway = new CategoryWriteBehindGateway(aDelegate, 100, NEVER);
+        final var aCategory = aGateway.create(Category.newCategory("Movies", "Category most view", true));
+
+        aGateway.close();
+
+        Assertions.assertTrue(aDelegate.findById(aCategory.getId()).isPresent());
+        Assertions.assertEquals(0, aGateway.stats().pending());
+
+        aGateway.update(aCategory.update("Series", null, true));
+
+        Assertions.assertEquals("Series", aDelegate.findById(aCategory.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void givenWritersRacingClose_whenTheyStop_thenTheDelegateShouldHoldEveryLastWrite() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            final var aDelegate = new CountingGateway();
+            final var aGateway = new CategoryWriteBehindGateway(aDelegate, 1_000, Duration.ofMillis(1));
+            final var writers = 4;
+            final var categories = new ArrayList<Category>();
+            for (int t = 0; t < writers; t++) {
+                categories.add(aGateway.create(Category.newCategory("Category " + t, null, true)));
+            }
+            final var started = new CountDownLatch(writers);
+            final var executor = Executors.newFixedThreadPool(writers);
+
+            try {
+                final var futures = new ArrayList<Future<String>>();
+                for (final var aCategory : categories) {
+                    futures.add(executor.submit(() -> {
+                        started.countDown();
+                        var aName = aCategory.getName();
+                        for (int i = 0; i < 2_000; i++) {
+                            aName = aCategory.getName() + " v" + i;
+                            aGateway.update(Category.with(aCategory).update(aName, null, true));
+                        }
+                        return aName;
+                    }));
+                }
+                started.await(5, TimeUnit.SECONDS);
+                aGateway.close();
+
+                for (int t = 0; t < writers; t++) {
+                    final var expectedName = futures.get(t).get(30, TimeUnit.SECONDS);
+                    Assertions.assertEquals(expectedName, aDelegate.findById(categories.get(t).getId()).orElseThrow().getName());
+                }
+                Assertions.assertEquals(0, aGateway.stats().pending());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void givenAFailingDelegate_whenFlushed_thenShouldKeepTheWriteAndRetryIt() {
+        final var aDelegate = new CountingGateway();
+        final var existing = aDelegate.create(Category.newCategory("Movies", "Category most view", true));
+        aDelegate.failing = true;
+
+        try (final var aGateway = new CategoryWriteBehindGateway(aDelegate, 100, NEVER)) {
+            aGateway.update(Category.with(existing).update("Series", null, true));
+            aGateway.flush();
+
+            Assertions.assertEquals(1, aGateway.stats().failures());
+            Assertions.assertEquals(1, aGateway.stats().pending());
+            Assertions.assertEquals("Series", aGateway.findById(existing.getId()).orElseThrow().getName());
+
+            aDelegate.failing = false;
+            aGateway.flush();
+
+            Assertions.assertEquals(0, aGateway.stats().pending());
+            Assertions.assertEquals("Series", aDelegate.findById(existing.getId()).orElseThrow().getName());
+        }
+    }
+
+    @Test
+    public void givenADelegateWithAnOutbox_whenFlushingCoalescedWrites_thenShouldRelayEveryEventInOrder() {
+        final var anOutbox = new InMemoryOutbox();
+        final var aDelegate = new CategoryInMemoryGateway(anOutbox);
+
+        try (final var aGateway = new CategoryWriteBehindGateway(aDelegate, 100, NEVER)) {
+            final var aCategory = Category.newCategory("Movies", "Category most view", true);
+            aGateway.create(aCategory);
+            aGateway.update(aCategory.update("Series", null, false));
+            aGateway.update(aCategory.activate());
+            Assertions.assertTrue(aCategory.getDomainEvents().isEmpty());
+            Assertions.assertEquals(0, anOutbox.lastSequence());
+
+            aGateway.flush();
+
+            final var doomed = aDelegate.create(Category.newCategory("Kids", null, true));
+            final var createdEvents = anOutbox.lastSequence();
+            aGateway.update(Category.with(doomed).deActivate());
+            aGateway.deleteById(doomed.getId());
+            aGateway.flush();
+
+            final var actualTypes = anOutbox.fetch(0, 10).stream().map(OutboxEntry::event).map(Object::getClass).toList();
+            Assertions.assertEquals(
+                    List.of(CategoryCreated.class, CategoryDeactivated.class, CategoryUpdated.class, CategoryActivated.class, CategoryCreated.class, CategoryDeactivated.class),
+                    actualTypes
+            );
+            Assertions.assertEquals(createdEvents + 1, anOutbox.lastSequence());
+            Assertions.assertTrue(aDelegate.findById(doomed.getId()).isEmpty());
+        }
+    }
+
+    private static class CountingGateway extends CategoryInMemoryGateway {
+
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger batches = new AtomicInteger();
+        private volatile boolean failing;
+
+        @Override
+        public Category create(final Category aCategory) {
+            writes.incrementAndGet();
+            return super.create(aCategory);
+        }
+
+        @Override
+        public List<Category> createAll(final List<Category> categories) {
+            batches.incrementAndGet();
+            writes.addAndGet(categories.size());
+            return super.createAll(categories);
+        }
+
+        @Override
+        public Category update(final Category aCategory) {
+            writes.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("database is down");
+            }
+            return super.update(aCategory);
+        }
+
+        @Override
+        public void deleteById(final CategoryID anID) {
+            writes.incrementAndGet();
+            super.deleteById(anID);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.fullcycle.gatalogue.admin.infrastructure.outbox;
+
+import com.fullcycle.catalogue.admin.domain.category.Category;
+import com.fullcycle.catalogue.admin.domain.events.DomainEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+public class OutboxRelayTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(1);
+
+    @Test
+    public void givenEventsInTheOutbox_whenRelayRuns_thenShouldDeliverAllInOrderAndAcknowledge() {
+        final var expectedCount = 10_000;
+        final var anOutbox = outboxWith(expectedCount);
+        final var received = new ConcurrentLinkedQueue<Long>();
+
+        try (final var aBroker = new InMemoryEventBroker()) {
+            aBroker.subscribe(anEntry -> received.add(anEntry.sequence()));
+
+            try (final var aRelay = new OutboxRelay(anOutbox, aBroker, 64, 4, POLL_INTERVAL)) {
+                await(() -> anOutbox.pending() == 0);
+
+                Assertions.assertEquals(expectedCount, aRelay.stats().published());
+                Assertions.assertEquals(0, aRelay.stats().failures());
+                Assertions.assertEquals(0, aRelay.stats().lag());
+            }
+        }
+
+        Assertions.assertEquals(LongStream.rangeClosed(1, expectedCount).boxed().toList(), new ArrayList<>(received));
+        Assertions.assertTrue(anOutbox.fetch(0, 10).isEmpty());
+    }
+
+    @Test
+    public void givenAPublisherFailingSomeBatches_whenRelayRuns_thenShouldDeliverEveryEventAtLeastOnce() {
+        final var expectedCount = 2_000;
+        final var anOutbox = outboxWith(expectedCount);
+        final var received = new ConcurrentLinkedQueue<Long>();
+        final var calls = new AtomicInteger();
+
+        try (final var aBroker = new InMemoryEventBroker()) {
+            aBroker.subscribe(anEntry -> received.add(anEntry.sequence()));
+            final EventPublisher aFlakyPublisher = batch -> {
+                final var delivered = aBroker.publish(batch);
+                if (calls.incrementAndGet() % 3 == 0) {
+                    return delivered.thenCompose(ignored -> CompletableFuture.failedFuture(new IllegalStateException("broker timeout")));
+                }
+                return delivered;
+            };
+
+            try (final var aRelay = new OutboxRelay(anOutbox, aFlakyPublisher, 50, 1, POLL_INTERVAL)) {
+                await(() -> anOutbox.pending() == 0);
+
+                Assertions.assertTrue(aRelay.stats().failures() > 0);
+                Assertions.assertEquals(expectedCount, aRelay.stats().published());
+            }
+        }
+
+        final var firstDeliveries = new ArrayList<>(new LinkedHashSet<>(received));
+        Assertions.assertTrue(received.size() > expectedCount);
+        Assertions.assertEquals(LongStream.rangeClosed(1, expectedCount).boxed().toList(), firstDeliveries);
+    }
+
+    @Test
+    public void givenASlowPublisher_whenOutboxIsFarBehind_thenShouldKeepAtMostTheWindowInFlight() throws Exception {
+        final var anOutbox = outboxWith(1_000);
+        final var outstanding = new ConcurrentLinkedQueue<CompletableFuture<Void>>();
+        final var entries = new AtomicInteger();
+        final var released = new AtomicBoolean();
+        final EventPublisher aStuckPublisher = batch -> {
+            entries.addAndGet(batch.size());
+            if (released.get()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final var aResult = new CompletableFuture<Void>();
+            outstanding.add(aResult);
+            return aResult;
+        };
+
+        try (final var aRelay = new OutboxRelay(anOutbox, aStuckPublisher, 10, 3, POLL_INTERVAL)) {
+            await(() -> aRelay.stats().inFlight() == 3);
+            TimeUnit.MILLISECONDS.sleep(50);
+
+            Assertions.assertEquals(3, outstanding.size());
+            Assertions.assertEquals(30, entries.get());
+            Assertions.assertEquals(1_000, aRelay.stats().lag());
+
+            outstanding.poll().complete(null);
+            await(() -> outstanding.size() == 3 && entries.get() == 40);
+
+            Assertions.assertEquals(10, anOutbox.acknowledgedSequence());
+            released.set(true);
+            outstanding.forEach(aResult -> aResult.complete(null));
+            await(() -> anOutbox.pending() == 0);
+        }
+
+        Assertions.assertEquals(1_000, anOutbox.acknowledgedSequence());
+    }
+
+    @Test
+    public void givenEventsAppendedConcurrently_whenRelayRuns_thenShouldNotSkipAnySequence() throws Exception {
+        final var anOutbox = new InMemoryOutbox();
+        final var received = new ConcurrentLinkedQueue<Long>();
+        final var writers = new ArrayList<Thread>();
+
+        try (final var aBroker = new InMemoryEventBroker()) {
+            aBroker.subscribe(anEntry -> received.add(anEntry.sequence()));
+            final var aRelay = new OutboxRelay(anOutbox, aBroker, 32, 4, POLL_INTERVAL);
+            for (int t = 0; t < 4; t++) {
+                final var aWriter = new Thread(() -> {
+                    for (int i = 0; i < 2_500; i++) {
+                        anOutbox.append(events(1 + i % 3));
+                    }
+                });
+                writers.add(aWriter);
+                aWriter.start();
+            }
+            for (final var aWriter : writers) {
+                aWriter.join();
+            }
+
+            await(() -> anOutbox.pending() == 0);
+            aRelay.close();
+        }
+
+        Assertions.assertEquals(LongStream.rangeClosed(1, anOutbox.lastSequence()).boxed().toList(), new ArrayList<>(received));
+    }
+
+    private static InMemoryOutbox outboxWith(final int count) {
+        final var anOutbox = new InMemoryOutbox();
+        anOutbox.append(events(count));
+        return anOutbox;
+    }
+
+    private static List<DomainEvent> events(final int count) {
+        final var events = new ArrayList<DomainEvent>(count);
+        for (int i = 0; i < count; i++) {
+            events.addAll(Category.newCategory("Category " + i, null, true).pullDomainEvents());
+        }
+        return events;
+    }
+
+    private static void await(final BooleanSupplier aCondition) {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!aCondition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                Assertions.fail("condition not met in time");
+            }
+            Thread.onSpinWait();
+            Thread.yield();
+        }
+    }
+}